@@ -0,0 +1,237 @@
+package com.legal.casemanagement.benchmark;
+
+import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
+import com.legal.casemanagement.dto.CaseDtos.CaseDocumentItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseHearingItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseNoteItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseTaskItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseTimelineItem;
+import com.legal.casemanagement.service.CaseDetailLoader;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous sequential, connection-holding case detail assembly with
+ * {@link CaseDetailLoader} on cases with many hearings and notes. SampleTime mode reports
+ * p50/p99 directly. H2 has no network latency, so real MySQL deployments gain more from
+ * the parallel sections than this shows; the saved hearing read is visible either way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaseDetailLoadBenchmark {
+
+    private static final String CASE_NUMBER = "LC-2026-001";
+
+    @Param({ "50", "300", "1000" })
+    public int rowsPerSection;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private CaseDetailLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:case_detail_" + rowsPerSection + ";DB_CLOSE_DELAY=-1;MODE=MySQL");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(10);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        createSchema();
+        seed(rowsPerSection);
+        loader = new CaseDetailLoader(jdbcTemplate, 6);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        loader.shutdown();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public CaseDetail sequentialSingleConnection() {
+        return loadSequential(CASE_NUMBER);
+    }
+
+    @Benchmark
+    public CaseDetail concurrentSections() {
+        return loader.load(CASE_NUMBER, null, null);
+    }
+
+    private void createSchema() {
+        jdbcTemplate.execute("CREATE TABLE users (user_id BIGINT PRIMARY KEY, name VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE clients (client_id BIGINT PRIMARY KEY, user_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE advocates (advocate_id BIGINT PRIMARY KEY, user_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE cases (case_id BIGINT PRIMARY KEY, case_number VARCHAR(100) UNIQUE, " +
+                "case_title VARCHAR(300), case_type VARCHAR(20), status VARCHAR(20), priority VARCHAR(20), " +
+                "filing_date DATE, court_name VARCHAR(200), judge_name VARCHAR(100), description TEXT, " +
+                "opposing_party VARCHAR(300), client_id BIGINT, advocate_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE hearings (hearing_id BIGINT AUTO_INCREMENT PRIMARY KEY, case_id BIGINT, " +
+                "hearing_date TIMESTAMP, hearing_type VARCHAR(20), status VARCHAR(20), courtroom VARCHAR(100))");
+        jdbcTemplate.execute("CREATE TABLE documents (document_id BIGINT AUTO_INCREMENT PRIMARY KEY, case_id BIGINT, " +
+                "document_name VARCHAR(300), document_type VARCHAR(20), file_path VARCHAR(500), file_size BIGINT, " +
+                "uploaded_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE tasks (task_id BIGINT AUTO_INCREMENT PRIMARY KEY, case_id BIGINT, " +
+                "task_title VARCHAR(300), due_date TIMESTAMP, status VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE case_notes (note_id BIGINT AUTO_INCREMENT PRIMARY KEY, case_id BIGINT, " +
+                "created_by BIGINT, note_text TEXT, created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE case_events (event_id BIGINT AUTO_INCREMENT PRIMARY KEY, case_id BIGINT, " +
+                "event_type VARCHAR(30), title VARCHAR(300), detail VARCHAR(500), source_id BIGINT, " +
+                "occurred_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE INDEX idx_h_case ON hearings (case_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_d_case ON documents (case_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_t_case ON tasks (case_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_n_case ON case_notes (case_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_e_case ON case_events (case_id, occurred_at, event_id)");
+    }
+
+    private void seed(int rows) {
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 'Ravi Client'), (2, 'John Advocate')");
+        jdbcTemplate.update("INSERT INTO clients VALUES (1, 1)");
+        jdbcTemplate.update("INSERT INTO advocates VALUES (1, 2)");
+        jdbcTemplate.update("INSERT INTO cases VALUES (1, ?, 'Property dispute', 'PROPERTY', 'IN_PROGRESS', " +
+                "'HIGH', DATE '2024-01-15', 'High Court', 'Justice Rao', 'Long running matter', 'State', 1, 1)",
+                CASE_NUMBER);
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 15, 10, 30);
+        String[] types = { "PRELIMINARY", "EVIDENCE", "ARGUMENTS", "JUDGMENT", "OTHER" };
+        List<Object[]> hearings = new ArrayList<>();
+        List<Object[]> notes = new ArrayList<>();
+        List<Object[]> tasks = new ArrayList<>();
+        List<Object[]> documents = new ArrayList<>();
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Timestamp at = Timestamp.valueOf(start.plusDays(i * 3L));
+            hearings.add(new Object[] { at, types[i % types.length], i % 4 == 0 ? "ADJOURNED" : "COMPLETED",
+                    "Courtroom " + (i % 12) });
+            events.add(new Object[] { "Hearing Scheduled", "Hearing on " + at.toLocalDateTime().toLocalDate(), at });
+            events.add(new Object[] { "Note Added", "Note " + i, at });
+            notes.add(new Object[] { "Note " + i + " on the proceedings and next steps for the client", at });
+            if (i % 3 == 0) {
+                tasks.add(new Object[] { "Task " + i, at, i % 2 == 0 ? "COMPLETED" : "PENDING" });
+            }
+            if (i % 5 == 0) {
+                documents.add(new Object[] { "Exhibit-" + i + ".pdf", "/documents/exhibit-" + i + ".pdf",
+                        150_000L + i, at });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO hearings (case_id, hearing_date, hearing_type, status, courtroom) " +
+                "VALUES (1, ?, ?, ?, ?)", hearings);
+        jdbcTemplate.batchUpdate("INSERT INTO case_notes (case_id, created_by, note_text, created_at) " +
+                "VALUES (1, 2, ?, ?)", notes);
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (case_id, task_title, due_date, status) VALUES (1, ?, ?, ?)",
+                tasks);
+        jdbcTemplate.batchUpdate("INSERT INTO documents (case_id, document_name, document_type, file_path, " +
+                "file_size, uploaded_at) VALUES (1, ?, 'EVIDENCE', ?, ?, ?)", documents);
+        jdbcTemplate.batchUpdate("INSERT INTO case_events (case_id, event_type, title, detail, occurred_at) " +
+                "VALUES (1, 'CASE_UPDATED', ?, ?, ?)", events);
+    }
+
+    /**
+     * The pre-loader implementation: every section is queried from inside the header
+     * ResultSetExtractor (one connection held throughout) and hearings are read twice.
+     */
+    private CaseDetail loadSequential(String caseNumber) {
+        String sql = "SELECT c.case_id, c.case_number, c.case_title, c.case_type, c.status, c.priority, " +
+                "c.filing_date, c.court_name, c.judge_name, c.description, c.opposing_party, " +
+                "cu.name AS client_name, au.name AS advocate_name " +
+                "FROM cases c " +
+                "LEFT JOIN clients cl ON c.client_id = cl.client_id " +
+                "LEFT JOIN users cu ON cl.user_id = cu.user_id " +
+                "LEFT JOIN advocates a ON c.advocate_id = a.advocate_id " +
+                "LEFT JOIN users au ON a.user_id = au.user_id " +
+                "WHERE c.case_number = ?";
+        return jdbcTemplate.query(sql, rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            long caseId = rs.getLong("case_id");
+            String court = rs.getString("court_name");
+
+            List<CaseTimelineItem> timeline = new ArrayList<>();
+            timeline.add(CaseTimelineItem.builder().date(String.valueOf(rs.getDate("filing_date")))
+                    .title("Case Filed").desc("Case registered with the court").build());
+            timeline.addAll(jdbcTemplate.query(
+                    "SELECT hearing_date, hearing_type, status FROM hearings WHERE case_id = ? " +
+                            "ORDER BY hearing_date DESC LIMIT 6",
+                    (h, n) -> CaseTimelineItem.builder()
+                            .date(String.valueOf(h.getTimestamp("hearing_date")))
+                            .title("Hearing " + h.getString("hearing_type"))
+                            .desc("Status: " + h.getString("status"))
+                            .build(), caseId));
+
+            List<CaseHearingItem> hearings = jdbcTemplate.query(
+                    "SELECT hearing_date, hearing_type, courtroom FROM hearings WHERE case_id = ? " +
+                            "ORDER BY hearing_date ASC",
+                    (h, n) -> CaseHearingItem.builder()
+                            .purpose(h.getString("hearing_type"))
+                            .date(String.valueOf(h.getTimestamp("hearing_date")))
+                            .location(h.getString("courtroom") != null ? h.getString("courtroom") : court)
+                            .build(), caseId);
+
+            List<CaseDocumentItem> documents = jdbcTemplate.query(
+                    "SELECT document_name, document_type, file_path, file_size FROM documents WHERE case_id = ? " +
+                            "ORDER BY uploaded_at DESC",
+                    (d, n) -> CaseDocumentItem.builder()
+                            .name(d.getString("document_name"))
+                            .type("pdf")
+                            .size(String.valueOf(d.getLong("file_size")))
+                            .build(), caseId);
+
+            List<CaseTaskItem> tasks = jdbcTemplate.query(
+                    "SELECT task_id, task_title, due_date, status FROM tasks WHERE case_id = ? ORDER BY due_date ASC",
+                    (t, n) -> CaseTaskItem.builder()
+                            .id(t.getLong("task_id"))
+                            .title(t.getString("task_title"))
+                            .due(String.valueOf(t.getTimestamp("due_date")))
+                            .completed("COMPLETED".equals(t.getString("status")))
+                            .build(), caseId);
+
+            List<CaseNoteItem> notes = jdbcTemplate.query(
+                    "SELECT n.note_id, n.note_text, n.created_at, u.name AS author_name " +
+                            "FROM case_notes n JOIN users u ON n.created_by = u.user_id " +
+                            "WHERE n.case_id = ? ORDER BY n.created_at DESC",
+                    (r, n) -> CaseNoteItem.builder()
+                            .id(r.getLong("note_id"))
+                            .author(r.getString("author_name"))
+                            .date(String.valueOf(r.getTimestamp("created_at")))
+                            .text(r.getString("note_text"))
+                            .build(), caseId);
+
+            return CaseDetail.builder()
+                    .caseNumber(rs.getString("case_number"))
+                    .title(rs.getString("case_title"))
+                    .court(court)
+                    .timeline(timeline)
+                    .hearings(hearings)
+                    .documents(documents)
+                    .tasks(tasks)
+                    .notes(notes)
+                    .build();
+        }, caseNumber);
+    }
+}
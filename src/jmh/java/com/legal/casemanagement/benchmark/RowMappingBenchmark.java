@@ -0,0 +1,267 @@
+package com.legal.casemanagement.benchmark;
+
+import com.legal.casemanagement.dto.CaseDtos.CaseHearingItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseListItem;
+import com.legal.casemanagement.service.CaseListItemMapper;
+import com.legal.casemanagement.util.ColumnIndex;
+import com.legal.casemanagement.util.RowFormat;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps the same in-memory result sets with the previous per-service mapping code and with
+ * the shared {@link RowFormat} / {@link ColumnIndex} mappers. The result sets are H2
+ * {@link SimpleResultSet}s, so the numbers are mapping cost only, without a driver or
+ * network underneath. Run with {@code -prof gc} to see the allocation difference per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    private static final String[] CASE_TYPES = { "CIVIL", "CRIMINAL", "FAMILY", "CORPORATE", "TAX", "LABOUR",
+            "PROPERTY", "OTHER" };
+    private static final String[] CASE_STATUSES = { "OPEN", "IN_PROGRESS", "CLOSED", "WON", "LOST", "SETTLED" };
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+    private static final String[] HEARING_TYPES = { "PRELIMINARY", "EVIDENCE", "ARGUMENTS", "JUDGMENT", "OTHER" };
+    private static final String[] HEARING_STATUSES = { "SCHEDULED", "COMPLETED", "ADJOURNED", "CANCELLED" };
+
+    @Param({ "100000" })
+    public int rows;
+
+    private SimpleResultSet caseRows;
+    private SimpleResultSet hearingRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2026, 1, 5, 10, 30);
+
+        caseRows = new SimpleResultSet();
+        caseRows.setAutoClose(false);
+        caseRows.addColumn("case_id", Types.BIGINT, 19, 0);
+        caseRows.addColumn("case_number", Types.VARCHAR, 100, 0);
+        caseRows.addColumn("case_title", Types.VARCHAR, 300, 0);
+        caseRows.addColumn("case_type", Types.VARCHAR, 20, 0);
+        caseRows.addColumn("status", Types.VARCHAR, 20, 0);
+        caseRows.addColumn("priority", Types.VARCHAR, 20, 0);
+        caseRows.addColumn("client_name", Types.VARCHAR, 100, 0);
+        caseRows.addColumn("advocate_name", Types.VARCHAR, 100, 0);
+        caseRows.addColumn("next_hearing", Types.TIMESTAMP, 0, 0);
+        caseRows.addColumn("overdue_tasks", Types.BIGINT, 19, 0);
+        for (int i = 0; i < rows; i++) {
+            Timestamp nextHearing = random.nextInt(4) == 0 ? null
+                    : Timestamp.valueOf(base.plusDays(random.nextInt(400)).plusMinutes(15L * random.nextInt(32)));
+            caseRows.addRow(5001L + i, String.format("LC-2026-%03d", i + 1), "Case title " + i,
+                    CASE_TYPES[random.nextInt(CASE_TYPES.length)], CASE_STATUSES[random.nextInt(CASE_STATUSES.length)],
+                    PRIORITIES[random.nextInt(PRIORITIES.length)], "Client " + (i % 500), "Advocate " + (i % 40),
+                    nextHearing, (long) random.nextInt(5));
+        }
+
+        hearingRows = new SimpleResultSet();
+        hearingRows.setAutoClose(false);
+        hearingRows.addColumn("hearing_date", Types.TIMESTAMP, 0, 0);
+        hearingRows.addColumn("hearing_type", Types.VARCHAR, 20, 0);
+        hearingRows.addColumn("status", Types.VARCHAR, 20, 0);
+        hearingRows.addColumn("courtroom", Types.VARCHAR, 50, 0);
+        hearingRows.addColumn("file_size", Types.BIGINT, 19, 0);
+        for (int i = 0; i < rows; i++) {
+            hearingRows.addRow(Timestamp.valueOf(base.plusDays(random.nextInt(400)).plusMinutes(15L * random.nextInt(32))),
+                    HEARING_TYPES[random.nextInt(HEARING_TYPES.length)],
+                    HEARING_STATUSES[random.nextInt(HEARING_STATUSES.length)], "Court " + (i % 12),
+                    (long) random.nextInt(20 * 1024 * 1024));
+        }
+    }
+
+    @Benchmark
+    public void legacyCaseListMapping(Blackhole bh) throws SQLException {
+        mapAll(caseRows, (rs, rowNum) -> Legacy.mapCaseListItem(rs), bh);
+    }
+
+    @Benchmark
+    public void sharedCaseListMapping(Blackhole bh) throws SQLException {
+        mapAll(caseRows, new CaseListItemMapper(), bh);
+    }
+
+    @Benchmark
+    public void legacyHearingAndSizeMapping(Blackhole bh) throws SQLException {
+        mapAll(hearingRows, (rs, rowNum) -> {
+            Timestamp date = rs.getTimestamp("hearing_date");
+            bh.consume(Legacy.formatFileSize(rs.getLong("file_size")));
+            bh.consume(Legacy.mapHearingStatus(rs.getString("status")));
+            return CaseHearingItem.builder()
+                    .purpose(Legacy.mapHearingType(rs.getString("hearing_type")))
+                    .date(Legacy.formatDate(date))
+                    .time(Legacy.formatTime(date))
+                    .location(rs.getString("courtroom"))
+                    .build();
+        }, bh);
+    }
+
+    @Benchmark
+    public void sharedHearingAndSizeMapping(Blackhole bh) throws SQLException {
+        ColumnIndex columns = new ColumnIndex("hearing_date", "hearing_type", "status", "courtroom", "file_size");
+        mapAll(hearingRows, (rs, rowNum) -> {
+            int[] c = columns.positions(rs);
+            Timestamp date = rs.getTimestamp(c[0]);
+            bh.consume(RowFormat.fileSize(rs.getLong(c[4])));
+            bh.consume(RowFormat.hearingStatusLabel(rs.getString(c[2])));
+            return CaseHearingItem.builder()
+                    .purpose(RowFormat.hearingTypeLabel(rs.getString(c[1])))
+                    .date(RowFormat.date(date))
+                    .time(RowFormat.time(date))
+                    .location(rs.getString(c[3]))
+                    .build();
+        }, bh);
+    }
+
+    private static <T> void mapAll(SimpleResultSet rs, RowMapper<T> mapper, Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        int rowNum = 0;
+        while (rs.next()) {
+            bh.consume(mapper.mapRow(rs, rowNum++));
+        }
+    }
+
+    /** The mapping helpers as they were duplicated across the services before RowFormat. */
+    static final class Legacy {
+
+        private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+        static CaseListItem mapCaseListItem(ResultSet rs) throws SQLException {
+            return CaseListItem.builder()
+                    .caseNumber(rs.getString("case_number"))
+                    .title(rs.getString("case_title"))
+                    .client(rs.getString("client_name"))
+                    .advocate(rs.getString("advocate_name"))
+                    .category(mapCaseType(rs.getString("case_type")))
+                    .status(mapCaseStatus(rs.getString("status")))
+                    .priority(mapPriority(rs.getString("priority")))
+                    .nextHearing(formatDate(rs.getTimestamp("next_hearing")))
+                    .overdueTasks(Optional.ofNullable(rs.getLong("overdue_tasks")).orElse(0L))
+                    .build();
+        }
+
+        static String formatDate(Timestamp timestamp) {
+            if (timestamp == null) {
+                return "";
+            }
+            return DATE_FORMAT.format(timestamp.toLocalDateTime());
+        }
+
+        static String formatTime(Timestamp timestamp) {
+            if (timestamp == null) {
+                return "";
+            }
+            return TIME_FORMAT.format(timestamp.toLocalDateTime());
+        }
+
+        static String formatFileSize(long size) {
+            if (size <= 0) {
+                return "N/A";
+            }
+            if (size < 1024) {
+                return size + " B";
+            }
+            double kb = size / 1024.0;
+            if (kb < 1024) {
+                return String.format(Locale.ROOT, "%.1f KB", kb);
+            }
+            double mb = kb / 1024.0;
+            return String.format(Locale.ROOT, "%.1f MB", mb);
+        }
+
+        static String mapCaseType(String caseType) {
+            if (caseType == null) {
+                return "Other";
+            }
+            return toTitleCase(caseType.replace('_', ' '));
+        }
+
+        static String mapCaseStatus(String status) {
+            if (status == null) {
+                return "Pending";
+            }
+            return switch (status) {
+                case "OPEN", "IN_PROGRESS" -> "Active";
+                case "CLOSED", "WON", "LOST", "SETTLED" -> "Closed";
+                default -> "Pending";
+            };
+        }
+
+        static String mapPriority(String priority) {
+            if (priority == null) {
+                return "Medium";
+            }
+            return switch (priority) {
+                case "LOW" -> "Low";
+                case "HIGH", "URGENT" -> "High";
+                default -> "Medium";
+            };
+        }
+
+        static String mapHearingType(String hearingType) {
+            if (hearingType == null) {
+                return "Hearing";
+            }
+            return toTitleCase(hearingType.replace('_', ' '));
+        }
+
+        static String mapHearingStatus(String status) {
+            if (status == null) {
+                return "Scheduled";
+            }
+            return toTitleCase(status.replace('_', ' '));
+        }
+
+        static String toTitleCase(String value) {
+            if (value == null || value.isBlank()) {
+                return "";
+            }
+            String[] parts = value.toLowerCase(Locale.ROOT).split("\\s+");
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                String part = parts[i];
+                if (part.isEmpty()) {
+                    continue;
+                }
+                builder.append(Character.toUpperCase(part.charAt(0)));
+                if (part.length() > 1) {
+                    builder.append(part.substring(1));
+                }
+                if (i < parts.length - 1) {
+                    builder.append(" ");
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.legal.casemanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class LegalCaseManagementApplication {
     public static void main(String[] args) {
         SpringApplication.run(LegalCaseManagementApplication.class, args);
@@ -0,0 +1,55 @@
+package com.legal.casemanagement.controller;
+
+import com.legal.casemanagement.dto.CalendarDtos.CalendarFeedLink;
+import com.legal.casemanagement.service.CalendarFeedService;
+import com.legal.casemanagement.service.CalendarFeedService.CalendarFeed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@RestController
+@RequestMapping("/api/calendar")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarFeedService calendarFeedService;
+
+    public CalendarController(CalendarFeedService calendarFeedService) {
+        this.calendarFeedService = calendarFeedService;
+    }
+
+    /**
+     * The advocate's hearings and open task deadlines as an iCalendar subscription. Calendar
+     * clients poll this; {@code If-Modified-Since} / {@code If-None-Match} get a 304 without
+     * reading the database unless something on the feed changed.
+     */
+    @GetMapping("/{advocateId}.ics")
+    public ResponseEntity<byte[]> getFeed(@PathVariable Long advocateId, @RequestParam("token") String token,
+            HttpServletRequest request, HttpServletResponse response) {
+        CalendarFeed feed = calendarFeedService.getFeed(advocateId, token);
+        // The URL carries the token, so shared caches must not keep a copy.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(feed.etag(), feed.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.inline().filename("calendar-" + advocateId + ".ics").build().toString())
+                .body(feed.body());
+    }
+
+    /** Issues (or rotates) the advocate's feed token and returns the subscription path. */
+    @PostMapping("/{advocateId}/token")
+    public ResponseEntity<CalendarFeedLink> issueToken(@PathVariable Long advocateId) {
+        return ResponseEntity.ok(calendarFeedService.issueToken(advocateId));
+    }
+}
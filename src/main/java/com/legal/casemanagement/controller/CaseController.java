@@ -1,13 +1,23 @@
 package com.legal.casemanagement.controller;
 
 import com.legal.casemanagement.dto.CaseDtos.AddNoteRequest;
+import com.legal.casemanagement.dto.CaseDtos.CaseActivityPage;
+import com.legal.casemanagement.dto.CaseDtos.BulkCaseUpdateRequest;
+import com.legal.casemanagement.dto.CaseDtos.BulkCaseUpdateResult;
 import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
+import com.legal.casemanagement.dto.CaseDtos.CaseDetailCacheStats;
+import com.legal.casemanagement.dto.CaseDtos.CaseDetailVersion;
+import com.legal.casemanagement.dto.CaseDtos.CaseImportResult;
+import com.legal.casemanagement.dto.CaseDtos.CaseListFilter;
 import com.legal.casemanagement.dto.CaseDtos.CaseListItem;
 import com.legal.casemanagement.dto.CaseDtos.CaseNoteItem;
+import com.legal.casemanagement.dto.CaseDtos.CasePage;
 import com.legal.casemanagement.dto.CaseDtos.UpdateCaseRequest;
 import com.legal.casemanagement.dto.CaseDtos.UpdateTaskStatusRequest;
 import com.legal.casemanagement.dto.CaseDtos.CreateCaseRequest;
 import com.legal.casemanagement.dto.CaseDtos.CreateCaseResponse;
+import com.legal.casemanagement.dto.CaseDtos.FilingBundleRequest;
+import com.legal.casemanagement.dto.CaseDtos.FilingBundleStatus;
 import com.legal.casemanagement.dto.CaseDtos.AdvocateOption;
 import com.legal.casemanagement.dto.CaseDtos.UploadDocumentRequest;
 import com.legal.casemanagement.dto.CaseDtos.DocumentResponse;
@@ -15,12 +25,34 @@ import com.legal.casemanagement.dto.CaseDtos.ScheduleHearingRequest;
 import com.legal.casemanagement.dto.CaseDtos.HearingResponse;
 import com.legal.casemanagement.dto.CaseDtos.SendMessageRequest;
 import com.legal.casemanagement.dto.CaseDtos.MessageResponse;
+import com.legal.casemanagement.service.CaseBulkService;
+import com.legal.casemanagement.service.CaseBundleService;
+import com.legal.casemanagement.service.CaseDetailCache;
+import com.legal.casemanagement.service.CaseEventService;
+import com.legal.casemanagement.service.CaseImportService;
 import com.legal.casemanagement.service.CaseService;
+import com.legal.casemanagement.service.DocumentService;
+import com.legal.casemanagement.service.FilingBundleService;
+import com.legal.casemanagement.util.HttpETags;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/cases")
@@ -28,15 +60,94 @@ import java.util.List;
 public class CaseController {
 
     private final CaseService caseService;
+    private final CaseDetailCache caseDetailCache;
+    private final CaseImportService caseImportService;
+    private final CaseBulkService caseBulkService;
+    private final CaseEventService caseEventService;
+    private final DocumentService documentService;
+    private final CaseBundleService caseBundleService;
+    private final FilingBundleService filingBundleService;
 
-    public CaseController(CaseService caseService) {
+    public CaseController(CaseService caseService, CaseDetailCache caseDetailCache,
+            CaseImportService caseImportService, CaseBulkService caseBulkService,
+            CaseEventService caseEventService, DocumentService documentService,
+            CaseBundleService caseBundleService, FilingBundleService filingBundleService) {
         this.caseService = caseService;
+        this.caseDetailCache = caseDetailCache;
+        this.caseImportService = caseImportService;
+        this.caseBulkService = caseBulkService;
+        this.caseEventService = caseEventService;
+        this.documentService = documentService;
+        this.caseBundleService = caseBundleService;
+        this.filingBundleService = filingBundleService;
     }
 
+    /**
+     * Without paging/filter parameters this returns the full list (legacy pages).
+     * Supplying any of limit, cursor, sort or a filter switches to the keyset-paginated
+     * {@link CasePage} response; pass its nextCursor back to fetch the following page.
+     * Both shapes carry a strong ETag; a matching If-None-Match gets 304 without the list
+     * being read.
+     */
     @GetMapping
-    public ResponseEntity<List<CaseListItem>> getCases(@RequestParam(required = false) String role,
-            @RequestParam(required = false) Long userId) {
-        return ResponseEntity.ok(caseService.getCases(role, userId));
+    public ResponseEntity<?> getCases(@RequestParam(required = false) String role,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long advocateUserId,
+            @RequestParam(required = false) String court,
+            @RequestParam(required = false) String filedFrom,
+            @RequestParam(required = false) String filedTo,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean paged = limit != null || cursor != null || sort != null || direction != null
+                || status != null || type != null || priority != null || advocateUserId != null
+                || court != null || filedFrom != null || filedTo != null;
+        if (!paged) {
+            String etag = caseService.getCasesETag(role, userId);
+            if (HttpETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                    .body(caseService.getCases(role, userId));
+        }
+        CaseListFilter filter = CaseListFilter.builder()
+                .role(role)
+                .userId(userId)
+                .status(status)
+                .caseType(type)
+                .priority(priority)
+                .advocateUserId(advocateUserId)
+                .court(court)
+                .filedFrom(filedFrom)
+                .filedTo(filedTo)
+                .sort(sort)
+                .direction(direction)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
+        String etag = caseService.getCasePageETag(filter);
+        if (HttpETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(caseService.getCasePage(filter));
+    }
+
+    /**
+     * Ranked full-text search over title, description, parties, judge, court and notes.
+     * role/userId restrict results the same way as the case list.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CaseListItem>> searchCases(@RequestParam(required = false) String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(caseService.searchCases(q, role, userId, limit));
     }
 
     @GetMapping("/advocates")
@@ -44,6 +155,11 @@ public class CaseController {
         return ResponseEntity.ok(caseService.getAssignableAdvocates());
     }
 
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CaseDetailCacheStats> getCacheStats() {
+        return ResponseEntity.ok(caseDetailCache.stats());
+    }
+
     @PostMapping
     public ResponseEntity<?> createCase(@RequestBody CreateCaseRequest request) {
         CreateCaseResponse created = caseService.createCase(request);
@@ -54,18 +170,173 @@ public class CaseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Bulk import of historical cases from a .csv or .xlsx file whose first row is a header
+     * (caseTitle, clientId/clientEmail, advocateUserId/advocateEmail/barRegistrationNumber
+     * and optional case fields). Invalid rows are reported individually; the rest are kept.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importCases(@RequestParam("file") MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("File is required"));
+        }
+        try (InputStream content = file.getInputStream()) {
+            CaseImportResult result = caseImportService.importCases(file.getOriginalFilename(), content);
+            return ResponseEntity.ok(result);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Unable to read uploaded file"));
+        }
+    }
+
+    /**
+     * Applies the same advocate, status, priority and/or court change to every listed case
+     * in one transaction. Unknown case numbers are reported per case; the rest are updated.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCaseUpdateResult> bulkUpdateCases(@RequestBody BulkCaseUpdateRequest request) {
+        return ResponseEntity.ok(caseBulkService.updateCases(request));
+    }
+
+    /**
+     * Case detail with a strong ETag. The version check is a single indexed lookup, so a
+     * matching If-None-Match is answered with 304 before any section of the detail is read.
+     */
     @GetMapping("/{caseNumber}")
     public ResponseEntity<CaseDetail> getCaseDetail(@PathVariable String caseNumber,
             @RequestParam(required = false) String role,
-            @RequestParam(required = false) Long userId) {
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         if (caseNumber == null || caseNumber.isBlank()) {
             return ResponseEntity.badRequest().build();
         }
+        CaseDetailVersion version = caseService.getCaseDetailVersion(caseNumber, role, userId);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (HttpETags.matches(ifNoneMatch, version.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.getEtag())
+                    .cacheControl(CacheControl.noCache()).build();
+        }
+        CaseDetail detail = caseService.getCaseDetail(caseNumber, role, userId, version.getVersion());
+        if (detail == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(version.getEtag()).cacheControl(CacheControl.noCache()).body(detail);
+    }
+
+    /**
+     * The whole case file as a ZIP: all documents plus an index of the case detail, hearings
+     * and notes. Streamed to the client as documents are read, so the archive is never held
+     * in memory or written to disk; role/userId scope it like the case detail.
+     */
+    @GetMapping("/{caseNumber}/bundle.zip")
+    public ResponseEntity<?> downloadBundle(@PathVariable String caseNumber,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long userId,
+            HttpServletResponse response) throws IOException {
+        if (caseNumber == null || caseNumber.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        CaseDetail detail = caseService.getCaseDetail(caseNumber, role, userId);
+        if (detail == null) {
+            return ResponseEntity.notFound().build();
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(caseNumber + "-bundle.zip", StandardCharsets.UTF_8).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        caseBundleService.writeBundle(detail, response.getOutputStream());
+        // Response already written; nothing left for Spring MVC to render.
+        return null;
+    }
+
+    /**
+     * Starts building a court-filing PDF of the listed documents, in the order given. Answers
+     * 202 with the job's status; poll the Location until it is DONE, then fetch {@code /content}.
+     */
+    @PostMapping("/{caseNumber}/filing-bundles")
+    public ResponseEntity<?> createFilingBundle(@PathVariable String caseNumber,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long userId,
+            @RequestBody FilingBundleRequest request) {
+        if (caseNumber == null || caseNumber.isBlank()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Case number required"));
+        }
         CaseDetail detail = caseService.getCaseDetail(caseNumber, role, userId);
         if (detail == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Case not found"));
+        }
+        FilingBundleStatus status;
+        try {
+            status = filingBundleService.submit(detail, request);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("Too many bundles are being built; try again shortly"));
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/cases/" + caseNumber + "/filing-bundles/" + status.getJobId()))
+                .body(status);
+    }
+
+    @GetMapping("/{caseNumber}/filing-bundles/{jobId}")
+    public ResponseEntity<FilingBundleStatus> getFilingBundle(@PathVariable String caseNumber,
+            @PathVariable String jobId,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long userId) {
+        if (caseService.getCaseDetailVersion(caseNumber, role, userId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        FilingBundleStatus status = filingBundleService.getStatus(caseNumber, jobId);
+        if (status == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(detail);
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(status);
+    }
+
+    @GetMapping("/{caseNumber}/filing-bundles/{jobId}/content")
+    public ResponseEntity<?> downloadFilingBundle(@PathVariable String caseNumber,
+            @PathVariable String jobId,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long userId) {
+        if (caseService.getCaseDetailVersion(caseNumber, role, userId) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Case not found"));
+        }
+        FilingBundleStatus status = filingBundleService.getStatus(caseNumber, jobId);
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Bundle not found"));
+        }
+        Path file = filingBundleService.getBundleFile(caseNumber, jobId);
+        if (file == null) {
+            String message = FilingBundleService.FAILED.equals(status.getStatus())
+                    ? "Bundle could not be built: " + status.getError()
+                    : "Bundle is still being built";
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(message));
+        }
+        Resource body = new FileSystemResource(file);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(caseNumber + "-filing-bundle.pdf", StandardCharsets.UTF_8).build().toString())
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    /** Newest-first activity feed; pass the returned {@code nextCursor} to read older entries. */
+    @GetMapping("/{caseNumber}/activity")
+    public ResponseEntity<CaseActivityPage> getActivity(@PathVariable String caseNumber,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (caseNumber == null || caseNumber.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        CaseActivityPage page = caseEventService.getActivity(caseNumber, role, userId, cursor, limit);
+        if (page == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(page);
     }
 
     @PutMapping("/{caseNumber}")
@@ -111,7 +382,13 @@ public class CaseController {
             @RequestHeader(value = "X-User-Id", required = false) Long userId) {
         if (userId == null)
             userId = 1L; // Default user for demo
-        DocumentResponse response = caseService.uploadDocument(request, userId);
+        DocumentResponse response;
+        try {
+            response = documentService.uploadBase64(request, userId);
+        } catch (IOException e) {
+            // Malformed base64 surfaces here while the content is decoded
+            response = null;
+        }
         if (response == null) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponse("Unable to upload document"));
@@ -126,6 +403,10 @@ public class CaseController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ErrorResponse("Unable to schedule hearing"));
         }
+        if (response.getHearingId() == null) {
+            // Refused: the advocate or courtroom is already booked; the body lists the clashes.
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -147,6 +428,10 @@ public class CaseController {
         return ResponseEntity.ok(caseService.getCases("ADVOCATE", advocateUserId));
     }
 
+    private static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+    }
+
     static class ErrorResponse {
         public String message;
 
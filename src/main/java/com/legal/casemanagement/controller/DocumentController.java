@@ -0,0 +1,330 @@
+package com.legal.casemanagement.controller;
+
+import com.legal.casemanagement.dto.CaseDtos.CreateUploadSessionRequest;
+import com.legal.casemanagement.dto.CaseDtos.DocumentExtractionStats;
+import com.legal.casemanagement.dto.CaseDtos.DocumentResponse;
+import com.legal.casemanagement.dto.CaseDtos.DocumentSearchHit;
+import com.legal.casemanagement.dto.CaseDtos.DocumentStorageStats;
+import com.legal.casemanagement.dto.CaseDtos.TieringRunResult;
+import com.legal.casemanagement.dto.CaseDtos.UploadChunkResult;
+import com.legal.casemanagement.dto.CaseDtos.UploadDocumentRequest;
+import com.legal.casemanagement.dto.CaseDtos.UploadSessionStatus;
+import com.legal.casemanagement.service.ChunkedUploadService;
+import com.legal.casemanagement.service.DocumentSearchService;
+import com.legal.casemanagement.service.DocumentService;
+import com.legal.casemanagement.service.DocumentTieringService;
+import com.legal.casemanagement.service.DocumentService.DocumentContent;
+import com.legal.casemanagement.util.ByteRanges;
+import com.legal.casemanagement.util.ByteRanges.Range;
+import com.legal.casemanagement.util.HttpETags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/documents")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DocumentController {
+
+    // Tomcat's sendfile hand-off: the connector writes the file region itself after the
+    // handler returns, straight from the page cache to the socket.
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final long MAP_WINDOW = 16L * 1024 * 1024;
+    // Content behind a document id never changes; clients revalidate after an hour.
+    private static final CacheControl DOCUMENT_CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate();
+
+    private final DocumentService documentService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final DocumentSearchService documentSearchService;
+    private final DocumentTieringService documentTieringService;
+
+    public DocumentController(DocumentService documentService, ChunkedUploadService chunkedUploadService,
+            DocumentSearchService documentSearchService, DocumentTieringService documentTieringService) {
+        this.documentService = documentService;
+        this.chunkedUploadService = chunkedUploadService;
+        this.documentSearchService = documentSearchService;
+        this.documentTieringService = documentTieringService;
+    }
+
+    /**
+     * Multipart upload ({@code file} part plus case and metadata fields). The part is read
+     * as a stream into the document store; it is never materialised on the heap.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadDocument(@RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Long caseId,
+            @RequestParam(required = false) String caseNumber,
+            @RequestParam(required = false) String documentName,
+            @RequestParam(required = false) String documentType,
+            @RequestParam(required = false) String description,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) {
+        if (file == null || file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("File is required"));
+        }
+        if (userId == null)
+            userId = 1L; // Default user for demo
+        UploadDocumentRequest request = new UploadDocumentRequest(caseId, caseNumber, documentName, documentType,
+                description, null);
+        try (InputStream content = file.getInputStream()) {
+            DocumentResponse response = documentService.upload(request, content, file.getOriginalFilename(), userId);
+            if (response == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse("Unable to upload document. Check case and document name."));
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Unable to store uploaded file"));
+        }
+    }
+
+    /**
+     * Document bytes, with {@code Range} support so PDF viewers can fetch just the pages they
+     * show. Conditional requests ({@code If-None-Match}, {@code If-Modified-Since}) are
+     * answered with 304, and {@code If-Range} falls back to the full document when the
+     * client's copy is stale. Under Tomcat a whole document or single range is handed to the
+     * connector's sendfile support; otherwise, and for multi-range responses, the file is
+     * written from memory-mapped regions without a heap copy of its content.
+     */
+    @GetMapping("/{id}/content")
+    public ResponseEntity<?> getDocumentContent(@PathVariable Long id, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        DocumentContent content = documentService.getContent(id);
+        if (content == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Document content not found"));
+        }
+        // A document's content never changes, so the content hash is a strong validator.
+        String etag = content.contentHash() != null ? '"' + content.contentHash() + '"'
+                : HttpETags.strong("document", content.documentId(), content.size(), content.lastModified());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, DOCUMENT_CACHE_CONTROL.getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(etag, content.lastModified())) {
+            return null;
+        }
+
+        String contentType = MediaTypeFactory.getMediaType(content.name())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(content.name(), StandardCharsets.UTF_8).build().toString());
+
+        List<Range> ranges = ByteRanges.ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag,
+                content.lastModified()) ? ByteRanges.parse(request.getHeader(HttpHeaders.RANGE), content.size())
+                        : null;
+        if (ranges != null && ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + content.size());
+            return null;
+        }
+        if (ranges == null || ranges.size() == 1) {
+            Range range = ranges == null ? new Range(0, content.size() - 1) : ranges.get(0);
+            response.setStatus(ranges == null ? HttpServletResponse.SC_OK : HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(contentType);
+            response.setContentLengthLong(range.length());
+            if (ranges != null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(content.size()));
+            }
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                request.setAttribute(SENDFILE_FILENAME, content.file().toString());
+                request.setAttribute(SENDFILE_START, range.start());
+                request.setAttribute(SENDFILE_END, range.end() + 1);
+                return null;
+            }
+            try (FileChannel channel = FileChannel.open(content.file(), StandardOpenOption.READ)) {
+                writeMapped(channel, range, Channels.newChannel(response.getOutputStream()));
+            }
+            return null;
+        }
+        writeMultipartRanges(content, contentType, ranges, response);
+        // Response already written; nothing left for Spring MVC to render.
+        return null;
+    }
+
+    /** {@code multipart/byteranges} body (RFC 9110 section 14.6), one part per range. */
+    private static void writeMultipartRanges(DocumentContent content, String contentType, List<Range> ranges,
+            HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        long length = closing.length;
+        for (Range range : ranges) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + range.contentRange(content.size()) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            length += header.length + range.length();
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(length);
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel channelOut = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(content.file(), StandardOpenOption.READ)) {
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders.get(i));
+                writeMapped(channel, ranges.get(i), channelOut);
+            }
+        }
+        out.write(closing);
+    }
+
+    /**
+     * Writes {@code range} of the file from read-only mappings of at most {@link #MAP_WINDOW}
+     * bytes, so pages the OS already caches are sent without being read into the heap.
+     */
+    private static void writeMapped(FileChannel channel, Range range, WritableByteChannel out) throws IOException {
+        long position = range.start();
+        long end = range.end() + 1;
+        while (position < end) {
+            long window = Math.min(MAP_WINDOW, end - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            position += window;
+        }
+    }
+
+    // ── Resumable chunked uploads ──────────────────────────
+
+    /**
+     * Starts a resumable upload. The response gives the chunk size and count; each chunk is
+     * then PUT to {@code /uploads/{uploadId}/chunks/{index}}, in any order.
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadSessionStatus> createUploadSession(@RequestBody CreateUploadSessionRequest request,
+            @RequestHeader(value = "X-User-Id", required = false) Long userId) throws IOException {
+        if (userId == null)
+            userId = 1L; // Default user for demo
+        return ResponseEntity.status(HttpStatus.CREATED).body(chunkedUploadService.createSession(request, userId));
+    }
+
+    /** Session state, including which chunks have arrived; used to resume after a failure. */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionStatus> getUploadSession(@PathVariable String uploadId) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.getStatus(uploadId));
+    }
+
+    /**
+     * One chunk as the raw request body. {@code X-Chunk-Sha256}, when sent, must match the
+     * received bytes; the computed checksum is returned either way.
+     */
+    @PutMapping(value = "/uploads/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadChunkResult> putChunk(@PathVariable String uploadId, @PathVariable int index,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String checksum,
+            HttpServletRequest request) throws IOException {
+        try (InputStream content = request.getInputStream()) {
+            return ResponseEntity.ok(chunkedUploadService.putChunk(uploadId, index, content, checksum));
+        }
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId) throws IOException {
+        DocumentResponse response;
+        try {
+            response = chunkedUploadService.complete(uploadId);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        }
+        if (response == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("Unable to create document"));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId) throws IOException {
+        chunkedUploadService.abort(uploadId);
+        return ResponseEntity.ok(new SuccessResponse("Upload cancelled"));
+    }
+
+    /**
+     * Ranked search over document names, descriptions and extracted text, optionally within
+     * one case. Text of a new upload becomes searchable once background extraction reaches it.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<DocumentSearchHit>> searchDocuments(@RequestParam(required = false) String q,
+            @RequestParam(required = false) Long caseId,
+            @RequestParam(required = false) String caseNumber,
+            @RequestParam(required = false) Integer limit) {
+        if (q == null || q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(documentSearchService.search(q, caseId, caseNumber, limit));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteDocument(@PathVariable Long id) {
+        if (!documentService.deleteDocument(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Document not found"));
+        }
+        return ResponseEntity.ok(new SuccessResponse("Document deleted"));
+    }
+
+    /**
+     * Admin view of content-addressed storage: logical vs stored bytes and what dedup saves.
+     */
+    @GetMapping("/admin/storage-stats")
+    public ResponseEntity<DocumentStorageStats> getStorageStats() {
+        return ResponseEntity.ok(documentService.getStorageStats());
+    }
+
+    /**
+     * Runs the cold-tier job now instead of waiting for its schedule: packs the content of
+     * documents whose cases have been closed for the configured number of months.
+     */
+    @PostMapping("/admin/tiering/run")
+    public ResponseEntity<TieringRunResult> runTiering() {
+        return ResponseEntity.ok(documentTieringService.runTiering());
+    }
+
+    /** Text extraction backlog (queued, running, failed) and worker usage. */
+    @GetMapping("/admin/text-extraction")
+    public ResponseEntity<DocumentExtractionStats> getExtractionStats() {
+        return ResponseEntity.ok(documentSearchService.getExtractionStats());
+    }
+
+    static class ErrorResponse {
+        public String message;
+
+        public ErrorResponse(String message) {
+            this.message = message;
+        }
+    }
+
+    static class SuccessResponse {
+        public String message;
+
+        public SuccessResponse(String message) {
+            this.message = message;
+        }
+    }
+}
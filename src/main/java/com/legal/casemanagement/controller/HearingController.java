@@ -1,6 +1,7 @@
 package com.legal.casemanagement.controller;
 
 import com.legal.casemanagement.dto.HearingDtos.*;
+import com.legal.casemanagement.service.HearingBulkService;
 import com.legal.casemanagement.service.HearingService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,9 +14,11 @@ import java.util.List;
 public class HearingController {
 
     private final HearingService hearingService;
+    private final HearingBulkService hearingBulkService;
 
-    public HearingController(HearingService hearingService) {
+    public HearingController(HearingService hearingService, HearingBulkService hearingBulkService) {
         this.hearingService = hearingService;
+        this.hearingBulkService = hearingBulkService;
     }
 
     @GetMapping
@@ -25,6 +28,31 @@ public class HearingController {
         return ResponseEntity.ok(hearingService.getHearings(caseId, status));
     }
 
+    /** Double-bookings (same advocate or courtroom, overlapping times) among scheduled hearings. */
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<HearingConflict>> getConflicts(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Long advocateUserId,
+            @RequestParam(required = false) String kind,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(hearingService.findConflicts(from, to, advocateUserId, kind, limit));
+    }
+
+    /** Hearing counts and hearings per day, week or month cell, for calendar views. */
+    @GetMapping("/calendar")
+    public ResponseEntity<HearingCalendar> getCalendar(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String granularity,
+            @RequestParam(required = false) Long advocateUserId,
+            @RequestParam(required = false) String court,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer limitPerBucket) {
+        return ResponseEntity.ok(hearingService.getCalendar(from, to, granularity, advocateUserId, court, status,
+                limitPerBucket));
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateHearingStatus(@PathVariable Long id,
             @RequestBody UpdateHearingStatusRequest request) {
@@ -35,6 +63,15 @@ public class HearingController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Records many hearing outcomes in one transaction, booking follow-up hearings for dated
+     * adjournments. Entries that cannot be applied are reported per hearing; the rest are.
+     */
+    @PostMapping("/bulk-outcomes")
+    public ResponseEntity<BulkHearingOutcomeResult> applyOutcomes(@RequestBody BulkHearingOutcomeRequest request) {
+        return ResponseEntity.ok(hearingBulkService.applyOutcomes(request));
+    }
+
     static class ErrorResponse {
         public String message;
 
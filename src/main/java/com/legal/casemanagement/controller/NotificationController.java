@@ -0,0 +1,45 @@
+package com.legal.casemanagement.controller;
+
+import com.legal.casemanagement.dto.NotificationDtos.NotificationItem;
+import com.legal.casemanagement.dto.NotificationDtos.ReminderStats;
+import com.legal.casemanagement.service.NotificationService;
+import com.legal.casemanagement.service.ReminderService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final ReminderService reminderService;
+
+    public NotificationController(NotificationService notificationService, ReminderService reminderService) {
+        this.notificationService = notificationService;
+        this.reminderService = reminderService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<NotificationItem>> getNotifications(@RequestParam("userId") Long userId,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(notificationService.getNotifications(userId, unreadOnly, limit));
+    }
+
+    @PatchMapping("/{id}/read")
+    public ResponseEntity<?> markAsRead(@PathVariable Long id) {
+        if (!notificationService.markAsRead(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Pending reminder timers and delivery counters since startup. */
+    @GetMapping("/admin/reminders")
+    public ResponseEntity<ReminderStats> getReminderStats() {
+        return ResponseEntity.ok(reminderService.getStats());
+    }
+}
@@ -1,6 +1,7 @@
 package com.legal.casemanagement.controller;
 
 import com.legal.casemanagement.dto.ReportDtos.*;
+import com.legal.casemanagement.service.InsertStatementRegistry;
 import com.legal.casemanagement.service.ReportService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,9 +14,11 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final InsertStatementRegistry insertStatements;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, InsertStatementRegistry insertStatements) {
         this.reportService = reportService;
+        this.insertStatements = insertStatements;
     }
 
     /**
@@ -33,4 +36,12 @@ public class ReportController {
     public ResponseEntity<List<CaseReportItem>> getCaseReport() {
         return ResponseEntity.ok(reportService.getCaseReport());
     }
+
+    /**
+     * Per-table counters and timings of the precompiled INSERT statements.
+     */
+    @GetMapping("/insert-statements")
+    public ResponseEntity<List<InsertStatementStats>> getInsertStatementStats() {
+        return ResponseEntity.ok(insertStatements.stats());
+    }
 }
@@ -0,0 +1,19 @@
+package com.legal.casemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class CalendarDtos {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CalendarFeedLink {
+        private Long advocateId;
+        private String token;
+        private String path; // relative subscription URL, token included
+    }
+}
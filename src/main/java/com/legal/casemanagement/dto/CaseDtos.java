@@ -1,5 +1,6 @@
 package com.legal.casemanagement.dto;
 
+import com.legal.casemanagement.dto.HearingDtos.HearingConflict;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,6 +26,37 @@ public class CaseDtos {
         private Long overdueTasks;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CaseListFilter {
+        private String role;
+        private Long userId;
+        private String status;      // display label (Active/Closed) or DB value, comma separated
+        private String caseType;
+        private String priority;
+        private Long advocateUserId;
+        private String court;
+        private String filedFrom;   // yyyy-MM-dd, inclusive
+        private String filedTo;     // yyyy-MM-dd, inclusive
+        private String sort;        // createdAt (default), updatedAt, caseNumber
+        private String direction;   // asc / desc (default)
+        private String cursor;
+        private Integer limit;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CasePage {
+        private List<CaseListItem> items;
+        private String nextCursor;
+        private boolean hasMore;
+        private int limit;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -51,6 +83,7 @@ public class CaseDtos {
     @AllArgsConstructor
     @Builder
     public static class CaseDocumentItem {
+        private Long id;
         private String name;
         private String type;
         private String size;
@@ -104,6 +137,30 @@ public class CaseDtos {
         private List<CaseNoteItem> notes;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CaseDetailVersion {
+        private long version;
+        private String etag;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CaseDetailCacheStats {
+        private int size;
+        private int maxEntries;
+        private long ttlSeconds;
+        private long hits;
+        private long misses;
+        private double hitRatio;
+        private long evictions;
+        private long expirations;
+        private long invalidations;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -148,6 +205,84 @@ public class CaseDtos {
         private String judgeName;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CaseActivityItem {
+        private long eventId;
+        private String type;
+        private String title;
+        private String detail;
+        private String date;
+        private long occurredAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CaseActivityPage {
+        private List<CaseActivityItem> items;
+        private String nextCursor;
+        private boolean hasMore;
+        private int limit;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkCaseUpdateRequest {
+        private List<String> caseNumbers;
+        private Long advocateUserId;
+        private String status;
+        private String priority;
+        private String court;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkCaseUpdateResult {
+        private int requested;
+        private int updated;
+        private int failed;
+        private List<BulkCaseOutcome> results;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkCaseOutcome {
+        private String caseNumber;
+        private String outcome;
+        private String message;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CaseImportResult {
+        private int totalRows;
+        private int imported;
+        private int failed;
+        private List<CaseImportError> errors;
+        private boolean errorsTruncated;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CaseImportError {
+        private int row;
+        private String caseNumber;
+        private String message;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -187,9 +322,137 @@ public class CaseDtos {
     public static class DocumentResponse {
         private Long documentId;
         private String documentName;
+        private long fileSize;
         private String message;
     }
 
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CreateUploadSessionRequest {
+        private Long caseId;
+        private String caseNumber;
+        private String documentName;
+        private String documentType;
+        private String description;
+        private Long totalSize;
+        private Integer chunkSize;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UploadSessionStatus {
+        private String uploadId;
+        private String documentName;
+        private long totalSize;
+        private int chunkSize;
+        private int chunkCount;
+        private List<Integer> receivedChunks;
+        private long receivedBytes;
+        private String expiresAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UploadChunkResult {
+        private String uploadId;
+        private int index;
+        private long size;
+        private String sha256;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DocumentStorageStats {
+        private long documents;
+        private long blobs;
+        private long logicalBytes;
+        private long storedBytes;
+        private long savedBytes;
+        private String saved;
+        private double dedupRatio;
+        /** Blobs in the cold tier and their uncompressed size (included in blobs/storedBytes). */
+        private long coldBlobs;
+        private long coldBytes;
+        /** Cold-tier pack files and the bytes they take on disk. */
+        private long packs;
+        private long packedBytes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TieringRunResult {
+        private int packs;
+        private long blobs;
+        private long rawBytes;
+        private long packedBytes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DocumentSearchHit {
+        private Long documentId;
+        private Long caseId;
+        private String caseNumber;
+        private String documentName;
+        private String documentType;
+        private String uploadedAt;
+        private double score;
+        private String snippet;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DocumentExtractionStats {
+        private long pending;
+        private long running;
+        private long failed;
+        private long indexedDocuments;
+        private int workers;
+        private int busyWorkers;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FilingBundleRequest {
+        private String title;
+        private List<Long> documentIds;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FilingBundleStatus {
+        private String jobId;
+        private String caseNumber;
+        private String title;
+        private String status;
+        private int totalDocuments;
+        private int processedDocuments;
+        private int totalPages;
+        private int pagesWritten;
+        private int percentComplete;
+        private long fileSize;
+        private String createdAt;
+        private String finishedAt;
+        private String error;
+        private List<String> warnings;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -201,6 +464,9 @@ public class CaseDtos {
         private String courtroom;
         private String hearingType;
         private String remarks;
+        private Integer durationMinutes;
+        // Schedule even when the advocate or courtroom is already booked (conflicts are still reported).
+        private Boolean allowConflicts;
     }
 
     @Data
@@ -211,6 +477,7 @@ public class CaseDtos {
         private Long hearingId;
         private String hearingDate;
         private String message;
+        private List<HearingConflict> conflicts;
     }
 
     @Data
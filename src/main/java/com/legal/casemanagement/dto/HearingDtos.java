@@ -5,6 +5,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+import java.util.Map;
+
 public class HearingDtos {
 
     @Data
@@ -40,4 +43,98 @@ public class HearingDtos {
         private Long hearingId;
         private String message;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HearingSlot {
+        private Long hearingId;
+        private String caseNumber;
+        private String start;
+        private String end;
+    }
+
+    /** {@code hearing} overlaps {@code conflictsWith} on the same advocate or courtroom. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HearingConflict {
+        private String kind; // ADVOCATE, COURTROOM
+        private String resource;
+        private HearingSlot hearing;
+        private HearingSlot conflictsWith;
+    }
+
+    /** Hearings between {@code from} and {@code to} grouped into day, week or month buckets. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HearingCalendar {
+        private String from;
+        private String to;
+        private String granularity; // DAY, WEEK, MONTH
+        private long total;
+        private List<HearingCalendarBucket> buckets;
+    }
+
+    /** One calendar cell; {@code start}/{@code end} are inclusive and clipped to the window. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HearingCalendarBucket {
+        private String start;
+        private String end;
+        private long count;
+        private Map<String, Long> statusCounts;
+        private List<HearingListItem> hearings;
+        private boolean truncated; // more than limitPerBucket hearings; counts are still complete
+    }
+
+    /** A day's outcomes from court, applied together by {@code POST /api/hearings/bulk-outcomes}. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkHearingOutcomeRequest {
+        private List<HearingOutcomeEntry> outcomes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class HearingOutcomeEntry {
+        private Long hearingId;
+        private String status; // COMPLETED, ADJOURNED, CANCELLED
+        private String remarks;
+        private String nextHearingDate; // yyyy-MM-dd; an adjournment with a date gets a follow-up hearing
+        private String nextHearingTime; // HH:mm, defaults to this hearing's time
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkHearingOutcomeResult {
+        private int requested;
+        private int updated;
+        private int failed;
+        private int followUpsScheduled;
+        private List<BulkHearingOutcome> results;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BulkHearingOutcome {
+        private Long hearingId;
+        private String outcome; // UPDATED, NOT_FOUND, NOT_SCHEDULED, INVALID
+        private String message;
+        private Long followUpHearingId;
+        private List<HearingConflict> conflicts;
+    }
 }
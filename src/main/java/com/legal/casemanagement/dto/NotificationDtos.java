@@ -0,0 +1,37 @@
+package com.legal.casemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class NotificationDtos {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class NotificationItem {
+        private Long notificationId;
+        private String kind;
+        private Long sourceId;
+        private String caseNumber;
+        private String title;
+        private String body;
+        private String dueAt;
+        private boolean read;
+        private String createdAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ReminderStats {
+        private int pendingTimers;
+        private int trackedItems;
+        private long delivered;
+        private long skipped;
+        private long failed;
+    }
+}
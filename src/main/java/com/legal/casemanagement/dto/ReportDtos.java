@@ -79,4 +79,18 @@ public class ReportDtos {
         private String priority;
         private String filingDate;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class InsertStatementStats {
+        private String table;
+        private String sql;
+        private long executions;
+        private long rows;
+        private long errors;
+        private long avgMicros;
+        private long maxMicros;
+    }
 }
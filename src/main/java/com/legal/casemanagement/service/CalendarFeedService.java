@@ -0,0 +1,376 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CalendarDtos.CalendarFeedLink;
+import com.legal.casemanagement.util.HttpETags;
+import com.legal.casemanagement.util.ICalendar;
+import com.legal.casemanagement.util.RowFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-advocate iCalendar feeds of hearings (on the advocate's cases) and open task deadlines
+ * (on those cases or assigned to the advocate), for phone calendar subscriptions.
+ * <p>
+ * A feed is only readable with the advocate's calendar token, which is random and can be
+ * rotated. Each built feed keeps one serialized VEVENT per hearing or task. Write paths
+ * report changes through {@link CaseChangeTracker}, which marks hearing, task or case ids
+ * dirty in every cached feed without touching the database; the next request re-reads just
+ * those rows and swaps their fragments. When no fragment actually changed, the body,
+ * ETag and Last-Modified stay as they were, so a client polling with If-Modified-Since or
+ * If-None-Match gets a 304 from memory. Every feed is rebuilt from scratch after
+ * {@code calendar.feed.full-rebuild-minutes} to drop events that aged out of the window.
+ */
+@Service
+public class CalendarFeedService {
+
+    private static final String UID_DOMAIN = "@legal-case-management";
+    private static final int MAX_DIRTY = 2000;
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+
+    /** A built feed, ready to serve or to answer a conditional request with. */
+    public record CalendarFeed(byte[] body, String etag, long lastModified) {
+    }
+
+    private record Event(boolean hearing, long sourceId, String caseNumber, String text) {
+    }
+
+    private static final class Feed {
+        final long advocateId;
+        final long userId;
+        final String token;
+        final String name;
+        final Set<Long> dirtyHearings = ConcurrentHashMap.newKeySet();
+        final Set<Long> dirtyTasks = ConcurrentHashMap.newKeySet();
+        final Set<String> dirtyCases = ConcurrentHashMap.newKeySet();
+        volatile boolean rebuild = true;
+        Map<String, Event> events = new TreeMap<>();
+        long builtAt;
+        long revision;
+        CalendarFeed current;
+
+        Feed(long advocateId, long userId, String token, String name) {
+            this.advocateId = advocateId;
+            this.userId = userId;
+            this.token = token;
+            this.name = name;
+        }
+
+        boolean dirty() {
+            return rebuild || !dirtyHearings.isEmpty() || !dirtyTasks.isEmpty() || !dirtyCases.isEmpty();
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int pastDays;
+    private final long fullRebuildMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<Long, Feed> feeds = new ConcurrentHashMap<>();
+
+    public CalendarFeedService(JdbcTemplate jdbcTemplate,
+            @Value("${calendar.feed.past-days:90}") int pastDays,
+            @Value("${calendar.feed.full-rebuild-minutes:360}") long fullRebuildMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pastDays = Math.max(0, pastDays);
+        this.fullRebuildMillis = TimeUnit.MINUTES.toMillis(Math.max(1, fullRebuildMinutes));
+    }
+
+    /** Issues a new calendar token for the advocate; any previous feed URL stops working. */
+    public CalendarFeedLink issueToken(Long advocateId) {
+        String token = HexFormat.of().formatHex(randomBytes());
+        if (jdbcTemplate.update("UPDATE advocates SET calendar_token = ? WHERE advocate_id = ?", token,
+                advocateId) == 0) {
+            throw new NoSuchElementException("Advocate not found: " + advocateId);
+        }
+        feeds.remove(advocateId);
+        return CalendarFeedLink.builder()
+                .advocateId(advocateId)
+                .token(token)
+                .path("/api/calendar/" + advocateId + ".ics?token=" + token)
+                .build();
+    }
+
+    /** The advocate's feed, brought up to date; unknown advocates and wrong tokens are both "not found". */
+    public CalendarFeed getFeed(Long advocateId, String token) {
+        Feed feed = feeds.get(advocateId);
+        if (feed == null) {
+            feed = loadFeed(advocateId);
+        }
+        if (token == null || !MessageDigest.isEqual(feed.token.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8))) {
+            throw new NoSuchElementException("Calendar feed not found");
+        }
+        synchronized (feed) {
+            if (System.currentTimeMillis() - feed.builtAt >= fullRebuildMillis) {
+                feed.rebuild = true;
+            }
+            if (feed.dirty()) {
+                refresh(feed);
+            }
+            return feed.current;
+        }
+    }
+
+    public void hearingChanged(Long hearingId) {
+        if (hearingId != null) {
+            for (Feed feed : feeds.values()) {
+                markDirty(feed, feed.dirtyHearings, hearingId);
+            }
+        }
+    }
+
+    public void taskChanged(Long taskId) {
+        if (taskId != null) {
+            for (Feed feed : feeds.values()) {
+                markDirty(feed, feed.dirtyTasks, taskId);
+            }
+        }
+    }
+
+    /** Anything on the case may have changed, including which advocate it belongs to. */
+    public void caseChanged(String caseNumber) {
+        if (caseNumber != null) {
+            for (Feed feed : feeds.values()) {
+                markDirty(feed, feed.dirtyCases, caseNumber);
+            }
+        }
+    }
+
+    private static <T> void markDirty(Feed feed, Set<T> dirty, T id) {
+        if (feed.rebuild) {
+            return;
+        }
+        dirty.add(id);
+        // A feed nobody polls should not collect ids forever; rebuild it whole instead.
+        if (dirty.size() > MAX_DIRTY) {
+            feed.rebuild = true;
+        }
+    }
+
+    private Feed loadFeed(Long advocateId) {
+        List<Feed> found = jdbcTemplate.query("SELECT a.advocate_id, a.user_id, a.calendar_token, u.name " +
+                "FROM advocates a JOIN users u ON u.user_id = a.user_id " +
+                "WHERE a.advocate_id = ? AND a.calendar_token IS NOT NULL",
+                (rs, rowNum) -> new Feed(rs.getLong("advocate_id"), rs.getLong("user_id"),
+                        rs.getString("calendar_token"), rs.getString("name")),
+                advocateId);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Calendar feed not found");
+        }
+        return feeds.computeIfAbsent(advocateId, id -> found.get(0));
+    }
+
+    private void refresh(Feed feed) {
+        long started = System.currentTimeMillis();
+        Map<String, Event> events;
+        if (feed.rebuild) {
+            // Cleared before reading, so a change reported during the read is re-read next time.
+            feed.rebuild = false;
+            feed.dirtyHearings.clear();
+            feed.dirtyTasks.clear();
+            feed.dirtyCases.clear();
+            events = new TreeMap<>();
+            load(feed, events, List.of(), List.of(), List.of(), true);
+            feed.builtAt = started;
+        } else {
+            List<Long> hearings = drain(feed.dirtyHearings);
+            List<Long> tasks = drain(feed.dirtyTasks);
+            List<String> cases = drain(feed.dirtyCases);
+            Map<String, Event> reloaded = new HashMap<>();
+            load(feed, reloaded, hearings, tasks, cases, false);
+            events = new TreeMap<>(feed.events);
+            events.values().removeIf(e -> cases.contains(e.caseNumber())
+                    || (e.hearing() ? hearings.contains(e.sourceId()) : tasks.contains(e.sourceId())));
+            events.putAll(reloaded);
+        }
+        if (feed.current != null && events.equals(feed.events)) {
+            return;
+        }
+        feed.events = events;
+        feed.revision++;
+        // Strictly increasing whole seconds, so If-Modified-Since can never hide a change.
+        long previous = feed.current == null ? 0 : feed.current.lastModified();
+        long lastModified = Math.max(started / 1000 * 1000, previous + 1000);
+        feed.current = new CalendarFeed(assemble(feed), HttpETags.strong("calendar", feed.advocateId,
+                feed.token, feed.revision, lastModified), lastModified);
+    }
+
+    private static <T> List<T> drain(Set<T> dirty) {
+        List<T> drained = new ArrayList<>();
+        for (T id : dirty) {
+            if (dirty.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private void load(Feed feed, Map<String, Event> into, Collection<Long> hearingIds, Collection<Long> taskIds,
+            Collection<String> caseNumbers, boolean all) {
+        Timestamp from = Timestamp.valueOf(LocalDateTime.now().minusDays(pastDays));
+        if (all || !hearingIds.isEmpty() || !caseNumbers.isEmpty()) {
+            List<Object> args = new ArrayList<>(List.of(feed.advocateId, from));
+            String sql = "SELECT h.hearing_id, h.hearing_date, h.duration_minutes, h.courtroom, h.hearing_type, " +
+                    "h.status, h.remarks, h.updated_at, c.case_number, c.case_title, c.court_name " +
+                    "FROM hearings h JOIN cases c ON c.case_id = h.case_id " +
+                    "WHERE c.advocate_id = ? AND h.hearing_date >= ?" +
+                    (all ? "" : restriction("h.hearing_id", hearingIds, caseNumbers, args));
+            jdbcTemplate.query(sql, rs -> {
+                Event event = hearingEvent(rs);
+                into.put(uid(event), event);
+            }, args.toArray());
+        }
+        if (all || !taskIds.isEmpty() || !caseNumbers.isEmpty()) {
+            List<Object> args = new ArrayList<>(List.of(feed.advocateId, feed.userId, from));
+            String sql = "SELECT t.task_id, t.task_title, t.description, t.due_date, t.priority, t.updated_at, " +
+                    "c.case_number, c.case_title " +
+                    "FROM tasks t JOIN cases c ON c.case_id = t.case_id " +
+                    "WHERE (c.advocate_id = ? OR t.assigned_to = ?) AND t.due_date >= ? " +
+                    "AND t.status IN ('PENDING', 'IN_PROGRESS')" +
+                    (all ? "" : restriction("t.task_id", taskIds, caseNumbers, args));
+            jdbcTemplate.query(sql, rs -> {
+                Event event = taskEvent(rs);
+                into.put(uid(event), event);
+            }, args.toArray());
+        }
+    }
+
+    /** {@code AND (idColumn IN (...) OR c.case_number IN (...))}, leaving out an empty list. */
+    private static String restriction(String idColumn, Collection<Long> ids, Collection<String> caseNumbers,
+            List<Object> args) {
+        List<String> terms = new ArrayList<>(2);
+        if (!ids.isEmpty()) {
+            terms.add(idColumn + " IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")");
+            args.addAll(ids);
+        }
+        if (!caseNumbers.isEmpty()) {
+            terms.add("c.case_number IN (" + String.join(",", Collections.nCopies(caseNumbers.size(), "?")) + ")");
+            args.addAll(caseNumbers);
+        }
+        return " AND (" + String.join(" OR ", terms) + ")";
+    }
+
+    private Event hearingEvent(ResultSet rs) throws SQLException {
+        long hearingId = rs.getLong("hearing_id");
+        String caseNumber = rs.getString("case_number");
+        String status = rs.getString("status");
+        LocalDateTime start = rs.getTimestamp("hearing_date").toLocalDateTime();
+        int duration = rs.getInt("duration_minutes");
+        String courtroom = rs.getString("courtroom");
+        String court = rs.getString("court_name");
+        String location = court == null ? courtroom : courtroom == null ? court : court + ", " + courtroom;
+
+        StringBuilder out = new StringBuilder(512);
+        ICalendar.property(out, "BEGIN", "VEVENT");
+        ICalendar.property(out, "UID", "hearing-" + hearingId + UID_DOMAIN);
+        stamp(out, rs.getTimestamp("updated_at"));
+        ICalendar.property(out, "DTSTART", ICalendar.utc(start.atZone(zone).toInstant()));
+        ICalendar.property(out, "DTEND", ICalendar.utc(start.plusMinutes(duration > 0 ? duration : 60)
+                .atZone(zone).toInstant()));
+        String prefix = "SCHEDULED".equals(status) ? "" : RowFormat.hearingStatusLabel(status) + ": ";
+        ICalendar.text(out, "SUMMARY", prefix + RowFormat.hearingTypeLabel(rs.getString("hearing_type"))
+                + " hearing – " + caseNumber + " " + rs.getString("case_title"));
+        ICalendar.text(out, "LOCATION", location);
+        ICalendar.text(out, "DESCRIPTION", rs.getString("remarks"));
+        ICalendar.property(out, "STATUS",
+                "CANCELLED".equals(status) || "ADJOURNED".equals(status) ? "CANCELLED" : "CONFIRMED");
+        ICalendar.property(out, "CATEGORIES", "Hearing");
+        ICalendar.property(out, "END", "VEVENT");
+        return new Event(true, hearingId, caseNumber, out.toString());
+    }
+
+    private Event taskEvent(ResultSet rs) throws SQLException {
+        long taskId = rs.getLong("task_id");
+        String caseNumber = rs.getString("case_number");
+        LocalDateTime due = rs.getTimestamp("due_date").toLocalDateTime();
+
+        StringBuilder out = new StringBuilder(384);
+        ICalendar.property(out, "BEGIN", "VEVENT");
+        ICalendar.property(out, "UID", "task-" + taskId + UID_DOMAIN);
+        stamp(out, rs.getTimestamp("updated_at"));
+        // Shown as an all-day entry on the due date; the due time goes in the description.
+        ICalendar.property(out, "DTSTART;VALUE=DATE", ICalendar.date(due.toLocalDate()));
+        ICalendar.property(out, "DTEND;VALUE=DATE", ICalendar.date(due.toLocalDate().plusDays(1)));
+        ICalendar.text(out, "SUMMARY", "Due: " + rs.getString("task_title") + " – " + caseNumber);
+        String description = rs.getString("description");
+        ICalendar.text(out, "DESCRIPTION", "Due " + RowFormat.dateTime(rs.getTimestamp("due_date"))
+                + " · " + rs.getString("case_title") + (description == null ? "" : "\n\n" + description));
+        ICalendar.property(out, "PRIORITY", priority(rs.getString("priority")));
+        ICalendar.property(out, "TRANSP", "TRANSPARENT");
+        ICalendar.property(out, "CATEGORIES", "Task");
+        ICalendar.property(out, "END", "VEVENT");
+        return new Event(false, taskId, caseNumber, out.toString());
+    }
+
+    /** DTSTAMP and LAST-MODIFIED from the row itself, so an unchanged row gives identical text. */
+    private static void stamp(StringBuilder out, Timestamp updatedAt) {
+        String stamp = ICalendar.utc(updatedAt != null ? updatedAt.toInstant() : Instant.EPOCH);
+        ICalendar.property(out, "DTSTAMP", stamp);
+        ICalendar.property(out, "LAST-MODIFIED", stamp);
+    }
+
+    private static String priority(String priority) {
+        if (priority == null) {
+            return "5";
+        }
+        return switch (priority) {
+            case "URGENT" -> "1";
+            case "HIGH" -> "3";
+            case "LOW" -> "9";
+            default -> "5";
+        };
+    }
+
+    private static String uid(Event event) {
+        return (event.hearing() ? "hearing-" : "task-") + event.sourceId();
+    }
+
+    private static byte[] assemble(Feed feed) {
+        int size = 512;
+        for (Event event : feed.events.values()) {
+            size += event.text().length();
+        }
+        StringBuilder out = new StringBuilder(size);
+        ICalendar.property(out, "BEGIN", "VCALENDAR");
+        ICalendar.property(out, "VERSION", "2.0");
+        ICalendar.property(out, "PRODID", "-//Legal Case Management//Calendar Feed//EN");
+        ICalendar.property(out, "CALSCALE", "GREGORIAN");
+        ICalendar.property(out, "METHOD", "PUBLISH");
+        ICalendar.text(out, "X-WR-CALNAME", (feed.name == null ? "Advocate" : feed.name) + " – Hearings & Tasks");
+        ICalendar.property(out, "REFRESH-INTERVAL;VALUE=DURATION", "PT15M");
+        ICalendar.property(out, "X-PUBLISHED-TTL", "PT15M");
+        for (Event event : feed.events.values()) {
+            out.append(event.text());
+        }
+        ICalendar.property(out, "END", "VCALENDAR");
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] randomBytes() {
+        byte[] bytes = new byte[16];
+        TOKEN_RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,191 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.BulkCaseOutcome;
+import com.legal.casemanagement.dto.CaseDtos.BulkCaseUpdateRequest;
+import com.legal.casemanagement.dto.CaseDtos.BulkCaseUpdateResult;
+import com.legal.casemanagement.util.RowFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies one change (advocate, status, priority and/or court) to a list of cases as a
+ * single JDBC batch in one transaction, then reports versions, cached details and the
+ * search index for all of them together.
+ */
+@Service
+public class CaseBulkService {
+
+    public static final String UPDATED = "UPDATED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    private static final int LOOKUP_CHUNK = 500;
+    private static final String UPDATE_SQL =
+            "UPDATE cases SET advocate_id = COALESCE(?, advocate_id), status = COALESCE(?, status), " +
+                    "priority = COALESCE(?, priority), court_name = COALESCE(?, court_name), updated_at = NOW() " +
+                    "WHERE case_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CaseChangeTracker caseChangeTracker;
+    private final CaseSearchService caseSearchService;
+    private final CaseEventService caseEventService;
+    private final HearingConflictIndex hearingConflictIndex;
+    private final int maxCases;
+
+    public CaseBulkService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            CaseChangeTracker caseChangeTracker, CaseSearchService caseSearchService,
+            CaseEventService caseEventService, HearingConflictIndex hearingConflictIndex,
+            @Value("${case.bulk.max-cases:1000}") int maxCases) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.caseChangeTracker = caseChangeTracker;
+        this.caseSearchService = caseSearchService;
+        this.caseEventService = caseEventService;
+        this.hearingConflictIndex = hearingConflictIndex;
+        this.maxCases = Math.max(1, maxCases);
+    }
+
+    public BulkCaseUpdateResult updateCases(BulkCaseUpdateRequest request) {
+        if (request == null || request.getCaseNumbers() == null || request.getCaseNumbers().isEmpty()) {
+            throw new IllegalArgumentException("caseNumbers is required");
+        }
+        Set<String> caseNumbers = new LinkedHashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (String caseNumber : request.getCaseNumbers()) {
+            // Two spellings of one case number are the same case; keep the first.
+            if (caseNumber != null && !caseNumber.isBlank() && keys.add(key(caseNumber.trim()))) {
+                caseNumbers.add(caseNumber.trim());
+            }
+        }
+        if (caseNumbers.isEmpty()) {
+            throw new IllegalArgumentException("caseNumbers is required");
+        }
+        if (caseNumbers.size() > maxCases) {
+            throw new IllegalArgumentException("At most " + maxCases + " cases can be updated at once");
+        }
+
+        String status = null;
+        if (request.getStatus() != null) {
+            status = CaseService.mapStatusToDb(request.getStatus());
+            if (status == null) {
+                throw new IllegalArgumentException("Unknown status: " + request.getStatus());
+            }
+        }
+        String priority = null;
+        if (request.getPriority() != null) {
+            priority = CaseService.mapPriorityToDb(request.getPriority());
+            if (priority == null) {
+                throw new IllegalArgumentException("Unknown priority: " + request.getPriority());
+            }
+        }
+        Long advocateId = null;
+        if (request.getAdvocateUserId() != null) {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT advocate_id FROM advocates WHERE user_id = ? LIMIT 1", Long.class,
+                    request.getAdvocateUserId());
+            if (ids.isEmpty()) {
+                throw new IllegalArgumentException("No advocate for user " + request.getAdvocateUserId());
+            }
+            advocateId = ids.get(0);
+        }
+        String court = request.getCourt() == null || request.getCourt().isBlank() ? null : request.getCourt().trim();
+        if (advocateId == null && status == null && priority == null && court == null) {
+            throw new IllegalArgumentException("Nothing to update: set advocateUserId, status, priority or court");
+        }
+
+        Map<String, Long> caseIds = resolveCaseIds(new ArrayList<>(caseNumbers));
+        List<String> targets = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (String caseNumber : caseNumbers) {
+            Long caseId = caseIds.get(key(caseNumber));
+            if (caseId != null) {
+                targets.add(caseNumber);
+                batch.add(new Object[] { advocateId, status, priority, court, caseId });
+            }
+        }
+        int[] counts = batch.isEmpty() ? new int[0]
+                : transactionTemplate.execute(tx -> jdbcTemplate.batchUpdate(UPDATE_SQL, batch));
+
+        List<BulkCaseOutcome> results = new ArrayList<>(caseNumbers.size());
+        List<Long> changed = new ArrayList<>();
+        int next = 0;
+        for (String caseNumber : caseNumbers) {
+            boolean found = next < targets.size() && targets.get(next).equals(caseNumber);
+            // SUCCESS_NO_INFO: the driver rewrote the batch and cannot report per-row counts.
+            if (found && (counts[next] > 0 || counts[next] == Statement.SUCCESS_NO_INFO)) {
+                changed.add(caseIds.get(key(caseNumber)));
+                results.add(new BulkCaseOutcome(caseNumber, UPDATED, null));
+            } else {
+                results.add(new BulkCaseOutcome(caseNumber, NOT_FOUND, "Case not found"));
+            }
+            if (found) {
+                next++;
+            }
+        }
+
+        caseEventService.appendAll(changed, CaseEventService.CASE_UPDATED, "Case Updated",
+                describeChanges(advocateId != null, status, priority, court));
+        caseChangeTracker.casesChanged(changed);
+        caseSearchService.reindexCases(changed);
+        if (advocateId != null || court != null) {
+            hearingConflictIndex.casesChanged(changed);
+        }
+
+        return BulkCaseUpdateResult.builder()
+                .requested(caseNumbers.size())
+                .updated(changed.size())
+                .failed(caseNumbers.size() - changed.size())
+                .results(results)
+                .build();
+    }
+
+    private static String describeChanges(boolean reassigned, String status, String priority, String court) {
+        List<String> changes = new ArrayList<>();
+        if (reassigned) {
+            changes.add("Advocate reassigned");
+        }
+        if (status != null) {
+            changes.add("Status: " + RowFormat.caseStatusLabel(status));
+        }
+        if (priority != null) {
+            changes.add("Priority: " + RowFormat.priorityLabel(priority));
+        }
+        if (court != null) {
+            changes.add("Court: " + court);
+        }
+        return String.join(", ", changes);
+    }
+
+    /** Case ids by {@link #key} of their case number. */
+    private Map<String, Long> resolveCaseIds(List<String> caseNumbers) {
+        Map<String, Long> ids = new HashMap<>();
+        for (int from = 0; from < caseNumbers.size(); from += LOOKUP_CHUNK) {
+            List<String> chunk = caseNumbers.subList(from, Math.min(caseNumbers.size(), from + LOOKUP_CHUNK));
+            jdbcTemplate.query("SELECT case_id, case_number FROM cases WHERE case_number IN ("
+                    + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")",
+                    rs -> {
+                        ids.put(key(rs.getString("case_number")), rs.getLong("case_id"));
+                    }, chunk.toArray());
+        }
+        return ids;
+    }
+
+    /** cases.case_number compares case-insensitively, so lookups of the SQL results must too. */
+    private static String key(String caseNumber) {
+        return caseNumber.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,168 @@
+package com.legal.casemanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
+import com.legal.casemanagement.dto.CaseDtos.CaseHearingItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseNoteItem;
+import com.legal.casemanagement.service.DocumentService.DocumentStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.FileTime;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A whole case file as one ZIP: every document under {@code documents/}, plus
+ * {@code index.json} (the case detail) and {@code index.txt} (the same, readable, with the
+ * archive name of each document).
+ * <p>
+ * The archive is written straight to the caller's stream while documents are read from
+ * storage, one buffer at a time, so neither memory nor disk use grows with the case.
+ * Cold-tier documents are inflated from their pack as they are copied, not thawed to disk
+ * first. Content that is already compressed (PDF, Office, images, archives) is stored
+ * without recompression.
+ */
+@Service
+public class CaseBundleService {
+
+    private static final Logger log = LoggerFactory.getLogger(CaseBundleService.class);
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "pdf", "docx", "xlsx", "pptx", "odt", "jpg", "jpeg", "png", "gif", "webp", "zip", "gz", "7z", "rar",
+            "mp3", "mp4", "m4a");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentService documentService;
+    private final ObjectMapper objectMapper;
+
+    public CaseBundleService(JdbcTemplate jdbcTemplate, DocumentService documentService, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.documentService = documentService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the bundle of the case described by {@code detail} to {@code out}. The stream
+     * is finished as a ZIP but not closed.
+     */
+    public void writeBundle(CaseDetail detail, OutputStream out) throws IOException {
+        List<Object[]> documents = jdbcTemplate.query("SELECT d.document_id, d.uploaded_at FROM documents d " +
+                "JOIN cases c ON c.case_id = d.case_id WHERE c.case_number = ? ORDER BY d.uploaded_at, d.document_id",
+                (rs, rowNum) -> new Object[] { rs.getLong("document_id"), rs.getTimestamp("uploaded_at") },
+                detail.getCaseNumber());
+
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        List<String> archived = new ArrayList<>(documents.size());
+        for (Object[] document : documents) {
+            long documentId = (Long) document[0];
+            try (DocumentStream content = documentService.openContent(documentId)) {
+                if (content == null) {
+                    archived.add(documentId + "  (content unavailable)");
+                    continue;
+                }
+                String name = "documents/" + documentId + " - " + safeName(content.name());
+                ZipEntry entry = new ZipEntry(name);
+                Timestamp uploadedAt = (Timestamp) document[1];
+                if (uploadedAt != null) {
+                    entry.setLastModifiedTime(FileTime.fromMillis(uploadedAt.getTime()));
+                }
+                zip.setLevel(isCompressed(content.name()) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(entry);
+                content.content().transferTo(zip);
+                zip.closeEntry();
+                archived.add(name);
+            }
+        }
+
+        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+        zip.putNextEntry(new ZipEntry("index.json"));
+        zip.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(detail));
+        zip.closeEntry();
+        zip.putNextEntry(new ZipEntry("index.txt"));
+        zip.write(indexText(detail, archived).getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+        zip.finish();
+        log.debug("Bundled case {}: {} documents", detail.getCaseNumber(), archived.size());
+    }
+
+    private static String indexText(CaseDetail detail, List<String> archived) {
+        StringBuilder text = new StringBuilder();
+        line(text, "Case", detail.getCaseNumber() + " – " + detail.getTitle());
+        line(text, "Status", detail.getStatus());
+        line(text, "Category", detail.getCategory());
+        line(text, "Priority", detail.getPriority());
+        line(text, "Filed", detail.getFilingDate());
+        line(text, "Court", detail.getCourt());
+        line(text, "Judge", detail.getJudge());
+        line(text, "Client", detail.getClient());
+        line(text, "Advocate", detail.getAdvocate());
+        line(text, "Opposing party", detail.getOpposingParty());
+        line(text, "Opposing counsel", detail.getOpposingCounsel());
+        if (detail.getDescription() != null && !detail.getDescription().isBlank()) {
+            text.append('\n').append(detail.getDescription().trim()).append('\n');
+        }
+
+        text.append("\nHearings\n");
+        if (detail.getHearings() == null || detail.getHearings().isEmpty()) {
+            text.append("  (none)\n");
+        } else {
+            for (CaseHearingItem hearing : detail.getHearings()) {
+                text.append("  ").append(hearing.getDate()).append(' ').append(hearing.getTime())
+                        .append("  ").append(hearing.getPurpose());
+                if (hearing.getLocation() != null) {
+                    text.append(" (").append(hearing.getLocation()).append(')');
+                }
+                text.append('\n');
+            }
+        }
+
+        text.append("\nNotes\n");
+        if (detail.getNotes() == null || detail.getNotes().isEmpty()) {
+            text.append("  (none)\n");
+        } else {
+            for (CaseNoteItem note : detail.getNotes()) {
+                text.append("  ").append(note.getDate()).append("  ").append(note.getAuthor()).append('\n');
+                text.append("    ").append(note.getText() == null ? "" : note.getText().replace("\n", "\n    "))
+                        .append('\n');
+            }
+        }
+
+        text.append("\nDocuments\n");
+        if (archived.isEmpty()) {
+            text.append("  (none)\n");
+        }
+        for (String name : archived) {
+            text.append("  ").append(name).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void line(StringBuilder text, String label, String value) {
+        if (value != null && !value.isBlank()) {
+            text.append(label).append(": ").append(value).append('\n');
+        }
+    }
+
+    /** Document name usable as a ZIP entry on every platform: no separators or control characters. */
+    static String safeName(String name) {
+        String safe = name == null ? "" : name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        safe = safe.replaceAll("^\\.+", "");
+        return safe.isEmpty() ? "document" : safe;
+    }
+
+    private static boolean isCompressed(String name) {
+        int dot = name == null ? -1 : name.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+}
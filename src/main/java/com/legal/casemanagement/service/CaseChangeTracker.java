@@ -0,0 +1,98 @@
+package com.legal.casemanagement.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single place every write path reports "this case's detail changed". It bumps
+ * {@code cases.version} (the input to case list/detail ETags), then drops the case's
+ * cached detail and marks its hearings and tasks stale in cached calendar feeds.
+ * The version is bumped first so a conditional GET never pairs the new ETag with
+ * a body read before the change.
+ */
+@Component
+public class CaseChangeTracker {
+
+    private static final int BATCH_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CaseDetailCache caseDetailCache;
+    private final CalendarFeedService calendarFeedService;
+
+    public CaseChangeTracker(JdbcTemplate jdbcTemplate, CaseDetailCache caseDetailCache,
+            CalendarFeedService calendarFeedService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.caseDetailCache = caseDetailCache;
+        this.calendarFeedService = calendarFeedService;
+    }
+
+    public void caseChanged(String caseNumber) {
+        if (caseNumber == null) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE cases SET version = version + 1 WHERE case_number = ?", caseNumber);
+        caseDetailCache.invalidate(caseNumber);
+        calendarFeedService.caseChanged(caseNumber);
+    }
+
+    public void caseChanged(Long caseId) {
+        if (caseId == null) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE cases SET version = version + 1 WHERE case_id = ?", caseId);
+        for (String caseNumber : jdbcTemplate.queryForList(
+                "SELECT case_number FROM cases WHERE case_id = ?", String.class, caseId)) {
+            caseDetailCache.invalidate(caseNumber);
+            calendarFeedService.caseChanged(caseNumber);
+        }
+    }
+
+    public void taskChanged(Long taskId) {
+        if (taskId != null) {
+            bumpResolved(taskId, "SELECT c.case_id, c.case_number FROM tasks t " +
+                    "JOIN cases c ON t.case_id = c.case_id WHERE t.task_id = ?");
+            calendarFeedService.taskChanged(taskId);
+        }
+    }
+
+    public void hearingChanged(Long hearingId) {
+        if (hearingId != null) {
+            bumpResolved(hearingId, "SELECT c.case_id, c.case_number FROM hearings h " +
+                    "JOIN cases c ON h.case_id = c.case_id WHERE h.hearing_id = ?");
+            calendarFeedService.hearingChanged(hearingId);
+        }
+    }
+
+    /** One UPDATE per chunk of cases, for bulk write paths. */
+    public void casesChanged(Collection<Long> caseIds) {
+        if (caseIds == null || caseIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(caseIds);
+        for (int from = 0; from < ids.size(); from += BATCH_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_CHUNK));
+            String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = chunk.toArray();
+            jdbcTemplate.update("UPDATE cases SET version = version + 1 WHERE case_id IN (" + in + ")", args);
+            for (String caseNumber : jdbcTemplate.queryForList(
+                    "SELECT case_number FROM cases WHERE case_id IN (" + in + ")", String.class, args)) {
+                caseDetailCache.invalidate(caseNumber);
+                calendarFeedService.caseChanged(caseNumber);
+            }
+        }
+    }
+
+    private void bumpResolved(long childId, String resolveSql) {
+        List<Object[]> cases = jdbcTemplate.query(resolveSql,
+                (rs, rowNum) -> new Object[] { rs.getLong("case_id"), rs.getString("case_number") }, childId);
+        for (Object[] c : cases) {
+            jdbcTemplate.update("UPDATE cases SET version = version + 1 WHERE case_id = ?", c[0]);
+            caseDetailCache.invalidate((String) c[1]);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
+import com.legal.casemanagement.dto.CaseDtos.CaseDetailCacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for {@link CaseService#getCaseDetail(String, String, Long)}.
+ * <p>
+ * Entries are keyed by case number and access scope (the same role/user restriction the
+ * loader applies), bounded by size (LRU) and by age. Write paths invalidate every scope of
+ * the affected case. A per-case generation stamp stops a load that raced with an
+ * invalidation from putting a stale detail back.
+ * <p>
+ * Callers that already know the case version (the conditional GET path) pass it in; an
+ * entry cached for another version is treated as a miss, so a body can never be served
+ * under an ETag newer than itself.
+ */
+@Component
+public class CaseDetailCache {
+
+    private static final int GENERATION_STRIPES = 64;
+    private static final String UNSCOPED = "*";
+    private static final long UNKNOWN_VERSION = Long.MIN_VALUE;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<Key, Entry> entries;
+    private final Map<String, Set<Key>> keysByCase = new HashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CaseDetailCache(@Value("${case.detail.cache.max-entries:2000}") int maxEntries,
+            @Value("${case.detail.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(0, ttlSeconds));
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= CaseDetailCache.this.maxEntries) {
+                    return false;
+                }
+                unindex(eldest.getKey());
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    public CaseDetail get(String caseNumber, String role, Long userId, Supplier<CaseDetail> loader) {
+        return get(caseNumber, role, userId, null, loader);
+    }
+
+    public CaseDetail get(String caseNumber, String role, Long userId, Long version,
+            Supplier<CaseDetail> loader) {
+        if (maxEntries == 0 || ttlNanos == 0) {
+            return loader.get();
+        }
+        Key key = new Key(caseNumber, scope(role, userId));
+        long expectedVersion = version == null ? UNKNOWN_VERSION : version;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                boolean current = version == null || entry.version == expectedVersion;
+                if (current && System.nanoTime() - entry.expiresAt < 0) {
+                    hits.increment();
+                    return entry.detail;
+                }
+                entries.remove(key);
+                unindex(key);
+                if (current) {
+                    expirations.increment();
+                }
+            }
+        }
+        misses.increment();
+
+        int stripe = stripe(caseNumber);
+        long generation = generations.get(stripe);
+        CaseDetail detail = loader.get();
+        if (detail != null) {
+            synchronized (this) {
+                if (generations.get(stripe) == generation) {
+                    entries.put(key, new Entry(detail, System.nanoTime() + ttlNanos, expectedVersion));
+                    keysByCase.computeIfAbsent(caseNumber, k -> new HashSet<>()).add(key);
+                }
+            }
+        }
+        return detail;
+    }
+
+    /** Drops every cached scope of the case. */
+    public void invalidate(String caseNumber) {
+        if (caseNumber == null) {
+            return;
+        }
+        synchronized (this) {
+            generations.incrementAndGet(stripe(caseNumber));
+            Set<Key> keys = keysByCase.remove(caseNumber);
+            if (keys != null) {
+                for (Key key : keys) {
+                    entries.remove(key);
+                }
+            }
+        }
+        invalidations.increment();
+    }
+
+    public CaseDetailCacheStats stats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return CaseDetailCacheStats.builder()
+                .size(size)
+                .maxEntries(maxEntries)
+                .ttlSeconds(TimeUnit.NANOSECONDS.toSeconds(ttlNanos))
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRatio(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+                .evictions(evictions.sum())
+                .expirations(expirations.sum())
+                .invalidations(invalidations.sum())
+                .build();
+    }
+
+    /** Drops everything, e.g. when the affected case cannot be determined. */
+    public synchronized void clear() {
+        bumpAllGenerations();
+        entries.clear();
+        keysByCase.clear();
+        invalidations.increment();
+    }
+
+    private void bumpAllGenerations() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private void unindex(Key key) {
+        Set<Key> keys = keysByCase.get(key.caseNumber());
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByCase.remove(key.caseNumber());
+            }
+        }
+    }
+
+    /** Mirrors the access restriction applied by {@link CaseDetailLoader}. */
+    private static String scope(String role, Long userId) {
+        if (userId == null || role == null) {
+            return UNSCOPED;
+        }
+        String roleUpper = role.trim().toUpperCase(Locale.ROOT);
+        if ("ADVOCATE".equals(roleUpper) || "CLIENT".equals(roleUpper)) {
+            return roleUpper + ":" + userId;
+        }
+        return UNSCOPED;
+    }
+
+    private static int stripe(String caseNumber) {
+        return (caseNumber.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    private record Key(String caseNumber, String scope) {
+    }
+
+    private record Entry(CaseDetail detail, long expiresAt, long version) {
+    }
+}
@@ -0,0 +1,250 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
+import com.legal.casemanagement.dto.CaseDtos.CaseDocumentItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseHearingItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseNoteItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseTaskItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseTimelineItem;
+import com.legal.casemanagement.util.RowFormat;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Assembles {@link CaseDetail}. The header row is read first (releasing its connection),
+ * then the hearing, document, task and note sections are fetched concurrently, each on
+ * its own pooled connection. The timeline is the newest slice of the case's activity feed
+ * ({@code case_events}); older entries are paged through {@link CaseEventService}.
+ * <p>
+ * The section pool is bounded ({@code case.detail.loader-threads}) and should stay below
+ * the JDBC pool size so detail requests cannot starve other queries of connections.
+ */
+@Component
+public class CaseDetailLoader {
+
+    private static final int TIMELINE_EVENTS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService executor;
+
+    public CaseDetailLoader(JdbcTemplate jdbcTemplate,
+            @Value("${case.detail.loader-threads:6}") int loaderThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, loaderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "case-detail-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public CaseDetail load(String caseNumber, String role, Long userId) {
+        StringBuilder sqlBuilder = new StringBuilder(
+                "SELECT c.case_id, c.case_number, c.case_title, c.case_type, c.status, c.priority, " +
+                        "c.filing_date, c.court_name, c.judge_name, c.description, c.opposing_party, " +
+                        "cu.name AS client_name, au.name AS advocate_name " +
+                        "FROM cases c " +
+                        "LEFT JOIN clients cl ON c.client_id = cl.client_id " +
+                        "LEFT JOIN users cu ON cl.user_id = cu.user_id " +
+                        "LEFT JOIN advocates a ON c.advocate_id = a.advocate_id " +
+                        "LEFT JOIN users au ON a.user_id = au.user_id " +
+                        "WHERE c.case_number = ?");
+
+        List<Object> params = new ArrayList<>();
+        params.add(caseNumber);
+        String roleUpper = role == null ? "" : role.trim().toUpperCase(Locale.ROOT);
+
+        // Apply user-based access control for scoped roles.
+        if (userId != null) {
+            if ("ADVOCATE".equals(roleUpper)) {
+                sqlBuilder.append(" AND a.user_id = ?");
+                params.add(userId);
+            } else if ("CLIENT".equals(roleUpper)) {
+                sqlBuilder.append(" AND cu.user_id = ?");
+                params.add(userId);
+            }
+        }
+
+        List<Header> headers = jdbcTemplate.query(sqlBuilder.toString(), (rs, rowNum) -> new Header(
+                rs.getLong("case_id"),
+                rs.getString("court_name"),
+                CaseDetail.builder()
+                        .caseNumber(rs.getString("case_number"))
+                        .title(rs.getString("case_title"))
+                        .category(RowFormat.caseTypeLabel(rs.getString("case_type")))
+                        .status(RowFormat.caseStatusLabel(rs.getString("status")))
+                        .priority(RowFormat.priorityLabel(rs.getString("priority")))
+                        .filingDate(RowFormat.date(rs.getDate("filing_date")))
+                        .court(nullToEmpty(rs.getString("court_name")))
+                        .judge(nullToEmpty(rs.getString("judge_name")))
+                        .description(nullToEmpty(rs.getString("description")))
+                        .client(rs.getString("client_name"))
+                        .advocate(rs.getString("advocate_name"))
+                        .opposingParty(nullToEmpty(rs.getString("opposing_party")))
+                        .opposingCounsel("")), params.toArray());
+        if (headers.isEmpty()) {
+            return null;
+        }
+        Header header = headers.get(0);
+        long caseId = header.caseId();
+
+        CompletableFuture<List<CaseTimelineItem>> timeline = supply(() -> loadTimeline(caseId));
+        CompletableFuture<List<HearingRow>> hearings = supply(() -> loadHearingRows(caseId));
+        CompletableFuture<List<CaseDocumentItem>> documents = supply(() -> loadDocuments(caseId));
+        CompletableFuture<List<CaseTaskItem>> tasks = supply(() -> loadTasks(caseId));
+        CompletableFuture<List<CaseNoteItem>> notes = supply(() -> loadNotes(caseId));
+
+        return header.detail()
+                .timeline(join(timeline))
+                .hearings(toHearingItems(join(hearings), header.courtName()))
+                .documents(join(documents))
+                .tasks(join(tasks))
+                .notes(join(notes))
+                .build();
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(section, executor);
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface the original DataAccessException to the caller / exception handler
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private List<HearingRow> loadHearingRows(long caseId) {
+        String sql = "SELECT hearing_date, hearing_type, courtroom FROM hearings " +
+                "WHERE case_id = ? ORDER BY hearing_date ASC";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new HearingRow(
+                rs.getTimestamp("hearing_date"),
+                rs.getString("hearing_type"),
+                rs.getString("courtroom")), caseId);
+    }
+
+    private List<CaseTimelineItem> loadTimeline(long caseId) {
+        String sql = "SELECT title, detail, occurred_at FROM case_events WHERE case_id = ? " +
+                "ORDER BY occurred_at DESC, event_id DESC LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> CaseTimelineItem.builder()
+                .date(RowFormat.date(rs.getTimestamp("occurred_at")))
+                .title(rs.getString("title"))
+                .desc(nullToEmpty(rs.getString("detail")))
+                .build(), caseId, TIMELINE_EVENTS);
+    }
+
+    private List<CaseHearingItem> toHearingItems(List<HearingRow> hearings, String courtName) {
+        List<CaseHearingItem> items = new ArrayList<>(hearings.size());
+        for (HearingRow hearing : hearings) {
+            items.add(CaseHearingItem.builder()
+                    .purpose(RowFormat.hearingTypeLabel(hearing.type()))
+                    .date(RowFormat.date(hearing.date()))
+                    .time(RowFormat.time(hearing.date()))
+                    .location(nullToEmpty(hearing.courtroom(), courtName))
+                    .build());
+        }
+        return items;
+    }
+
+    private List<CaseDocumentItem> loadDocuments(long caseId) {
+        String sql = "SELECT document_id, document_name, document_type, file_size FROM documents WHERE case_id = ? ORDER BY uploaded_at DESC";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            // Content-addressed file paths carry no extension; the document name does.
+            String inferredType = inferDocumentType(rs.getString("document_name"));
+            return CaseDocumentItem.builder()
+                    .id(rs.getLong("document_id"))
+                    .name(rs.getString("document_name"))
+                    .type(inferredType)
+                    .size(RowFormat.fileSize(rs.getLong("file_size")))
+                    .build();
+        }, caseId);
+    }
+
+    private List<CaseTaskItem> loadTasks(long caseId) {
+        String sql = "SELECT task_id, task_title, due_date, status FROM tasks WHERE case_id = ? ORDER BY due_date ASC";
+        Instant now = Instant.now();
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Timestamp due = rs.getTimestamp("due_date");
+            boolean completed = "COMPLETED".equalsIgnoreCase(rs.getString("status"));
+            boolean overdue = due != null && due.toInstant().isBefore(now) && !completed;
+            return CaseTaskItem.builder()
+                    .id(rs.getLong("task_id"))
+                    .title(rs.getString("task_title"))
+                    .due(RowFormat.date(due))
+                    .completed(completed)
+                    .overdue(overdue)
+                    .build();
+        }, caseId);
+    }
+
+    private List<CaseNoteItem> loadNotes(long caseId) {
+        String sql = "SELECT n.note_id, n.note_text, n.created_at, u.name AS author_name " +
+                "FROM case_notes n JOIN users u ON n.created_by = u.user_id " +
+                "WHERE n.case_id = ? ORDER BY n.created_at DESC";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> CaseNoteItem.builder()
+                .id(rs.getLong("note_id"))
+                .author(rs.getString("author_name"))
+                .date(RowFormat.date(rs.getTimestamp("created_at")))
+                .text(rs.getString("note_text"))
+                .build(), caseId);
+    }
+
+    private String inferDocumentType(String fileName) {
+        if (fileName == null) {
+            return "doc";
+        }
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".pdf")) {
+            return "pdf";
+        }
+        if (lower.endsWith(".doc") || lower.endsWith(".docx")) {
+            return "doc";
+        }
+        if (lower.endsWith(".zip") || lower.endsWith(".rar")) {
+            return "archive";
+        }
+        return "doc";
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private String nullToEmpty(String primary, String fallback) {
+        if (primary != null && !primary.isBlank()) {
+            return primary;
+        }
+        return fallback == null ? "" : fallback;
+    }
+
+    private record Header(long caseId, String courtName, CaseDetail.CaseDetailBuilder detail) {
+    }
+
+    private record HearingRow(Timestamp date, String type, String courtroom) {
+    }
+}
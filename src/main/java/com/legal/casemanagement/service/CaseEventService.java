@@ -0,0 +1,294 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.CaseActivityItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseActivityPage;
+import com.legal.casemanagement.util.RowFormat;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Append-only activity feed per case ({@code case_events}). Write paths append one row
+ * per change; reads walk the {@code (case_id, occurred_at, event_id)} index newest first
+ * with a keyset cursor, so the first page of a case with thousands of events costs the
+ * same as that of a new case.
+ * <p>
+ * The feed is a read model: a failed append is logged and never fails the write that
+ * caused it. Databases created before the table existed are backfilled from the source
+ * tables on startup while the table is still empty.
+ */
+@Service
+public class CaseEventService {
+
+    public static final String CASE_FILED = "CASE_FILED";
+    public static final String CASE_UPDATED = "CASE_UPDATED";
+    public static final String NOTE_ADDED = "NOTE_ADDED";
+    public static final String HEARING_SCHEDULED = "HEARING_SCHEDULED";
+    public static final String HEARING_UPDATED = "HEARING_UPDATED";
+    public static final String TASK_CREATED = "TASK_CREATED";
+    public static final String TASK_UPDATED = "TASK_UPDATED";
+    public static final String DOCUMENT_UPLOADED = "DOCUMENT_UPLOADED";
+    public static final String DOCUMENT_DELETED = "DOCUMENT_DELETED";
+    public static final String INVOICE_CREATED = "INVOICE_CREATED";
+    public static final String NOTICE_CREATED = "NOTICE_CREATED";
+    public static final String MESSAGE_SENT = "MESSAGE_SENT";
+
+    private static final Logger log = LoggerFactory.getLogger(CaseEventService.class);
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_DETAIL = 500;
+    private static final int APPEND_CHUNK = 500;
+
+    private static final String INSERT =
+            "INSERT INTO case_events (case_id, event_type, title, detail, source_id) ";
+
+    private static final String BACKFILL_INSERT =
+            "INSERT INTO case_events (case_id, event_type, title, detail, source_id, occurred_at) ";
+
+    /** One INSERT ... SELECT per source table; only run while case_events is empty. */
+    private static final List<String> BACKFILL = List.of(
+            BACKFILL_INSERT +
+                    "SELECT case_id, 'CASE_FILED', 'Case Filed', case_title, case_id, " +
+                    "COALESCE(filing_date, created_at) FROM cases",
+            BACKFILL_INSERT +
+                    "SELECT case_id, 'HEARING_SCHEDULED', 'Hearing Scheduled', " +
+                    "DATE_FORMAT(hearing_date, '%Y-%m-%d %H:%i'), hearing_id, created_at FROM hearings",
+            BACKFILL_INSERT +
+                    "SELECT case_id, 'NOTE_ADDED', 'Note Added', LEFT(note_text, 500), note_id, created_at " +
+                    "FROM case_notes",
+            BACKFILL_INSERT +
+                    "SELECT case_id, 'TASK_CREATED', 'Task Created', task_title, task_id, created_at FROM tasks",
+            BACKFILL_INSERT +
+                    "SELECT case_id, 'DOCUMENT_UPLOADED', 'Document Uploaded', document_name, document_id, " +
+                    "uploaded_at FROM documents",
+            BACKFILL_INSERT +
+                    "SELECT case_id, 'INVOICE_CREATED', 'Invoice Created', invoice_number, invoice_id, created_at " +
+                    "FROM invoices",
+            BACKFILL_INSERT +
+                    "SELECT case_id, 'NOTICE_CREATED', 'Legal Notice Created', recipient_name, notice_id, " +
+                    "generated_at FROM legal_notices",
+            BACKFILL_INSERT +
+                    "SELECT case_id, 'MESSAGE_SENT', 'Message Sent', subject, message_id, sent_at FROM messages " +
+                    "WHERE case_id IS NOT NULL");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CaseEventService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        try {
+            if (!jdbcTemplate.queryForList("SELECT event_id FROM case_events LIMIT 1", Long.class).isEmpty()) {
+                return;
+            }
+            int total = 0;
+            for (String sql : BACKFILL) {
+                total += jdbcTemplate.update(sql);
+            }
+            if (total > 0) {
+                log.info("Backfilled {} case activity events", total);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Case activity backfill skipped: {}", e.getMessage());
+        }
+    }
+
+    // ── Appends ────────────────────────────────────────────
+
+    public void append(Long caseId, String type, String title, String detail, Long sourceId) {
+        if (caseId == null) {
+            return;
+        }
+        run(INSERT + "VALUES (?, ?, ?, ?, ?)", caseId, type, title, clip(detail), sourceId);
+    }
+
+    public void appendForCaseNumber(String caseNumber, String type, String title, String detail) {
+        if (caseNumber == null) {
+            return;
+        }
+        run(INSERT + "SELECT case_id, ?, ?, ?, case_id FROM cases WHERE case_number = ?",
+                type, title, clip(detail), caseNumber);
+    }
+
+    /** "Case Filed" events dated by the filing date (creation time when there is none). */
+    public void appendCasesFiled(Collection<String> caseNumbers) {
+        if (caseNumbers == null || caseNumbers.isEmpty()) {
+            return;
+        }
+        List<String> numbers = new ArrayList<>(caseNumbers);
+        for (int from = 0; from < numbers.size(); from += APPEND_CHUNK) {
+            List<String> chunk = numbers.subList(from, Math.min(numbers.size(), from + APPEND_CHUNK));
+            run(BACKFILL_INSERT + "SELECT case_id, '" + CASE_FILED + "', 'Case Filed', case_title, case_id, " +
+                    "COALESCE(filing_date, created_at) FROM cases WHERE case_number IN (" +
+                    String.join(",", Collections.nCopies(chunk.size(), "?")) + ")", chunk.toArray());
+        }
+    }
+
+    /** Task events carry the task title as their detail. */
+    public void appendForTask(Long taskId, String type, String title) {
+        if (taskId == null) {
+            return;
+        }
+        run(INSERT + "SELECT case_id, ?, ?, task_title, task_id FROM tasks WHERE task_id = ?",
+                type, title, taskId);
+    }
+
+    public void appendForHearing(Long hearingId, String type, String title, String detail) {
+        if (hearingId == null) {
+            return;
+        }
+        run(INSERT + "SELECT case_id, ?, ?, ?, hearing_id FROM hearings WHERE hearing_id = ?",
+                type, title, clip(detail), hearingId);
+    }
+
+    /** The same event for many cases, as one JDBC batch. */
+    public void appendAll(Collection<Long> caseIds, String type, String title, String detail) {
+        if (caseIds == null || caseIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(caseIds.size());
+        String clipped = clip(detail);
+        for (Long caseId : caseIds) {
+            batch.add(new Object[] { caseId, type, title, clipped, caseId });
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT + "VALUES (?, ?, ?, ?, ?)", batch);
+        } catch (DataAccessException e) {
+            log.warn("Could not record {} {} events: {}", caseIds.size(), type, e.getMessage());
+        }
+    }
+
+    /** One event per {@code {caseId, title, detail, sourceId}} row, as one JDBC batch. */
+    public void appendEach(String type, List<Object[]> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(events.size());
+        for (Object[] event : events) {
+            batch.add(new Object[] { event[0], type, event[1], clip((String) event[2]), event[3] });
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT + "VALUES (?, ?, ?, ?, ?)", batch);
+        } catch (DataAccessException e) {
+            log.warn("Could not record {} {} events: {}", events.size(), type, e.getMessage());
+        }
+    }
+
+    // ── Reads ──────────────────────────────────────────────
+
+    /**
+     * Newest-first page of a case's activity, or null when the case does not exist or is
+     * outside the caller's scope (same rule as the case detail).
+     */
+    public CaseActivityPage getActivity(String caseNumber, String role, Long userId, String cursor, Integer limit) {
+        StringBuilder sql = new StringBuilder("SELECT c.case_id FROM cases c " +
+                "LEFT JOIN clients cl ON c.client_id = cl.client_id " +
+                "LEFT JOIN advocates a ON c.advocate_id = a.advocate_id " +
+                "WHERE c.case_number = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(caseNumber);
+        String roleUpper = role == null ? "" : role.trim().toUpperCase(Locale.ROOT);
+        if (userId != null) {
+            if ("ADVOCATE".equals(roleUpper)) {
+                sql.append(" AND a.user_id = ?");
+                params.add(userId);
+            } else if ("CLIENT".equals(roleUpper)) {
+                sql.append(" AND cl.user_id = ?");
+                params.add(userId);
+            }
+        }
+        List<Long> caseIds = jdbcTemplate.queryForList(sql.toString(), Long.class, params.toArray());
+        if (caseIds.isEmpty()) {
+            return null;
+        }
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        List<CaseActivityItem> items = latest(caseIds.get(0), cursor, pageSize + 1);
+        boolean hasMore = items.size() > pageSize;
+        String nextCursor = null;
+        if (hasMore) {
+            items = new ArrayList<>(items.subList(0, pageSize));
+            CaseActivityItem last = items.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getOccurredAt(), last.getEventId());
+        }
+        return CaseActivityPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    private List<CaseActivityItem> latest(long caseId, String cursor, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT event_id, event_type, title, detail, occurred_at FROM case_events WHERE case_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(caseId);
+        if (cursor != null && !cursor.isBlank()) {
+            long[] position = decodeCursor(cursor);
+            Timestamp occurredAt = new Timestamp(position[0]);
+            sql.append(" AND (occurred_at < ? OR (occurred_at = ? AND event_id < ?))");
+            params.add(occurredAt);
+            params.add(occurredAt);
+            params.add(position[1]);
+        }
+        sql.append(" ORDER BY occurred_at DESC, event_id DESC LIMIT ?");
+        params.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            Timestamp occurredAt = rs.getTimestamp("occurred_at");
+            return CaseActivityItem.builder()
+                    .eventId(rs.getLong("event_id"))
+                    .type(rs.getString("event_type"))
+                    .title(rs.getString("title"))
+                    .detail(rs.getString("detail"))
+                    .date(RowFormat.dateTime(occurredAt))
+                    .occurredAt(occurredAt == null ? 0L : occurredAt.getTime())
+                    .build();
+        }, params.toArray());
+    }
+
+    private void run(String sql, Object... args) {
+        try {
+            jdbcTemplate.update(sql, args);
+        } catch (DataAccessException e) {
+            log.warn("Could not record case event: {}", e.getMessage());
+        }
+    }
+
+    private static String clip(String detail) {
+        return detail == null || detail.length() <= MAX_DETAIL ? detail : detail.substring(0, MAX_DETAIL);
+    }
+
+    private static String encodeCursor(long occurredAt, long eventId) {
+        String raw = occurredAt + "|" + eventId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new long[] { Long.parseLong(parts[0]), Long.parseLong(parts[1]) };
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException and malformed Base64
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,686 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.CaseImportError;
+import com.legal.casemanagement.dto.CaseDtos.CaseImportResult;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+
+/**
+ * Bulk-loads historical cases from CSV or XLSX.
+ * <p>
+ * Rows are streamed (a hand-rolled CSV reader, POI's SAX sheet reader for XLSX), so the
+ * file is never held in memory. Clients and advocates are resolved from lookup maps built
+ * once per import, and valid rows are written with one JDBC batch per chunk, each chunk in
+ * its own transaction. A chunk that fails is retried row by row so a bad row only costs
+ * its own insert and is reported with its row number. Explicit case numbers that already
+ * exist are rejected before the chunk is written, since rewritten batches do not report
+ * per-row counts; those in the generated {@code LC-YYYY-NNN} format are then claimed from
+ * {@link NumberSequenceService}, so the sequence never issues them again.
+ */
+@Service
+public class CaseImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Set<String> CASE_TYPES = Set.of(
+            "CIVIL", "CRIMINAL", "FAMILY", "CORPORATE", "TAX", "LABOUR", "PROPERTY", "OTHER");
+    private static final Set<String> STATUSES = Set.of(
+            "OPEN", "IN_PROGRESS", "CLOSED", "WON", "LOST", "SETTLED");
+    private static final Set<String> PRIORITIES = Set.of("LOW", "MEDIUM", "HIGH", "URGENT");
+    private static final Set<String> COURT_TYPES = Set.of(
+            "SUPREME_COURT", "HIGH_COURT", "DISTRICT_COURT", "TRIBUNAL", "OTHER");
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+
+    /** Accepted header spellings (lower-case, non-alphanumerics removed) per column. */
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("casenumber", "caseNumber"),
+            Map.entry("casetitle", "caseTitle"),
+            Map.entry("title", "caseTitle"),
+            Map.entry("casetype", "caseType"),
+            Map.entry("type", "caseType"),
+            Map.entry("clientid", "clientId"),
+            Map.entry("clientemail", "clientEmail"),
+            Map.entry("advocateuserid", "advocateUserId"),
+            Map.entry("advocateemail", "advocateEmail"),
+            Map.entry("barregistrationnumber", "advocateBarNumber"),
+            Map.entry("advocatebarnumber", "advocateBarNumber"),
+            Map.entry("courtname", "courtName"),
+            Map.entry("court", "courtName"),
+            Map.entry("courttype", "courtType"),
+            Map.entry("filingdate", "filingDate"),
+            Map.entry("status", "status"),
+            Map.entry("priority", "priority"),
+            Map.entry("description", "description"),
+            Map.entry("opposingparty", "opposingParty"),
+            Map.entry("judgename", "judgeName"),
+            Map.entry("judge", "judgeName"));
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cases (case_number, case_title, case_type, client_id, advocate_id, court_name, " +
+                    "court_type, filing_date, status, priority, description, opposing_party, judge_name) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NumberSequenceService numberSequenceService;
+    private final CaseSearchService caseSearchService;
+    private final CaseEventService caseEventService;
+    private final int chunkSize;
+
+    public CaseImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            NumberSequenceService numberSequenceService, CaseSearchService caseSearchService,
+            CaseEventService caseEventService, @Value("${case.import.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.numberSequenceService = numberSequenceService;
+        this.caseSearchService = caseSearchService;
+        this.caseEventService = caseEventService;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public CaseImportResult importCases(String filename, InputStream content) throws IOException {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        ImportRun run = new ImportRun(loadLookups());
+        if (name.endsWith(".xlsx")) {
+            readXlsx(content, run);
+        } else if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            readCsv(content, run);
+        } else {
+            throw new IllegalArgumentException("Unsupported file type; upload a .csv or .xlsx file");
+        }
+        return run.finish();
+    }
+
+    // ── Readers ────────────────────────────────────────────
+
+    private void readCsv(InputStream content, ImportRun run) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> fields;
+        int rowNumber = 0;
+        while ((fields = records.next()) != null) {
+            run.accept(++rowNumber, fields);
+        }
+    }
+
+    private void readXlsx(InputStream content, ImportRun run) throws IOException {
+        // OPCPackage only avoids buffering every part in memory when opened from a file.
+        Path temp = Files.createTempFile("case-import-", ".xlsx");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            OPCPackage pkg = OPCPackage.open(temp.toFile(), PackageAccess.READ);
+            try {
+                XSSFReader reader = new XSSFReader(pkg);
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    return;
+                }
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(),
+                        new ReadOnlySharedStringsTable(pkg), new SheetRowCollector(run),
+                        new IsoDateFormatter(), false));
+                try (InputStream sheet = sheets.next()) {
+                    parser.parse(new InputSource(sheet));
+                }
+            } finally {
+                // Read-only packages are released with revert(); close() would try to save.
+                pkg.revert();
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IllegalArgumentException("Unable to read XLSX file: " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // ── Lookups ────────────────────────────────────────────
+
+    private Lookups loadLookups() {
+        Lookups lookups = new Lookups();
+        jdbcTemplate.query("SELECT cl.client_id, u.email FROM clients cl JOIN users u ON cl.user_id = u.user_id",
+                rs -> {
+                    long clientId = rs.getLong("client_id");
+                    lookups.clientIds.add(clientId);
+                    String email = rs.getString("email");
+                    if (email != null) {
+                        lookups.clientsByEmail.put(email.toLowerCase(Locale.ROOT), clientId);
+                    }
+                });
+        jdbcTemplate.query("SELECT a.advocate_id, a.user_id, a.bar_registration_number, u.email " +
+                "FROM advocates a JOIN users u ON a.user_id = u.user_id",
+                rs -> {
+                    long advocateId = rs.getLong("advocate_id");
+                    lookups.advocatesByUserId.put(rs.getLong("user_id"), advocateId);
+                    String email = rs.getString("email");
+                    if (email != null) {
+                        lookups.advocatesByEmail.put(email.toLowerCase(Locale.ROOT), advocateId);
+                    }
+                    String barNumber = rs.getString("bar_registration_number");
+                    if (barNumber != null) {
+                        lookups.advocatesByBarNumber.put(barNumber.trim().toUpperCase(Locale.ROOT), advocateId);
+                    }
+                });
+        return lookups;
+    }
+
+    private static final class Lookups {
+        private final Set<Long> clientIds = new HashSet<>();
+        private final Map<String, Long> clientsByEmail = new HashMap<>();
+        private final Map<Long, Long> advocatesByUserId = new HashMap<>();
+        private final Map<String, Long> advocatesByEmail = new HashMap<>();
+        private final Map<String, Long> advocatesByBarNumber = new HashMap<>();
+    }
+
+    // ── Import state ───────────────────────────────────────
+
+    /** {@code explicitNumber} is true when the case number came from the file. */
+    private record PendingRow(int rowNumber, Object[] values, boolean explicitNumber) {
+        String caseNumber() {
+            return (String) values[0];
+        }
+    }
+
+    private final class ImportRun {
+        private final Lookups lookups;
+        private final Set<String> seenCaseNumbers = new HashSet<>();
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final List<CaseImportError> errors = new ArrayList<>();
+        private Map<String, Integer> columns;
+        private int totalRows;
+        private int imported;
+        private int failed;
+
+        private ImportRun(Lookups lookups) {
+            this.lookups = lookups;
+        }
+
+        void accept(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                columns = mapHeader(cells);
+                return;
+            }
+            if (cells.stream().allMatch(c -> c == null || c.isBlank())) {
+                return;
+            }
+            totalRows++;
+            try {
+                pending.add(toPendingRow(rowNumber, cells));
+            } catch (IllegalArgumentException e) {
+                reject(rowNumber, cell(cells, "caseNumber"), e.getMessage());
+            }
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        CaseImportResult finish() {
+            if (columns == null) {
+                throw new IllegalArgumentException("File is empty; expected a header row");
+            }
+            flush();
+            return CaseImportResult.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+
+        private Map<String, Integer> mapHeader(List<String> header) {
+            Map<String, Integer> mapped = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String raw = header.get(i);
+                if (raw == null) {
+                    continue;
+                }
+                String key = raw.replace("\uFEFF", "").toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+                String column = HEADER_ALIASES.get(key);
+                if (column != null) {
+                    mapped.putIfAbsent(column, i);
+                }
+            }
+            if (!mapped.containsKey("caseTitle")) {
+                throw new IllegalArgumentException("Header row must contain a caseTitle column");
+            }
+            if (!mapped.containsKey("clientId") && !mapped.containsKey("clientEmail")) {
+                throw new IllegalArgumentException("Header row must contain clientId or clientEmail");
+            }
+            if (!mapped.containsKey("advocateUserId") && !mapped.containsKey("advocateEmail")
+                    && !mapped.containsKey("advocateBarNumber")) {
+                throw new IllegalArgumentException(
+                        "Header row must contain advocateUserId, advocateEmail or barRegistrationNumber");
+            }
+            return mapped;
+        }
+
+        private String cell(List<String> cells, String column) {
+            Integer index = columns == null ? null : columns.get(column);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index);
+            if (value == null) {
+                return null;
+            }
+            value = value.trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private String cell(List<String> cells, String column, int maxLength) {
+            String value = cell(cells, column);
+            if (value != null && value.length() > maxLength) {
+                throw new IllegalArgumentException(column + " exceeds " + maxLength + " characters");
+            }
+            return value;
+        }
+
+        private PendingRow toPendingRow(int rowNumber, List<String> cells) {
+            String title = cell(cells, "caseTitle");
+            if (title == null) {
+                throw new IllegalArgumentException("caseTitle is required");
+            }
+            if (title.length() > 300) {
+                throw new IllegalArgumentException("caseTitle exceeds 300 characters");
+            }
+            Long clientId = resolveClient(cells);
+            Long advocateId = resolveAdvocate(cells);
+            String caseType = enumValue(cell(cells, "caseType"), CASE_TYPES, "OTHER", "caseType");
+            String status = enumValue(cell(cells, "status"), STATUSES, "OPEN", "status");
+            String priority = enumValue(cell(cells, "priority"), PRIORITIES, "MEDIUM", "priority");
+            String courtType = enumValue(cell(cells, "courtType"), COURT_TYPES, null, "courtType");
+            Date filingDate = parseDate(cell(cells, "filingDate"));
+            String courtName = cell(cells, "courtName", 200);
+            String opposingParty = cell(cells, "opposingParty", 300);
+            String judgeName = cell(cells, "judgeName", 100);
+
+            String caseNumber = cell(cells, "caseNumber");
+            boolean explicitNumber = caseNumber != null;
+            if (explicitNumber) {
+                if (caseNumber.length() > 100) {
+                    throw new IllegalArgumentException("caseNumber exceeds 100 characters");
+                }
+                if (!seenCaseNumbers.add(caseNumber)) {
+                    throw new IllegalArgumentException("Duplicate caseNumber in file");
+                }
+            } else {
+                // Allocated last so rejected rows do not consume numbers.
+                caseNumber = numberSequenceService.nextCaseNumber();
+            }
+
+            return new PendingRow(rowNumber, new Object[] {
+                    caseNumber, title, caseType, clientId, advocateId,
+                    courtName, courtType, filingDate, status, priority,
+                    cell(cells, "description"), opposingParty, judgeName },
+                    explicitNumber);
+        }
+
+        private Long resolveClient(List<String> cells) {
+            String id = cell(cells, "clientId");
+            if (id != null) {
+                Long clientId = parseId(id, "clientId");
+                if (!lookups.clientIds.contains(clientId)) {
+                    throw new IllegalArgumentException("Unknown clientId " + id);
+                }
+                return clientId;
+            }
+            String email = cell(cells, "clientEmail");
+            Long clientId = email == null ? null : lookups.clientsByEmail.get(email.toLowerCase(Locale.ROOT));
+            if (clientId == null) {
+                throw new IllegalArgumentException(email == null ? "Client is required"
+                        : "Unknown client email " + email);
+            }
+            return clientId;
+        }
+
+        private Long resolveAdvocate(List<String> cells) {
+            String userId = cell(cells, "advocateUserId");
+            if (userId != null) {
+                Long advocateId = lookups.advocatesByUserId.get(parseId(userId, "advocateUserId"));
+                if (advocateId == null) {
+                    throw new IllegalArgumentException("Unknown advocateUserId " + userId);
+                }
+                return advocateId;
+            }
+            String email = cell(cells, "advocateEmail");
+            if (email != null) {
+                Long advocateId = lookups.advocatesByEmail.get(email.toLowerCase(Locale.ROOT));
+                if (advocateId == null) {
+                    throw new IllegalArgumentException("Unknown advocate email " + email);
+                }
+                return advocateId;
+            }
+            String barNumber = cell(cells, "advocateBarNumber");
+            Long advocateId = barNumber == null ? null
+                    : lookups.advocatesByBarNumber.get(barNumber.toUpperCase(Locale.ROOT));
+            if (advocateId == null) {
+                throw new IllegalArgumentException(barNumber == null ? "Advocate is required"
+                        : "Unknown bar registration number " + barNumber);
+            }
+            return advocateId;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingRow> chunk = claimSequenceNumbers(rejectExisting(new ArrayList<>(pending)));
+            pending.clear();
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Object[]> batch = new ArrayList<>(chunk.size());
+            for (PendingRow row : chunk) {
+                batch.add(row.values());
+            }
+            try {
+                transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+            } catch (DataAccessException e) {
+                // Whole chunk rolled back; retry individually to find the offending rows.
+                List<String> added = new ArrayList<>();
+                for (PendingRow row : chunk) {
+                    if (insertSingle(row)) {
+                        added.add(row.caseNumber());
+                    }
+                }
+                indexChunk(chunk, added);
+                return;
+            }
+            // Rewritten batches report SUCCESS_NO_INFO per row; a plain INSERT that did not
+            // throw wrote every row.
+            List<String> added = new ArrayList<>(chunk.size());
+            for (PendingRow row : chunk) {
+                added.add(row.caseNumber());
+            }
+            imported += added.size();
+            indexChunk(chunk, added);
+        }
+
+        /** Rejects rows whose explicit case number is already taken (the column compares case-insensitively). */
+        private List<PendingRow> rejectExisting(List<PendingRow> chunk) {
+            List<Object> explicit = new ArrayList<>();
+            for (PendingRow row : chunk) {
+                if (row.explicitNumber()) {
+                    explicit.add(row.caseNumber());
+                }
+            }
+            if (explicit.isEmpty()) {
+                return chunk;
+            }
+            String placeholders = String.join(", ", Collections.nCopies(explicit.size(), "?"));
+            Set<String> existing = new HashSet<>();
+            for (String caseNumber : jdbcTemplate.queryForList(
+                    "SELECT case_number FROM cases WHERE case_number IN (" + placeholders + ")", String.class,
+                    explicit.toArray())) {
+                existing.add(caseNumber.toUpperCase(Locale.ROOT));
+            }
+            if (existing.isEmpty()) {
+                return chunk;
+            }
+            List<PendingRow> remaining = new ArrayList<>(chunk.size());
+            for (PendingRow row : chunk) {
+                if (row.explicitNumber() && existing.contains(row.caseNumber().toUpperCase(Locale.ROOT))) {
+                    reject(row.rowNumber(), row.caseNumber(), "Case number already exists");
+                } else {
+                    remaining.add(row);
+                }
+            }
+            return remaining;
+        }
+
+        /**
+         * Claims explicit numbers in the sequence's own format, so cases created later cannot
+         * be given them again, and rejects those below the sequence's next value.
+         */
+        private List<PendingRow> claimSequenceNumbers(List<PendingRow> chunk) {
+            Map<Integer, Long> highestByYear = new TreeMap<>();
+            for (PendingRow row : chunk) {
+                Matcher number = sequenceNumber(row);
+                if (number != null) {
+                    highestByYear.merge(Integer.parseInt(number.group(1)), Long.parseLong(number.group(2)), Math::max);
+                }
+            }
+            if (highestByYear.isEmpty()) {
+                return chunk;
+            }
+            Map<Integer, Long> nextByYear = numberSequenceService.claimCaseNumbers(highestByYear);
+            List<PendingRow> claimed = new ArrayList<>(chunk.size());
+            for (PendingRow row : chunk) {
+                Matcher number = sequenceNumber(row);
+                Long next = number == null ? null : nextByYear.get(Integer.parseInt(number.group(1)));
+                if (next != null && Long.parseLong(number.group(2)) < next) {
+                    reject(row.rowNumber(), row.caseNumber(),
+                            "caseNumber is in the range already issued by the case number sequence");
+                } else {
+                    claimed.add(row);
+                }
+            }
+            return claimed;
+        }
+
+        private Matcher sequenceNumber(PendingRow row) {
+            if (!row.explicitNumber()) {
+                return null;
+            }
+            Matcher matcher = NumberSequenceService.CASE_NUMBER.matcher(row.caseNumber());
+            return matcher.matches() ? matcher : null;
+        }
+
+        private void indexChunk(List<PendingRow> chunk, List<String> added) {
+            List<String> caseNumbers = new ArrayList<>(chunk.size());
+            for (PendingRow row : chunk) {
+                caseNumbers.add(row.caseNumber());
+            }
+            caseSearchService.reindexCaseNumbers(caseNumbers);
+            caseEventService.appendCasesFiled(added);
+        }
+
+        private boolean insertSingle(PendingRow row) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, row.values());
+                imported++;
+                return true;
+            } catch (DuplicateKeyException e) {
+                // Created by someone else since rejectExisting looked.
+                reject(row.rowNumber(), row.caseNumber(), "Case number already exists");
+                return false;
+            } catch (DataAccessException e) {
+                reject(row.rowNumber(), row.caseNumber(), e.getMostSpecificCause().getMessage());
+                return false;
+            }
+        }
+
+        private void reject(int rowNumber, String caseNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(CaseImportError.builder()
+                        .row(rowNumber)
+                        .caseNumber(caseNumber)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+
+    // ── Value parsing ──────────────────────────────────────
+
+    private static String enumValue(String value, Set<String> allowed, String defaultValue, String column) {
+        if (value == null) {
+            return defaultValue;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+        if (!allowed.contains(normalized)) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+        return normalized;
+    }
+
+    private static Long parseId(String value, String column) {
+        try {
+            return Long.valueOf(value.endsWith(".0") ? value.substring(0, value.length() - 2) : value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Date parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return Date.valueOf(LocalDate.parse(value, format));
+            } catch (DateTimeParseException ignored) {
+                // try the next accepted format
+            }
+        }
+        throw new IllegalArgumentException("Invalid filingDate (use yyyy-MM-dd or dd/MM/yyyy): " + value);
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma separated, double-quoted fields may contain commas,
+     * line breaks and doubled quotes. Returns one record at a time.
+     */
+    private static final class CsvRecordReader {
+        private final Reader reader;
+        private boolean eof;
+
+        private CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            if (eof) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (peek != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            eof = true;
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /** Feeds each sheet row to the import, placing cells by column (blank cells are skipped by POI). */
+    private static final class SheetRowCollector implements SheetContentsHandler {
+        private final ImportRun run;
+        private final List<String> cells = new ArrayList<>();
+
+        private SheetRowCollector(ImportRun run) {
+            this.run = run;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            run.accept(rowNum + 1, new ArrayList<>(cells));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference == null ? cells.size() : new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+        }
+    }
+
+    /** Renders date-formatted numeric cells as ISO dates regardless of the sheet's display format. */
+    private static final class IsoDateFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.CaseListItem;
+import com.legal.casemanagement.util.ColumnIndex;
+import com.legal.casemanagement.util.RowFormat;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps case list rows (the columns of CaseService's list select) to {@link CaseListItem}.
+ * Column positions are resolved on the first row, so create one per query.
+ */
+public final class CaseListItemMapper implements RowMapper<CaseListItem> {
+
+    private static final int CASE_NUMBER = 0;
+    private static final int TITLE = 1;
+    private static final int CLIENT = 2;
+    private static final int ADVOCATE = 3;
+    private static final int CASE_TYPE = 4;
+    private static final int STATUS = 5;
+    private static final int PRIORITY = 6;
+    private static final int NEXT_HEARING = 7;
+    private static final int OVERDUE_TASKS = 8;
+
+    private final ColumnIndex columns = new ColumnIndex("case_number", "case_title", "client_name",
+            "advocate_name", "case_type", "status", "priority", "next_hearing", "overdue_tasks");
+
+    @Override
+    public CaseListItem mapRow(ResultSet rs, int rowNum) throws SQLException {
+        int[] c = columns.positions(rs);
+        return CaseListItem.builder()
+                .caseNumber(rs.getString(c[CASE_NUMBER]))
+                .title(rs.getString(c[TITLE]))
+                .client(rs.getString(c[CLIENT]))
+                .advocate(rs.getString(c[ADVOCATE]))
+                .category(RowFormat.caseTypeLabel(rs.getString(c[CASE_TYPE])))
+                .status(RowFormat.caseStatusLabel(rs.getString(c[STATUS])))
+                .priority(RowFormat.priorityLabel(rs.getString(c[PRIORITY])))
+                .nextHearing(RowFormat.date(rs.getTimestamp(c[NEXT_HEARING])))
+                .overdueTasks(rs.getLong(c[OVERDUE_TASKS]))
+                .build();
+    }
+}
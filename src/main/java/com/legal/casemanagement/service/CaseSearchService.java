@@ -0,0 +1,256 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.util.InvertedIndex;
+import com.legal.casemanagement.util.InvertedIndex.Hit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the on-disk full-text index over cases (title, description, parties, judge,
+ * court and note text) in step with the database and answers ranked searches from it.
+ * <p>
+ * All index writes run on one background thread, so request threads only enqueue the ids
+ * of cases they changed. On startup the index is reopened from disk and cases changed
+ * since the stored watermark are re-read; a missing or unreadable index is rebuilt.
+ */
+@Service
+public class CaseSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CaseSearchService.class);
+    private static final int LOAD_CHUNK = 500;
+    // Replay window behind the checkpoint watermark; covers writes whose reindex was still queued.
+    private static final long WATERMARK_MARGIN_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path indexDir;
+    private final int checkpointThreshold;
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "case-search-indexer");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile InvertedIndex index;
+
+    public CaseSearchService(JdbcTemplate jdbcTemplate,
+            @Value("${case.search.index-dir:data/search/cases}") String indexDir,
+            @Value("${case.search.checkpoint-threshold:500}") int checkpointThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexDir = Paths.get(indexDir);
+        this.checkpointThreshold = Math.max(1, checkpointThreshold);
+    }
+
+    @PostConstruct
+    public void start() {
+        indexer.execute(this::openAndCatchUp);
+    }
+
+    /** Ranked case ids for {@code query}; empty until the index has been opened. */
+    public List<Hit> search(String query, int limit) {
+        InvertedIndex current = index;
+        return current == null ? List.of() : current.search(query, limit);
+    }
+
+    public void reindexCase(Long caseId) {
+        if (caseId != null) {
+            reindexCases(List.of(caseId));
+        }
+    }
+
+    public void reindexCases(Collection<Long> caseIds) {
+        if (caseIds == null || caseIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(caseIds);
+        indexer.execute(() -> indexCases(ids));
+    }
+
+    public void reindexCaseNumbers(Collection<String> caseNumbers) {
+        if (caseNumbers == null || caseNumbers.isEmpty()) {
+            return;
+        }
+        List<String> numbers = new ArrayList<>(caseNumbers);
+        indexer.execute(() -> {
+            try {
+                List<Long> ids = new ArrayList<>();
+                for (List<String> chunk : chunks(numbers)) {
+                    ids.addAll(jdbcTemplate.queryForList("SELECT case_id FROM cases WHERE case_number IN ("
+                            + placeholders(chunk.size()) + ")", Long.class, chunk.toArray()));
+                }
+                indexCases(ids);
+            } catch (DataAccessException e) {
+                log.warn("Could not resolve cases for reindexing: {}", e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${case.search.checkpoint-interval-ms:60000}",
+            initialDelayString = "${case.search.checkpoint-interval-ms:60000}")
+    public void scheduledCheckpoint() {
+        indexer.execute(() -> checkpoint(false));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.execute(() -> checkpoint(false));
+        indexer.shutdown();
+        try {
+            indexer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        InvertedIndex current = index;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    // ── Indexer thread ─────────────────────────────────────
+
+    private void openAndCatchUp() {
+        InvertedIndex opened;
+        try {
+            opened = InvertedIndex.open(indexDir);
+        } catch (IOException e) {
+            log.warn("Case search index at {} is unreadable, rebuilding: {}", indexDir, e.getMessage());
+            opened = openEmpty();
+            if (opened == null) {
+                return;
+            }
+        }
+        index = opened;
+        try {
+            long since = opened.watermark();
+            List<Long> ids;
+            if (since == 0) {
+                ids = jdbcTemplate.queryForList("SELECT case_id FROM cases ORDER BY case_id", Long.class);
+            } else {
+                Timestamp from = new Timestamp(since);
+                ids = jdbcTemplate.queryForList(
+                        "SELECT case_id FROM cases WHERE updated_at >= ? " +
+                                "UNION SELECT case_id FROM case_notes WHERE created_at >= ?",
+                        Long.class, from, from);
+            }
+            indexCases(ids);
+            checkpoint(true);
+            log.info("Case search index ready: {} cases ({} re-read)", opened.docCount(), ids.size());
+        } catch (DataAccessException e) {
+            log.warn("Case search index catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    private InvertedIndex openEmpty() {
+        try {
+            if (Files.isDirectory(indexDir)) {
+                try (Stream<Path> files = Files.list(indexDir)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            return InvertedIndex.open(indexDir);
+        } catch (IOException e) {
+            log.error("Case search index disabled, cannot use {}: {}", indexDir, e.getMessage());
+            return null;
+        }
+    }
+
+    private void indexCases(List<Long> caseIds) {
+        InvertedIndex current = index;
+        if (current == null || caseIds.isEmpty()) {
+            return;
+        }
+        try {
+            for (List<Long> chunk : chunks(new ArrayList<>(new LinkedHashSet<>(caseIds)))) {
+                String in = placeholders(chunk.size());
+                Map<Long, List<String>> fields = new LinkedHashMap<>();
+                jdbcTemplate.query("SELECT case_id, case_number, case_title, description, opposing_party, " +
+                        "judge_name, court_name FROM cases WHERE case_id IN (" + in + ")", rs -> {
+                            List<String> text = new ArrayList<>();
+                            text.add(rs.getString("case_number"));
+                            // Title twice: a match there should outrank one in a long description.
+                            text.add(rs.getString("case_title"));
+                            text.add(rs.getString("case_title"));
+                            text.add(rs.getString("description"));
+                            text.add(rs.getString("opposing_party"));
+                            text.add(rs.getString("judge_name"));
+                            text.add(rs.getString("court_name"));
+                            fields.put(rs.getLong("case_id"), text);
+                        }, chunk.toArray());
+                jdbcTemplate.query("SELECT case_id, note_text FROM case_notes WHERE case_id IN (" + in + ")",
+                        rs -> {
+                            List<String> text = fields.get(rs.getLong("case_id"));
+                            if (text != null) {
+                                text.add(rs.getString("note_text"));
+                            }
+                        }, chunk.toArray());
+                for (Long caseId : chunk) {
+                    List<String> text = fields.get(caseId);
+                    if (text == null) {
+                        current.remove(caseId);
+                    } else {
+                        text.removeIf(t -> t == null);
+                        current.put(caseId, text);
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Case search reindex failed for {} cases: {}", caseIds.size(), e.getMessage());
+        }
+        if (current.pendingChanges() >= checkpointThreshold) {
+            checkpoint(false);
+        }
+    }
+
+    private void checkpoint(boolean force) {
+        InvertedIndex current = index;
+        if (current == null || (!force && current.pendingChanges() == 0)) {
+            return;
+        }
+        try {
+            Timestamp now = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+            long watermark = (now != null ? now.getTime() : System.currentTimeMillis()) - WATERMARK_MARGIN_MS;
+            current.checkpoint(Math.max(1, watermark));
+        } catch (IOException | DataAccessException e) {
+            log.warn("Case search index checkpoint failed: {}", e.getMessage());
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        if (values.size() <= LOAD_CHUNK) {
+            return List.of(values);
+        }
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += LOAD_CHUNK) {
+            chunks.add(values.subList(from, Math.min(values.size(), from + LOAD_CHUNK)));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
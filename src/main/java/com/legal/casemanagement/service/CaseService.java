@@ -2,68 +2,155 @@ package com.legal.casemanagement.service;
 
 import com.legal.casemanagement.dto.CaseDtos.AddNoteRequest;
 import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
-import com.legal.casemanagement.dto.CaseDtos.CaseDocumentItem;
-import com.legal.casemanagement.dto.CaseDtos.CaseHearingItem;
+import com.legal.casemanagement.dto.CaseDtos.CaseDetailVersion;
+import com.legal.casemanagement.dto.CaseDtos.CaseListFilter;
 import com.legal.casemanagement.dto.CaseDtos.CaseListItem;
 import com.legal.casemanagement.dto.CaseDtos.CaseNoteItem;
-import com.legal.casemanagement.dto.CaseDtos.CaseTaskItem;
-import com.legal.casemanagement.dto.CaseDtos.CaseTimelineItem;
+import com.legal.casemanagement.dto.CaseDtos.CasePage;
 import com.legal.casemanagement.dto.CaseDtos.UpdateCaseRequest;
 import com.legal.casemanagement.dto.CaseDtos.UpdateTaskStatusRequest;
 import com.legal.casemanagement.dto.CaseDtos.CreateCaseRequest;
 import com.legal.casemanagement.dto.CaseDtos.CreateCaseResponse;
 import com.legal.casemanagement.dto.CaseDtos.AdvocateOption;
-import com.legal.casemanagement.dto.CaseDtos.UploadDocumentRequest;
-import com.legal.casemanagement.dto.CaseDtos.DocumentResponse;
 import com.legal.casemanagement.dto.CaseDtos.ScheduleHearingRequest;
 import com.legal.casemanagement.dto.CaseDtos.HearingResponse;
 import com.legal.casemanagement.dto.CaseDtos.SendMessageRequest;
 import com.legal.casemanagement.dto.CaseDtos.MessageResponse;
+import com.legal.casemanagement.util.HttpETags;
+import com.legal.casemanagement.util.InvertedIndex;
+import com.legal.casemanagement.util.RowFormat;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
-import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CaseService {
 
     private final JdbcTemplate jdbcTemplate;
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
-
-    public CaseService(JdbcTemplate jdbcTemplate) {
+    private final CaseSummaryService caseSummaryService;
+    private final CaseDetailLoader caseDetailLoader;
+    private final CaseDetailCache caseDetailCache;
+    private final CaseChangeTracker caseChangeTracker;
+    private final CaseEventService caseEventService;
+    private final NumberSequenceService numberSequenceService;
+    private final CaseSearchService caseSearchService;
+    private final InsertStatementRegistry insertStatements;
+    private final HearingConflictIndex hearingConflictIndex;
+    private final ReminderService reminderService;
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> CASE_TYPES = Set.of(
+            "CIVIL", "CRIMINAL", "FAMILY", "CORPORATE", "TAX", "LABOUR", "PROPERTY", "OTHER");
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "c.created_at",
+            "updatedAt", "c.updated_at",
+            "caseNumber", "c.case_number");
+
+    private static final String CASE_LIST_FROM =
+            "FROM cases c " +
+                    "JOIN clients cl ON c.client_id = cl.client_id " +
+                    "JOIN users cu ON cl.user_id = cu.user_id " +
+                    "JOIN advocates a ON c.advocate_id = a.advocate_id " +
+                    "JOIN users au ON a.user_id = au.user_id " +
+                    "LEFT JOIN case_summary s ON s.case_id = c.case_id ";
+
+    private static final String CASE_LIST_SELECT =
+            "SELECT c.case_id, c.case_number, c.case_title, c.case_type, c.status, c.priority, " +
+                    "c.created_at AS sort_createdAt, c.updated_at AS sort_updatedAt, " +
+                    "c.case_number AS sort_caseNumber, " +
+                    "cu.name AS client_name, au.name AS advocate_name, " +
+                    // case_summary is maintained by CaseSummaryService; a next hearing that has
+                    // already passed is hidden until the reconciler advances it.
+                    "CASE WHEN s.next_hearing >= NOW() THEN s.next_hearing END AS next_hearing, " +
+                    "COALESCE(s.overdue_tasks, 0) AS overdue_tasks " +
+                    CASE_LIST_FROM;
+
+    /**
+     * Everything a list row's JSON depends on, without the row itself: the case version
+     * (bumped by every case write) and a checksum of the joined values, i.e. the next hearing
+     * as shown, the overdue task count and the client/advocate names. Both change with the
+     * content, unlike {@code updated_at}, which only has one-second resolution.
+     */
+    private static final String CASE_VERSION_SELECT =
+            "SELECT c.case_id, c.version, " +
+                    "CRC32(CONCAT_WS('|', COALESCE(CASE WHEN s.next_hearing >= NOW() THEN s.next_hearing END, ''), " +
+                    "COALESCE(s.overdue_tasks, 0), cu.name, au.name)) AS joined_crc " +
+                    CASE_LIST_FROM;
+
+    private static final String VERSION_AGGREGATE =
+            "SELECT COUNT(*) AS row_count, COALESCE(SUM(v.case_id), 0) AS id_sum, " +
+                    "COALESCE(SUM(v.version), 0) AS version_sum, COALESCE(MAX(v.version), 0) AS version_max, " +
+                    "COALESCE(SUM(v.joined_crc), 0) AS joined_sum " +
+                    "FROM (";
+
+    public CaseService(JdbcTemplate jdbcTemplate, CaseSummaryService caseSummaryService,
+            CaseDetailLoader caseDetailLoader, CaseDetailCache caseDetailCache,
+            CaseChangeTracker caseChangeTracker, CaseEventService caseEventService,
+            NumberSequenceService numberSequenceService, CaseSearchService caseSearchService,
+            InsertStatementRegistry insertStatements, HearingConflictIndex hearingConflictIndex,
+            ReminderService reminderService) {
         this.jdbcTemplate = jdbcTemplate;
+        this.caseSummaryService = caseSummaryService;
+        this.caseDetailLoader = caseDetailLoader;
+        this.caseDetailCache = caseDetailCache;
+        this.caseChangeTracker = caseChangeTracker;
+        this.caseEventService = caseEventService;
+        this.numberSequenceService = numberSequenceService;
+        this.caseSearchService = caseSearchService;
+        this.insertStatements = insertStatements;
+        this.hearingConflictIndex = hearingConflictIndex;
+        this.reminderService = reminderService;
     }
 
     public List<CaseListItem> getCases(String role, Long userId) {
-        StringBuilder sql = new StringBuilder(
-                "SELECT c.case_number, c.case_title, c.case_type, c.status, c.priority, " +
-                        "cu.name AS client_name, au.name AS advocate_name, " +
-                        "(SELECT MIN(h.hearing_date) FROM hearings h " +
-                        " WHERE h.case_id = c.case_id AND h.status = 'SCHEDULED' AND h.hearing_date >= NOW()) AS next_hearing, "
-                        +
-                        "(SELECT COUNT(*) FROM tasks t " +
-                        " WHERE t.case_id = c.case_id AND t.status IN ('PENDING','IN_PROGRESS') AND t.due_date < NOW()) AS overdue_tasks "
-                        +
-                        "FROM cases c " +
-                        "JOIN clients cl ON c.client_id = cl.client_id " +
-                        "JOIN users cu ON cl.user_id = cu.user_id " +
-                        "JOIN advocates a ON c.advocate_id = a.advocate_id " +
-                        "JOIN users au ON a.user_id = au.user_id ");
+        StringBuilder sql = new StringBuilder(CASE_LIST_SELECT);
+        List<Object> params = new ArrayList<>();
+        appendRoleScope(sql, params, role, userId);
+        sql.append(" ORDER BY c.created_at DESC");
+
+        return jdbcTemplate.query(sql.toString(), new CaseListItemMapper(), params.toArray());
+    }
 
+    /** Strong ETag for {@link #getCases(String, Long)}, computed without reading the rows. */
+    public String getCasesETag(String role, Long userId) {
+        StringBuilder sql = new StringBuilder(CASE_VERSION_SELECT);
         List<Object> params = new ArrayList<>();
+        appendRoleScope(sql, params, role, userId);
+        return listETag("all|" + role + "|" + userId, sql.toString(), params);
+    }
+
+    /** Strong ETag for {@link #getCasePage(CaseListFilter)}, computed over the same page window. */
+    public String getCasePageETag(CaseListFilter filter) {
+        CaseListFilter f = filter != null ? filter : new CaseListFilter();
+        PageQuery query = buildPageQuery(f, CASE_VERSION_SELECT);
+        return listETag("page|" + f, query.sql(), query.params());
+    }
+
+    private String listETag(String requestKey, String versionSql, List<Object> params) {
+        return jdbcTemplate.queryForObject(VERSION_AGGREGATE + versionSql + ") v",
+                (rs, rowNum) -> HttpETags.strong(requestKey,
+                        rs.getLong("row_count"), rs.getLong("id_sum"), rs.getLong("version_sum"),
+                        rs.getLong("version_max"), rs.getLong("joined_sum")),
+                params.toArray());
+    }
+
+    private void appendRoleScope(StringBuilder sql, List<Object> params, String role, Long userId) {
         String roleUpper = role == null ? "" : role.trim().toUpperCase(Locale.ROOT);
         if (userId != null && ("ADVOCATE".equals(roleUpper) || "CLIENT".equals(roleUpper))) {
             sql.append(" WHERE ");
@@ -74,21 +161,263 @@ public class CaseService {
             }
             params.add(userId);
         }
-        sql.append(" ORDER BY c.created_at DESC");
+    }
 
-        return jdbcTemplate.query(sql.toString(),
-                (rs, rowNum) -> CaseListItem.builder()
-                        .caseNumber(rs.getString("case_number"))
-                        .title(rs.getString("case_title"))
-                        .client(rs.getString("client_name"))
-                        .advocate(rs.getString("advocate_name"))
-                        .category(mapCaseType(rs.getString("case_type")))
-                        .status(mapCaseStatus(rs.getString("status")))
-                        .priority(mapPriority(rs.getString("priority")))
-                        .nextHearing(formatDate(rs.getTimestamp("next_hearing")))
-                        .overdueTasks(Optional.ofNullable(rs.getLong("overdue_tasks")).orElse(0L))
-                        .build(),
-                params.toArray());
+    /**
+     * Full-text search over case fields and notes, best match first. The index ranks all
+     * cases; the role/user restriction is applied when the matching rows are read back.
+     */
+    public List<CaseListItem> searchCases(String query, String role, Long userId, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String roleUpper = role == null ? "" : role.trim().toUpperCase(Locale.ROOT);
+        boolean scoped = userId != null && ("ADVOCATE".equals(roleUpper) || "CLIENT".equals(roleUpper));
+        // Scoped callers may lose many hits to the access filter, so over-fetch from the index.
+        List<InvertedIndex.Hit> hits = caseSearchService.search(query, scoped ? pageSize * 20 : pageSize);
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        StringBuilder sql = new StringBuilder(CASE_LIST_SELECT)
+                .append(" WHERE c.case_id IN (")
+                .append(String.join(",", Collections.nCopies(hits.size(), "?")))
+                .append(")");
+        List<Object> params = new ArrayList<>();
+        for (InvertedIndex.Hit hit : hits) {
+            params.add(hit.docId());
+        }
+        if (scoped) {
+            sql.append("ADVOCATE".equals(roleUpper) ? " AND a.user_id = ?" : " AND cl.user_id = ?");
+            params.add(userId);
+        }
+        Map<Long, CaseListItem> rows = new HashMap<>();
+        CaseListItemMapper mapper = new CaseListItemMapper();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            rows.put(rs.getLong("case_id"), mapper.mapRow(rs, rows.size()));
+        }, params.toArray());
+
+        List<CaseListItem> results = new ArrayList<>();
+        for (InvertedIndex.Hit hit : hits) {
+            CaseListItem item = rows.get(hit.docId());
+            if (item != null) {
+                results.add(item);
+                if (results.size() == pageSize) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Keyset-paginated case list. Every page is located through the
+     * (sort column, case_id) composite indexes, so page N costs the same as page 1.
+     */
+    public CasePage getCasePage(CaseListFilter filter) {
+        CaseListFilter f = filter != null ? filter : new CaseListFilter();
+        PageQuery query = buildPageQuery(f, CASE_LIST_SELECT);
+        String sortKey = query.sortKey();
+        int limit = query.limit();
+
+        List<Object[]> keys = new ArrayList<>();
+        CaseListItemMapper mapper = new CaseListItemMapper();
+        List<CaseListItem> items = jdbcTemplate.query(query.sql(), (rs, rowNum) -> {
+            Object sortValue = "caseNumber".equals(sortKey)
+                    ? rs.getString("sort_caseNumber")
+                    : rs.getTimestamp("sort_" + sortKey);
+            keys.add(new Object[] { rs.getLong("case_id"), sortValue });
+            return mapper.mapRow(rs, rowNum);
+        }, query.params().toArray());
+
+        boolean hasMore = items.size() > limit;
+        String nextCursor = null;
+        if (hasMore) {
+            items = new ArrayList<>(items.subList(0, limit));
+            Object[] last = keys.get(limit - 1);
+            nextCursor = encodeCursor(sortKey, (Long) last[0], last[1]);
+        }
+
+        return CasePage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .limit(limit)
+                .build();
+    }
+
+    /** Builds the filtered, keyset-positioned page query (one row past the page for hasMore). */
+    private PageQuery buildPageQuery(CaseListFilter f, String select) {
+        String sortKey = resolveSortKey(f.getSort());
+        String sortColumn = SORT_COLUMNS.get(sortKey);
+        boolean ascending = "ASC".equalsIgnoreCase(f.getDirection() == null ? "" : f.getDirection().trim());
+        int limit = f.getLimit() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(f.getLimit(), MAX_PAGE_SIZE));
+
+        StringBuilder sql = new StringBuilder(select).append(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        String roleUpper = f.getRole() == null ? "" : f.getRole().trim().toUpperCase(Locale.ROOT);
+        if (f.getUserId() != null) {
+            if ("ADVOCATE".equals(roleUpper)) {
+                sql.append(" AND a.user_id = ?");
+                params.add(f.getUserId());
+            } else if ("CLIENT".equals(roleUpper)) {
+                sql.append(" AND cl.user_id = ?");
+                params.add(f.getUserId());
+            }
+        }
+
+        appendInFilter(sql, params, "c.status", resolveStatusFilter(f.getStatus()));
+        appendInFilter(sql, params, "c.case_type", resolveTypeFilter(f.getCaseType()));
+        appendInFilter(sql, params, "c.priority", resolvePriorityFilter(f.getPriority()));
+        if (f.getAdvocateUserId() != null) {
+            sql.append(" AND a.user_id = ?");
+            params.add(f.getAdvocateUserId());
+        }
+        if (f.getCourt() != null && !f.getCourt().isBlank()) {
+            sql.append(" AND c.court_name = ?");
+            params.add(f.getCourt().trim());
+        }
+        if (f.getFiledFrom() != null && !f.getFiledFrom().isBlank()) {
+            sql.append(" AND c.filing_date >= ?");
+            params.add(parseDateParam(f.getFiledFrom(), "filedFrom"));
+        }
+        if (f.getFiledTo() != null && !f.getFiledTo().isBlank()) {
+            sql.append(" AND c.filing_date <= ?");
+            params.add(parseDateParam(f.getFiledTo(), "filedTo"));
+        }
+
+        if (f.getCursor() != null && !f.getCursor().isBlank()) {
+            PageCursor cursor = decodeCursor(f.getCursor(), sortKey);
+            String op = ascending ? ">" : "<";
+            sql.append(" AND (").append(sortColumn).append(' ').append(op).append(" ? OR (")
+                    .append(sortColumn).append(" = ? AND c.case_id ").append(op).append(" ?))");
+            params.add(cursor.value());
+            params.add(cursor.value());
+            params.add(cursor.caseId());
+        }
+
+        String dir = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ").append(sortColumn).append(dir).append(", c.case_id").append(dir)
+                .append(" LIMIT ?");
+        params.add(limit + 1);
+
+        return new PageQuery(sql.toString(), params, sortKey, limit);
+    }
+
+    private record PageQuery(String sql, List<Object> params, String sortKey, int limit) {
+    }
+
+    private String resolveSortKey(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return "createdAt";
+        }
+        for (String key : SORT_COLUMNS.keySet()) {
+            if (key.equalsIgnoreCase(sort.trim())) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + sort);
+    }
+
+    private void appendInFilter(StringBuilder sql, List<Object> params, String column, List<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        sql.append(" AND ").append(column).append(" IN (")
+                .append(String.join(",", Collections.nCopies(values.size(), "?")))
+                .append(')');
+        params.addAll(values);
+    }
+
+    private List<String> resolveStatusFilter(String status) {
+        List<String> values = new ArrayList<>();
+        for (String token : splitFilter(status)) {
+            switch (token) {
+                case "ACTIVE" -> values.addAll(List.of("OPEN", "IN_PROGRESS"));
+                case "CLOSED" -> values.addAll(List.of("CLOSED", "WON", "LOST", "SETTLED"));
+                case "PENDING", "OPEN" -> values.add("OPEN");
+                case "IN_PROGRESS", "WON", "LOST", "SETTLED" -> values.add(token);
+                default -> throw new IllegalArgumentException("Unsupported status filter: " + token);
+            }
+        }
+        return values;
+    }
+
+    private List<String> resolveTypeFilter(String caseType) {
+        List<String> values = new ArrayList<>();
+        for (String token : splitFilter(caseType)) {
+            if (!CASE_TYPES.contains(token)) {
+                throw new IllegalArgumentException("Unsupported case type filter: " + token);
+            }
+            values.add(token);
+        }
+        return values;
+    }
+
+    private List<String> resolvePriorityFilter(String priority) {
+        List<String> values = new ArrayList<>();
+        for (String token : splitFilter(priority)) {
+            switch (token) {
+                // "High" on the list pages covers both HIGH and URGENT (see mapPriority)
+                case "HIGH" -> values.addAll(List.of("HIGH", "URGENT"));
+                case "LOW", "MEDIUM", "URGENT" -> values.add(token);
+                default -> throw new IllegalArgumentException("Unsupported priority filter: " + token);
+            }
+        }
+        return values;
+    }
+
+    private List<String> splitFilter(String raw) {
+        List<String> tokens = new ArrayList<>();
+        if (raw == null || raw.isBlank()) {
+            return tokens;
+        }
+        for (String part : raw.split(",")) {
+            String token = part.trim().toUpperCase(Locale.ROOT).replace(' ', '_');
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private Date parseDateParam(String value, String name) {
+        try {
+            return Date.valueOf(LocalDate.parse(value.trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be formatted as yyyy-MM-dd");
+        }
+    }
+
+    private String encodeCursor(String sortKey, Long caseId, Object sortValue) {
+        String value = sortValue instanceof Timestamp ts ? String.valueOf(ts.getTime()) : String.valueOf(sortValue);
+        String raw = caseId + "|" + sortKey + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PageCursor decodeCursor(String cursor, String sortKey) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 3 || !sortKey.equals(parts[1])) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        try {
+            long caseId = Long.parseLong(parts[0]);
+            Object value = "caseNumber".equals(sortKey) ? parts[2] : new Timestamp(Long.parseLong(parts[2]));
+            return new PageCursor(caseId, value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record PageCursor(long caseId, Object value) {
     }
 
     // Overload for backward compatibility
@@ -97,63 +426,50 @@ public class CaseService {
     }
 
     public CaseDetail getCaseDetail(@NonNull String caseNumber, String role, Long userId) {
-        StringBuilder sqlBuilder = new StringBuilder(
-                "SELECT c.case_id, c.case_number, c.case_title, c.case_type, c.status, c.priority, " +
-                        "c.filing_date, c.court_name, c.judge_name, c.description, c.opposing_party, " +
-                        "cu.name AS client_name, au.name AS advocate_name " +
+        return caseDetailCache.get(caseNumber, role, userId,
+                () -> caseDetailLoader.load(caseNumber, role, userId));
+    }
+
+    /** Detail for a version obtained from {@link #getCaseDetailVersion}; never older than it. */
+    public CaseDetail getCaseDetail(@NonNull String caseNumber, String role, Long userId, long version) {
+        return caseDetailCache.get(caseNumber, role, userId, version,
+                () -> caseDetailLoader.load(caseNumber, role, userId));
+    }
+
+    /**
+     * Version and strong ETag of a case detail, from one indexed lookup. Returns null when
+     * the case does not exist or is outside the caller's scope (same rule as the detail).
+     */
+    public CaseDetailVersion getCaseDetailVersion(@NonNull String caseNumber, String role, Long userId) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT c.version, s.updated_at AS summary_updated, cu.updated_at AS client_updated, " +
+                        "au.updated_at AS advocate_updated " +
                         "FROM cases c " +
                         "LEFT JOIN clients cl ON c.client_id = cl.client_id " +
                         "LEFT JOIN users cu ON cl.user_id = cu.user_id " +
                         "LEFT JOIN advocates a ON c.advocate_id = a.advocate_id " +
                         "LEFT JOIN users au ON a.user_id = au.user_id " +
+                        "LEFT JOIN case_summary s ON s.case_id = c.case_id " +
                         "WHERE c.case_number = ?");
-
         List<Object> params = new ArrayList<>();
         params.add(caseNumber);
         String roleUpper = role == null ? "" : role.trim().toUpperCase(Locale.ROOT);
-
-        // Apply user-based access control for scoped roles.
         if (userId != null) {
             if ("ADVOCATE".equals(roleUpper)) {
-                sqlBuilder.append(" AND a.user_id = ?");
+                sql.append(" AND a.user_id = ?");
                 params.add(userId);
             } else if ("CLIENT".equals(roleUpper)) {
-                sqlBuilder.append(" AND cu.user_id = ?");
+                sql.append(" AND cu.user_id = ?");
                 params.add(userId);
             }
         }
-
-        String sql = sqlBuilder.toString();
-
-        return jdbcTemplate.query(sql, rs -> {
-            if (!rs.next()) {
-                return null;
-            }
-            long caseId = rs.getLong("case_id");
-
-            CaseDetail detail = CaseDetail.builder()
-                    .caseNumber(rs.getString("case_number"))
-                    .title(rs.getString("case_title"))
-                    .category(mapCaseType(rs.getString("case_type")))
-                    .status(mapCaseStatus(rs.getString("status")))
-                    .priority(mapPriority(rs.getString("priority")))
-                    .filingDate(formatDate(rs.getDate("filing_date")))
-                    .court(nullToEmpty(rs.getString("court_name")))
-                    .judge(nullToEmpty(rs.getString("judge_name")))
-                    .description(nullToEmpty(rs.getString("description")))
-                    .client(rs.getString("client_name"))
-                    .advocate(rs.getString("advocate_name"))
-                    .opposingParty(nullToEmpty(rs.getString("opposing_party")))
-                    .opposingCounsel("")
-                    .timeline(loadTimeline(caseId, rs.getDate("filing_date")))
-                    .hearings(loadHearings(caseId, rs.getString("court_name")))
-                    .documents(loadDocuments(caseId))
-                    .tasks(loadTasks(caseId))
-                    .notes(loadNotes(caseId))
-                    .build();
-
-            return detail;
+        List<CaseDetailVersion> rows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            long version = rs.getLong("version");
+            return new CaseDetailVersion(version, HttpETags.strong("detail|" + caseNumber, version,
+                    rs.getTimestamp("summary_updated"), rs.getTimestamp("client_updated"),
+                    rs.getTimestamp("advocate_updated")));
         }, params.toArray());
+        return rows.isEmpty() ? null : rows.get(0);
     }
 
     public boolean updateCase(@NonNull String caseNumber, UpdateCaseRequest request) {
@@ -172,9 +488,39 @@ public class CaseService {
                 request.getJudge(),
                 caseNumber);
 
+        if (updated > 0) {
+            caseEventService.appendForCaseNumber(caseNumber, CaseEventService.CASE_UPDATED, "Case Updated",
+                    describeChanges(status, priority, request));
+            caseChangeTracker.caseChanged(caseNumber);
+            caseSearchService.reindexCaseNumbers(List.of(caseNumber));
+            if (request.getCourt() != null) {
+                hearingConflictIndex.caseChanged(caseNumber);
+            }
+        }
         return updated > 0;
     }
 
+    /** "Status: Closed, Court: High Court" for the activity feed. */
+    static String describeChanges(String dbStatus, String dbPriority, UpdateCaseRequest request) {
+        List<String> changes = new ArrayList<>();
+        if (dbStatus != null) {
+            changes.add("Status: " + RowFormat.caseStatusLabel(dbStatus));
+        }
+        if (dbPriority != null) {
+            changes.add("Priority: " + RowFormat.priorityLabel(dbPriority));
+        }
+        if (request.getCourt() != null) {
+            changes.add("Court: " + request.getCourt());
+        }
+        if (request.getJudge() != null) {
+            changes.add("Judge: " + request.getJudge());
+        }
+        if (request.getDescription() != null) {
+            changes.add("Description updated");
+        }
+        return String.join(", ", changes);
+    }
+
     public CaseNoteItem addNote(@NonNull String caseNumber, AddNoteRequest request) {
         if (request == null || request.getText() == null || request.getText().isBlank()) {
             return null;
@@ -194,6 +540,9 @@ public class CaseService {
 
         String insertSql = "INSERT INTO case_notes (case_id, created_by, note_text) VALUES (?, ?, ?)";
         jdbcTemplate.update(insertSql, caseId, userId, request.getText());
+        caseEventService.append(caseId, CaseEventService.NOTE_ADDED, "Note Added", request.getText(), null);
+        caseChangeTracker.caseChanged(caseNumber);
+        caseSearchService.reindexCase(caseId);
 
         String authorName = request.getAuthorName();
         if (authorName == null || authorName.isBlank()) {
@@ -202,7 +551,7 @@ public class CaseService {
 
         return CaseNoteItem.builder()
                 .author(authorName)
-                .date(DATE_FORMAT.format(LocalDate.now()))
+                .date(RowFormat.date(LocalDate.now()))
                 .text(request.getText())
                 .build();
     }
@@ -215,88 +564,16 @@ public class CaseService {
         String newStatus = request.isCompleted() ? "COMPLETED" : "IN_PROGRESS";
         String sql = "UPDATE tasks SET status = ?, updated_at = NOW() WHERE task_id = ? AND case_id = ?";
         int updated = jdbcTemplate.update(sql, newStatus, taskId, caseId);
+        if (updated > 0) {
+            caseSummaryService.refreshCase(caseId);
+            caseEventService.appendForTask(taskId, CaseEventService.TASK_UPDATED,
+                    "Task " + RowFormat.titleCase(newStatus.replace('_', ' ')));
+            caseChangeTracker.caseChanged(caseNumber);
+            reminderService.taskChanged(taskId);
+        }
         return updated > 0;
     }
 
-    private List<CaseTimelineItem> loadTimeline(Long caseId, Date filingDate) {
-        List<CaseTimelineItem> items = new ArrayList<>();
-        if (filingDate != null) {
-            items.add(CaseTimelineItem.builder()
-                    .date(formatDate(filingDate))
-                    .title("Case Filed")
-                    .desc("Case registered with the court")
-                    .build());
-        }
-
-        String sql = "SELECT hearing_date, hearing_type, status FROM hearings WHERE case_id = ? ORDER BY hearing_date DESC LIMIT 6";
-        jdbcTemplate.query(sql, (ResultSet rs) -> {
-            while (rs.next()) {
-                items.add(CaseTimelineItem.builder()
-                        .date(formatDate(rs.getTimestamp("hearing_date")))
-                        .title("Hearing " + mapHearingType(rs.getString("hearing_type")))
-                        .desc("Status: " + mapHearingStatus(rs.getString("status")))
-                        .build());
-            }
-        }, caseId);
-
-        return items;
-    }
-
-    private List<CaseHearingItem> loadHearings(Long caseId, String courtName) {
-        String sql = "SELECT hearing_date, hearing_type, courtroom FROM hearings WHERE case_id = ? ORDER BY hearing_date ASC";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Timestamp hearingDate = rs.getTimestamp("hearing_date");
-            return CaseHearingItem.builder()
-                    .purpose(mapHearingType(rs.getString("hearing_type")))
-                    .date(formatDate(hearingDate))
-                    .time(formatTime(hearingDate))
-                    .location(nullToEmpty(rs.getString("courtroom"), courtName))
-                    .build();
-        }, caseId);
-    }
-
-    private List<CaseDocumentItem> loadDocuments(Long caseId) {
-        String sql = "SELECT document_name, document_type, file_path, file_size FROM documents WHERE case_id = ? ORDER BY uploaded_at DESC";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            String filePath = rs.getString("file_path");
-            String inferredType = inferDocumentType(filePath);
-            return CaseDocumentItem.builder()
-                    .name(rs.getString("document_name"))
-                    .type(inferredType)
-                    .size(formatFileSize(rs.getLong("file_size")))
-                    .build();
-        }, caseId);
-    }
-
-    private List<CaseTaskItem> loadTasks(Long caseId) {
-        String sql = "SELECT task_id, task_title, due_date, status FROM tasks WHERE case_id = ? ORDER BY due_date ASC";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Timestamp due = rs.getTimestamp("due_date");
-            boolean completed = "COMPLETED".equalsIgnoreCase(rs.getString("status"));
-            boolean overdue = due != null && due.toInstant().isBefore(java.time.Instant.now()) && !completed;
-            return CaseTaskItem.builder()
-                    .id(rs.getLong("task_id"))
-                    .title(rs.getString("task_title"))
-                    .due(formatDate(due))
-                    .completed(completed)
-                    .overdue(overdue)
-                    .build();
-        }, caseId);
-    }
-
-    private List<CaseNoteItem> loadNotes(Long caseId) {
-        String sql = "SELECT n.note_id, n.note_text, n.created_at, u.name AS author_name " +
-                "FROM case_notes n JOIN users u ON n.created_by = u.user_id " +
-                "WHERE n.case_id = ? ORDER BY n.created_at DESC";
-
-        return jdbcTemplate.query(sql, (rs, rowNum) -> CaseNoteItem.builder()
-                .id(rs.getLong("note_id"))
-                .author(rs.getString("author_name"))
-                .date(formatDate(rs.getTimestamp("created_at")))
-                .text(rs.getString("note_text"))
-                .build(), caseId);
-    }
-
     private Long getCaseId(String caseNumber) {
         List<Long> ids = jdbcTemplate.query("SELECT case_id FROM cases WHERE case_number = ?",
                 (rs, rowNum) -> rs.getLong("case_id"), caseNumber);
@@ -309,72 +586,7 @@ public class CaseService {
         return ids.isEmpty() ? null : ids.get(0);
     }
 
-    private String formatDate(Timestamp timestamp) {
-        if (timestamp == null) {
-            return "";
-        }
-        return DATE_FORMAT.format(timestamp.toLocalDateTime());
-    }
-
-    private String formatDate(Date date) {
-        if (date == null) {
-            return "";
-        }
-        return DATE_FORMAT.format(date.toLocalDate());
-    }
-
-    private String formatTime(Timestamp timestamp) {
-        if (timestamp == null) {
-            return "";
-        }
-        return TIME_FORMAT.format(timestamp.toLocalDateTime());
-    }
-
-    private String formatFileSize(long size) {
-        if (size <= 0) {
-            return "N/A";
-        }
-        if (size < 1024) {
-            return size + " B";
-        }
-        double kb = size / 1024.0;
-        if (kb < 1024) {
-            return String.format(Locale.ROOT, "%.1f KB", kb);
-        }
-        double mb = kb / 1024.0;
-        return String.format(Locale.ROOT, "%.1f MB", mb);
-    }
-
-    private String mapCaseType(String caseType) {
-        if (caseType == null) {
-            return "Other";
-        }
-        return toTitleCase(caseType.replace('_', ' '));
-    }
-
-    private String mapCaseStatus(String status) {
-        if (status == null) {
-            return "Pending";
-        }
-        return switch (status) {
-            case "OPEN", "IN_PROGRESS" -> "Active";
-            case "CLOSED", "WON", "LOST", "SETTLED" -> "Closed";
-            default -> "Pending";
-        };
-    }
-
-    private String mapPriority(String priority) {
-        if (priority == null) {
-            return "Medium";
-        }
-        return switch (priority) {
-            case "LOW" -> "Low";
-            case "HIGH", "URGENT" -> "High";
-            default -> "Medium";
-        };
-    }
-
-    private String mapStatusToDb(String status) {
+    static String mapStatusToDb(String status) {
         if (status == null) {
             return null;
         }
@@ -387,7 +599,7 @@ public class CaseService {
         };
     }
 
-    private String mapPriorityToDb(String priority) {
+    static String mapPriorityToDb(String priority) {
         if (priority == null) {
             return null;
         }
@@ -400,70 +612,6 @@ public class CaseService {
         };
     }
 
-    private String mapHearingType(String hearingType) {
-        if (hearingType == null) {
-            return "Hearing";
-        }
-        return toTitleCase(hearingType.replace('_', ' '));
-    }
-
-    private String mapHearingStatus(String status) {
-        if (status == null) {
-            return "Scheduled";
-        }
-        return toTitleCase(status.replace('_', ' '));
-    }
-
-    private String toTitleCase(String value) {
-        if (value == null || value.isBlank()) {
-            return "";
-        }
-        String[] parts = value.toLowerCase(Locale.ROOT).split("\\s+");
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < parts.length; i++) {
-            String part = parts[i];
-            if (part.isEmpty()) {
-                continue;
-            }
-            builder.append(Character.toUpperCase(part.charAt(0)));
-            if (part.length() > 1) {
-                builder.append(part.substring(1));
-            }
-            if (i < parts.length - 1) {
-                builder.append(" ");
-            }
-        }
-        return builder.toString();
-    }
-
-    private String inferDocumentType(String filePath) {
-        if (filePath == null) {
-            return "doc";
-        }
-        String lower = filePath.toLowerCase(Locale.ROOT);
-        if (lower.endsWith(".pdf")) {
-            return "pdf";
-        }
-        if (lower.endsWith(".doc") || lower.endsWith(".docx")) {
-            return "doc";
-        }
-        if (lower.endsWith(".zip") || lower.endsWith(".rar")) {
-            return "archive";
-        }
-        return "doc";
-    }
-
-    private String nullToEmpty(String value) {
-        return value == null ? "" : value;
-    }
-
-    private String nullToEmpty(String primary, String fallback) {
-        if (primary != null && !primary.isBlank()) {
-            return primary;
-        }
-        return fallback == null ? "" : fallback;
-    }
-
     public CreateCaseResponse createCase(CreateCaseRequest request) {
         if (request == null || request.getCaseTitle() == null || request.getClientId() == null
                 || request.getAdvocateUserId() == null) {
@@ -478,11 +626,7 @@ public class CaseService {
             return null;
         }
 
-        String caseNumber = generateCaseNumber();
-        SimpleJdbcInsert caseInsert = new SimpleJdbcInsert(jdbcTemplate)
-                .withTableName("cases")
-                .usingGeneratedKeyColumns("case_id");
-
+        String caseNumber = numberSequenceService.nextCaseNumber();
         Map<String, Object> params = new HashMap<>();
         params.put("case_number", caseNumber);
         params.put("case_title", request.getCaseTitle());
@@ -498,7 +642,10 @@ public class CaseService {
         params.put("judge_name", request.getJudgeName());
         params.put("status", "OPEN");
 
-        caseInsert.execute(params);
+        Number caseId = insertStatements.insertAndReturnKey(InsertStatementRegistry.CASES, params);
+        caseSummaryService.refreshCase(caseId.longValue());
+        caseEventService.appendCasesFiled(List.of(caseNumber));
+        caseSearchService.reindexCase(caseId.longValue());
 
         return CreateCaseResponse.builder()
                 .caseNumber(caseNumber)
@@ -506,19 +653,6 @@ public class CaseService {
                 .build();
     }
 
-    private String generateCaseNumber() {
-        String year = String.valueOf(LocalDate.now().getYear());
-        String prefix = "LC-" + year + "-";
-        int suffixStart = prefix.length() + 1;
-        Integer max = jdbcTemplate.queryForObject(
-                "SELECT COALESCE(MAX(CAST(SUBSTRING(case_number, " + suffixStart + ") AS UNSIGNED)), 0) " +
-                        "FROM cases WHERE case_number LIKE ?",
-                Integer.class,
-                prefix + "%");
-        int nextNum = (max != null ? max : 0) + 1;
-        return prefix + String.format("%03d", nextNum);
-    }
-
     private Long getAdvocateIdByUserId(Long userId) {
         List<Long> ids = jdbcTemplate.query(
                 "SELECT advocate_id FROM advocates WHERE user_id = ? LIMIT 1",
@@ -549,85 +683,80 @@ public class CaseService {
                 .build());
     }
 
-    public DocumentResponse uploadDocument(UploadDocumentRequest request, Long uploadedByUserId) {
-        try {
-            if (request == null || request.getDocumentName() == null || request.getDocumentName().isBlank()) {
-                return null;
-            }
-            Long caseId = request.getCaseId();
-
-            // If caseId is not provided but caseNumber is, resolve it
-            if (caseId == null && request.getCaseNumber() != null) {
-                List<Long> ids = jdbcTemplate.query(
-                        "SELECT case_id FROM cases WHERE case_number = ? LIMIT 1",
-                        (rs, rowNum) -> rs.getLong("case_id"),
-                        request.getCaseNumber());
-                if (!ids.isEmpty()) {
-                    caseId = ids.get(0);
-                }
-            }
-
-            if (caseId == null) {
-                return null;
-            }
-
-            SimpleJdbcInsert documentInsert = new SimpleJdbcInsert(jdbcTemplate)
-                    .withTableName("documents")
-                    .usingGeneratedKeyColumns("document_id");
-
-            Map<String, Object> params = new HashMap<>();
-            params.put("case_id", caseId);
-            params.put("document_name", request.getDocumentName());
-            params.put("document_type", request.getDocumentType() != null ? request.getDocumentType() : "OTHER");
-            params.put("file_path", "/documents/" + System.currentTimeMillis() + "_" + request.getDocumentName());
-            params.put("file_size", request.getFileData() != null ? request.getFileData().length() : 0);
-            params.put("uploaded_by", uploadedByUserId);
-            params.put("description", request.getDescription());
-
-            Number key = documentInsert.executeAndReturnKey(params);
-            return DocumentResponse.builder()
-                    .documentId(key.longValue())
-                    .documentName(request.getDocumentName())
-                    .message("Document uploaded successfully")
-                    .build();
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
+    /**
+     * Books a hearing unless the case's advocate or the courtroom is already booked for an
+     * overlapping slot. A refused hearing comes back without a hearingId, listing the clashes;
+     * with {@code allowConflicts} it is booked anyway and the clashes are reported.
+     */
     public HearingResponse scheduleHearing(ScheduleHearingRequest request) {
         try {
             if (request == null || request.getHearingDate() == null || request.getHearingTime() == null) {
                 return null;
             }
             // Resolve caseNumber to caseId if caseNumber is provided
-            Long caseId = request.getCaseId();
-            if (caseId == null && request.getCaseNumber() != null) {
-                String sql = "SELECT case_id FROM cases WHERE case_number = ?";
-                caseId = jdbcTemplate.queryForObject(sql, Long.class, request.getCaseNumber());
+            boolean byId = request.getCaseId() != null;
+            if (!byId && request.getCaseNumber() == null) {
+                return null;
             }
-            if (caseId == null) {
+            List<Object[]> cases = jdbcTemplate.query("SELECT case_id, case_number, advocate_id, court_name " +
+                    "FROM cases WHERE " + (byId ? "case_id = ?" : "case_number = ?"),
+                    (rs, rowNum) -> new Object[] { rs.getLong("case_id"), rs.getString("case_number"),
+                            rs.getObject("advocate_id") == null ? null : rs.getLong("advocate_id"),
+                            rs.getString("court_name") },
+                    byId ? request.getCaseId() : request.getCaseNumber());
+            if (cases.isEmpty()) {
                 return null;
             }
-
-            SimpleJdbcInsert hearingInsert = new SimpleJdbcInsert(jdbcTemplate)
-                    .withTableName("hearings")
-                    .usingGeneratedKeyColumns("hearing_id");
-
+            Object[] c = cases.get(0);
+            long caseId = (Long) c[0];
+
+            LocalDateTime start = LocalDate.parse(request.getHearingDate().trim())
+                    .atTime(LocalTime.parse(request.getHearingTime().trim()));
+            int duration = request.getDurationMinutes() != null ? request.getDurationMinutes()
+                    : hearingConflictIndex.getDefaultDurationMinutes();
+            if (duration < 1 || duration > 24 * 60) {
+                return null;
+            }
+            HearingConflictIndex.Hold hold = hearingConflictIndex.hold(caseId, (String) c[1], (Long) c[2],
+                    (String) c[3], request.getCourtroom(), start, duration,
+                    Boolean.TRUE.equals(request.getAllowConflicts()));
             String hearingDateTime = request.getHearingDate() + " " + request.getHearingTime();
+            if (!hold.placed()) {
+                return HearingResponse.builder()
+                        .hearingDate(hearingDateTime)
+                        .message("Hearing overlaps " + hold.conflicts().size() + " existing booking(s)")
+                        .conflicts(hold.conflicts())
+                        .build();
+            }
+
             Map<String, Object> params = new HashMap<>();
             params.put("case_id", caseId);
             params.put("hearing_date", hearingDateTime);
+            params.put("duration_minutes", duration);
             params.put("courtroom", request.getCourtroom());
             params.put("hearing_type", request.getHearingType() != null ? request.getHearingType() : "OTHER");
             params.put("status", "SCHEDULED");
             params.put("remarks", request.getRemarks());
 
-            Number key = hearingInsert.executeAndReturnKey(params);
+            Number key;
+            try {
+                key = insertStatements.insertAndReturnKey(InsertStatementRegistry.HEARINGS, params);
+            } catch (RuntimeException e) {
+                hearingConflictIndex.release(hold);
+                throw e;
+            }
+            hearingConflictIndex.confirm(hold, key.longValue());
+            reminderService.hearingChanged(key.longValue());
+            caseSummaryService.refreshCase(caseId);
+            caseEventService.append(caseId, CaseEventService.HEARING_SCHEDULED, "Hearing Scheduled",
+                    hearingDateTime, key.longValue());
+            caseChangeTracker.caseChanged(caseId);
             return HearingResponse.builder()
                     .hearingId(key.longValue())
                     .hearingDate(hearingDateTime)
-                    .message("Hearing scheduled successfully")
+                    .message(hold.conflicts().isEmpty() ? "Hearing scheduled successfully"
+                            : "Hearing scheduled with " + hold.conflicts().size() + " conflict(s)")
+                    .conflicts(hold.conflicts())
                     .build();
         } catch (Exception e) {
             return null;
@@ -640,10 +769,6 @@ public class CaseService {
                     || request.getMessageText() == null || request.getMessageText().isBlank()) {
                 return null;
             }
-            SimpleJdbcInsert messageInsert = new SimpleJdbcInsert(jdbcTemplate)
-                    .withTableName("messages")
-                    .usingGeneratedKeyColumns("message_id");
-
             Map<String, Object> params = new HashMap<>();
             params.put("case_id", request.getCaseId());
             params.put("sender_id", senderId);
@@ -652,7 +777,10 @@ public class CaseService {
             params.put("message_text", request.getMessageText());
             params.put("is_read", false);
 
-            Number key = messageInsert.executeAndReturnKey(params);
+            Number key = insertStatements.insertAndReturnKey(InsertStatementRegistry.MESSAGES, params);
+            caseEventService.append(request.getCaseId(), CaseEventService.MESSAGE_SENT, "Message Sent",
+                    request.getSubject(), key.longValue());
+            caseChangeTracker.caseChanged(request.getCaseId());
             return MessageResponse.builder()
                     .messageId(key.longValue())
                     .message("Message sent successfully")
@@ -0,0 +1,113 @@
+package com.legal.casemanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maintains the {@code case_summary} read model (next scheduled hearing and overdue task
+ * count per case) so list queries can join one indexed row instead of running
+ * correlated subqueries per case.
+ * <p>
+ * Rows are refreshed by the hearing/task write paths. Overdue counts and the next hearing
+ * also change purely with the passage of time; {@link #reconcile()} picks those rows up
+ * through the {@code next_hearing} / {@code next_task_due} indexes.
+ */
+@Service
+public class CaseSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(CaseSummaryService.class);
+    private static final int REFRESH_CHUNK = 500;
+    private static final int BACKFILL_BATCH = 1000;
+
+    private static final String UPSERT_SELECT =
+            "INSERT INTO case_summary (case_id, next_hearing, overdue_tasks, next_task_due) " +
+                    "SELECT c.case_id, " +
+                    "(SELECT MIN(h.hearing_date) FROM hearings h " +
+                    " WHERE h.case_id = c.case_id AND h.status = 'SCHEDULED' AND h.hearing_date >= NOW()), " +
+                    "(SELECT COUNT(*) FROM tasks t " +
+                    " WHERE t.case_id = c.case_id AND t.status IN ('PENDING','IN_PROGRESS') AND t.due_date < NOW()), " +
+                    "(SELECT MIN(t.due_date) FROM tasks t " +
+                    " WHERE t.case_id = c.case_id AND t.status IN ('PENDING','IN_PROGRESS') AND t.due_date >= NOW()) " +
+                    "FROM cases c WHERE ";
+
+    private static final String ON_DUPLICATE =
+            " ON DUPLICATE KEY UPDATE next_hearing = VALUES(next_hearing), " +
+                    "overdue_tasks = VALUES(overdue_tasks), next_task_due = VALUES(next_task_due)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CaseSummaryService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void refreshCase(Long caseId) {
+        if (caseId == null) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_SELECT + "c.case_id = ?" + ON_DUPLICATE, caseId);
+    }
+
+    public void refreshForHearing(Long hearingId) {
+        if (hearingId == null) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_SELECT +
+                "c.case_id = (SELECT h2.case_id FROM hearings h2 WHERE h2.hearing_id = ?)" + ON_DUPLICATE,
+                hearingId);
+    }
+
+    public void refreshForTask(Long taskId) {
+        if (taskId == null) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_SELECT +
+                "c.case_id = (SELECT t2.case_id FROM tasks t2 WHERE t2.task_id = ?)" + ON_DUPLICATE,
+                taskId);
+    }
+
+    public void refreshCases(Collection<Long> caseIds) {
+        if (caseIds == null || caseIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(caseIds);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + REFRESH_CHUNK));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.update(UPSERT_SELECT + "c.case_id IN (" + placeholders + ")" + ON_DUPLICATE,
+                    chunk.toArray());
+        }
+    }
+
+    /**
+     * Refreshes rows whose next hearing has passed or whose earliest open task has
+     * become overdue, and backfills cases that do not have a summary row yet.
+     */
+    @Scheduled(fixedDelayString = "${case.summary.reconcile-interval-ms:60000}",
+            initialDelayString = "${case.summary.reconcile-initial-delay-ms:10000}")
+    public void reconcile() {
+        try {
+            List<Long> stale = jdbcTemplate.queryForList(
+                    "SELECT case_id FROM case_summary WHERE next_hearing < NOW() " +
+                            "UNION SELECT case_id FROM case_summary WHERE next_task_due <= NOW()",
+                    Long.class);
+            refreshCases(stale);
+
+            List<Long> missing = jdbcTemplate.queryForList(
+                    "SELECT c.case_id FROM cases c LEFT JOIN case_summary s ON s.case_id = c.case_id " +
+                            "WHERE s.case_id IS NULL LIMIT " + BACKFILL_BATCH,
+                    Long.class);
+            refreshCases(missing);
+        } catch (DataAccessException e) {
+            log.warn("Case summary reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
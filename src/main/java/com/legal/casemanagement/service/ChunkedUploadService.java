@@ -0,0 +1,376 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.CreateUploadSessionRequest;
+import com.legal.casemanagement.dto.CaseDtos.DocumentResponse;
+import com.legal.casemanagement.dto.CaseDtos.UploadChunkResult;
+import com.legal.casemanagement.dto.CaseDtos.UploadDocumentRequest;
+import com.legal.casemanagement.dto.CaseDtos.UploadSessionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Resumable uploads for files too large for one request. A session is created with the
+ * total size, chunks are PUT by index in any order (in parallel if the client likes) and
+ * the session is completed into an ordinary document through {@link DocumentService}.
+ * <p>
+ * All state is on disk, one directory per session under {@code <document.storage.dir>/uploads}:
+ * a {@code session.properties} manifest written once at creation and one file per received
+ * chunk. Chunks are streamed to a temporary file, checked against their expected size and
+ * (when sent) their SHA-256, and then renamed into place. A chunk that is present is
+ * therefore complete, and a client resumes by asking which chunks the session has. A
+ * session expires after {@code document.upload.session-ttl-hours} without a new chunk.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+    private static final String MANIFEST = "session.properties";
+    private static final int MAX_CHUNKS = 100_000;
+    private static final Pattern UPLOAD_ID = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}");
+    private static final Pattern SHA_256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final DocumentService documentService;
+    private final Path uploadsDir;
+    private final int defaultChunkSize;
+    private final int maxChunkSize;
+    private final long maxFileSize;
+    private final long sessionTtlMillis;
+    private final Set<String> completing = ConcurrentHashMap.newKeySet();
+
+    public ChunkedUploadService(DocumentService documentService,
+            @Value("${document.storage.dir:data/documents}") String storageDir,
+            @Value("${document.upload.chunk-size:8388608}") int defaultChunkSize,
+            @Value("${document.upload.max-chunk-size:33554432}") int maxChunkSize,
+            @Value("${document.upload.max-file-size:10737418240}") long maxFileSize,
+            @Value("${document.upload.session-ttl-hours:24}") long sessionTtlHours) {
+        this.documentService = documentService;
+        this.uploadsDir = Paths.get(storageDir).toAbsolutePath().normalize().resolve("uploads");
+        this.maxChunkSize = Math.max(1, maxChunkSize);
+        this.defaultChunkSize = Math.min(Math.max(1, defaultChunkSize), this.maxChunkSize);
+        this.maxFileSize = maxFileSize;
+        this.sessionTtlMillis = TimeUnit.HOURS.toMillis(Math.max(1, sessionTtlHours));
+    }
+
+    public UploadSessionStatus createSession(CreateUploadSessionRequest request, Long uploadedByUserId)
+            throws IOException {
+        if (request == null || request.getDocumentName() == null || request.getDocumentName().isBlank()) {
+            throw new IllegalArgumentException("documentName is required");
+        }
+        if (request.getTotalSize() == null || request.getTotalSize() <= 0) {
+            throw new IllegalArgumentException("totalSize must be positive");
+        }
+        if (request.getTotalSize() > maxFileSize) {
+            throw new IllegalArgumentException("File exceeds the limit of " + maxFileSize + " bytes");
+        }
+        int chunkSize = request.getChunkSize() == null ? defaultChunkSize : request.getChunkSize();
+        if (chunkSize <= 0 || chunkSize > maxChunkSize) {
+            throw new IllegalArgumentException("chunkSize must be between 1 and " + maxChunkSize);
+        }
+        if ((request.getTotalSize() + chunkSize - 1) / chunkSize > MAX_CHUNKS) {
+            throw new IllegalArgumentException("chunkSize too small: at most " + MAX_CHUNKS + " chunks per upload");
+        }
+        Long caseId = documentService.resolveCaseId(request.getCaseId(), request.getCaseNumber());
+        if (caseId == null) {
+            throw new IllegalArgumentException("Case not found");
+        }
+
+        Session session = new Session(UUID.randomUUID().toString(), caseId, request.getDocumentName().trim(),
+                request.getDocumentType(), request.getDescription(), uploadedByUserId, request.getTotalSize(),
+                chunkSize, System.currentTimeMillis());
+        Path dir = uploadsDir.resolve(session.uploadId());
+        Files.createDirectories(dir);
+        Path manifest = Files.createTempFile(dir, "session-", ".tmp");
+        try (OutputStream out = Files.newOutputStream(manifest)) {
+            session.toProperties().store(out, null);
+        }
+        Files.move(manifest, dir.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE);
+        return status(session, dir);
+    }
+
+    public UploadSessionStatus getStatus(String uploadId) throws IOException {
+        Path dir = sessionDir(uploadId);
+        return status(load(dir), dir);
+    }
+
+    /**
+     * Stores one chunk from {@code content}. Re-sending a chunk replaces it, so a client
+     * that lost the response to a PUT can simply retry it.
+     */
+    public UploadChunkResult putChunk(String uploadId, int index, InputStream content, String expectedSha256)
+            throws IOException {
+        Path dir = sessionDir(uploadId);
+        Session session = load(dir);
+        if (index < 0 || index >= session.chunkCount()) {
+            throw new IllegalArgumentException("Chunk index must be between 0 and " + (session.chunkCount() - 1));
+        }
+        String expected = expectedSha256 == null || expectedSha256.isBlank() ? null
+                : expectedSha256.trim().toLowerCase(Locale.ROOT);
+        if (expected != null && !SHA_256_HEX.matcher(expected).matches()) {
+            throw new IllegalArgumentException("Chunk checksum must be a hex SHA-256");
+        }
+
+        Path temp = Files.createTempFile(dir, "chunk-" + index + "-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = copyAtMost(content, out, session.chunkLength(index) + 1);
+            }
+            if (size != session.chunkLength(index)) {
+                throw new IllegalArgumentException("Chunk " + index + " must be " + session.chunkLength(index)
+                        + " bytes, received " + (size > session.chunkLength(index) ? "more" : size));
+            }
+            String actual = HexFormat.of().formatHex(digest.digest());
+            if (expected != null && !expected.equals(actual)) {
+                throw new IllegalArgumentException("Chunk " + index + " checksum mismatch");
+            }
+            Files.move(temp, chunkFile(dir, index), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            return UploadChunkResult.builder()
+                    .uploadId(uploadId)
+                    .index(index)
+                    .size(size)
+                    .sha256(actual)
+                    .build();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Assembles the chunks, in order, into a document of the session's case and removes the
+     * session. Fails with {@link IllegalStateException} while chunks are missing or another
+     * request is already completing the same session.
+     */
+    public DocumentResponse complete(String uploadId) throws IOException {
+        Path dir = sessionDir(uploadId);
+        Session session = load(dir);
+        if (!completing.add(session.uploadId())) {
+            throw new IllegalStateException("Upload " + uploadId + " is already being completed");
+        }
+        try {
+            List<Integer> missing = missingChunks(session, dir);
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Upload " + uploadId + " is missing chunks " + missing);
+            }
+            UploadDocumentRequest request = new UploadDocumentRequest(session.caseId(), null,
+                    session.documentName(), session.documentType(), session.description(), null);
+            DocumentResponse response;
+            try (InputStream content = new SequenceInputStream(chunkStreams(session, dir))) {
+                response = documentService.upload(request, content, session.documentName(), session.uploadedBy());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (response != null) {
+                deleteSession(dir);
+            }
+            return response;
+        } finally {
+            completing.remove(session.uploadId());
+        }
+    }
+
+    public void abort(String uploadId) throws IOException {
+        deleteSession(sessionDir(uploadId));
+    }
+
+    @Scheduled(fixedDelayString = "${document.upload.cleanup-interval-ms:3600000}",
+            initialDelayString = "${document.upload.cleanup-interval-ms:3600000}")
+    public void removeExpiredSessions() {
+        if (!Files.isDirectory(uploadsDir)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - sessionTtlMillis;
+        try (Stream<Path> dirs = Files.list(uploadsDir)) {
+            for (Path dir : (Iterable<Path>) dirs::iterator) {
+                if (Files.getLastModifiedTime(dir).toMillis() < cutoff && !completing.contains(
+                        dir.getFileName().toString())) {
+                    deleteSession(dir);
+                    log.info("Removed expired upload session {}", dir.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Upload session cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    // ── Session files ──────────────────────────────────────
+
+    private Path sessionDir(String uploadId) {
+        if (uploadId == null || !UPLOAD_ID.matcher(uploadId).matches()) {
+            throw new NoSuchElementException("Upload session not found");
+        }
+        Path dir = uploadsDir.resolve(uploadId);
+        if (!Files.isRegularFile(dir.resolve(MANIFEST))) {
+            throw new NoSuchElementException("Upload session not found");
+        }
+        return dir;
+    }
+
+    private Session load(Path dir) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(dir.resolve(MANIFEST))) {
+            properties.load(in);
+        }
+        return Session.fromProperties(properties);
+    }
+
+    private UploadSessionStatus status(Session session, Path dir) throws IOException {
+        List<Integer> received = new ArrayList<>();
+        long receivedBytes = 0;
+        for (int i = 0; i < session.chunkCount(); i++) {
+            if (Files.isRegularFile(chunkFile(dir, i))) {
+                received.add(i);
+                receivedBytes += session.chunkLength(i);
+            }
+        }
+        return UploadSessionStatus.builder()
+                .uploadId(session.uploadId())
+                .documentName(session.documentName())
+                .totalSize(session.totalSize())
+                .chunkSize(session.chunkSize())
+                .chunkCount(session.chunkCount())
+                .receivedChunks(received)
+                .receivedBytes(receivedBytes)
+                .expiresAt(Instant.ofEpochMilli(Files.getLastModifiedTime(dir).toMillis() + sessionTtlMillis)
+                        .toString())
+                .build();
+    }
+
+    private List<Integer> missingChunks(Session session, Path dir) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < session.chunkCount(); i++) {
+            if (!Files.isRegularFile(chunkFile(dir, i))) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    /** Opens each chunk only when the previous one has been read. */
+    private Enumeration<InputStream> chunkStreams(Session session, Path dir) {
+        return new Enumeration<>() {
+            private int next;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < session.chunkCount();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return Files.newInputStream(chunkFile(dir, next++));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private void deleteSession(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static Path chunkFile(Path dir, int index) {
+        return dir.resolve("chunk-" + index);
+    }
+
+    /** Copies up to {@code limit} bytes; a longer body stops there instead of filling the disk. */
+    private static long copyAtMost(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while (total < limit && (read = in.read(buffer, 0, (int) Math.min(buffer.length, limit - total))) != -1) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Session(String uploadId, long caseId, String documentName, String documentType,
+            String description, Long uploadedBy, long totalSize, int chunkSize, long createdAt) {
+
+        int chunkCount() {
+            return (int) ((totalSize + chunkSize - 1) / chunkSize);
+        }
+
+        long chunkLength(int index) {
+            return Math.min(chunkSize, totalSize - (long) index * chunkSize);
+        }
+
+        Properties toProperties() {
+            Properties p = new Properties();
+            p.setProperty("uploadId", uploadId);
+            p.setProperty("caseId", Long.toString(caseId));
+            p.setProperty("documentName", documentName);
+            if (documentType != null) {
+                p.setProperty("documentType", documentType);
+            }
+            if (description != null) {
+                p.setProperty("description", description);
+            }
+            if (uploadedBy != null) {
+                p.setProperty("uploadedBy", Long.toString(uploadedBy));
+            }
+            p.setProperty("totalSize", Long.toString(totalSize));
+            p.setProperty("chunkSize", Integer.toString(chunkSize));
+            p.setProperty("createdAt", Long.toString(createdAt));
+            return p;
+        }
+
+        static Session fromProperties(Properties p) {
+            String uploadedBy = p.getProperty("uploadedBy");
+            return new Session(p.getProperty("uploadId"), Long.parseLong(p.getProperty("caseId")),
+                    p.getProperty("documentName"), p.getProperty("documentType"), p.getProperty("description"),
+                    uploadedBy == null ? null : Long.valueOf(uploadedBy), Long.parseLong(p.getProperty("totalSize")),
+                    Integer.parseInt(p.getProperty("chunkSize")), Long.parseLong(p.getProperty("createdAt")));
+        }
+    }
+}
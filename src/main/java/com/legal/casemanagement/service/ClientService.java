@@ -4,7 +4,6 @@ import com.legal.casemanagement.dto.ClientDtos.ClientDTO;
 import com.legal.casemanagement.dto.ClientDtos.ClientListItem;
 import com.legal.casemanagement.dto.ClientDtos.CreateClientRequest;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +19,13 @@ public class ClientService {
 
         private final JdbcTemplate jdbcTemplate;
         private final PasswordEncoder passwordEncoder;
+        private final InsertStatementRegistry insertStatements;
 
-        public ClientService(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        public ClientService(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                        InsertStatementRegistry insertStatements) {
                 this.jdbcTemplate = jdbcTemplate;
                 this.passwordEncoder = passwordEncoder;
+                this.insertStatements = insertStatements;
         }
 
         public List<ClientListItem> getClients() {
@@ -76,10 +78,6 @@ public class ClientService {
                         return null;
                 }
 
-                SimpleJdbcInsert userInsert = new SimpleJdbcInsert(jdbcTemplate)
-                                .withTableName("users")
-                                .usingGeneratedKeyColumns("user_id");
-
                 Map<String, Object> userParams = new HashMap<>();
                 userParams.put("name", request.getName());
                 userParams.put("email", request.getEmail());
@@ -91,11 +89,7 @@ public class ClientService {
                 userParams.put("created_at", LocalDateTime.now());
                 userParams.put("updated_at", LocalDateTime.now());
 
-                Number userId = userInsert.executeAndReturnKey(userParams);
-
-                SimpleJdbcInsert clientInsert = new SimpleJdbcInsert(jdbcTemplate)
-                                .withTableName("clients")
-                                .usingGeneratedKeyColumns("client_id");
+                Number userId = insertStatements.insertAndReturnKey(InsertStatementRegistry.USERS, userParams);
 
                 Map<String, Object> clientParams = new HashMap<>();
                 clientParams.put("user_id", userId.longValue());
@@ -105,7 +99,7 @@ public class ClientService {
                 clientParams.put("pan_number", request.getPanNumber());
                 clientParams.put("client_type", Optional.ofNullable(request.getClientType()).orElse("INDIVIDUAL"));
 
-                Number clientId = clientInsert.executeAndReturnKey(clientParams);
+                Number clientId = insertStatements.insertAndReturnKey(InsertStatementRegistry.CLIENTS, clientParams);
 
                 return ClientDTO.builder()
                                 .clientId(clientId.longValue())
@@ -8,15 +8,11 @@ import com.legal.casemanagement.dto.DashboardDtos.DashboardCase;
 import com.legal.casemanagement.dto.DashboardDtos.DashboardDeadline;
 import com.legal.casemanagement.dto.DashboardDtos.DashboardHearing;
 import com.legal.casemanagement.dto.DashboardDtos.DashboardItem;
+import com.legal.casemanagement.util.RowFormat;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
-import java.sql.Date;
-import java.sql.Timestamp;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,8 +20,6 @@ import java.util.List;
 public class DashboardService {
 
     private final JdbcTemplate jdbcTemplate;
-    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     public DashboardService(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
@@ -51,7 +45,7 @@ public class DashboardService {
                 (rs, rowNum) -> DashboardHearing.builder()
                         .caseNumber(rs.getString("case_number"))
                         .courtName(rs.getString("court_name") == null ? "Court" : rs.getString("court_name"))
-                        .hearingDate(formatDateTime(rs.getTimestamp("hearing_date")))
+                        .hearingDate(RowFormat.dateTime(rs.getTimestamp("hearing_date")))
                         .build()
         );
 
@@ -61,7 +55,7 @@ public class DashboardService {
                         "ORDER BY due_date ASC LIMIT 4",
                 (rs, rowNum) -> DashboardDeadline.builder()
                         .title("Invoice #" + rs.getString("invoice_number"))
-                        .dueDate(formatDate(rs.getDate("due_date")))
+                        .dueDate(RowFormat.date(rs.getDate("due_date")))
                         .status(mapStatus(rs.getString("status")))
                         .build()
         );
@@ -122,7 +116,7 @@ public class DashboardService {
                 (rs, rowNum) -> DashboardHearing.builder()
                         .caseNumber(rs.getString("case_number"))
                         .courtName(rs.getString("court_name") == null ? "Court" : rs.getString("court_name"))
-                        .hearingDate(formatDateTime(rs.getTimestamp("hearing_date")))
+                        .hearingDate(RowFormat.dateTime(rs.getTimestamp("hearing_date")))
                         .build()
         );
 
@@ -195,22 +189,6 @@ public class DashboardService {
         return value == null ? 0L : value;
     }
 
-    private String formatDateTime(Timestamp timestamp) {
-        if (timestamp == null) {
-            return "";
-        }
-        LocalDateTime dateTime = timestamp.toLocalDateTime();
-        return DATE_TIME_FORMAT.format(dateTime);
-    }
-
-    private String formatDate(Date date) {
-        if (date == null) {
-            return "";
-        }
-        LocalDate localDate = date.toLocalDate();
-        return DATE_FORMAT.format(localDate);
-    }
-
     private String mapStatus(String status) {
         if (status == null) {
             return "info";
@@ -0,0 +1,475 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.DocumentExtractionStats;
+import com.legal.casemanagement.dto.CaseDtos.DocumentSearchHit;
+import com.legal.casemanagement.util.InvertedIndex;
+import com.legal.casemanagement.util.InvertedIndex.Hit;
+import com.legal.casemanagement.util.RowFormat;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over documents: name, description and the text extracted from their
+ * content.
+ * <p>
+ * Extraction is queued in {@code document_extraction_queue} by the upload transaction, so an
+ * upload only pays for one extra row and the work survives restarts. A dispatcher claims
+ * queued documents only while one of the {@code document.text.workers} threads is free;
+ * everything beyond that waits in the table, which is what keeps a burst of uploads from
+ * piling up in memory. Text is stored once per content hash in {@code document_texts}, so
+ * re-uploads of the same file are not extracted again. Failed extractions are retried
+ * with growing delays and then left as {@code FAILED}.
+ * <p>
+ * Index writes, the catch-up after startup and checkpoints run on one indexer thread, as
+ * in {@link CaseSearchService}. Searches can be limited to one case.
+ */
+@Service
+public class DocumentSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentSearchService.class);
+    private static final int LOAD_CHUNK = 500;
+    private static final int MAX_LIMIT = 50;
+    private static final int SNIPPET_CHARS = 240;
+    private static final int SNIPPET_LEAD = 80;
+    private static final int RETRY_DELAY_SECONDS = 60;
+    // Replay window behind the checkpoint watermark; covers writes whose reindex was still queued.
+    private static final long WATERMARK_MARGIN_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentStorageService documentStorageService;
+    private final DocumentTextExtractor textExtractor;
+    private final DocumentTieringService documentTieringService;
+    private final Path indexDir;
+    private final int checkpointThreshold;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final Semaphore freeWorkers;
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "document-search-indexer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService workers;
+    private volatile InvertedIndex index;
+
+    public DocumentSearchService(JdbcTemplate jdbcTemplate, DocumentStorageService documentStorageService,
+            DocumentTextExtractor textExtractor, DocumentTieringService documentTieringService,
+            @Value("${document.search.index-dir:data/search/documents}") String indexDir,
+            @Value("${document.search.checkpoint-threshold:200}") int checkpointThreshold,
+            @Value("${document.text.workers:2}") int workerCount,
+            @Value("${document.text.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.documentStorageService = documentStorageService;
+        this.textExtractor = textExtractor;
+        this.documentTieringService = documentTieringService;
+        this.indexDir = Paths.get(indexDir);
+        this.checkpointThreshold = Math.max(1, checkpointThreshold);
+        this.workerCount = Math.max(1, workerCount);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.freeWorkers = new Semaphore(this.workerCount);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.workerCount, r -> {
+            Thread t = new Thread(r, "document-text-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            // Extraction is CPU heavy; request threads come first.
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        indexer.execute(this::openAndCatchUp);
+    }
+
+    /**
+     * Ranked documents matching {@code query}, optionally only those of one case (by id or
+     * case number). Each hit carries a short excerpt of its text around the first match.
+     */
+    public List<DocumentSearchHit> search(String query, Long caseId, String caseNumber, Integer limit) {
+        InvertedIndex current = index;
+        List<String> terms = InvertedIndex.tokenize(query);
+        if (current == null || terms.isEmpty()) {
+            return List.of();
+        }
+        int max = limit == null ? 20 : Math.max(1, Math.min(MAX_LIMIT, limit));
+        List<Hit> hits;
+        if (caseId != null || (caseNumber != null && !caseNumber.isBlank())) {
+            List<Long> ids = caseId != null
+                    ? jdbcTemplate.queryForList("SELECT document_id FROM documents WHERE case_id = ?", Long.class,
+                            caseId)
+                    : jdbcTemplate.queryForList("SELECT d.document_id FROM documents d JOIN cases c " +
+                            "ON c.case_id = d.case_id WHERE c.case_number = ?", Long.class, caseNumber.trim());
+            Set<Long> caseDocuments = new HashSet<>(ids);
+            if (caseDocuments.isEmpty()) {
+                return List.of();
+            }
+            hits = current.search(query, max, caseDocuments::contains);
+        } else {
+            hits = current.search(query, max);
+        }
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // The longest term is usually the most selective one to centre the excerpt on.
+        String anchor = Collections.max(terms, Comparator.comparingInt(String::length));
+        Map<Long, Double> scores = new HashMap<>();
+        List<Object> params = new ArrayList<>();
+        params.add(anchor);
+        for (Hit hit : hits) {
+            scores.put(hit.docId(), hit.score());
+            params.add(hit.docId());
+        }
+        Map<Long, DocumentSearchHit> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT d.document_id, d.case_id, c.case_number, d.document_name, d.document_type, " +
+                "d.uploaded_at, SUBSTRING(t.text_content, GREATEST(1, LOCATE(?, t.text_content) - " + SNIPPET_LEAD +
+                "), " + SNIPPET_CHARS + ") AS snippet FROM documents d JOIN cases c ON c.case_id = d.case_id " +
+                "LEFT JOIN document_texts t ON t.content_hash = d.content_hash " +
+                "WHERE d.document_id IN (" + placeholders(hits.size()) + ")", rs -> {
+                    long documentId = rs.getLong("document_id");
+                    String snippet = rs.getString("snippet");
+                    rows.put(documentId, DocumentSearchHit.builder()
+                            .documentId(documentId)
+                            .caseId(rs.getLong("case_id"))
+                            .caseNumber(rs.getString("case_number"))
+                            .documentName(rs.getString("document_name"))
+                            .documentType(rs.getString("document_type"))
+                            .uploadedAt(RowFormat.date(rs.getTimestamp("uploaded_at")))
+                            .score(Math.round(scores.get(documentId) * 1000) / 1000.0)
+                            .snippet(snippet == null ? null : snippet.replaceAll("\\s+", " ").trim())
+                            .build());
+                }, params.toArray());
+        List<DocumentSearchHit> results = new ArrayList<>(rows.size());
+        for (Hit hit : hits) {
+            // Hits for documents deleted since they were indexed have no row.
+            DocumentSearchHit row = rows.get(hit.docId());
+            if (row != null) {
+                results.add(row);
+            }
+        }
+        return results;
+    }
+
+    /** Called after a document row is committed; its name is searchable at once, its text later. */
+    public void documentAdded(long documentId) {
+        submit(() -> indexDocuments(List.of(documentId)));
+        wake();
+    }
+
+    public void documentRemoved(long documentId) {
+        submit(() -> {
+            InvertedIndex current = index;
+            if (current != null) {
+                current.remove(documentId);
+            }
+        });
+    }
+
+    public DocumentExtractionStats getExtractionStats() {
+        DocumentExtractionStats stats = new DocumentExtractionStats();
+        jdbcTemplate.query("SELECT status, COUNT(*) AS jobs FROM document_extraction_queue GROUP BY status", rs -> {
+            switch (rs.getString("status")) {
+                case "PENDING" -> stats.setPending(rs.getLong("jobs"));
+                case "RUNNING" -> stats.setRunning(rs.getLong("jobs"));
+                case "FAILED" -> stats.setFailed(rs.getLong("jobs"));
+                default -> {
+                }
+            }
+        });
+        InvertedIndex current = index;
+        stats.setIndexedDocuments(current == null ? 0 : current.docCount());
+        stats.setWorkers(workerCount);
+        stats.setBusyWorkers(workerCount - freeWorkers.availablePermits());
+        return stats;
+    }
+
+    /** Picks up queued work, including retries whose delay has passed. */
+    @Scheduled(fixedDelayString = "${document.text.poll-interval-ms:10000}",
+            initialDelayString = "${document.text.poll-interval-ms:10000}")
+    public void pollQueue() {
+        wake();
+    }
+
+    @Scheduled(fixedDelayString = "${document.search.checkpoint-interval-ms:60000}",
+            initialDelayString = "${document.search.checkpoint-interval-ms:60000}")
+    public void scheduledCheckpoint() {
+        submit(() -> checkpoint(false));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        indexer.execute(() -> checkpoint(false));
+        indexer.shutdown();
+        try {
+            indexer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        InvertedIndex current = index;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void wake() {
+        if (dispatchQueued.compareAndSet(false, true)) {
+            submit(this::dispatch);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            indexer.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; queued rows are picked up again on the next start.
+        }
+    }
+
+    // ── Indexer thread ─────────────────────────────────────
+
+    /** Hands queued documents to free workers; never claims more than there are workers. */
+    private void dispatch() {
+        dispatchQueued.set(false);
+        if (index == null || freeWorkers.availablePermits() == 0) {
+            return;
+        }
+        try {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT document_id FROM document_extraction_queue " +
+                    "WHERE status = 'PENDING' AND available_at <= CURRENT_TIMESTAMP " +
+                    "ORDER BY available_at, document_id LIMIT ?", Long.class, freeWorkers.availablePermits());
+            for (Long documentId : ids) {
+                if (!freeWorkers.tryAcquire()) {
+                    break;
+                }
+                boolean handedOff = false;
+                try {
+                    int claimed = jdbcTemplate.update("UPDATE document_extraction_queue SET status = 'RUNNING' " +
+                            "WHERE document_id = ? AND status = 'PENDING'", documentId);
+                    if (claimed == 1) {
+                        workers.execute(() -> extract(documentId));
+                        handedOff = true;
+                    }
+                } finally {
+                    if (!handedOff) {
+                        freeWorkers.release();
+                    }
+                }
+            }
+        } catch (DataAccessException | RejectedExecutionException e) {
+            // A claimed row left RUNNING is reset on the next start.
+            log.warn("Document text dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    private void openAndCatchUp() {
+        InvertedIndex opened;
+        try {
+            opened = InvertedIndex.open(indexDir);
+        } catch (IOException e) {
+            log.warn("Document search index at {} is unreadable, rebuilding: {}", indexDir, e.getMessage());
+            opened = openEmpty();
+            if (opened == null) {
+                return;
+            }
+        }
+        index = opened;
+        try {
+            // Claims of a previous run that never finished.
+            jdbcTemplate.update("UPDATE document_extraction_queue SET status = 'PENDING' WHERE status = 'RUNNING'");
+            // Documents stored before extraction existed, or whose job row was lost.
+            int backfilled = jdbcTemplate.update("INSERT IGNORE INTO document_extraction_queue (document_id) " +
+                    "SELECT d.document_id FROM documents d " +
+                    "LEFT JOIN document_texts t ON t.content_hash = d.content_hash " +
+                    "LEFT JOIN document_extraction_queue q ON q.document_id = d.document_id " +
+                    "WHERE d.content_hash IS NOT NULL AND t.content_hash IS NULL AND q.document_id IS NULL");
+
+            long since = opened.watermark();
+            List<Long> ids;
+            if (since == 0) {
+                ids = jdbcTemplate.queryForList("SELECT document_id FROM documents ORDER BY document_id", Long.class);
+            } else {
+                Timestamp from = new Timestamp(since);
+                ids = jdbcTemplate.queryForList(
+                        "SELECT document_id FROM documents WHERE uploaded_at >= ? " +
+                                "UNION SELECT d.document_id FROM documents d JOIN document_texts t " +
+                                "ON t.content_hash = d.content_hash WHERE t.extracted_at >= ?",
+                        Long.class, from, from);
+            }
+            indexDocuments(ids);
+            checkpoint(true);
+            log.info("Document search index ready: {} documents ({} re-read, {} queued for extraction)",
+                    opened.docCount(), ids.size(), backfilled);
+        } catch (DataAccessException e) {
+            log.warn("Document search index catch-up failed: {}", e.getMessage());
+        }
+        dispatch();
+    }
+
+    private InvertedIndex openEmpty() {
+        try {
+            if (Files.isDirectory(indexDir)) {
+                try (Stream<Path> files = Files.list(indexDir)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+            return InvertedIndex.open(indexDir);
+        } catch (IOException e) {
+            log.error("Document search index disabled, cannot use {}: {}", indexDir, e.getMessage());
+            return null;
+        }
+    }
+
+    private void indexDocuments(List<Long> documentIds) {
+        InvertedIndex current = index;
+        if (current == null || documentIds.isEmpty()) {
+            return;
+        }
+        try {
+            for (List<Long> chunk : chunks(new ArrayList<>(new LinkedHashSet<>(documentIds)))) {
+                Map<Long, List<String>> fields = new HashMap<>();
+                jdbcTemplate.query("SELECT d.document_id, d.document_name, d.description, t.text_content " +
+                        "FROM documents d LEFT JOIN document_texts t ON t.content_hash = d.content_hash " +
+                        "WHERE d.document_id IN (" + placeholders(chunk.size()) + ")", rs -> {
+                            List<String> text = new ArrayList<>(4);
+                            // Name twice: a match there should outrank one deep in the content.
+                            text.add(rs.getString("document_name"));
+                            text.add(rs.getString("document_name"));
+                            text.add(rs.getString("description"));
+                            text.add(rs.getString("text_content"));
+                            text.removeIf(t -> t == null);
+                            fields.put(rs.getLong("document_id"), text);
+                        }, chunk.toArray());
+                for (Long documentId : chunk) {
+                    List<String> text = fields.get(documentId);
+                    if (text == null) {
+                        current.remove(documentId);
+                    } else {
+                        current.put(documentId, text);
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Document search reindex failed for {} documents: {}", documentIds.size(), e.getMessage());
+        }
+        if (current.pendingChanges() >= checkpointThreshold) {
+            checkpoint(false);
+        }
+    }
+
+    private void checkpoint(boolean force) {
+        InvertedIndex current = index;
+        if (current == null || (!force && current.pendingChanges() == 0)) {
+            return;
+        }
+        try {
+            Timestamp now = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+            long watermark = (now != null ? now.getTime() : System.currentTimeMillis()) - WATERMARK_MARGIN_MS;
+            current.checkpoint(Math.max(1, watermark));
+        } catch (IOException | DataAccessException e) {
+            log.warn("Document search index checkpoint failed: {}", e.getMessage());
+        }
+    }
+
+    // ── Worker threads ─────────────────────────────────────
+
+    private void extract(long documentId) {
+        try {
+            List<String[]> rows = jdbcTemplate.query("SELECT d.document_name, d.file_path, d.content_hash, " +
+                    "t.content_hash AS extracted FROM documents d " +
+                    "LEFT JOIN document_texts t ON t.content_hash = d.content_hash WHERE d.document_id = ?",
+                    (rs, rowNum) -> new String[] { rs.getString("document_name"), rs.getString("file_path"),
+                            rs.getString("content_hash"), rs.getString("extracted") },
+                    documentId);
+            if (!rows.isEmpty() && rows.get(0)[2] != null && rows.get(0)[3] == null) {
+                String[] row = rows.get(0);
+                Path file = documentStorageService.resolve(row[1]);
+                if (file == null) {
+                    file = documentTieringService.thaw(row[2]);
+                }
+                if (file == null) {
+                    throw new IOException("Stored content is missing");
+                }
+                // Null text marks a format that is not extracted, so it is not queued again.
+                String text = textExtractor.extract(file, row[0]);
+                jdbcTemplate.update("INSERT INTO document_texts (content_hash, text_content, char_count) " +
+                        "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE content_hash = content_hash",
+                        row[2], text, text == null ? 0 : text.length());
+            }
+            jdbcTemplate.update("DELETE FROM document_extraction_queue WHERE document_id = ?", documentId);
+            if (!rows.isEmpty()) {
+                submit(() -> indexDocuments(List.of(documentId)));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Text extraction failed for document {}: {}", documentId, e.getMessage());
+            recordFailure(documentId, e);
+        } finally {
+            freeWorkers.release();
+            wake();
+        }
+    }
+
+    private void recordFailure(long documentId, Exception e) {
+        String message = String.valueOf(e.getMessage());
+        try {
+            // MySQL applies SET clauses left to right: status and delay see the old attempt count.
+            jdbcTemplate.update("UPDATE document_extraction_queue SET " +
+                    "status = CASE WHEN attempts + 1 >= ? THEN 'FAILED' ELSE 'PENDING' END, " +
+                    "available_at = TIMESTAMPADD(SECOND, (attempts + 1) * ?, CURRENT_TIMESTAMP), " +
+                    "attempts = attempts + 1, last_error = ? WHERE document_id = ?",
+                    maxAttempts, RETRY_DELAY_SECONDS, message.length() > 500 ? message.substring(0, 500) : message,
+                    documentId);
+        } catch (DataAccessException ex) {
+            log.warn("Could not record extraction failure for document {}: {}", documentId, ex.getMessage());
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        if (values.size() <= LOAD_CHUNK) {
+            return List.of(values);
+        }
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += LOAD_CHUNK) {
+            chunks.add(values.subList(from, Math.min(values.size(), from + LOAD_CHUNK)));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
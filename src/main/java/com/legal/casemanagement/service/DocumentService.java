@@ -0,0 +1,353 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.DocumentResponse;
+import com.legal.casemanagement.dto.CaseDtos.DocumentStorageStats;
+import com.legal.casemanagement.dto.CaseDtos.UploadDocumentRequest;
+import com.legal.casemanagement.service.DocumentStorageService.ReceivedContent;
+import com.legal.casemanagement.util.RowFormat;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Case documents: metadata in {@code documents}, bytes in {@link DocumentStorageService}.
+ * <p>
+ * Content is deduplicated by SHA-256. Each distinct content is one {@code document_blobs}
+ * row plus one file, shared by every document with that hash and reference counted. Blob
+ * rows are locked (insert-or-increment, or {@code FOR UPDATE}) for the whole transaction
+ * that places or deletes their file, so concurrent uploads and deletes of the same content
+ * cannot disagree about whether the file exists. A file is deleted only after its row
+ * delete has committed, so a rolled-back delete never loses content.
+ */
+@Service
+public class DocumentService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentStorageService documentStorageService;
+    private final InsertStatementRegistry insertStatements;
+    private final CaseEventService caseEventService;
+    private final CaseChangeTracker caseChangeTracker;
+    private final DocumentSearchService documentSearchService;
+    private final DocumentTieringService documentTieringService;
+    private final TransactionTemplate transactionTemplate;
+
+    public DocumentService(JdbcTemplate jdbcTemplate, DocumentStorageService documentStorageService,
+            InsertStatementRegistry insertStatements, CaseEventService caseEventService,
+            CaseChangeTracker caseChangeTracker, DocumentSearchService documentSearchService,
+            DocumentTieringService documentTieringService, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.documentStorageService = documentStorageService;
+        this.insertStatements = insertStatements;
+        this.caseEventService = caseEventService;
+        this.caseChangeTracker = caseChangeTracker;
+        this.documentSearchService = documentSearchService;
+        this.documentTieringService = documentTieringService;
+    }
+
+    /**
+     * A document's stored file. {@code contentHash} is null for rows stored before content
+     * hashing; {@code lastModified} is the upload time in epoch milliseconds.
+     */
+    public record DocumentContent(long documentId, String name, Path file, long size, String contentHash,
+            long lastModified) {
+    }
+
+    /** A document's content opened for one sequential read; closing it closes the stream. */
+    public record DocumentStream(long documentId, String name, InputStream content) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            content.close();
+        }
+    }
+
+    /**
+     * Stores {@code content} for the case named in {@code request}. Returns null when the
+     * case cannot be resolved or the document has no name (neither in the request nor as
+     * {@code fileName}).
+     */
+    public DocumentResponse upload(UploadDocumentRequest request, InputStream content, String fileName,
+            Long uploadedByUserId) throws IOException {
+        if (request == null) {
+            return null;
+        }
+        String documentName = request.getDocumentName() != null && !request.getDocumentName().isBlank()
+                ? request.getDocumentName().trim()
+                : fileName;
+        if (documentName == null || documentName.isBlank()) {
+            return null;
+        }
+        Long caseId = resolveCaseId(request.getCaseId(), request.getCaseNumber());
+        if (caseId == null) {
+            return null;
+        }
+
+        ReceivedContent received = documentStorageService.receive(content);
+        String blobPath = documentStorageService.blobPath(received.sha256());
+        Number key;
+        try {
+            key = transactionTemplate.execute(status -> {
+                // Takes the blob row lock; new content gets ref_count 1.
+                jdbcTemplate.update("INSERT INTO document_blobs (content_hash, storage_path, size_bytes, " +
+                        "ref_count) VALUES (?, ?, ?, 1) ON DUPLICATE KEY UPDATE ref_count = ref_count + 1",
+                        received.sha256(), blobPath, received.size());
+                boolean placed = placeBlob(received);
+                if (placed) {
+                    // New file for content that may sit in the cold tier: serve it hot again.
+                    jdbcTemplate.update("UPDATE document_blobs SET tier = 'HOT', pack_id = NULL, pack_offset = NULL " +
+                            "WHERE content_hash = ? AND tier = 'COLD'", received.sha256());
+                }
+                try {
+                    Map<String, Object> params = new HashMap<>();
+                    params.put("case_id", caseId);
+                    params.put("document_name", documentName);
+                    params.put("document_type",
+                            request.getDocumentType() != null ? request.getDocumentType() : "OTHER");
+                    params.put("file_path", blobPath);
+                    params.put("file_size", received.size());
+                    params.put("uploaded_by", uploadedByUserId);
+                    params.put("description", request.getDescription());
+                    params.put("content_hash", received.sha256());
+                    Number documentId = insertStatements.insertAndReturnKey(InsertStatementRegistry.DOCUMENTS, params);
+                    // Text extraction happens later, in DocumentSearchService.
+                    jdbcTemplate.update("INSERT INTO document_extraction_queue (document_id) VALUES (?)",
+                            documentId.longValue());
+                    return documentId;
+                } catch (RuntimeException e) {
+                    if (placed) {
+                        // Still under the row lock, so no other upload can be relying on this file yet.
+                        documentStorageService.delete(blobPath);
+                    }
+                    throw e;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            documentStorageService.discard(received);
+        }
+
+        caseEventService.append(caseId, CaseEventService.DOCUMENT_UPLOADED, "Document Uploaded", documentName,
+                key.longValue());
+        caseChangeTracker.caseChanged(caseId);
+        documentSearchService.documentAdded(key.longValue());
+        return DocumentResponse.builder()
+                .documentId(key.longValue())
+                .documentName(documentName)
+                .fileSize(received.size())
+                .message("Document uploaded successfully")
+                .build();
+    }
+
+    /**
+     * Upload through the JSON endpoint, with the content inline as base64 in
+     * {@code fileData} (a {@code data:} URL prefix is accepted). Decoded as it is stored.
+     */
+    public DocumentResponse uploadBase64(UploadDocumentRequest request, Long uploadedByUserId) throws IOException {
+        String data = request == null || request.getFileData() == null ? "" : request.getFileData();
+        int start = data.startsWith("data:") ? data.indexOf(',') + 1 : 0;
+        InputStream content = Base64.getMimeDecoder().wrap(
+                new ByteArrayInputStream(data.substring(start).getBytes(StandardCharsets.US_ASCII)));
+        return upload(request, content, null, uploadedByUserId);
+    }
+
+    /**
+     * Deletes a document. Its blob loses one reference and is removed, file included, when
+     * that was the last one. Files are only deleted once the row delete has committed. Returns
+     * false when the document does not exist.
+     */
+    public boolean deleteDocument(Long documentId) {
+        Object[] deleted = transactionTemplate.execute(status -> {
+            List<Object[]> rows = jdbcTemplate.query("SELECT case_id, document_name, file_path, content_hash " +
+                    "FROM documents WHERE document_id = ? FOR UPDATE",
+                    (rs, rowNum) -> new Object[] { rs.getLong("case_id"), rs.getString("document_name"),
+                            rs.getString("file_path"), rs.getString("content_hash"), null },
+                    documentId);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            Object[] row = rows.get(0);
+            jdbcTemplate.update("DELETE FROM documents WHERE document_id = ?", documentId);
+            if (row[3] != null) {
+                row[4] = releaseBlob((String) row[3]);
+            }
+            return row;
+        });
+        if (deleted == null) {
+            return false;
+        }
+        if (deleted[3] == null) {
+            // Stored before deduplication: the file belongs to this row alone.
+            documentStorageService.delete((String) deleted[2]);
+        } else if (deleted[4] != null) {
+            deleteBlobFile((String) deleted[3], (String) deleted[4]);
+        }
+        Long caseId = (Long) deleted[0];
+        caseEventService.append(caseId, CaseEventService.DOCUMENT_DELETED, "Document Deleted", (String) deleted[1],
+                documentId);
+        caseChangeTracker.caseChanged(caseId);
+        documentSearchService.documentRemoved(documentId);
+        return true;
+    }
+
+    /** How much disk content-addressed storage is saving. */
+    public DocumentStorageStats getStorageStats() {
+        DocumentStorageStats stats = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) AS documents, COALESCE(SUM(file_size), 0) AS logical_bytes " +
+                        "FROM documents WHERE content_hash IS NOT NULL",
+                (rs, rowNum) -> DocumentStorageStats.builder()
+                        .documents(rs.getLong("documents"))
+                        .logicalBytes(rs.getLong("logical_bytes"))
+                        .build());
+        jdbcTemplate.query("SELECT COUNT(*) AS blobs, COALESCE(SUM(size_bytes), 0) AS stored_bytes, " +
+                "COALESCE(SUM(CASE WHEN tier = 'COLD' THEN 1 ELSE 0 END), 0) AS cold_blobs, " +
+                "COALESCE(SUM(CASE WHEN tier = 'COLD' THEN size_bytes ELSE 0 END), 0) AS cold_bytes " +
+                "FROM document_blobs WHERE ref_count > 0", rs -> {
+                    stats.setBlobs(rs.getLong("blobs"));
+                    stats.setStoredBytes(rs.getLong("stored_bytes"));
+                    stats.setColdBlobs(rs.getLong("cold_blobs"));
+                    stats.setColdBytes(rs.getLong("cold_bytes"));
+                });
+        jdbcTemplate.query("SELECT COUNT(*) AS packs, COALESCE(SUM(packed_bytes), 0) AS packed_bytes " +
+                "FROM document_packs", rs -> {
+                    stats.setPacks(rs.getLong("packs"));
+                    stats.setPackedBytes(rs.getLong("packed_bytes"));
+                });
+        stats.setSavedBytes(Math.max(0, stats.getLogicalBytes() - stats.getStoredBytes()));
+        stats.setDedupRatio(stats.getStoredBytes() == 0 ? 1.0
+                : (double) stats.getLogicalBytes() / stats.getStoredBytes());
+        stats.setSaved(RowFormat.fileSize(stats.getSavedBytes()));
+        return stats;
+    }
+
+    /**
+     * The stored file of a document, or null when the document or its content is missing.
+     * Content in the cold tier is inflated to a temporary copy first.
+     */
+    public DocumentContent getContent(Long documentId) throws IOException {
+        Object[] row = contentRow(documentId);
+        if (row == null) {
+            return null;
+        }
+        String contentHash = (String) row[2];
+        Path file = documentStorageService.resolve((String) row[1]);
+        if (file == null && contentHash != null) {
+            file = documentTieringService.thaw(contentHash);
+        }
+        if (file == null) {
+            return null;
+        }
+        Timestamp uploadedAt = (Timestamp) row[3];
+        return new DocumentContent(documentId, (String) row[0], file, file.toFile().length(), contentHash,
+                uploadedAt != null ? uploadedAt.getTime() : file.toFile().lastModified());
+    }
+
+    /**
+     * The content of a document for reading once from start to end, or null when the
+     * document or its content is missing. Unlike {@link #getContent}, content in the cold
+     * tier is inflated from its pack as it is read instead of into a thawed copy.
+     */
+    public DocumentStream openContent(Long documentId) throws IOException {
+        Object[] row = contentRow(documentId);
+        if (row == null) {
+            return null;
+        }
+        String contentHash = (String) row[2];
+        Path file = documentStorageService.resolve((String) row[1]);
+        InputStream content = null;
+        if (file != null) {
+            try {
+                content = Files.newInputStream(file);
+            } catch (NoSuchFileException e) {
+                // Moved to the cold tier since it was resolved.
+            }
+        }
+        if (content == null && contentHash != null) {
+            content = documentTieringService.openCold(contentHash);
+        }
+        return content == null ? null : new DocumentStream(documentId, (String) row[0], content);
+    }
+
+    /** {@code document_name, file_path, content_hash, uploaded_at} of a document, or null. */
+    private Object[] contentRow(Long documentId) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT document_name, file_path, content_hash, uploaded_at FROM documents WHERE document_id = ?",
+                (rs, rowNum) -> new Object[] { rs.getString("document_name"), rs.getString("file_path"),
+                        rs.getString("content_hash"), rs.getTimestamp("uploaded_at") },
+                documentId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private boolean placeBlob(ReceivedContent received) {
+        try {
+            return documentStorageService.place(received);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Drops one reference; the caller's transaction holds the blob row lock until commit.
+     * Returns the storage path when that was the last reference and the row is gone.
+     */
+    private String releaseBlob(String hash) {
+        List<Object[]> blobs = jdbcTemplate.query(
+                "SELECT storage_path, ref_count FROM document_blobs WHERE content_hash = ? FOR UPDATE",
+                (rs, rowNum) -> new Object[] { rs.getString("storage_path"), rs.getInt("ref_count") }, hash);
+        if (blobs.isEmpty()) {
+            return null;
+        }
+        if ((Integer) blobs.get(0)[1] > 1) {
+            jdbcTemplate.update("UPDATE document_blobs SET ref_count = ref_count - 1 WHERE content_hash = ?", hash);
+            return null;
+        }
+        jdbcTemplate.update("DELETE FROM document_blobs WHERE content_hash = ?", hash);
+        jdbcTemplate.update("DELETE FROM document_texts WHERE content_hash = ?", hash);
+        return (String) blobs.get(0)[0];
+    }
+
+    /**
+     * Removes the file of a blob whose row delete has committed. An upload of the same content
+     * in between re-creates the row and relies on the file, so it is then kept.
+     */
+    private void deleteBlobFile(String hash, String storagePath) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Locks the key (or its gap) so an upload cannot re-create the blob until the file is gone.
+            List<Integer> present = jdbcTemplate.queryForList(
+                    "SELECT 1 FROM document_blobs WHERE content_hash = ? FOR UPDATE", Integer.class, hash);
+            if (present.isEmpty()) {
+                documentTieringService.discardThawed(hash);
+                documentStorageService.delete(storagePath);
+            }
+        });
+    }
+
+    Long resolveCaseId(Long caseId, String caseNumber) {
+        if (caseId != null) {
+            return caseId;
+        }
+        if (caseNumber == null || caseNumber.isBlank()) {
+            return null;
+        }
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT case_id FROM cases WHERE case_number = ? LIMIT 1", Long.class, caseNumber.trim());
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+}
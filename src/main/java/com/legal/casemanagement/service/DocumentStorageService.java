@@ -0,0 +1,138 @@
+package com.legal.casemanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Document bytes on the local file system under {@code document.storage.dir}, addressed by
+ * the SHA-256 of their content ({@code blobs/3f/3fa9...}).
+ * <p>
+ * An upload is streamed in small buffers into a temporary file while its hash is computed,
+ * so a file is never held on the heap. The caller then decides, under the database lock of
+ * the {@code document_blobs} row, whether the temporary file becomes the blob or is
+ * discarded because identical content is already stored. Reference counting lives in
+ * {@link DocumentService}; this class only moves files.
+ */
+@Service
+public class DocumentStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentStorageService.class);
+    private static final Pattern SHA_256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public DocumentStorageService(@Value("${document.storage.dir:data/documents}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    /** Uploaded content not yet placed in the store. */
+    public record ReceivedContent(Path file, String sha256, long size) {
+    }
+
+    /** Streams {@code content} into a temporary file, hashing it on the way. */
+    public ReceivedContent receive(InputStream content) throws IOException {
+        Path incoming = root.resolve("incoming");
+        Files.createDirectories(incoming);
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        MessageDigest digest = sha256();
+        try {
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = content.transferTo(out);
+            }
+            return new ReceivedContent(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /** Storage path of the blob for {@code sha256}, relative to the storage root. */
+    public String blobPath(String sha256) {
+        if (sha256 == null || !SHA_256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 content hash: " + sha256);
+        }
+        return "blobs/" + sha256.substring(0, 2) + "/" + sha256;
+    }
+
+    /**
+     * Moves received content into its blob location. Returns false, and drops the temporary
+     * file, when that blob is already present.
+     */
+    public boolean place(ReceivedContent content) throws IOException {
+        Path target = root.resolve(blobPath(content.sha256()));
+        if (Files.isRegularFile(target)) {
+            discard(content);
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(content.file(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            discard(content);
+            return false;
+        }
+        return true;
+    }
+
+    public void discard(ReceivedContent content) {
+        try {
+            Files.deleteIfExists(content.file());
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload {}: {}", content.file(), e.getMessage());
+        }
+    }
+
+    /**
+     * Absolute path of a stored file, or null when the path is unknown, escapes the storage
+     * root, or the file is gone (rows created before content was stored have no file).
+     */
+    public Path resolve(String relativePath) {
+        if (relativePath == null || relativePath.isBlank()) {
+            return null;
+        }
+        Path file = root.resolve(relativePath.startsWith("/") ? relativePath.substring(1) : relativePath)
+                .normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    /** Best effort; a file that cannot be deleted is logged and left behind. */
+    public void delete(String relativePath) {
+        Path file = resolve(relativePath);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete stored document {}: {}", relativePath, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
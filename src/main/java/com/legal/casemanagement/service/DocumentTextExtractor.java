@@ -0,0 +1,128 @@
+package com.legal.casemanagement.service;
+
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.extractor.XSSFEventBasedExcelExtractor;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.xmlbeans.XmlException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Plain text of stored documents: PDF through iText, DOCX and XLSX through POI (XLSX with the
+ * streaming event reader), and text files as UTF-8. The format comes from the document
+ * name's extension, or from the {@code %PDF} signature when the name has none.
+ * <p>
+ * Output is capped at {@code document.text.max-chars}; PDF pages past the cap are not read.
+ */
+@Component
+public class DocumentTextExtractor {
+
+    private static final byte[] PDF_SIGNATURE = "%PDF".getBytes(StandardCharsets.US_ASCII);
+
+    private final int maxChars;
+
+    public DocumentTextExtractor(@Value("${document.text.max-chars:1000000}") int maxChars) {
+        this.maxChars = Math.max(1, maxChars);
+    }
+
+    /** Extracted text, or null when the format is not one this class reads. */
+    public String extract(Path file, String documentName) throws IOException {
+        return switch (format(file, documentName)) {
+            case "pdf" -> pdf(file);
+            case "docx" -> ooxml(file, false);
+            case "xlsx" -> ooxml(file, true);
+            case "txt" -> plain(file);
+            default -> null;
+        };
+    }
+
+    private String format(Path file, String documentName) throws IOException {
+        String name = documentName == null ? "" : documentName.trim().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        String extension = dot < 0 ? "" : name.substring(dot + 1);
+        return switch (extension) {
+            case "pdf", "docx", "xlsx" -> extension;
+            case "txt", "csv", "md" -> "txt";
+            default -> hasPdfSignature(file) ? "pdf" : "";
+        };
+    }
+
+    private static boolean hasPdfSignature(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return Arrays.equals(in.readNBytes(PDF_SIGNATURE.length), PDF_SIGNATURE);
+        }
+    }
+
+    private String pdf(Path file) throws IOException {
+        StringBuilder text = new StringBuilder();
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(file.toFile()))) {
+            int pages = pdf.getNumberOfPages();
+            for (int page = 1; page <= pages && text.length() < maxChars; page++) {
+                text.append(PdfTextExtractor.getTextFromPage(pdf.getPage(page))).append('\n');
+            }
+        } catch (PdfException e) {
+            throw new IOException("Unreadable PDF: " + e.getMessage(), e);
+        }
+        return cap(text);
+    }
+
+    private String ooxml(Path file, boolean spreadsheet) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Not an Office Open XML package: " + e.getMessage(), e);
+        }
+        try {
+            String text;
+            if (spreadsheet) {
+                text = new XSSFEventBasedExcelExtractor(pkg).getText();
+            } else {
+                text = new XWPFWordExtractor(new XWPFDocument(pkg)).getText();
+            }
+            return cap(new StringBuilder(text));
+        } catch (OpenXML4JException | XmlException e) {
+            throw new IOException("Unreadable Office document: " + e.getMessage(), e);
+        } finally {
+            // Read-only packages are released with revert(); close() would try to save.
+            pkg.revert();
+        }
+    }
+
+    private String plain(Path file) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+        // Malformed bytes become U+FFFD rather than failing the whole file.
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            int read;
+            while (text.length() < maxChars && (read = reader.read(buffer)) > 0) {
+                text.append(buffer, 0, read);
+            }
+        }
+        return cap(text);
+    }
+
+    private String cap(StringBuilder text) {
+        if (text.length() > maxChars) {
+            text.setLength(maxChars);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,383 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.TieringRunResult;
+import com.legal.casemanagement.util.PackFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier for document content. Blobs used only by cases that were closed (CLOSED, WON,
+ * LOST, SETTLED) and untouched for {@code document.tiering.cold-after-months} are moved into
+ * compressed {@link PackFile}s under {@code <document.storage.dir>/packs}; their
+ * {@code document_blobs} row records the placement ({@code tier}, {@code pack_id},
+ * {@code pack_offset}). The {@code documents} rows do not change.
+ * <p>
+ * Reads find the hot file first, so hot-tier reads cost nothing extra. A cold blob is
+ * inflated on demand into {@code <document.storage.dir>/thaw} and served from there like
+ * any other file (Range requests included); thawed copies not read for
+ * {@code document.tiering.thaw-ttl-hours} are removed. Whole-file sequential reads (case
+ * bundles) use {@link #openCold} instead and inflate straight from the pack. Uploading the
+ * same content again brings the blob back to the hot tier.
+ * <p>
+ * Pack entries of blobs that were deleted or re-heated are not reclaimed.
+ */
+@Service
+public class DocumentTieringService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentTieringService.class);
+    private static final Pattern SHA_256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int CANDIDATE_BATCH = 200;
+    private static final String CLOSED_STATUSES = "'CLOSED', 'WON', 'LOST', 'SETTLED'";
+    // A blob is cold only when no document using it belongs to an open or recently closed case.
+    private static final String STILL_HOT = "EXISTS (SELECT 1 FROM documents d JOIN cases c ON c.case_id = d.case_id " +
+            "WHERE d.content_hash = b.content_hash AND (c.status NOT IN (" + CLOSED_STATUSES + ") " +
+            "OR c.updated_at >= ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentStorageService documentStorageService;
+    private final InsertStatementRegistry insertStatements;
+    private final TransactionTemplate transactionTemplate;
+    private final Path root;
+    private final Path thawDir;
+    private final int coldAfterMonths;
+    private final long maxPackBytes;
+    private final int compressionLevel;
+    private final long thawTtlMillis;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DocumentTieringService(JdbcTemplate jdbcTemplate, DocumentStorageService documentStorageService,
+            InsertStatementRegistry insertStatements, PlatformTransactionManager transactionManager,
+            @Value("${document.storage.dir:data/documents}") String storageDir,
+            @Value("${document.tiering.cold-after-months:12}") int coldAfterMonths,
+            @Value("${document.tiering.max-pack-bytes:1073741824}") long maxPackBytes,
+            @Value("${document.tiering.compression-level:6}") int compressionLevel,
+            @Value("${document.tiering.thaw-ttl-hours:24}") long thawTtlHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.documentStorageService = documentStorageService;
+        this.insertStatements = insertStatements;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.thawDir = root.resolve("thaw");
+        this.coldAfterMonths = Math.max(1, coldAfterMonths);
+        this.maxPackBytes = Math.max(1, maxPackBytes);
+        this.compressionLevel = Math.max(1, Math.min(9, compressionLevel));
+        this.thawTtlMillis = TimeUnit.HOURS.toMillis(Math.max(1, thawTtlHours));
+    }
+
+    /**
+     * A readable file with the content of cold blob {@code contentHash}, inflated from its
+     * pack if no thawed copy is at hand. Returns null when the blob is not in the cold tier.
+     */
+    public Path thaw(String contentHash) throws IOException {
+        if (contentHash == null || !SHA_256_HEX.matcher(contentHash).matches()) {
+            return null;
+        }
+        Path thawed = thawPath(contentHash);
+        if (Files.isRegularFile(thawed)) {
+            touch(thawed);
+            return thawed;
+        }
+        Object[] placement = placement(contentHash);
+        if (placement == null) {
+            return null;
+        }
+        Files.createDirectories(thawed.getParent());
+        Path temp = Files.createTempFile(thawed.getParent(), "thaw-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = PackFile.open((Path) placement[0], (Long) placement[1], contentHash);
+                    OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                in.transferTo(out);
+            }
+            if (!HexFormat.of().formatHex(digest.digest()).equals(contentHash)) {
+                throw new IOException("Cold blob " + contentHash + " failed its checksum");
+            }
+            // Concurrent thaws of one blob write identical bytes; the last rename wins.
+            Files.move(temp, thawed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return thawed;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The content of cold blob {@code contentHash} for one sequential read: the thawed copy
+     * if there is one, otherwise inflated straight from its pack without writing a copy. The
+     * checksum is checked when the stream reaches its end. Returns null when the blob is not
+     * in the cold tier.
+     */
+    public InputStream openCold(String contentHash) throws IOException {
+        if (contentHash == null || !SHA_256_HEX.matcher(contentHash).matches()) {
+            return null;
+        }
+        Path thawed = thawPath(contentHash);
+        if (Files.isRegularFile(thawed)) {
+            touch(thawed);
+            return Files.newInputStream(thawed);
+        }
+        Object[] placement = placement(contentHash);
+        if (placement == null) {
+            return null;
+        }
+        return new VerifyingInputStream(PackFile.open((Path) placement[0], (Long) placement[1], contentHash),
+                contentHash);
+    }
+
+    /** Drops the thawed copy of a blob that no longer exists. */
+    public void discardThawed(String contentHash) {
+        if (contentHash == null || !SHA_256_HEX.matcher(contentHash).matches()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(thawPath(contentHash));
+        } catch (IOException e) {
+            log.warn("Could not delete thawed copy of {}: {}", contentHash, e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${document.tiering.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        try {
+            TieringRunResult result = runTiering();
+            if (result.getBlobs() > 0) {
+                log.info("Cold tier: packed {} blobs into {} packs ({} -> {} bytes)", result.getBlobs(),
+                        result.getPacks(), result.getRawBytes(), result.getPackedBytes());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Cold tier run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Packs every eligible hot blob. Only one run proceeds at a time; a concurrent call
+     * returns an empty result.
+     */
+    public TieringRunResult runTiering() {
+        TieringRunResult result = new TieringRunResult();
+        if (!running.compareAndSet(false, true)) {
+            return result;
+        }
+        try {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusMonths(coldAfterMonths));
+            String lastHash = "";
+            while (true) {
+                List<Object[]> candidates = jdbcTemplate.query("SELECT b.content_hash, b.storage_path " +
+                        "FROM document_blobs b WHERE b.tier = 'HOT' AND b.ref_count > 0 AND b.content_hash > ? " +
+                        "AND NOT " + STILL_HOT + " ORDER BY b.content_hash LIMIT " + CANDIDATE_BATCH,
+                        (rs, rowNum) -> new Object[] { rs.getString("content_hash"), rs.getString("storage_path") },
+                        lastHash, cutoff);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                lastHash = (String) candidates.get(candidates.size() - 1)[0];
+                int next = 0;
+                while (next < candidates.size()) {
+                    next = writePack(candidates, next, cutoff, result);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cold tier run stopped: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        return result;
+    }
+
+    /**
+     * Writes candidates from {@code from} into one new pack until it reaches the size limit,
+     * then moves each packed blob to the cold tier. Returns the first candidate not handled.
+     */
+    private int writePack(List<Object[]> candidates, int from, Timestamp cutoff, TieringRunResult result)
+            throws IOException {
+        Map<String, Object> params = new HashMap<>();
+        params.put("file_path", "packs/pending");
+        params.put("blob_count", 0);
+        params.put("raw_bytes", 0L);
+        params.put("packed_bytes", 0L);
+        long packId = insertStatements.insertAndReturnKey(InsertStatementRegistry.DOCUMENT_PACKS, params).longValue();
+        String packPath = String.format("packs/pack-%08d.pack", packId);
+        Path pack = root.resolve(packPath);
+        Files.createDirectories(pack.getParent());
+
+        List<Object[]> packed = new ArrayList<>();
+        int next = from;
+        try (PackFile.Writer writer = PackFile.create(pack, compressionLevel)) {
+            while (next < candidates.size() && (packed.isEmpty() || writer.length() < maxPackBytes)) {
+                Object[] candidate = candidates.get(next++);
+                Path file = documentStorageService.resolve((String) candidate[1]);
+                if (file != null) {
+                    packed.add(new Object[] { candidate[0], candidate[1], writer.add((String) candidate[0], file) });
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(pack);
+            jdbcTemplate.update("DELETE FROM document_packs WHERE pack_id = ?", packId);
+            throw e;
+        }
+
+        int blobs = 0;
+        long rawBytes = 0;
+        long packedBytes = 0;
+        for (Object[] entry : packed) {
+            String hash = (String) entry[0];
+            PackFile.Entry placement = (PackFile.Entry) entry[2];
+            Boolean moved = transactionTemplate.execute(status -> {
+                // Re-checked under the row lock: the case may have reopened, or the content
+                // been uploaded again or deleted, since the candidate was read.
+                List<Integer> eligible = jdbcTemplate.queryForList("SELECT 1 FROM document_blobs b " +
+                        "WHERE b.content_hash = ? AND b.tier = 'HOT' AND b.ref_count > 0 AND NOT " + STILL_HOT +
+                        " FOR UPDATE", Integer.class, hash, cutoff);
+                if (eligible.isEmpty()) {
+                    return false;
+                }
+                jdbcTemplate.update("UPDATE document_blobs SET tier = 'COLD', pack_id = ?, pack_offset = ? " +
+                        "WHERE content_hash = ?", packId, placement.offset(), hash);
+                return true;
+            });
+            if (Boolean.TRUE.equals(moved)) {
+                // Readers that still find the hot file are served from it; afterwards they thaw.
+                documentStorageService.delete((String) entry[1]);
+                blobs++;
+                rawBytes += placement.size();
+                packedBytes += placement.packedLength();
+            }
+        }
+
+        if (blobs == 0) {
+            Files.deleteIfExists(pack);
+            jdbcTemplate.update("DELETE FROM document_packs WHERE pack_id = ?", packId);
+        } else {
+            jdbcTemplate.update("UPDATE document_packs SET file_path = ?, blob_count = ?, raw_bytes = ?, " +
+                    "packed_bytes = ? WHERE pack_id = ?", packPath, blobs, rawBytes, packedBytes, packId);
+            result.setPacks(result.getPacks() + 1);
+            result.setBlobs(result.getBlobs() + blobs);
+            result.setRawBytes(result.getRawBytes() + rawBytes);
+            result.setPackedBytes(result.getPackedBytes() + packedBytes);
+        }
+        return next;
+    }
+
+    @Scheduled(fixedDelayString = "${document.tiering.thaw-cleanup-interval-ms:3600000}",
+            initialDelayString = "${document.tiering.thaw-cleanup-interval-ms:3600000}")
+    public void removeStaleThawedCopies() {
+        if (!Files.isDirectory(thawDir)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - thawTtlMillis;
+        try (Stream<Path> files = Files.walk(thawDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up thawed documents: {}", e.getMessage());
+        }
+    }
+
+    /** The pack file and offset of cold blob {@code contentHash}, or null when it is not cold. */
+    private Object[] placement(String contentHash) throws IOException {
+        List<Object[]> placement = jdbcTemplate.query("SELECT p.file_path, b.pack_offset FROM document_blobs b " +
+                "JOIN document_packs p ON p.pack_id = b.pack_id WHERE b.content_hash = ? AND b.tier = 'COLD'",
+                (rs, rowNum) -> new Object[] { rs.getString("file_path"), rs.getLong("pack_offset") }, contentHash);
+        if (placement.isEmpty()) {
+            return null;
+        }
+        Path pack = documentStorageService.resolve((String) placement.get(0)[0]);
+        if (pack == null) {
+            throw new IOException("Pack file missing for cold blob " + contentHash);
+        }
+        return new Object[] { pack, placement.get(0)[1] };
+    }
+
+    private Path thawPath(String contentHash) {
+        return thawDir.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+
+    /** Marks a thawed copy as recently read, which keeps it out of the cleanup. */
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Only shortens the copy's life.
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Fails the read that reaches the end if the bytes did not hash to the expected blob. */
+    private static final class VerifyingInputStream extends DigestInputStream {
+
+        private final String contentHash;
+        private boolean verified;
+
+        VerifyingInputStream(InputStream in, String contentHash) {
+            super(in, sha256());
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                verify();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n < 0) {
+                verify();
+            }
+            return n;
+        }
+
+        private void verify() throws IOException {
+            if (!verified) {
+                verified = true;
+                if (!HexFormat.of().formatHex(getMessageDigest().digest()).equals(contentHash)) {
+                    throw new IOException("Cold blob " + contentHash + " failed its checksum");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package com.legal.casemanagement.service;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.exceptions.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfOutline;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.action.PdfAction;
+import com.itextpdf.kernel.pdf.annot.PdfLinkAnnotation;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.navigation.PdfExplicitDestination;
+import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
+import com.legal.casemanagement.dto.CaseDtos.FilingBundleRequest;
+import com.legal.casemanagement.dto.CaseDtos.FilingBundleStatus;
+import com.legal.casemanagement.service.DocumentService.DocumentContent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Court-filing bundles: an ordered selection of a case's documents merged into one PDF with
+ * a hyperlinked index, a bookmark per document and a "Page X of Y" stamp on every page.
+ * <p>
+ * Bundles are built by background jobs; {@link #submit} returns at once and
+ * {@link #getStatus} reports progress. A job first opens each source to count its pages (so
+ * the index can give page ranges up front), then writes the index and copies the sources
+ * one at a time, flushing every finished page to disk. Only one source is open at a time and
+ * written pages are not kept, so bundles of thousands of pages need little memory.
+ * <p>
+ * PDFs are copied as they are and images are placed on an A4 page. Anything else (or a
+ * source that cannot be read) gets a placeholder page and a warning on the job. Finished
+ * bundles are kept under {@code <document.storage.dir>/bundles} for ttl-hours.
+ */
+@Service
+public class FilingBundleService {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingBundleService.class);
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private static final byte[] PDF_SIGNATURE = "%PDF".getBytes(StandardCharsets.US_ASCII);
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp", "tif", "tiff");
+    private static final float MARGIN = 56;
+    private static final float INDEX_TOP = 786;
+    private static final float ROW_HEIGHT = 18;
+    private static final int INDEX_ROWS_PER_PAGE = 34;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentService documentService;
+    private final Path bundleDir;
+    private final int maxDocuments;
+    private final long ttlMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public FilingBundleService(JdbcTemplate jdbcTemplate, DocumentService documentService,
+            @Value("${document.storage.dir:data/documents}") String storageDir,
+            @Value("${document.filing-bundle.workers:1}") int workers,
+            @Value("${document.filing-bundle.queue-capacity:8}") int queueCapacity,
+            @Value("${document.filing-bundle.max-documents:1000}") int maxDocuments,
+            @Value("${document.filing-bundle.ttl-hours:24}") long ttlHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.documentService = documentService;
+        this.bundleDir = Paths.get(storageDir).toAbsolutePath().normalize().resolve("bundles");
+        this.maxDocuments = Math.max(1, maxDocuments);
+        this.ttlMillis = TimeUnit.HOURS.toMillis(Math.max(1, ttlHours));
+        int threads = Math.max(1, workers);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread t = new Thread(r, "filing-bundle-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                });
+    }
+
+    /**
+     * Queues a bundle of {@code request.documentIds}, in that order, for the case in
+     * {@code detail}. Every id must be a document of that case.
+     *
+     * @throws RejectedExecutionException when the job queue is full
+     */
+    public FilingBundleStatus submit(CaseDetail detail, FilingBundleRequest request) {
+        List<Long> ids = request == null ? null : request.getDocumentIds();
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("documentIds must list at least one document");
+        }
+        if (ids.size() > maxDocuments) {
+            throw new IllegalArgumentException("A bundle can hold at most " + maxDocuments + " documents");
+        }
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query("SELECT d.document_id, d.document_name FROM documents d " +
+                "JOIN cases c ON c.case_id = d.case_id WHERE c.case_number = ?",
+                rs -> {
+                    names.put(rs.getLong("document_id"), rs.getString("document_name"));
+                },
+                detail.getCaseNumber());
+        Set<Long> seen = new HashSet<>();
+        List<Source> sources = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (id == null || !names.containsKey(id)) {
+                throw new IllegalArgumentException("Document " + id + " is not a document of case "
+                        + detail.getCaseNumber());
+            }
+            if (!seen.add(id)) {
+                throw new IllegalArgumentException("Document " + id + " is listed more than once");
+            }
+            sources.add(new Source(id, names.get(id)));
+        }
+        String title = request.getTitle() == null || request.getTitle().isBlank()
+                ? "Bundle of documents" : request.getTitle().trim();
+
+        Job job = new Job(UUID.randomUUID().toString(), detail.getCaseNumber(), detail.getTitle(), title, sources);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return job.toStatus();
+    }
+
+    /** Progress of a job of case {@code caseNumber}, or null when there is no such job. */
+    public FilingBundleStatus getStatus(String caseNumber, String jobId) {
+        Job job = find(caseNumber, jobId);
+        return job == null ? null : job.toStatus();
+    }
+
+    /** The finished bundle, or null while the job is still running, failed or is unknown. */
+    public Path getBundleFile(String caseNumber, String jobId) {
+        Job job = find(caseNumber, jobId);
+        if (job == null || !DONE.equals(job.status) || !Files.isRegularFile(job.file)) {
+            return null;
+        }
+        return job.file;
+    }
+
+    private Job find(String caseNumber, String jobId) {
+        Job job = jobId == null ? null : jobs.get(jobId);
+        return job != null && job.caseNumber.equals(caseNumber) ? job : null;
+    }
+
+    /** Forgets jobs finished more than ttl-hours ago and deletes their files (and strays from earlier runs). */
+    @Scheduled(fixedDelayString = "${document.filing-bundle.cleanup-interval-ms:3600000}",
+            initialDelayString = "${document.filing-bundle.cleanup-interval-ms:3600000}")
+    public void removeExpiredBundles() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        jobs.values().removeIf(job -> {
+            Instant finished = job.finishedAt;
+            if (finished == null || finished.toEpochMilli() >= cutoff) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            return true;
+        });
+        if (!Files.isDirectory(bundleDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(bundleDir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dot = name.indexOf('.');
+                boolean tracked = dot > 0 && jobs.containsKey(name.substring(0, dot));
+                if (!tracked && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up filing bundles in {}: {}", bundleDir, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        job.status = RUNNING;
+        Path partial = bundleDir.resolve(job.id + ".pdf.part");
+        try {
+            Files.createDirectories(bundleDir);
+            layOut(job);
+            write(job, partial);
+            Files.move(partial, job.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.fileSize = Files.size(job.file);
+            job.status = DONE;
+            log.info("Filing bundle {} for case {}: {} documents, {} pages, {} bytes", job.id, job.caseNumber,
+                    job.sources.size(), job.totalPages, job.fileSize);
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            job.error = e instanceof InterruptedException ? "Cancelled" : e.getMessage();
+            job.status = FAILED;
+            log.warn("Filing bundle {} for case {} failed", job.id, job.caseNumber, e);
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    /** First pass: what each source is and how many pages it takes up. */
+    private void layOut(Job job) throws IOException, InterruptedException {
+        int indexPages = (job.sources.size() + INDEX_ROWS_PER_PAGE - 1) / INDEX_ROWS_PER_PAGE;
+        int nextPage = indexPages + 1;
+        for (Source source : job.sources) {
+            checkInterrupted();
+            DocumentContent content = documentService.getContent(source.documentId);
+            if (content == null) {
+                source.skip("content is not available");
+            } else if (isPdf(content)) {
+                source.file = content.file();
+                try (PdfDocument pdf = new PdfDocument(new PdfReader(source.file.toFile()))) {
+                    source.pages = pdf.getNumberOfPages();
+                    source.kind = Kind.PDF;
+                } catch (PdfException | IOException e) {
+                    source.skip("PDF could not be read (" + e.getMessage() + ")");
+                }
+            } else if (IMAGE_EXTENSIONS.contains(extension(content.name()))) {
+                source.file = content.file();
+                source.kind = Kind.IMAGE;
+                source.pages = 1;
+            } else {
+                source.skip("not a PDF or image");
+            }
+            if (source.kind == Kind.PLACEHOLDER) {
+                job.warnings.add(source.documentId + " – " + source.name + ": " + source.reason);
+            }
+            source.firstPage = nextPage;
+            nextPage += source.pages;
+        }
+        job.totalPages = nextPage - 1;
+    }
+
+    /** Second pass: index, then every source, each page stamped and flushed as soon as it is complete. */
+    private void write(Job job, Path partial) throws IOException, InterruptedException {
+        // Smart mode is left off: its resource de-duplication keeps a hash of every object written.
+        PdfWriter writer = new PdfWriter(partial.toString(), new WriterProperties().setFullCompressionMode(true));
+        try (PdfDocument bundle = new PdfDocument(writer)) {
+            bundle.getDocumentInfo().setTitle(job.title);
+            bundle.getCatalog().setPageMode(PdfName.UseOutlines);
+            PdfFont regular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+            PdfFont bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+            Stamp stamp = new Stamp(regular, job.caseNumber, job.totalPages);
+            PdfOutline outlines = bundle.getOutlines(false);
+
+            // Index pages stay open until the end so their rows can link to pages not yet written.
+            List<PdfPage> indexPages = writeIndex(bundle, job, regular, bold, stamp);
+            outlines.addOutline("Index").addDestination(PdfExplicitDestination.createFit(indexPages.get(0)));
+
+            for (int i = 0; i < job.sources.size(); i++) {
+                checkInterrupted();
+                Source source = job.sources.get(i);
+                PdfPage first = switch (source.kind) {
+                    case PDF -> copyPdf(bundle, source, stamp, job);
+                    case IMAGE -> addImage(bundle, source, regular, stamp, job);
+                    case PLACEHOLDER -> addPlaceholder(bundle, source, regular, bold, stamp, job);
+                };
+                PdfExplicitDestination destination = PdfExplicitDestination.createFit(first);
+                outlines.addOutline((i + 1) + ". " + printable(regular, source.name)).addDestination(destination);
+                PdfPage indexPage = indexPages.get(i / INDEX_ROWS_PER_PAGE);
+                float y = rowBaseline(i % INDEX_ROWS_PER_PAGE);
+                PdfLinkAnnotation link = new PdfLinkAnnotation(
+                        new Rectangle(MARGIN, y - 5, PageSize.A4.getWidth() - 2 * MARGIN, ROW_HEIGHT))
+                        .setAction(PdfAction.createGoTo(destination));
+                link.setBorder(new PdfArray(new float[] { 0, 0, 0 }));
+                indexPage.addAnnotation(link);
+                first.flush();
+                job.processedDocuments++;
+            }
+        }
+    }
+
+    private List<PdfPage> writeIndex(PdfDocument bundle, Job job, PdfFont regular, PdfFont bold, Stamp stamp) {
+        List<PdfPage> pages = new ArrayList<>();
+        float width = PageSize.A4.getWidth();
+        float nameWidth = width - 2 * MARGIN - 40 - 80;
+        PdfCanvas canvas = null;
+        for (int i = 0; i < job.sources.size(); i++) {
+            int row = i % INDEX_ROWS_PER_PAGE;
+            if (row == 0) {
+                PdfPage page = bundle.addNewPage(PageSize.A4);
+                canvas = new PdfCanvas(page);
+                text(canvas, bold, 16, MARGIN, INDEX_TOP, fit(bold, 16, job.title, width - 2 * MARGIN));
+                String caseLine = "Case " + job.caseNumber + (job.caseTitle == null ? "" : " – " + job.caseTitle);
+                text(canvas, regular, 11, MARGIN, INDEX_TOP - 20, fit(regular, 11, caseLine, width - 2 * MARGIN));
+                text(canvas, bold, 12, MARGIN, INDEX_TOP - 48, pages.isEmpty() ? "Index" : "Index (continued)");
+                text(canvas, bold, 10, MARGIN, INDEX_TOP - 70, "No.");
+                text(canvas, bold, 10, MARGIN + 40, INDEX_TOP - 70, "Document");
+                text(canvas, bold, 10, width - MARGIN - 80, INDEX_TOP - 70, "Pages");
+                canvas.moveTo(MARGIN, INDEX_TOP - 76).lineTo(width - MARGIN, INDEX_TOP - 76).setLineWidth(0.5f).stroke();
+                pages.add(page);
+            }
+            Source source = job.sources.get(i);
+            float y = rowBaseline(row);
+            String name = source.kind == Kind.PLACEHOLDER ? source.name + " (not included)" : source.name;
+            String range = source.pages <= 1 ? String.valueOf(source.firstPage)
+                    : source.firstPage + "–" + (source.firstPage + source.pages - 1);
+            text(canvas, regular, 10, MARGIN, y, (i + 1) + ".");
+            text(canvas, regular, 10, MARGIN + 40, y, fit(regular, 10, name, nameWidth));
+            text(canvas, regular, 10, width - MARGIN - 80, y, printable(regular, range));
+        }
+        for (int p = 0; p < pages.size(); p++) {
+            finish(pages.get(p), p + 1, stamp, job, false);
+        }
+        return pages;
+    }
+
+    private PdfPage copyPdf(PdfDocument bundle, Source source, Stamp stamp, Job job) throws InterruptedException {
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(source.file.toFile()))) {
+            List<PdfPage> copied = pdf.copyPagesTo(1, pdf.getNumberOfPages(), bundle);
+            if (copied.size() != source.pages) {
+                throw new IllegalStateException("Document " + source.documentId + " changed while the bundle was built");
+            }
+            PdfPage first = copied.get(0);
+            for (int p = 0; p < copied.size(); p++) {
+                if (p % 64 == 0) {
+                    checkInterrupted();
+                }
+                finish(copied.get(p), source.firstPage + p, stamp, job, p > 0);
+            }
+            // The first page stays open until its bookmark and index link point at it.
+            return first;
+        } catch (IOException e) {
+            throw new IllegalStateException("Document " + source.documentId + " could not be read: " + e.getMessage(), e);
+        }
+    }
+
+    private PdfPage addImage(PdfDocument bundle, Source source, PdfFont regular, Stamp stamp, Job job) {
+        PdfPage page = bundle.addNewPage(PageSize.A4);
+        Rectangle area = new Rectangle(MARGIN / 2, MARGIN, PageSize.A4.getWidth() - MARGIN,
+                PageSize.A4.getHeight() - 1.5f * MARGIN);
+        PdfCanvas canvas = new PdfCanvas(page);
+        try {
+            canvas.addImageFittedIntoRectangle(ImageDataFactory.create(source.file.toString()), area, false);
+        } catch (IOException | RuntimeException e) {
+            // The page is already counted in the index, so an unreadable image keeps it with a note.
+            job.warnings.add(source.documentId + " – " + source.name + ": image could not be read");
+            text(canvas, regular, 11, MARGIN, INDEX_TOP, fit(regular, 11, source.name + " – image could not be read",
+                    PageSize.A4.getWidth() - 2 * MARGIN));
+        }
+        finish(page, source.firstPage, stamp, job, false);
+        return page;
+    }
+
+    private PdfPage addPlaceholder(PdfDocument bundle, Source source, PdfFont regular, PdfFont bold, Stamp stamp,
+            Job job) {
+        PdfPage page = bundle.addNewPage(PageSize.A4);
+        PdfCanvas canvas = new PdfCanvas(page);
+        float textWidth = PageSize.A4.getWidth() - 2 * MARGIN;
+        text(canvas, bold, 14, MARGIN, INDEX_TOP, fit(bold, 14, source.name, textWidth));
+        text(canvas, regular, 11, MARGIN, INDEX_TOP - 24, "Document " + source.documentId + " is not included in this bundle:");
+        text(canvas, regular, 11, MARGIN, INDEX_TOP - 40, fit(regular, 11, source.reason, textWidth));
+        finish(page, source.firstPage, stamp, job, false);
+        return page;
+    }
+
+    private static void finish(PdfPage page, int number, Stamp stamp, Job job, boolean flush) {
+        stamp.apply(page, number);
+        if (flush) {
+            page.flush();
+        }
+        job.pagesWritten++;
+    }
+
+    private static float rowBaseline(int row) {
+        return INDEX_TOP - 92 - row * ROW_HEIGHT;
+    }
+
+    private static void text(PdfCanvas canvas, PdfFont font, float size, float x, float y, String text) {
+        canvas.beginText().setFontAndSize(font, size).moveText(x, y).showText(text).endText();
+    }
+
+    /** {@code text} in characters the standard font can draw, shortened with "..." to {@code width}. */
+    private static String fit(PdfFont font, float size, String text, float width) {
+        String value = printable(font, text);
+        if (font.getWidth(value, size) <= width) {
+            return value;
+        }
+        int end = value.length();
+        while (end > 0 && font.getWidth(value.substring(0, end) + "...", size) > width) {
+            end--;
+        }
+        return value.substring(0, end) + "...";
+    }
+
+    private static String printable(PdfFont font, String text) {
+        StringBuilder out = new StringBuilder();
+        (text == null ? "" : text).codePoints().forEach(cp -> {
+            if (Character.isISOControl(cp)) {
+                out.append(' ');
+            } else {
+                out.appendCodePoint(font.containsGlyph(cp) ? cp : '?');
+            }
+        });
+        return out.toString();
+    }
+
+    private static boolean isPdf(DocumentContent content) throws IOException {
+        if ("pdf".equals(extension(content.name()))) {
+            return true;
+        }
+        try (InputStream in = Files.newInputStream(content.file())) {
+            return Arrays.equals(in.readNBytes(PDF_SIGNATURE.length), PDF_SIGNATURE);
+        }
+    }
+
+    private static String extension(String name) {
+        int dot = name == null ? -1 : name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /** "Page X of Y" at the foot of a page, right aligned, with the case number on the left. */
+    private record Stamp(PdfFont font, String caseNumber, int totalPages) {
+
+        private static final float SIZE = 8;
+
+        void apply(PdfPage page, int number) {
+            Rectangle box = page.getCropBox();
+            // wrapOldContent puts the existing content in q/Q, so a source page's leftover graphics
+            // state cannot move the stamp.
+            PdfCanvas canvas = new PdfCanvas(page, true);
+            String label = "Page " + number + " of " + totalPages;
+            float y = box.getBottom() + 16;
+            canvas.saveState().setFillColorGray(0.25f);
+            text(canvas, font, SIZE, box.getLeft() + 24, y, printable(font, caseNumber));
+            text(canvas, font, SIZE, box.getRight() - 24 - font.getWidth(label, SIZE), y, label);
+            canvas.restoreState().release();
+        }
+    }
+
+    private enum Kind { PDF, IMAGE, PLACEHOLDER }
+
+    private static final class Source {
+        final long documentId;
+        final String name;
+        Kind kind = Kind.PLACEHOLDER;
+        Path file;
+        int pages = 1;
+        int firstPage;
+        String reason;
+
+        Source(long documentId, String name) {
+            this.documentId = documentId;
+            this.name = name == null || name.isBlank() ? "Document " + documentId : name;
+        }
+
+        void skip(String why) {
+            kind = Kind.PLACEHOLDER;
+            pages = 1;
+            file = null;
+            reason = why;
+        }
+    }
+
+    private final class Job {
+        final String id;
+        final String caseNumber;
+        final String caseTitle;
+        final String title;
+        final List<Source> sources;
+        final Path file;
+        final Instant createdAt = Instant.now();
+        final List<String> warnings = new CopyOnWriteArrayList<>();
+        volatile String status = QUEUED;
+        volatile int totalPages;
+        volatile int pagesWritten;
+        volatile int processedDocuments;
+        volatile long fileSize;
+        volatile String error;
+        volatile Instant finishedAt;
+
+        Job(String id, String caseNumber, String caseTitle, String title, List<Source> sources) {
+            this.id = id;
+            this.caseNumber = caseNumber;
+            this.caseTitle = caseTitle;
+            this.title = title;
+            this.sources = sources;
+            this.file = bundleDir.resolve(id + ".pdf");
+        }
+
+        FilingBundleStatus toStatus() {
+            int total = totalPages;
+            int percent = DONE.equals(status) ? 100 : total == 0 ? 0 : Math.min(99, pagesWritten * 100 / total);
+            Instant finished = finishedAt;
+            return FilingBundleStatus.builder()
+                    .jobId(id)
+                    .caseNumber(caseNumber)
+                    .title(title)
+                    .status(status)
+                    .totalDocuments(sources.size())
+                    .processedDocuments(processedDocuments)
+                    .totalPages(total)
+                    .pagesWritten(pagesWritten)
+                    .percentComplete(percent)
+                    .fileSize(fileSize)
+                    .createdAt(createdAt.toString())
+                    .finishedAt(finished == null ? null : finished.toString())
+                    .error(error)
+                    .warnings(List.copyOf(warnings))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.HearingDtos.BulkHearingOutcome;
+import com.legal.casemanagement.dto.HearingDtos.BulkHearingOutcomeRequest;
+import com.legal.casemanagement.dto.HearingDtos.BulkHearingOutcomeResult;
+import com.legal.casemanagement.dto.HearingDtos.HearingOutcomeEntry;
+import com.legal.casemanagement.util.RowFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records a day's hearing outcomes (completed, adjourned, cancelled) in one transaction:
+ * the hearings are locked and checked, every status change goes out as one JDBC batch, and
+ * the follow-up hearings of dated adjournments as a second batch in the same transaction.
+ * Each entry gets its own result; entries that cannot be applied do not stop the rest.
+ * <p>
+ * Only hearings still SCHEDULED are updated, so sending the same sheet twice neither
+ * changes an outcome nor books a second follow-up. Follow-ups are always booked, as the
+ * court has already set them; overlaps with the advocate's or the courtroom's other
+ * hearings are reported with the entry.
+ */
+@Service
+public class HearingBulkService {
+
+    public static final String UPDATED = "UPDATED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String NOT_SCHEDULED = "NOT_SCHEDULED";
+    public static final String INVALID = "INVALID";
+
+    private static final List<String> OUTCOME_STATUSES = List.of("COMPLETED", "ADJOURNED", "CANCELLED");
+    private static final String UPDATE_SQL =
+            "UPDATE hearings SET status = ?, remarks = COALESCE(?, remarks), next_hearing_date = ?, " +
+                    "updated_at = NOW() WHERE hearing_id = ? AND status = 'SCHEDULED'";
+    private static final String FOLLOW_UP_SQL =
+            "INSERT INTO hearings (case_id, hearing_date, duration_minutes, courtroom, hearing_type, status, remarks) " +
+                    "VALUES (?, ?, ?, ?, ?, 'SCHEDULED', ?)";
+
+    /** One request entry; {@code outcome} is set as soon as its result is known. */
+    private static final class Entry {
+        final HearingOutcomeEntry request;
+        final BulkHearingOutcome outcome;
+        String status;
+        LocalDate nextDate;
+        LocalTime nextTime;
+        Current current;
+        LocalDateTime next;
+        LocalDateTime followUpAt;
+        HearingConflictIndex.Hold hold;
+
+        Entry(HearingOutcomeEntry request) {
+            this.request = request;
+            this.outcome = BulkHearingOutcome.builder()
+                    .hearingId(request == null ? null : request.getHearingId())
+                    .build();
+        }
+
+        boolean pending() {
+            return outcome.getOutcome() == null;
+        }
+
+        void fail(String result, String message) {
+            outcome.setOutcome(result);
+            outcome.setMessage(message);
+        }
+    }
+
+    /** The hearing as locked at the start of the transaction. */
+    private record Current(long caseId, String caseNumber, Long advocateId, String courtName, String status,
+            LocalDateTime start, int durationMinutes, String courtroom, String hearingType) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CaseSummaryService caseSummaryService;
+    private final CaseChangeTracker caseChangeTracker;
+    private final CaseEventService caseEventService;
+    private final HearingConflictIndex hearingConflictIndex;
+    private final ReminderService reminderService;
+    private final int maxOutcomes;
+
+    public HearingBulkService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            CaseSummaryService caseSummaryService, CaseChangeTracker caseChangeTracker,
+            CaseEventService caseEventService, HearingConflictIndex hearingConflictIndex,
+            ReminderService reminderService, @Value("${hearing.bulk.max-outcomes:500}") int maxOutcomes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.caseSummaryService = caseSummaryService;
+        this.caseChangeTracker = caseChangeTracker;
+        this.caseEventService = caseEventService;
+        this.hearingConflictIndex = hearingConflictIndex;
+        this.reminderService = reminderService;
+        this.maxOutcomes = Math.max(1, maxOutcomes);
+    }
+
+    public BulkHearingOutcomeResult applyOutcomes(BulkHearingOutcomeRequest request) {
+        if (request == null || request.getOutcomes() == null || request.getOutcomes().isEmpty()) {
+            throw new IllegalArgumentException("outcomes is required");
+        }
+        if (request.getOutcomes().size() > maxOutcomes) {
+            throw new IllegalArgumentException("At most " + maxOutcomes + " outcomes can be recorded at once");
+        }
+
+        List<Entry> entries = new ArrayList<>(request.getOutcomes().size());
+        Set<Long> seen = new HashSet<>();
+        for (HearingOutcomeEntry outcome : request.getOutcomes()) {
+            Entry entry = new Entry(outcome);
+            entries.add(entry);
+            validate(entry, seen);
+        }
+
+        List<Entry> toApply = entries.stream().filter(Entry::pending).toList();
+        if (!toApply.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> apply(toApply));
+            } catch (RuntimeException e) {
+                for (Entry entry : toApply) {
+                    if (entry.hold != null) {
+                        hearingConflictIndex.release(entry.hold);
+                    }
+                }
+                throw e;
+            }
+        }
+        return report(entries);
+    }
+
+    private static void validate(Entry entry, Set<Long> seen) {
+        HearingOutcomeEntry request = entry.request;
+        if (request == null || request.getHearingId() == null) {
+            entry.fail(INVALID, "hearingId is required");
+            return;
+        }
+        if (!seen.add(request.getHearingId())) {
+            entry.fail(INVALID, "Hearing listed more than once");
+            return;
+        }
+        String status = request.getStatus() == null ? "" : request.getStatus().trim().toUpperCase(Locale.ROOT);
+        if (!OUTCOME_STATUSES.contains(status)) {
+            entry.fail(INVALID, "status must be COMPLETED, ADJOURNED or CANCELLED");
+            return;
+        }
+        entry.status = status;
+        try {
+            if (request.getNextHearingDate() != null && !request.getNextHearingDate().isBlank()) {
+                entry.nextDate = LocalDate.parse(request.getNextHearingDate().trim());
+            }
+            if (request.getNextHearingTime() != null && !request.getNextHearingTime().isBlank()) {
+                entry.nextTime = LocalTime.parse(request.getNextHearingTime().trim());
+            }
+        } catch (DateTimeParseException e) {
+            entry.fail(INVALID, "nextHearingDate must be yyyy-MM-dd and nextHearingTime HH:mm");
+        }
+    }
+
+    /** Runs inside the transaction. */
+    private void apply(List<Entry> entries) {
+        Map<Long, Current> current = lockHearings(entries);
+        List<Entry> updates = new ArrayList<>();
+        for (Entry entry : entries) {
+            Current hearing = current.get(entry.request.getHearingId());
+            if (hearing == null) {
+                entry.fail(NOT_FOUND, "Hearing not found");
+                continue;
+            }
+            if (!"SCHEDULED".equals(hearing.status())) {
+                entry.fail(NOT_SCHEDULED, "Hearing is already " + RowFormat.hearingStatusLabel(hearing.status()));
+                continue;
+            }
+            LocalDateTime next = entry.nextDate == null ? null
+                    : entry.nextDate.atTime(entry.nextTime != null ? entry.nextTime : hearing.start().toLocalTime());
+            if (next != null && !next.isAfter(hearing.start())) {
+                entry.fail(INVALID, "Next hearing must be after this one");
+                continue;
+            }
+            entry.current = hearing;
+            entry.next = next;
+            if (next != null && "ADJOURNED".equals(entry.status)) {
+                entry.followUpAt = next;
+            }
+            updates.add(entry);
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(updates.size());
+        for (Entry entry : updates) {
+            String remarks = entry.request.getRemarks() == null || entry.request.getRemarks().isBlank() ? null
+                    : entry.request.getRemarks().trim();
+            batch.add(new Object[] { entry.status, remarks,
+                    entry.next == null ? null : Timestamp.valueOf(entry.next), entry.request.getHearingId() });
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        // The rows are locked and were checked to be SCHEDULED, so every update applies.
+        for (Entry entry : updates) {
+            entry.outcome.setOutcome(UPDATED);
+        }
+
+        List<Entry> followUps = updates.stream().filter(e -> e.followUpAt != null).toList();
+        if (!followUps.isEmpty()) {
+            scheduleFollowUps(followUps);
+        }
+    }
+
+    private Map<Long, Current> lockHearings(List<Entry> entries) {
+        List<Object> ids = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            ids.add(entry.request.getHearingId());
+        }
+        Map<Long, Current> current = new HashMap<>();
+        jdbcTemplate.query("SELECT h.hearing_id, h.case_id, h.hearing_date, h.duration_minutes, h.courtroom, " +
+                "h.hearing_type, h.status, c.case_number, c.advocate_id, c.court_name " +
+                "FROM hearings h JOIN cases c ON c.case_id = h.case_id " +
+                "WHERE h.hearing_id IN (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ") " +
+                "FOR UPDATE",
+                rs -> {
+                    current.put(rs.getLong("hearing_id"), new Current(rs.getLong("case_id"),
+                            rs.getString("case_number"),
+                            rs.getObject("advocate_id") == null ? null : rs.getLong("advocate_id"),
+                            rs.getString("court_name"), rs.getString("status"),
+                            rs.getTimestamp("hearing_date").toLocalDateTime(), rs.getInt("duration_minutes"),
+                            rs.getString("courtroom"), rs.getString("hearing_type")));
+                }, ids.toArray());
+        return current;
+    }
+
+    private void scheduleFollowUps(List<Entry> followUps) {
+        for (Entry entry : followUps) {
+            Current hearing = entry.current;
+            entry.hold = hearingConflictIndex.hold(hearing.caseId(), hearing.caseNumber(), hearing.advocateId(),
+                    hearing.courtName(), hearing.courtroom(), entry.followUpAt, hearing.durationMinutes(), true);
+            entry.outcome.setConflicts(entry.hold.conflicts());
+        }
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(FOLLOW_UP_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Entry entry = followUps.get(i);
+                        Current hearing = entry.current;
+                        ps.setLong(1, hearing.caseId());
+                        ps.setTimestamp(2, Timestamp.valueOf(entry.followUpAt));
+                        ps.setInt(3, hearing.durationMinutes());
+                        ps.setString(4, hearing.courtroom());
+                        ps.setString(5, hearing.hearingType());
+                        ps.setString(6, "Adjourned from " + RowFormat.dateTime(Timestamp.valueOf(hearing.start())));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return followUps.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != followUps.size()) {
+            throw new IllegalStateException("Expected " + followUps.size() + " follow-up hearing ids, got "
+                    + generated.size());
+        }
+        for (int i = 0; i < followUps.size(); i++) {
+            Number key = (Number) generated.get(i).values().iterator().next();
+            followUps.get(i).outcome.setFollowUpHearingId(key.longValue());
+        }
+    }
+
+    /** After commit: read models, activity, caches and reminders, once for the whole batch. */
+    private BulkHearingOutcomeResult report(List<Entry> entries) {
+        Set<Long> caseIds = new LinkedHashSet<>();
+        List<Object[]> updatedEvents = new ArrayList<>();
+        List<Object[]> scheduledEvents = new ArrayList<>();
+        int updated = 0;
+        int followUps = 0;
+        for (Entry entry : entries) {
+            if (!UPDATED.equals(entry.outcome.getOutcome())) {
+                continue;
+            }
+            updated++;
+            long caseId = entry.current.caseId();
+            caseIds.add(caseId);
+            updatedEvents.add(new Object[] { caseId, "Hearing " + RowFormat.hearingStatusLabel(entry.status),
+                    entry.request.getRemarks(), entry.request.getHearingId() });
+            Long followUpId = entry.outcome.getFollowUpHearingId();
+            if (followUpId != null) {
+                followUps++;
+                hearingConflictIndex.confirm(entry.hold, followUpId);
+                scheduledEvents.add(new Object[] { caseId, "Hearing Scheduled",
+                        RowFormat.dateTime(Timestamp.valueOf(entry.followUpAt)), followUpId });
+            }
+        }
+
+        if (!caseIds.isEmpty()) {
+            List<Long> changed = new ArrayList<>(caseIds);
+            caseSummaryService.refreshCases(changed);
+            caseEventService.appendEach(CaseEventService.HEARING_UPDATED, updatedEvents);
+            caseEventService.appendEach(CaseEventService.HEARING_SCHEDULED, scheduledEvents);
+            caseChangeTracker.casesChanged(changed);
+            hearingConflictIndex.casesChanged(changed);
+            for (Entry entry : entries) {
+                if (UPDATED.equals(entry.outcome.getOutcome())) {
+                    reminderService.hearingChanged(entry.request.getHearingId());
+                    if (entry.outcome.getFollowUpHearingId() != null) {
+                        reminderService.hearingChanged(entry.outcome.getFollowUpHearingId());
+                    }
+                }
+            }
+        }
+
+        List<BulkHearingOutcome> results = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (UPDATED.equals(entry.outcome.getOutcome()) && entry.outcome.getMessage() == null) {
+                entry.outcome.setMessage(entry.outcome.getFollowUpHearingId() == null
+                        ? "Hearing marked " + RowFormat.hearingStatusLabel(entry.status)
+                        : "Hearing adjourned to " + RowFormat.dateTime(Timestamp.valueOf(entry.followUpAt)));
+            }
+            results.add(entry.outcome);
+        }
+        return BulkHearingOutcomeResult.builder()
+                .requested(entries.size())
+                .updated(updated)
+                .failed(entries.size() - updated)
+                .followUpsScheduled(followUps)
+                .results(results)
+                .build();
+    }
+}
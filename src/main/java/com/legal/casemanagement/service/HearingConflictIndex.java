@@ -0,0 +1,443 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.HearingDtos.HearingConflict;
+import com.legal.casemanagement.dto.HearingDtos.HearingSlot;
+import com.legal.casemanagement.util.IntervalTree;
+import com.legal.casemanagement.util.IntervalTree.Interval;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of SCHEDULED hearings, one {@link IntervalTree} per advocate and one per
+ * courtroom (court name plus courtroom), so a new hearing is checked for double-booking
+ * without a query. Loaded at startup and kept current by the hearing and case write paths;
+ * a nightly reload also drops hearings older than retain-days.
+ * <p>
+ * Scheduling goes through {@link #hold}: the check and the provisional booking happen under
+ * one lock, so two requests for the same slot cannot both pass. The hold is then
+ * {@link #confirm confirmed} with the new hearing id, or {@link #release released} if the
+ * insert fails. Bookings written while a reload's query runs keep their live state, since
+ * the query's snapshot may predate them.
+ */
+@Service
+public class HearingConflictIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HearingConflictIndex.class);
+
+    public static final String ADVOCATE = "ADVOCATE";
+    public static final String COURTROOM = "COURTROOM";
+
+    private static final int MAX_SCAN_RESULTS = 1000;
+    private static final int LOAD_CHUNK = 500;
+    private static final String SELECT_BOOKINGS =
+            "SELECT h.hearing_id, h.case_id, h.hearing_date, h.duration_minutes, h.courtroom, " +
+                    "c.case_number, c.advocate_id, c.court_name " +
+                    "FROM hearings h JOIN cases c ON c.case_id = h.case_id " +
+                    "WHERE h.status = 'SCHEDULED' AND h.hearing_date >= ? ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int defaultDurationMinutes;
+    private final int retainDays;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IntervalTree<Booking>> byAdvocate = new HashMap<>();
+    private final Map<String, IntervalTree<Booking>> byCourtroom = new HashMap<>();
+    private final Map<Long, Booking> bookings = new HashMap<>();
+    // Provisional bookings use negative ids until the hearing row exists.
+    private final AtomicLong holdIds = new AtomicLong();
+    // Ids added or removed since the running reload started its query; null when none runs.
+    private Set<Long> touchedDuringReload;
+
+    /** A booking as indexed; {@code start}/{@code end} are minutes of local wall-clock time. */
+    record Booking(long hearingId, long caseId, String caseNumber, Long advocateId, String courtroomKey,
+            String courtroomLabel, long start, long end) {
+    }
+
+    /** Outcome of {@link #hold}: when {@code placed}, {@code id} must be confirmed or released. */
+    public record Hold(long id, boolean placed, List<HearingConflict> conflicts) {
+    }
+
+    public HearingConflictIndex(JdbcTemplate jdbcTemplate,
+            @Value("${hearing.conflicts.default-duration-minutes:60}") int defaultDurationMinutes,
+            @Value("${hearing.conflicts.retain-days:30}") int retainDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultDurationMinutes = Math.max(1, defaultDurationMinutes);
+        this.retainDays = Math.max(0, retainDays);
+    }
+
+    @PostConstruct
+    public void load() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.warn("Hearing conflict index not loaded: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database. Provisional holds survive the rebuild, and so does
+     * every booking written while the query ran.
+     */
+    @Scheduled(cron = "${hearing.conflicts.reload-cron:0 45 2 * * *}")
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        setTouchedDuringReload(new HashSet<>());
+        List<Booking> loaded;
+        try {
+            loaded = jdbcTemplate.query(SELECT_BOOKINGS, (rs, rowNum) -> map(rs), horizon());
+        } catch (RuntimeException e) {
+            setTouchedDuringReload(null);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            Set<Long> touched = touchedDuringReload;
+            touchedDuringReload = null;
+            List<Booking> kept = bookings.values().stream()
+                    .filter(b -> b.hearingId() < 0 || touched.contains(b.hearingId()))
+                    .toList();
+            byAdvocate.clear();
+            byCourtroom.clear();
+            bookings.clear();
+            for (Booking booking : loaded) {
+                if (!touched.contains(booking.hearingId())) {
+                    add(booking);
+                }
+            }
+            kept.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Hearing conflict index loaded {} hearings in {} ms", loaded.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void setTouchedDuringReload(Set<Long> touched) {
+        lock.writeLock().lock();
+        try {
+            touchedDuringReload = touched;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getDefaultDurationMinutes() {
+        return defaultDurationMinutes;
+    }
+
+    /**
+     * Checks a new hearing against the advocate's and the courtroom's bookings. Unless there
+     * is a conflict and {@code allowConflicts} is false, the slot is booked provisionally.
+     */
+    public Hold hold(long caseId, String caseNumber, Long advocateId, String courtName, String courtroom,
+            LocalDateTime start, int durationMinutes, boolean allowConflicts) {
+        long from = minutes(start);
+        Booking candidate = new Booking(holdIds.decrementAndGet(), caseId, caseNumber, advocateId,
+                courtroomKey(courtName, courtroom), courtroomLabel(courtName, courtroom), from, from + durationMinutes);
+        lock.writeLock().lock();
+        try {
+            List<HearingConflict> conflicts = conflictsOf(candidate);
+            if (!conflicts.isEmpty() && !allowConflicts) {
+                return new Hold(0, false, conflicts);
+            }
+            add(candidate);
+            return new Hold(candidate.hearingId(), true, conflicts);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Turns a provisional booking into the booking of hearing {@code hearingId}. */
+    public void confirm(Hold hold, long hearingId) {
+        lock.writeLock().lock();
+        try {
+            Booking provisional = remove(hold.id());
+            if (provisional != null) {
+                add(new Booking(hearingId, provisional.caseId(), provisional.caseNumber(), provisional.advocateId(),
+                        provisional.courtroomKey(), provisional.courtroomLabel(), provisional.start(),
+                        provisional.end()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(Hold hold) {
+        if (hold.placed()) {
+            lock.writeLock().lock();
+            try {
+                remove(hold.id());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** Re-reads one hearing after its status or time changed. */
+    public void hearingChanged(long hearingId) {
+        List<Booking> current = jdbcTemplate.query(SELECT_BOOKINGS + "AND h.hearing_id = ?",
+                (rs, rowNum) -> map(rs), horizon(), hearingId);
+        lock.writeLock().lock();
+        try {
+            remove(hearingId);
+            current.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Re-reads the hearings of cases whose advocate or court may have changed. */
+    public void casesChanged(Collection<Long> caseIds) {
+        if (caseIds == null || caseIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new HashSet<>(caseIds));
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + LOAD_CHUNK));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(horizon());
+            args.addAll(chunk);
+            List<Booking> current = jdbcTemplate.query(SELECT_BOOKINGS + "AND h.case_id IN (" +
+                    String.join(",", Collections.nCopies(chunk.size(), "?")) + ")",
+                    (rs, rowNum) -> map(rs), args.toArray());
+            Set<Long> chunkIds = new HashSet<>(chunk);
+            lock.writeLock().lock();
+            try {
+                List<Long> stale = bookings.values().stream()
+                        .filter(b -> b.hearingId() > 0 && chunkIds.contains(b.caseId()))
+                        .map(Booking::hearingId)
+                        .toList();
+                stale.forEach(this::remove);
+                current.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void caseChanged(String caseNumber) {
+        if (caseNumber != null) {
+            casesChanged(jdbcTemplate.queryForList("SELECT case_id FROM cases WHERE case_number = ?", Long.class,
+                    caseNumber));
+        }
+    }
+
+    /**
+     * Every pair of indexed hearings that overlap inside {@code [from, to)}, optionally only for
+     * one advocate and/or one kind, ordered by start. At most {@code limit} pairs.
+     */
+    public List<HearingConflict> findConflicts(LocalDateTime from, LocalDateTime to, Long advocateId, String kind,
+            int limit) {
+        long windowFrom = minutes(from);
+        long windowTo = minutes(to);
+        int max = Math.max(1, Math.min(MAX_SCAN_RESULTS, limit));
+        List<HearingConflict> out = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (kind == null || ADVOCATE.equals(kind)) {
+                if (advocateId != null) {
+                    IntervalTree<Booking> tree = byAdvocate.get(advocateId);
+                    if (tree != null) {
+                        sweep(ADVOCATE, "Advocate " + advocateId, tree.overlapping(windowFrom, windowTo), out, max);
+                    }
+                } else {
+                    for (Map.Entry<Long, IntervalTree<Booking>> e : byAdvocate.entrySet()) {
+                        sweep(ADVOCATE, "Advocate " + e.getKey(), e.getValue().overlapping(windowFrom, windowTo),
+                                out, max);
+                    }
+                }
+            }
+            if (kind == null || COURTROOM.equals(kind)) {
+                for (IntervalTree<Booking> tree : byCourtroom.values()) {
+                    List<Interval<Booking>> hits = tree.overlapping(windowFrom, windowTo);
+                    if (advocateId != null) {
+                        // A courtroom clash concerns the advocate when one of its hearings is theirs.
+                        boolean involved = hits.stream().anyMatch(i -> advocateId.equals(i.value().advocateId()));
+                        if (!involved) {
+                            continue;
+                        }
+                    }
+                    if (!hits.isEmpty()) {
+                        sweep(COURTROOM, hits.get(0).value().courtroomLabel(), hits, out, max);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        out.sort(Comparator.comparing((HearingConflict c) -> c.getHearing().getStart())
+                .thenComparing(c -> c.getConflictsWith().getStart()));
+        return out.size() > max ? new ArrayList<>(out.subList(0, max)) : out;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bookings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Pairs of overlapping intervals among {@code sorted} (ordered by start). */
+    private static void sweep(String kind, String resource, List<Interval<Booking>> sorted, List<HearingConflict> out,
+            int max) {
+        List<Booking> active = new ArrayList<>();
+        for (Interval<Booking> interval : sorted) {
+            Booking current = interval.value();
+            active.removeIf(b -> b.end() <= current.start());
+            for (Booking earlier : active) {
+                if (out.size() >= max) {
+                    return;
+                }
+                out.add(conflict(kind, resource, earlier, current));
+            }
+            active.add(current);
+        }
+    }
+
+    private List<HearingConflict> conflictsOf(Booking candidate) {
+        List<HearingConflict> conflicts = new ArrayList<>();
+        if (candidate.advocateId() != null) {
+            IntervalTree<Booking> tree = byAdvocate.get(candidate.advocateId());
+            if (tree != null) {
+                for (Interval<Booking> hit : tree.overlapping(candidate.start(), candidate.end())) {
+                    conflicts.add(conflict(ADVOCATE, "Advocate " + candidate.advocateId(), candidate, hit.value()));
+                }
+            }
+        }
+        if (candidate.courtroomKey() != null) {
+            IntervalTree<Booking> tree = byCourtroom.get(candidate.courtroomKey());
+            if (tree != null) {
+                for (Interval<Booking> hit : tree.overlapping(candidate.start(), candidate.end())) {
+                    conflicts.add(conflict(COURTROOM, candidate.courtroomLabel(), candidate, hit.value()));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private void add(Booking booking) {
+        if (touchedDuringReload != null) {
+            touchedDuringReload.add(booking.hearingId());
+        }
+        bookings.put(booking.hearingId(), booking);
+        if (booking.advocateId() != null) {
+            byAdvocate.computeIfAbsent(booking.advocateId(), k -> new IntervalTree<>())
+                    .insert(booking.start(), booking.end(), booking.hearingId(), booking);
+        }
+        if (booking.courtroomKey() != null) {
+            byCourtroom.computeIfAbsent(booking.courtroomKey(), k -> new IntervalTree<>())
+                    .insert(booking.start(), booking.end(), booking.hearingId(), booking);
+        }
+    }
+
+    private Booking remove(long hearingId) {
+        if (touchedDuringReload != null) {
+            touchedDuringReload.add(hearingId);
+        }
+        Booking booking = bookings.remove(hearingId);
+        if (booking == null) {
+            return null;
+        }
+        if (booking.advocateId() != null) {
+            removeFrom(byAdvocate, booking.advocateId(), booking);
+        }
+        if (booking.courtroomKey() != null) {
+            removeFrom(byCourtroom, booking.courtroomKey(), booking);
+        }
+        return booking;
+    }
+
+    private static <K> void removeFrom(Map<K, IntervalTree<Booking>> trees, K key, Booking booking) {
+        IntervalTree<Booking> tree = trees.get(key);
+        if (tree != null && tree.remove(booking.start(), booking.hearingId()) && tree.isEmpty()) {
+            trees.remove(key);
+        }
+    }
+
+    private Booking map(ResultSet rs) throws SQLException {
+        long start = minutes(rs.getTimestamp("hearing_date").toLocalDateTime());
+        int duration = rs.getInt("duration_minutes");
+        Long advocateId = rs.getObject("advocate_id") == null ? null : rs.getLong("advocate_id");
+        String courtName = rs.getString("court_name");
+        String courtroom = rs.getString("courtroom");
+        return new Booking(rs.getLong("hearing_id"), rs.getLong("case_id"), rs.getString("case_number"),
+                advocateId,
+                courtroomKey(courtName, courtroom), courtroomLabel(courtName, courtroom),
+                start, start + (duration > 0 ? duration : defaultDurationMinutes));
+    }
+
+    private Timestamp horizon() {
+        return Timestamp.valueOf(LocalDateTime.now().minusDays(retainDays));
+    }
+
+    private static HearingConflict conflict(String kind, String resource, Booking hearing, Booking other) {
+        return HearingConflict.builder()
+                .kind(kind)
+                .resource(resource)
+                .hearing(slot(hearing))
+                .conflictsWith(slot(other))
+                .build();
+    }
+
+    private static HearingSlot slot(Booking booking) {
+        return HearingSlot.builder()
+                .hearingId(booking.hearingId() > 0 ? booking.hearingId() : null)
+                .caseNumber(booking.caseNumber())
+                .start(time(booking.start()).toString())
+                .end(time(booking.end()).toString())
+                .build();
+    }
+
+    /** Courtrooms are only comparable within a court; no courtroom means no courtroom booking. */
+    static String courtroomKey(String courtName, String courtroom) {
+        if (courtroom == null || courtroom.isBlank()) {
+            return null;
+        }
+        return normalize(courtName) + "|" + normalize(courtroom);
+    }
+
+    private static String courtroomLabel(String courtName, String courtroom) {
+        if (courtroom == null || courtroom.isBlank()) {
+            return null;
+        }
+        return courtName == null || courtName.isBlank() ? courtroom.trim() : courtName.trim() + " – " + courtroom.trim();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime time(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+}
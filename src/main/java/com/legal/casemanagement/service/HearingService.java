@@ -1,22 +1,47 @@
 package com.legal.casemanagement.service;
 
 import com.legal.casemanagement.dto.HearingDtos.*;
+import com.legal.casemanagement.util.RowFormat;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
-import java.time.format.DateTimeFormatter;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 public class HearingService {
 
+    private static final int MAX_WINDOW_DAYS = 366;
+    private static final int DEFAULT_LIMIT_PER_BUCKET = 100;
+    private static final int MAX_LIMIT_PER_BUCKET = 500;
+    private static final List<String> GRANULARITIES = List.of("DAY", "WEEK", "MONTH");
+    private static final List<String> HEARING_STATUSES = List.of("SCHEDULED", "COMPLETED", "ADJOURNED", "CANCELLED");
+
     private final JdbcTemplate jdbcTemplate;
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private final CaseSummaryService caseSummaryService;
+    private final CaseChangeTracker caseChangeTracker;
+    private final CaseEventService caseEventService;
+    private final HearingConflictIndex hearingConflictIndex;
+    private final ReminderService reminderService;
 
-    public HearingService(JdbcTemplate jdbcTemplate) {
+    public HearingService(JdbcTemplate jdbcTemplate, CaseSummaryService caseSummaryService,
+            CaseChangeTracker caseChangeTracker, CaseEventService caseEventService,
+            HearingConflictIndex hearingConflictIndex, ReminderService reminderService) {
         this.jdbcTemplate = jdbcTemplate;
+        this.caseSummaryService = caseSummaryService;
+        this.caseChangeTracker = caseChangeTracker;
+        this.caseEventService = caseEventService;
+        this.hearingConflictIndex = hearingConflictIndex;
+        this.reminderService = reminderService;
     }
 
     public List<HearingListItem> getHearings(Long caseId, String status) {
@@ -57,26 +82,178 @@ public class HearingService {
         if (rows == 0)
             return null;
 
+        caseSummaryService.refreshForHearing(hearingId);
+        caseEventService.appendForHearing(hearingId, CaseEventService.HEARING_UPDATED,
+                "Hearing " + RowFormat.hearingStatusLabel(request.getStatus()), request.getRemarks());
+        caseChangeTracker.hearingChanged(hearingId);
+        hearingConflictIndex.hearingChanged(hearingId);
+        reminderService.hearingChanged(hearingId);
+
         return HearingUpdateResponse.builder()
                 .hearingId(hearingId)
                 .message("Hearing status updated to " + request.getStatus())
                 .build();
     }
 
+    /**
+     * Overlapping SCHEDULED hearings between {@code from} and {@code to} (yyyy-MM-dd, both
+     * inclusive; default the next 30 days), by advocate and by courtroom.
+     */
+    public List<HearingConflict> findConflicts(String from, String to, Long advocateUserId, String kind,
+            Integer limit) {
+        LocalDate start = parseDate(from, LocalDate.now(), "from");
+        LocalDate end = parseDate(to, start.plusDays(30), "to");
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Window can span at most " + MAX_WINDOW_DAYS + " days");
+        }
+        String normalizedKind = kind == null || kind.isBlank() ? null : kind.trim().toUpperCase(Locale.ROOT);
+        if (normalizedKind != null && !HearingConflictIndex.ADVOCATE.equals(normalizedKind)
+                && !HearingConflictIndex.COURTROOM.equals(normalizedKind)) {
+            throw new IllegalArgumentException("kind must be ADVOCATE or COURTROOM");
+        }
+        Long advocateId = null;
+        if (advocateUserId != null) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT advocate_id FROM advocates WHERE user_id = ? LIMIT 1",
+                    Long.class, advocateUserId);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            advocateId = ids.get(0);
+        }
+        return hearingConflictIndex.findConflicts(start.atStartOfDay(), end.plusDays(1).atStartOfDay(), advocateId,
+                normalizedKind, limit == null ? 200 : limit);
+    }
+
+    /**
+     * Hearings from {@code from} to {@code to} (yyyy-MM-dd, both inclusive; default the
+     * current month) bucketed by day, week (Monday to Sunday) or month, optionally only one
+     * advocate's or one court's. Empty buckets are included, so the result maps straight
+     * onto calendar cells. One range query on {@code idx_hearing_date}, in date order, does
+     * the read; the bucketing happens as rows stream in.
+     */
+    public HearingCalendar getCalendar(String from, String to, String granularity, Long advocateUserId,
+            String court, String status, Integer limitPerBucket) {
+        LocalDate start = parseDate(from, LocalDate.now().withDayOfMonth(1), "from");
+        LocalDate end = parseDate(to, start.withDayOfMonth(start.lengthOfMonth()), "to");
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Window can span at most " + MAX_WINDOW_DAYS + " days");
+        }
+        String unit = granularity == null || granularity.isBlank() ? "DAY"
+                : granularity.trim().toUpperCase(Locale.ROOT);
+        if (!GRANULARITIES.contains(unit)) {
+            throw new IllegalArgumentException("granularity must be DAY, WEEK or MONTH");
+        }
+        String statusFilter = status == null || status.isBlank() ? null : status.trim().toUpperCase(Locale.ROOT);
+        if (statusFilter != null && !HEARING_STATUSES.contains(statusFilter)) {
+            throw new IllegalArgumentException("Unknown hearing status: " + status);
+        }
+        int perBucket = limitPerBucket == null ? DEFAULT_LIMIT_PER_BUCKET
+                : Math.max(0, Math.min(MAX_LIMIT_PER_BUCKET, limitPerBucket));
+
+        List<HearingCalendarBucket> buckets = new ArrayList<>();
+        for (LocalDate bucketStart = start; !bucketStart.isAfter(end); ) {
+            LocalDate next = nextBucket(bucketStart, unit);
+            LocalDate bucketEnd = next.minusDays(1).isAfter(end) ? end : next.minusDays(1);
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            HEARING_STATUSES.forEach(s -> statusCounts.put(s, 0L));
+            buckets.add(HearingCalendarBucket.builder()
+                    .start(RowFormat.date(bucketStart))
+                    .end(RowFormat.date(bucketEnd))
+                    .statusCounts(statusCounts)
+                    .hearings(new ArrayList<>())
+                    .build());
+            bucketStart = next;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT h.hearing_id, c.case_number, c.case_title, h.hearing_date, " +
+                        "h.hearing_type, h.courtroom, h.status, h.remarks " +
+                        "FROM hearings h " +
+                        "JOIN cases c ON h.case_id = c.case_id " +
+                        "WHERE h.hearing_date >= ? AND h.hearing_date < ?");
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(start.atStartOfDay()),
+                Timestamp.valueOf(end.plusDays(1).atStartOfDay())));
+        if (advocateUserId != null) {
+            sql.append(" AND c.advocate_id IN (SELECT advocate_id FROM advocates WHERE user_id = ?)");
+            args.add(advocateUserId);
+        }
+        if (court != null && !court.isBlank()) {
+            sql.append(" AND c.court_name = ?");
+            args.add(court.trim());
+        }
+        if (statusFilter != null) {
+            sql.append(" AND h.status = ?");
+            args.add(statusFilter);
+        }
+        sql.append(" ORDER BY h.hearing_date ASC, h.hearing_id ASC");
+
+        long[] total = { 0 };
+        jdbcTemplate.query(sql.toString(), rs -> {
+            LocalDate day = rs.getTimestamp("hearing_date").toLocalDateTime().toLocalDate();
+            HearingCalendarBucket bucket = buckets.get(bucketIndex(start, day, unit));
+            bucket.setCount(bucket.getCount() + 1);
+            bucket.getStatusCounts().merge(rs.getString("status"), 1L, Long::sum);
+            if (bucket.getHearings().size() < perBucket) {
+                bucket.getHearings().add(mapItem(rs));
+            } else {
+                bucket.setTruncated(true);
+            }
+            total[0]++;
+        }, args.toArray());
+
+        return HearingCalendar.builder()
+                .from(RowFormat.date(start))
+                .to(RowFormat.date(end))
+                .granularity(unit)
+                .total(total[0])
+                .buckets(buckets)
+                .build();
+    }
+
+    /** First day of the bucket after the one containing {@code day}. */
+    private static LocalDate nextBucket(LocalDate day, String unit) {
+        return switch (unit) {
+            case "WEEK" -> day.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            case "MONTH" -> day.withDayOfMonth(1).plusMonths(1);
+            default -> day.plusDays(1);
+        };
+    }
+
+    /** Position of {@code day}'s bucket in a window that starts at {@code start}. */
+    static int bucketIndex(LocalDate start, LocalDate day, String unit) {
+        return (int) switch (unit) {
+            case "WEEK" -> ChronoUnit.WEEKS.between(start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    day);
+            case "MONTH" -> ChronoUnit.MONTHS.between(start.withDayOfMonth(1), day.withDayOfMonth(1));
+            default -> ChronoUnit.DAYS.between(start, day);
+        };
+    }
+
+    private static LocalDate parseDate(String value, LocalDate fallback, String name) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date (yyyy-MM-dd)");
+        }
+    }
+
     private HearingListItem mapItem(java.sql.ResultSet rs) throws java.sql.SQLException {
         Timestamp hearingDate = rs.getTimestamp("hearing_date");
-        String dateStr = "";
-        String timeStr = "";
-        if (hearingDate != null) {
-            dateStr = DATE_FORMAT.format(hearingDate.toLocalDateTime());
-            timeStr = TIME_FORMAT.format(hearingDate.toLocalDateTime());
-        }
         return HearingListItem.builder()
                 .hearingId(rs.getLong("hearing_id"))
                 .caseNumber(rs.getString("case_number"))
                 .caseTitle(rs.getString("case_title"))
-                .hearingDate(dateStr)
-                .hearingTime(timeStr)
+                .hearingDate(RowFormat.date(hearingDate))
+                .hearingTime(RowFormat.time(hearingDate))
                 .hearingType(rs.getString("hearing_type"))
                 .courtroom(rs.getString("courtroom"))
                 .status(rs.getString("status"))
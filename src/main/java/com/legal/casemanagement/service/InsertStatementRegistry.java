@@ -0,0 +1,166 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.ReportDtos.InsertStatementStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The application's single-row INSERTs, declared once with a fixed column list and compiled
+ * at startup. A compiled {@link SimpleJdbcInsert} is thread-safe and never reads table
+ * metadata again, so write paths no longer pay a metadata round trip per request.
+ * <p>
+ * Columns are declared rather than discovered: any column a statement does not list keeps
+ * its database default ({@code created_at}, {@code cases.version}, ...). Value maps must
+ * use the declared column names; a missing key is written as NULL.
+ */
+@Component
+public class InsertStatementRegistry {
+
+    public static final String CASES = "cases";
+    public static final String DOCUMENTS = "documents";
+    public static final String HEARINGS = "hearings";
+    public static final String MESSAGES = "messages";
+    public static final String TASKS = "tasks";
+    public static final String INVOICES = "invoices";
+    public static final String LEGAL_NOTICES = "legal_notices";
+    public static final String USERS = "users";
+    public static final String CLIENTS = "clients";
+    public static final String DOCUMENT_PACKS = "document_packs";
+
+    private static final Logger log = LoggerFactory.getLogger(InsertStatementRegistry.class);
+
+    private final Map<String, Statement> statements;
+
+    public InsertStatementRegistry(JdbcTemplate jdbcTemplate) {
+        Map<String, Statement> map = new LinkedHashMap<>();
+        register(map, jdbcTemplate, CASES, "case_id",
+                "case_number", "case_title", "case_type", "client_id", "advocate_id", "court_name", "court_type",
+                "filing_date", "priority", "description", "opposing_party", "judge_name", "status");
+        register(map, jdbcTemplate, DOCUMENTS, "document_id",
+                "case_id", "document_name", "document_type", "file_path", "file_size", "uploaded_by",
+                "description", "content_hash");
+        register(map, jdbcTemplate, HEARINGS, "hearing_id",
+                "case_id", "hearing_date", "duration_minutes", "courtroom", "hearing_type", "status", "remarks");
+        register(map, jdbcTemplate, MESSAGES, "message_id",
+                "case_id", "sender_id", "recipient_id", "subject", "message_text", "is_read");
+        register(map, jdbcTemplate, TASKS, "task_id",
+                "case_id", "assigned_to", "task_title", "description", "due_date", "priority", "status",
+                "created_by");
+        register(map, jdbcTemplate, INVOICES, "invoice_id",
+                "invoice_number", "case_id", "client_id", "invoice_date", "due_date", "amount", "tax", "discount",
+                "total_amount", "status", "notes");
+        register(map, jdbcTemplate, LEGAL_NOTICES, "notice_id",
+                "case_id", "notice_type", "recipient_name", "recipient_address", "content", "sent_date", "status");
+        register(map, jdbcTemplate, USERS, "user_id",
+                "name", "email", "password", "role", "phone", "address", "status", "created_at", "updated_at");
+        register(map, jdbcTemplate, CLIENTS, "client_id",
+                "user_id", "address", "company_name", "gstin", "pan_number", "client_type");
+        register(map, jdbcTemplate, DOCUMENT_PACKS, "pack_id",
+                "file_path", "blob_count", "raw_bytes", "packed_bytes");
+        this.statements = Collections.unmodifiableMap(map);
+    }
+
+    private static void register(Map<String, Statement> map, JdbcTemplate jdbcTemplate, String table,
+            String keyColumn, String... columns) {
+        // Column list is fixed, so only the connection's generated-key support is looked up.
+        SimpleJdbcInsert insert = new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName(table)
+                .usingColumns(columns)
+                .usingGeneratedKeyColumns(keyColumn)
+                .withoutTableColumnMetaDataAccess();
+        map.put(table, new Statement(table, insert));
+    }
+
+    @PostConstruct
+    public void compile() {
+        try {
+            for (Statement statement : statements.values()) {
+                statement.insert.compile();
+            }
+        } catch (DataAccessException e) {
+            // Left uncompiled statements compile on first use instead.
+            log.warn("Insert statements not precompiled: {}", e.getMessage());
+        }
+    }
+
+    /** Inserts one row and returns its generated key. */
+    public Number insertAndReturnKey(String table, Map<String, ?> values) {
+        Statement statement = statement(table);
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            Number key = statement.insert.executeAndReturnKey(values);
+            ok = true;
+            return key;
+        } finally {
+            statement.record(start, 1, ok);
+        }
+    }
+
+    public List<InsertStatementStats> stats() {
+        List<InsertStatementStats> stats = new ArrayList<>(statements.size());
+        for (Statement statement : statements.values()) {
+            long executions = statement.executions.sum();
+            long totalNanos = statement.totalNanos.sum();
+            stats.add(InsertStatementStats.builder()
+                    .table(statement.table)
+                    .sql(statement.insert.isCompiled() ? statement.insert.getInsertString() : null)
+                    .executions(executions)
+                    .rows(statement.rows.sum())
+                    .errors(statement.errors.sum())
+                    .avgMicros(executions == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos / executions))
+                    .maxMicros(TimeUnit.NANOSECONDS.toMicros(statement.maxNanos.get()))
+                    .build());
+        }
+        return stats;
+    }
+
+    private Statement statement(String table) {
+        Statement statement = statements.get(table);
+        if (statement == null) {
+            throw new IllegalArgumentException("No insert statement registered for " + table);
+        }
+        return statement;
+    }
+
+    private static final class Statement {
+        private final String table;
+        private final SimpleJdbcInsert insert;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private Statement(String table, SimpleJdbcInsert insert) {
+            this.table = table;
+            this.insert = insert;
+        }
+
+        private void record(long start, int rowCount, boolean ok) {
+            long elapsed = System.nanoTime() - start;
+            executions.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulate(elapsed);
+            if (ok) {
+                rows.add(rowCount);
+            } else {
+                errors.increment();
+            }
+        }
+    }
+}
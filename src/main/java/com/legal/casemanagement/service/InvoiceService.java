@@ -1,14 +1,12 @@
 package com.legal.casemanagement.service;
 
 import com.legal.casemanagement.dto.InvoiceDtos.*;
+import com.legal.casemanagement.util.RowFormat;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.sql.Date;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,10 +15,19 @@ import java.util.Map;
 public class InvoiceService {
 
     private final JdbcTemplate jdbcTemplate;
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-    public InvoiceService(JdbcTemplate jdbcTemplate) {
+    private final NumberSequenceService numberSequenceService;
+    private final CaseEventService caseEventService;
+    private final CaseChangeTracker caseChangeTracker;
+    private final InsertStatementRegistry insertStatements;
+
+    public InvoiceService(JdbcTemplate jdbcTemplate, NumberSequenceService numberSequenceService,
+            CaseEventService caseEventService, CaseChangeTracker caseChangeTracker,
+            InsertStatementRegistry insertStatements) {
         this.jdbcTemplate = jdbcTemplate;
+        this.numberSequenceService = numberSequenceService;
+        this.caseEventService = caseEventService;
+        this.caseChangeTracker = caseChangeTracker;
+        this.insertStatements = insertStatements;
     }
 
     public List<InvoiceListItem> getInvoices(Long caseId, Long clientId) {
@@ -60,8 +67,8 @@ public class InvoiceService {
                 .caseNumber(rs.getString("case_number"))
                 .caseTitle(rs.getString("case_title"))
                 .clientName(rs.getString("client_name"))
-                .invoiceDate(formatDate(rs.getDate("invoice_date")))
-                .dueDate(formatDate(rs.getDate("due_date")))
+                .invoiceDate(RowFormat.date(rs.getDate("invoice_date")))
+                .dueDate(RowFormat.date(rs.getDate("due_date")))
                 .amount(rs.getBigDecimal("amount"))
                 .tax(rs.getBigDecimal("tax"))
                 .discount(rs.getBigDecimal("discount"))
@@ -95,15 +102,11 @@ public class InvoiceService {
         if (clientId == null)
             return null;
 
-        String invoiceNumber = generateInvoiceNumber();
+        String invoiceNumber = numberSequenceService.nextInvoiceNumber();
         BigDecimal tax = request.getTax() != null ? request.getTax() : BigDecimal.ZERO;
         BigDecimal discount = request.getDiscount() != null ? request.getDiscount() : BigDecimal.ZERO;
         BigDecimal total = request.getAmount().add(tax).subtract(discount);
 
-        SimpleJdbcInsert insert = new SimpleJdbcInsert(jdbcTemplate)
-                .withTableName("invoices")
-                .usingGeneratedKeyColumns("invoice_id");
-
         Map<String, Object> params = new HashMap<>();
         params.put("invoice_number", invoiceNumber);
         params.put("case_id", caseId);
@@ -118,7 +121,10 @@ public class InvoiceService {
         params.put("status", "DRAFT");
         params.put("notes", request.getNotes());
 
-        Number key = insert.executeAndReturnKey(params);
+        Number key = insertStatements.insertAndReturnKey(InsertStatementRegistry.INVOICES, params);
+        caseEventService.append(caseId, CaseEventService.INVOICE_CREATED, "Invoice Created", invoiceNumber,
+                key.longValue());
+        caseChangeTracker.caseChanged(caseId);
         return InvoiceResponse.builder()
                 .invoiceId(key.longValue())
                 .invoiceNumber(invoiceNumber)
@@ -132,36 +138,17 @@ public class InvoiceService {
         return rows > 0;
     }
 
-    private String generateInvoiceNumber() {
-        String year = String.valueOf(LocalDate.now().getYear());
-        String prefix = "INV-" + year + "-";
-        int suffixStart = prefix.length() + 1;
-        Integer max = jdbcTemplate.queryForObject(
-                "SELECT COALESCE(MAX(CAST(SUBSTRING(invoice_number, " + suffixStart + ") AS UNSIGNED)), 0) " +
-                        "FROM invoices WHERE invoice_number LIKE ?",
-                Integer.class,
-                prefix + "%");
-        int next = (max != null ? max : 0) + 1;
-        return prefix + String.format("%04d", next);
-    }
-
     private InvoiceListItem mapListItem(java.sql.ResultSet rs) throws java.sql.SQLException {
         return InvoiceListItem.builder()
                 .invoiceId(rs.getLong("invoice_id"))
                 .invoiceNumber(rs.getString("invoice_number"))
                 .caseNumber(rs.getString("case_number"))
                 .clientName(rs.getString("client_name"))
-                .invoiceDate(formatDate(rs.getDate("invoice_date")))
-                .dueDate(formatDate(rs.getDate("due_date")))
+                .invoiceDate(RowFormat.date(rs.getDate("invoice_date")))
+                .dueDate(RowFormat.date(rs.getDate("due_date")))
                 .amount(rs.getBigDecimal("amount"))
                 .totalAmount(rs.getBigDecimal("total_amount"))
                 .status(rs.getString("status"))
                 .build();
     }
-
-    private String formatDate(Date date) {
-        if (date == null)
-            return "";
-        return DATE_FORMAT.format(date.toLocalDate());
-    }
 }
@@ -1,21 +1,24 @@
 package com.legal.casemanagement.service;
 
 import com.legal.casemanagement.dto.MessageDtos.*;
+import com.legal.casemanagement.util.RowFormat;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import java.sql.Timestamp;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Service
 public class MessageService {
 
     private final JdbcTemplate jdbcTemplate;
-    private static final DateTimeFormatter DT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private final CaseEventService caseEventService;
+    private final CaseChangeTracker caseChangeTracker;
 
-    public MessageService(JdbcTemplate jdbcTemplate) {
+    public MessageService(JdbcTemplate jdbcTemplate, CaseEventService caseEventService,
+            CaseChangeTracker caseChangeTracker) {
         this.jdbcTemplate = jdbcTemplate;
+        this.caseEventService = caseEventService;
+        this.caseChangeTracker = caseChangeTracker;
     }
 
     // ─────────────────── Inbox / Sent ───────────────────────
@@ -41,7 +44,7 @@ public class MessageService {
                     .subject(rs.getString("subject"))
                     .preview(preview)
                     .read(rs.getBoolean("is_read"))
-                    .sentAt(formatTs(rs.getTimestamp("sent_at")))
+                    .sentAt(RowFormat.dateTime(rs.getTimestamp("sent_at")))
                     .build();
         }, userId);
     }
@@ -67,7 +70,7 @@ public class MessageService {
                     .subject(rs.getString("subject"))
                     .preview(preview)
                     .read(rs.getBoolean("is_read"))
-                    .sentAt(formatTs(rs.getTimestamp("sent_at")))
+                    .sentAt(RowFormat.dateTime(rs.getTimestamp("sent_at")))
                     .build();
         }, userId);
     }
@@ -189,7 +192,7 @@ public class MessageService {
                 .role(rs.getString("role"))
                 .unreadCount(rs.getInt("unread_count"))
                 .lastMessage(lastMsg)
-                .lastMessageAt(formatTs(rs.getTimestamp("last_at")))
+                .lastMessageAt(RowFormat.dateTime(rs.getTimestamp("last_at")))
                 .build();
     }
 
@@ -205,7 +208,13 @@ public class MessageService {
                 req.getRecipientId(),
                 req.getSubject(),
                 req.getMessageText());
-        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        Long messageId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        if (req.getCaseId() != null) {
+            caseEventService.append(req.getCaseId(), CaseEventService.MESSAGE_SENT, "Message Sent",
+                    req.getSubject(), messageId);
+            caseChangeTracker.caseChanged(req.getCaseId());
+        }
+        return messageId;
     }
 
     // ─────────────────── Conversation Thread ────────────────
@@ -234,17 +243,9 @@ public class MessageService {
                 .senderId(rs.getLong("sender_id"))
                 .senderName(rs.getString("sender_name"))
                 .messageText(rs.getString("message_text"))
-                .sentAt(formatTs(rs.getTimestamp("sent_at")))
+                .sentAt(RowFormat.dateTime(rs.getTimestamp("sent_at")))
                 .read(rs.getBoolean("is_read"))
                 .build(),
                 userId, otherId, otherId, userId);
     }
-
-    // ─────────────────── Utility ────────────────────────────
-
-    private String formatTs(Timestamp ts) {
-        if (ts == null)
-            return "";
-        return DT_FORMAT.format(ts.toLocalDateTime());
-    }
 }
@@ -1,12 +1,10 @@
 package com.legal.casemanagement.service;
 
 import com.legal.casemanagement.dto.NoticeDtos.*;
+import com.legal.casemanagement.util.RowFormat;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Service;
 
-import java.sql.Date;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,10 +13,16 @@ import java.util.Map;
 public class NoticeService {
 
     private final JdbcTemplate jdbcTemplate;
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private final CaseEventService caseEventService;
+    private final CaseChangeTracker caseChangeTracker;
+    private final InsertStatementRegistry insertStatements;
 
-    public NoticeService(JdbcTemplate jdbcTemplate) {
+    public NoticeService(JdbcTemplate jdbcTemplate, CaseEventService caseEventService,
+            CaseChangeTracker caseChangeTracker, InsertStatementRegistry insertStatements) {
         this.jdbcTemplate = jdbcTemplate;
+        this.caseEventService = caseEventService;
+        this.caseChangeTracker = caseChangeTracker;
+        this.insertStatements = insertStatements;
     }
 
     public List<NoticeListItem> getNotices(Long caseId) {
@@ -51,7 +55,7 @@ public class NoticeService {
                 .recipientName(rs.getString("recipient_name"))
                 .recipientAddress(rs.getString("recipient_address"))
                 .content(rs.getString("content"))
-                .sentDate(formatDate(rs.getDate("sent_date")))
+                .sentDate(RowFormat.date(rs.getDate("sent_date")))
                 .status(rs.getString("status"))
                 .build(), noticeId);
 
@@ -75,10 +79,6 @@ public class NoticeService {
         if (caseId == null)
             return null;
 
-        SimpleJdbcInsert insert = new SimpleJdbcInsert(jdbcTemplate)
-                .withTableName("legal_notices")
-                .usingGeneratedKeyColumns("notice_id");
-
         Map<String, Object> params = new HashMap<>();
         params.put("case_id", caseId);
         params.put("notice_type", request.getNoticeType() != null ? request.getNoticeType() : "OTHER");
@@ -88,7 +88,10 @@ public class NoticeService {
         params.put("sent_date", request.getSentDate());
         params.put("status", "DRAFT");
 
-        Number key = insert.executeAndReturnKey(params);
+        Number key = insertStatements.insertAndReturnKey(InsertStatementRegistry.LEGAL_NOTICES, params);
+        caseEventService.append(caseId, CaseEventService.NOTICE_CREATED, "Legal Notice Created",
+                request.getRecipientName(), key.longValue());
+        caseChangeTracker.caseChanged(caseId);
         return NoticeResponse.builder()
                 .noticeId(key.longValue())
                 .message("Notice created successfully")
@@ -108,14 +111,8 @@ public class NoticeService {
                 .caseTitle(rs.getString("case_title"))
                 .noticeType(rs.getString("notice_type"))
                 .recipientName(rs.getString("recipient_name"))
-                .sentDate(formatDate(rs.getDate("sent_date")))
+                .sentDate(RowFormat.date(rs.getDate("sent_date")))
                 .status(rs.getString("status"))
                 .build();
     }
-
-    private String formatDate(Date date) {
-        if (date == null)
-            return "";
-        return DATE_FORMAT.format(date.toLocalDate());
-    }
 }
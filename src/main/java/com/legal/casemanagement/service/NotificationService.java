@@ -0,0 +1,46 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.NotificationDtos.NotificationItem;
+import com.legal.casemanagement.util.RowFormat;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/** A user's in-app notifications (currently the reminders written by {@link ReminderService}). */
+@Service
+public class NotificationService {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Newest first; {@code unreadOnly} leaves out those already read. */
+    public List<NotificationItem> getNotifications(Long userId, boolean unreadOnly, Integer limit) {
+        int max = limit == null ? 50 : Math.max(1, Math.min(MAX_LIMIT, limit));
+        String sql = "SELECT n.notification_id, n.kind, n.source_id, c.case_number, n.title, n.body, n.due_at, " +
+                "n.is_read, n.created_at FROM notifications n LEFT JOIN cases c ON c.case_id = n.case_id " +
+                "WHERE n.user_id = ? " + (unreadOnly ? "AND n.is_read = FALSE " : "") +
+                "ORDER BY n.created_at DESC, n.notification_id DESC LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> NotificationItem.builder()
+                .notificationId(rs.getLong("notification_id"))
+                .kind(rs.getString("kind"))
+                .sourceId(rs.getLong("source_id"))
+                .caseNumber(rs.getString("case_number"))
+                .title(rs.getString("title"))
+                .body(rs.getString("body"))
+                .dueAt(RowFormat.dateTime(rs.getTimestamp("due_at")))
+                .read(rs.getBoolean("is_read"))
+                .createdAt(RowFormat.dateTime(rs.getTimestamp("created_at")))
+                .build(), userId, max);
+    }
+
+    public boolean markAsRead(Long notificationId) {
+        return jdbcTemplate.update("UPDATE notifications SET is_read = TRUE, read_at = COALESCE(read_at, NOW()) " +
+                "WHERE notification_id = ?", notificationId) > 0;
+    }
+}
@@ -0,0 +1,167 @@
+package com.legal.casemanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Allocates human-readable document numbers (case and invoice numbers) from the
+ * {@code number_sequences} table, one row per sequence and year.
+ * <p>
+ * Each node reserves a block of values in a short transaction of its own and then hands
+ * them out from memory with a single atomic increment, so allocation does not scan the
+ * owning table and concurrent creates can never draw the same value. Values reserved by a
+ * node that shuts down are not reused, which can leave gaps in the numbering.
+ */
+@Service
+public class NumberSequenceService {
+
+    static final String CASE_SEQUENCE = "CASE";
+    static final String INVOICE_SEQUENCE = "INVOICE";
+
+    /** Case numbers in the format {@link #nextCaseNumber()} issues: year and sequence value. */
+    static final Pattern CASE_NUMBER = Pattern.compile("LC-(\\d{4})-(\\d{1,15})");
+
+    private static final Map<String, String> SEED_QUERIES = Map.of(
+            CASE_SEQUENCE,
+            "SELECT COALESCE(MAX(CAST(SUBSTRING(case_number, ?) AS UNSIGNED)), 0) FROM cases " +
+                    "WHERE case_number LIKE ?",
+            INVOICE_SEQUENCE,
+            "SELECT COALESCE(MAX(CAST(SUBSTRING(invoice_number, ?) AS UNSIGNED)), 0) FROM invoices " +
+                    "WHERE invoice_number LIKE ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+    private final Map<String, AtomicReference<Block>> blocks = new ConcurrentHashMap<>();
+
+    public NumberSequenceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${number.sequence.block-size:20}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    /** Next case number, e.g. {@code LC-2025-007}. */
+    public String nextCaseNumber() {
+        int year = LocalDate.now().getYear();
+        String prefix = "LC-" + year + "-";
+        return prefix + String.format("%03d", next(CASE_SEQUENCE, year, prefix));
+    }
+
+    /** Next invoice number, e.g. {@code INV-2025-0042}. */
+    public String nextInvoiceNumber() {
+        int year = LocalDate.now().getYear();
+        String prefix = "INV-" + year + "-";
+        return prefix + String.format("%04d", next(INVOICE_SEQUENCE, year, prefix));
+    }
+
+    /**
+     * Claims case numbers chosen outside the sequence (e.g. by an import), given as the
+     * highest claimed value per year. Each year's sequence is moved past that value so it is
+     * never issued again. Returns each year's next value before the claim: claimed numbers
+     * below it may already be issued, or sit in a block a node has reserved, and must not be used.
+     */
+    public Map<Integer, Long> claimCaseNumbers(Map<Integer, Long> highestByYear) {
+        Map<Integer, Long> nextByYear = reserveTransaction.execute(status -> {
+            Map<Integer, Long> previous = new HashMap<>();
+            // Rows are locked in year order so concurrent claims cannot deadlock.
+            new TreeMap<>(highestByYear).forEach((year, highest) -> {
+                Long next = lockNextValue(CASE_SEQUENCE, year);
+                if (next == null) {
+                    seed(CASE_SEQUENCE, year, "LC-" + year + "-");
+                    next = lockNextValue(CASE_SEQUENCE, year);
+                }
+                if (next == null) {
+                    throw new IllegalStateException("Unable to claim numbers for sequence " + CASE_SEQUENCE);
+                }
+                if (highest >= next) {
+                    jdbcTemplate.update("UPDATE number_sequences SET next_value = ? " +
+                            "WHERE seq_name = ? AND seq_year = ?", highest + 1, CASE_SEQUENCE, year);
+                }
+                previous.put(year, next);
+            });
+            return previous;
+        });
+        return nextByYear != null ? nextByYear : Map.of();
+    }
+
+    long next(String sequence, int year, String prefix) {
+        AtomicReference<Block> current = blocks.computeIfAbsent(sequence + ":" + year,
+                k -> new AtomicReference<>());
+        while (true) {
+            Block block = current.get();
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            synchronized (current) {
+                // Another thread may have refilled while this one waited.
+                if (current.get() == block) {
+                    current.set(reserve(sequence, year, prefix));
+                }
+            }
+        }
+    }
+
+    private Block reserve(String sequence, int year, String prefix) {
+        Long start = reserveTransaction.execute(status -> {
+            Long next = lockNextValue(sequence, year);
+            if (next == null) {
+                seed(sequence, year, prefix);
+                next = lockNextValue(sequence, year);
+            }
+            jdbcTemplate.update("UPDATE number_sequences SET next_value = next_value + ? " +
+                    "WHERE seq_name = ? AND seq_year = ?", blockSize, sequence, year);
+            return next;
+        });
+        if (start == null) {
+            throw new IllegalStateException("Unable to reserve numbers for sequence " + sequence);
+        }
+        return new Block(start, start + blockSize);
+    }
+
+    private Long lockNextValue(String sequence, int year) {
+        List<Long> values = jdbcTemplate.queryForList(
+                "SELECT next_value FROM number_sequences WHERE seq_name = ? AND seq_year = ? FOR UPDATE",
+                Long.class, sequence, year);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Creates the row for a new sequence/year, continuing after the highest number already
+     * issued under the old scan-based scheme. INSERT IGNORE lets concurrent nodes race here.
+     */
+    private void seed(String sequence, int year, String prefix) {
+        Long max = jdbcTemplate.queryForObject(SEED_QUERIES.get(sequence), Long.class,
+                prefix.length() + 1, prefix + "%");
+        jdbcTemplate.update("INSERT IGNORE INTO number_sequences (seq_name, seq_year, next_value) " +
+                "VALUES (?, ?, ?)", sequence, year, (max != null ? max : 0) + 1);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
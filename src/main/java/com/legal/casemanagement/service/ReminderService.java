@@ -0,0 +1,293 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.NotificationDtos.ReminderStats;
+import com.legal.casemanagement.util.RowFormat;
+import com.legal.casemanagement.util.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Raises in-app reminders (rows in {@code notifications}) ahead of scheduled hearings and
+ * open tasks' due dates, at the configured lead times.
+ * <p>
+ * Pending reminders live in a {@link TimingWheel}, loaded once at startup and then kept
+ * current by the hearing and task write paths ({@link #hearingChanged}, {@link #taskChanged});
+ * nothing polls the tables. One thread advances the wheel every tick and writes what came
+ * due. Each write re-checks the source row (still scheduled or open, same due time) and the
+ * table's unique key makes a repeated reminder a no-op, so a stale timer or a restart never
+ * produces a wrong or duplicate notification. For the same reason a write that fails (say,
+ * the database is unreachable) is simply put back on the wheel, with a delay that doubles up
+ * to a minute, until it succeeds or the hearing or task is due.
+ * <p>
+ * When lead times have already passed (say, a hearing booked for later today), only the
+ * shortest passed lead fires, at once.
+ */
+@Service
+public class ReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderService.class);
+
+    public static final String HEARING = "HEARING_REMINDER";
+    public static final String TASK = "TASK_REMINDER";
+
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final String HEARING_INSERT =
+            "INSERT IGNORE INTO notifications (user_id, case_id, kind, source_id, due_at, lead_minutes, title, body) " +
+                    "SELECT a.user_id, c.case_id, 'HEARING_REMINDER', h.hearing_id, h.hearing_date, ?, " +
+                    "CONCAT(?, ' – ', c.case_number), " +
+                    "CONCAT(c.case_title, COALESCE(CONCAT(' – ', COALESCE(h.courtroom, c.court_name)), '')) " +
+                    "FROM hearings h JOIN cases c ON c.case_id = h.case_id " +
+                    "JOIN advocates a ON a.advocate_id = c.advocate_id " +
+                    "WHERE h.hearing_id = ? AND h.status = 'SCHEDULED' AND h.hearing_date = ?";
+    private static final String TASK_INSERT =
+            "INSERT IGNORE INTO notifications (user_id, case_id, kind, source_id, due_at, lead_minutes, title, body) " +
+                    "SELECT COALESCE(t.assigned_to, a.user_id), c.case_id, 'TASK_REMINDER', t.task_id, t.due_date, ?, " +
+                    "CONCAT(?, ' – ', c.case_number), t.task_title " +
+                    "FROM tasks t JOIN cases c ON c.case_id = t.case_id " +
+                    "JOIN advocates a ON a.advocate_id = c.advocate_id " +
+                    "WHERE t.task_id = ? AND t.status IN ('PENDING', 'IN_PROGRESS') AND t.due_date = ?";
+
+    /**
+     * One reminder of one hearing or task; {@code dueAt} is what the source row must still say.
+     * {@code retries} counts failed writes so far.
+     */
+    record Reminder(String kind, long sourceId, LocalDateTime dueAt, int leadMinutes, int retries) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int[] hearingLeads;
+    private final int[] taskLeads;
+    private final long tickMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Object lock = new Object();
+    private final TimingWheel<Reminder> wheel;
+    // Live timers per source ("HEARING_REMINDER:42"), so a change cancels the old ones in O(1).
+    private final Map<String, List<TimingWheel.Timer<Reminder>>> timers = new HashMap<>();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread driver;
+    private volatile boolean running = true;
+
+    public ReminderService(JdbcTemplate jdbcTemplate,
+            @Value("${reminder.hearing.lead-minutes:1440,60}") int[] hearingLeads,
+            @Value("${reminder.task.lead-minutes:1440,60}") int[] taskLeads,
+            @Value("${reminder.tick-ms:1000}") long tickMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hearingLeads = normalize(hearingLeads);
+        this.taskLeads = normalize(taskLeads);
+        this.tickMillis = Math.max(10, tickMillis);
+        this.wheel = new TimingWheel<>(this.tickMillis, System.currentTimeMillis());
+        this.driver = new Thread(this::drive, "reminder-wheel");
+        this.driver.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            load();
+        } catch (DataAccessException e) {
+            log.warn("Reminders not loaded: {}", e.getMessage());
+        }
+        driver.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        driver.interrupt();
+    }
+
+    /** Re-reads a hearing after it was scheduled or its status changed. */
+    public void hearingChanged(long hearingId) {
+        List<Timestamp> due = jdbcTemplate.queryForList(
+                "SELECT hearing_date FROM hearings WHERE hearing_id = ? AND status = 'SCHEDULED'", Timestamp.class,
+                hearingId);
+        reschedule(HEARING, hearingId, due.isEmpty() || due.get(0) == null ? null : due.get(0).toLocalDateTime());
+    }
+
+    /** Re-reads a task after it was created or its status changed. */
+    public void taskChanged(long taskId) {
+        List<Timestamp> due = jdbcTemplate.queryForList(
+                "SELECT due_date FROM tasks WHERE task_id = ? AND status IN ('PENDING', 'IN_PROGRESS')",
+                Timestamp.class, taskId);
+        reschedule(TASK, taskId, due.isEmpty() || due.get(0) == null ? null : due.get(0).toLocalDateTime());
+    }
+
+    public ReminderStats getStats() {
+        synchronized (lock) {
+            return ReminderStats.builder()
+                    .pendingTimers(wheel.size())
+                    .trackedItems(timers.size())
+                    .delivered(delivered.get())
+                    .skipped(skipped.get())
+                    .failed(failed.get())
+                    .build();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.query("SELECT hearing_id, hearing_date FROM hearings " +
+                "WHERE status = 'SCHEDULED' AND hearing_date > ?",
+                rs -> {
+                    reschedule(HEARING, rs.getLong("hearing_id"), rs.getTimestamp("hearing_date").toLocalDateTime());
+                }, now);
+        jdbcTemplate.query("SELECT task_id, due_date FROM tasks " +
+                "WHERE status IN ('PENDING', 'IN_PROGRESS') AND due_date > ?",
+                rs -> {
+                    reschedule(TASK, rs.getLong("task_id"), rs.getTimestamp("due_date").toLocalDateTime());
+                }, now);
+        synchronized (lock) {
+            log.info("Reminder wheel loaded {} timers for {} hearings/tasks in {} ms", wheel.size(), timers.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    void reschedule(String kind, long sourceId, LocalDateTime dueAt) {
+        String key = kind + ":" + sourceId;
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            List<TimingWheel.Timer<Reminder>> previous = timers.remove(key);
+            if (previous != null) {
+                previous.forEach(TimingWheel.Timer::cancel);
+            }
+            if (dueAt == null) {
+                return;
+            }
+            long dueMillis = dueAt.atZone(zone).toInstant().toEpochMilli();
+            if (dueMillis <= now) {
+                return;
+            }
+            List<TimingWheel.Timer<Reminder>> scheduled = new ArrayList<>();
+            int[] leads = HEARING.equals(kind) ? hearingLeads : taskLeads;
+            // Leads are sorted longest first, so the last passed one is the shortest.
+            int passedLead = -1;
+            for (int lead : leads) {
+                long fireAt = dueMillis - TimeUnit.MINUTES.toMillis(lead);
+                if (fireAt > now) {
+                    scheduled.add(wheel.schedule(fireAt, new Reminder(kind, sourceId, dueAt, lead, 0)));
+                } else {
+                    passedLead = lead;
+                }
+            }
+            if (passedLead >= 0) {
+                scheduled.add(wheel.schedule(now, new Reminder(kind, sourceId, dueAt, passedLead, 0)));
+            }
+            if (!scheduled.isEmpty()) {
+                timers.put(key, scheduled);
+            }
+        }
+    }
+
+    private void drive() {
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                Thread.sleep(tickMillis - now % tickMillis);
+                List<Reminder> due;
+                synchronized (lock) {
+                    due = wheel.advance(System.currentTimeMillis());
+                    for (Reminder reminder : due) {
+                        forget(reminder);
+                    }
+                }
+                if (!due.isEmpty()) {
+                    deliver(due);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Reminder tick failed", e);
+            }
+        }
+    }
+
+    private void forget(Reminder reminder) {
+        String key = reminder.kind() + ":" + reminder.sourceId();
+        List<TimingWheel.Timer<Reminder>> live = timers.get(key);
+        if (live != null) {
+            live.removeIf(timer -> timer.payload() == reminder);
+            if (live.isEmpty()) {
+                timers.remove(key);
+            }
+        }
+    }
+
+    private void deliver(List<Reminder> due) {
+        List<Reminder> hearings = new ArrayList<>();
+        List<Reminder> tasks = new ArrayList<>();
+        for (Reminder reminder : due) {
+            (HEARING.equals(reminder.kind()) ? hearings : tasks).add(reminder);
+        }
+        write(HEARING_INSERT, hearings);
+        write(TASK_INSERT, tasks);
+    }
+
+    private void write(String sql, List<Reminder> reminders) {
+        if (reminders.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            Timestamp dueAt = Timestamp.valueOf(reminder.dueAt());
+            String title = (HEARING.equals(reminder.kind()) ? "Hearing on " : "Task due ") + RowFormat.dateTime(dueAt);
+            batch.add(new Object[] { reminder.leadMinutes(), title, reminder.sourceId(), dueAt });
+        }
+        try {
+            int[] counts = jdbcTemplate.batchUpdate(sql, batch);
+            for (int count : counts) {
+                // 0: the source changed or was closed since the timer was set, or already reminded.
+                (count > 0 || count == Statement.SUCCESS_NO_INFO ? delivered : skipped).incrementAndGet();
+            }
+        } catch (DataAccessException e) {
+            failed.addAndGet(reminders.size());
+            log.warn("Could not store {} reminders, retrying: {}", reminders.size(), e.getMessage());
+            retry(reminders);
+        }
+    }
+
+    /** Puts reminders whose write failed back on the wheel; INSERT IGNORE makes a repeat harmless. */
+    private void retry(List<Reminder> reminders) {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            for (Reminder reminder : reminders) {
+                if (reminder.dueAt().atZone(zone).toInstant().toEpochMilli() <= now) {
+                    continue;
+                }
+                Reminder again = new Reminder(reminder.kind(), reminder.sourceId(), reminder.dueAt(),
+                        reminder.leadMinutes(), reminder.retries() + 1);
+                long delay = Math.min(MAX_RETRY_DELAY_MILLIS, tickMillis << Math.min(again.retries() - 1, 16));
+                timers.computeIfAbsent(reminder.kind() + ":" + reminder.sourceId(), k -> new ArrayList<>())
+                        .add(wheel.schedule(now + delay, again));
+            }
+        }
+    }
+
+    private static int[] normalize(int[] leads) {
+        int[] positive = leads == null ? new int[0] : Arrays.stream(leads).filter(l -> l > 0).distinct().toArray();
+        // Longest lead first.
+        return Arrays.stream(positive).boxed().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+    }
+}
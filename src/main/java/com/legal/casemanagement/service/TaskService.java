@@ -1,13 +1,12 @@
 package com.legal.casemanagement.service;
 
 import com.legal.casemanagement.dto.TaskDtos.*;
+import com.legal.casemanagement.util.RowFormat;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,10 +15,21 @@ import java.util.Map;
 public class TaskService {
 
     private final JdbcTemplate jdbcTemplate;
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-    public TaskService(JdbcTemplate jdbcTemplate) {
+    private final CaseSummaryService caseSummaryService;
+    private final CaseChangeTracker caseChangeTracker;
+    private final CaseEventService caseEventService;
+    private final InsertStatementRegistry insertStatements;
+    private final ReminderService reminderService;
+
+    public TaskService(JdbcTemplate jdbcTemplate, CaseSummaryService caseSummaryService,
+            CaseChangeTracker caseChangeTracker, CaseEventService caseEventService,
+            InsertStatementRegistry insertStatements, ReminderService reminderService) {
         this.jdbcTemplate = jdbcTemplate;
+        this.caseSummaryService = caseSummaryService;
+        this.caseChangeTracker = caseChangeTracker;
+        this.caseEventService = caseEventService;
+        this.insertStatements = insertStatements;
+        this.reminderService = reminderService;
     }
 
     public List<TaskListItem> getTasks(Long caseId, Long assignedTo) {
@@ -72,10 +82,6 @@ public class TaskService {
             createdBy = adminIds.get(0);
         }
 
-        SimpleJdbcInsert insert = new SimpleJdbcInsert(jdbcTemplate)
-                .withTableName("tasks")
-                .usingGeneratedKeyColumns("task_id");
-
         Map<String, Object> params = new HashMap<>();
         params.put("case_id", caseId);
         params.put("assigned_to", request.getAssignedTo());
@@ -86,7 +92,12 @@ public class TaskService {
         params.put("status", "PENDING");
         params.put("created_by", createdBy);
 
-        Number key = insert.executeAndReturnKey(params);
+        Number key = insertStatements.insertAndReturnKey(InsertStatementRegistry.TASKS, params);
+        caseSummaryService.refreshCase(caseId);
+        caseEventService.append(caseId, CaseEventService.TASK_CREATED, "Task Created", request.getTaskTitle(),
+                key.longValue());
+        caseChangeTracker.caseChanged(caseId);
+        reminderService.taskChanged(key.longValue());
         return TaskResponse.builder()
                 .taskId(key.longValue())
                 .message("Task created successfully")
@@ -96,6 +107,13 @@ public class TaskService {
     public boolean updateTaskStatus(Long taskId, String status) {
         String sql = "UPDATE tasks SET status = ?, updated_at = NOW() WHERE task_id = ?";
         int rows = jdbcTemplate.update(sql, status, taskId);
+        if (rows > 0) {
+            caseSummaryService.refreshForTask(taskId);
+            caseEventService.appendForTask(taskId, CaseEventService.TASK_UPDATED,
+                    "Task " + RowFormat.titleCase(status.replace('_', ' ')));
+            caseChangeTracker.taskChanged(taskId);
+            reminderService.taskChanged(taskId);
+        }
         return rows > 0;
     }
 
@@ -104,7 +122,7 @@ public class TaskService {
         String dueStr = "";
         boolean overdue = false;
         if (due != null) {
-            dueStr = DATE_FORMAT.format(due.toLocalDateTime());
+            dueStr = RowFormat.date(due);
             overdue = due.toInstant().isBefore(Instant.now())
                     && !"COMPLETED".equalsIgnoreCase(rs.getString("status"))
                     && !"CANCELLED".equalsIgnoreCase(rs.getString("status"));
@@ -0,0 +1,123 @@
+package com.legal.casemanagement.util;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code Range: bytes=...} request headers (RFC 9110 section 14) resolved against a
+ * representation of known length, and {@code If-Range} validation.
+ */
+public final class ByteRanges {
+
+    /** More ranges than this, after merging, and the whole representation is sent instead. */
+    public static final int MAX_RANGES = 32;
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private ByteRanges() {
+    }
+
+    /** Inclusive byte positions, as written in {@code Content-Range}. */
+    public record Range(long start, long end) {
+
+        public long length() {
+            return end - start + 1;
+        }
+
+        public String contentRange(long totalLength) {
+            return "bytes " + start + "-" + end + "/" + totalLength;
+        }
+    }
+
+    /**
+     * The ranges {@code header} selects from {@code length} bytes, sorted, with overlapping and
+     * adjacent ranges merged. Returns null when the whole representation should be sent: no
+     * header, a header this server does not understand (which RFC 9110 says to ignore), or
+     * too many ranges. Returns an empty list when the header is valid but no range overlaps
+     * the content, which is answered with 416.
+     */
+    public static List<Range> parse(String header, long length) {
+        if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+        List<Range> ranges = new ArrayList<>();
+        boolean anySpec = false;
+        for (String spec : header.substring(BYTES_UNIT.length()).split(",")) {
+            spec = spec.trim();
+            if (spec.isEmpty()) {
+                continue;
+            }
+            anySpec = true;
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            long first;
+            long last;
+            try {
+                if (dash == 0) {
+                    // Suffix range: the final N bytes.
+                    long suffix = Long.parseLong(spec.substring(1));
+                    if (suffix <= 0 || length == 0) {
+                        continue;
+                    }
+                    first = Math.max(0, length - suffix);
+                    last = length - 1;
+                } else {
+                    first = Long.parseLong(spec.substring(0, dash));
+                    last = dash == spec.length() - 1 ? length - 1 : Long.parseLong(spec.substring(dash + 1));
+                    if (first < 0 || last < first) {
+                        return null;
+                    }
+                    if (first >= length) {
+                        continue;
+                    }
+                    last = Math.min(last, length - 1);
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            ranges.add(new Range(first, last));
+        }
+        return anySpec ? merge(ranges) : null;
+    }
+
+    /**
+     * True when a ranged response may be sent: {@code If-Range} is absent, or is the current
+     * strong entity tag, or is exactly the current {@code Last-Modified} date.
+     */
+    public static boolean ifRangeMatches(String ifRange, String etag, long lastModifiedMillis) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            // Only a strong comparison counts; a weak tag never matches.
+            return value.equals(etag);
+        }
+        try {
+            long since = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return since / 1000 == lastModifiedMillis / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static List<Range> merge(List<Range> ranges) {
+        ranges.sort(Comparator.comparingLong(Range::start));
+        List<Range> merged = new ArrayList<>(ranges.size());
+        for (Range range : ranges) {
+            Range previous = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (previous != null && range.start() <= previous.end() + 1) {
+                merged.set(merged.size() - 1, new Range(previous.start(), Math.max(previous.end(), range.end())));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged.size() > MAX_RANGES ? null : merged;
+    }
+}
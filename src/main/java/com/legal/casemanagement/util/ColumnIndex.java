@@ -0,0 +1,48 @@
+package com.legal.casemanagement.util;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Resolves a fixed list of column labels to positions once per result set, so a row
+ * mapper can read every row by index instead of looking each label up again. Positions
+ * come back in the order the labels were given.
+ * <p>
+ * Holds the last result set it resolved, so use one instance per query (a row mapper
+ * created for that query), never a shared one.
+ */
+public final class ColumnIndex {
+
+    private final String[] labels;
+    private ResultSet resolvedFor;
+    private int[] positions;
+
+    public ColumnIndex(String... labels) {
+        this.labels = labels.clone();
+    }
+
+    public int[] positions(ResultSet rs) throws SQLException {
+        if (rs != resolvedFor) {
+            positions = resolve(rs.getMetaData());
+            resolvedFor = rs;
+        }
+        return positions;
+    }
+
+    private int[] resolve(ResultSetMetaData meta) throws SQLException {
+        int columnCount = meta.getColumnCount();
+        int[] resolved = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            for (int column = 1; column <= columnCount && resolved[i] == 0; column++) {
+                if (labels[i].equalsIgnoreCase(meta.getColumnLabel(column))) {
+                    resolved[i] = column;
+                }
+            }
+            if (resolved[i] == 0) {
+                throw new SQLException("Column '" + labels[i] + "' not found in result set");
+            }
+        }
+        return resolved;
+    }
+}
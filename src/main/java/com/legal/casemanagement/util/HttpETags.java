@@ -0,0 +1,52 @@
+package com.legal.casemanagement.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Strong entity tags built from the values a representation depends on, and matching of
+ * {@code If-None-Match} request headers against them (RFC 9110 weak comparison).
+ */
+public final class HttpETags {
+
+    private static final int HEX_LENGTH = 32;
+
+    private HttpETags() {
+    }
+
+    /** Quoted tag over {@code parts}; equal parts always give the same tag. */
+    public static String strong(Object... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (Object part : parts) {
+            digest.update(String.valueOf(part == null ? "" : part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '|');
+        }
+        return '"' + HexFormat.of().formatHex(digest.digest()).substring(0, HEX_LENGTH) + '"';
+    }
+
+    /** True when {@code ifNoneMatch} lists {@code etag} (with or without {@code W/}) or is {@code *}. */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || opaque.equals(opaque(tag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
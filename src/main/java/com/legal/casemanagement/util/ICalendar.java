@@ -0,0 +1,88 @@
+package com.legal.casemanagement.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Content-line writing for iCalendar (RFC 5545): TEXT escaping, UTC date-times, and folding
+ * of long lines at 75 octets so multi-byte characters are never split.
+ */
+public final class ICalendar {
+
+    public static final String CRLF = "\r\n";
+
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private ICalendar() {
+    }
+
+    /** Appends {@code name:value} as-is (the value is already in iCalendar form), folded. */
+    public static void property(StringBuilder out, String name, String value) {
+        fold(out, name + ':' + value);
+    }
+
+    /** Appends a TEXT property; nothing is written for a null or blank value. */
+    public static void text(StringBuilder out, String name, String value) {
+        if (value != null && !value.isBlank()) {
+            fold(out, name + ':' + escape(value));
+        }
+    }
+
+    public static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // CRLF and lone CR both become a single escaped newline.
+                    if (i + 1 >= value.length() || value.charAt(i + 1) != '\n') {
+                        escaped.append("\\n");
+                    }
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    public static String utc(Instant instant) {
+        return UTC.format(instant);
+    }
+
+    public static String date(LocalDate date) {
+        return date.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    /** Writes {@code line} plus CRLF, continuing with CRLF + space before 75 octets are exceeded. */
+    static void fold(StringBuilder out, String line) {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int width = utf8Length(codePoint);
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.append(CRLF).append(' ');
+                octets = 1;
+            }
+            out.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.append(CRLF);
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
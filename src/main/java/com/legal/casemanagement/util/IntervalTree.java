@@ -0,0 +1,175 @@
+package com.legal.casemanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Half-open intervals {@code [start, end)} with a value each, answering "which intervals
+ * overlap this one" in O(log n + matches). A treap ordered by {@code (start, id)}, where every
+ * node also records the largest end in its subtree so whole subtrees that end too early
+ * are skipped.
+ * <p>
+ * Ids only need to be unique within one tree. Not thread-safe; callers lock around it.
+ */
+public final class IntervalTree<V> {
+
+    public record Interval<V>(long start, long end, long id, V value) {
+
+        public boolean overlaps(long from, long to) {
+            return start < to && from < end;
+        }
+    }
+
+    private static final class Node<V> {
+        final Interval<V> interval;
+        final int priority;
+        Node<V> left;
+        Node<V> right;
+        long maxEnd;
+
+        Node(Interval<V> interval, int priority) {
+            this.interval = interval;
+            this.priority = priority;
+            this.maxEnd = interval.end();
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<V> root;
+    private int size;
+
+    public void insert(long start, long end, long id, V value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be after its start");
+        }
+        root = insert(root, new Node<>(new Interval<>(start, end, id, value), random.nextInt()));
+        size++;
+    }
+
+    /** Removes the interval with this start and id; false when there is none. */
+    public boolean remove(long start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /** Intervals overlapping {@code [from, to)}, in order of start. */
+    public List<Interval<V>> overlapping(long from, long to) {
+        List<Interval<V>> out = new ArrayList<>();
+        if (from < to) {
+            collect(root, from, to, out);
+        }
+        return out;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.interval.start(), added.interval.id(), node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<V> remove(Node<V> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(start, id, node);
+        if (c < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (c > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<V> merge(Node<V> a, Node<V> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private void collect(Node<V> node, long from, long to, List<Interval<V>> out) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, out);
+        if (node.interval.start() >= to) {
+            // Everything to the right starts later still.
+            return;
+        }
+        if (node.interval.overlaps(from, to)) {
+            out.add(node.interval);
+        }
+        collect(node.right, from, to, out);
+    }
+
+    private static <V> int compare(long start, long id, Node<V> node) {
+        int c = Long.compare(start, node.interval.start());
+        return c != 0 ? c : Long.compare(id, node.interval.id());
+    }
+
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        Node<V> left = node.left;
+        node.left = left.right;
+        update(node);
+        left.right = node;
+        update(left);
+        return left;
+    }
+
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        Node<V> right = node.right;
+        node.right = right.left;
+        update(node);
+        right.left = node;
+        update(right);
+        return right;
+    }
+
+    private static <V> void update(Node<V> node) {
+        long max = node.interval.end();
+        if (node.left != null) {
+            max = Math.max(max, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            max = Math.max(max, node.right.maxEnd);
+        }
+        node.maxEnd = max;
+    }
+}
@@ -0,0 +1,567 @@
+package com.legal.casemanagement.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Small BM25-ranked inverted index: an immutable, memory-mapped segment on disk plus an
+ * in-memory delta for documents written since the last {@link #checkpoint(long)}.
+ * <p>
+ * {@link #put} and {@link #remove} only touch the delta and tombstone the document's
+ * segment postings, so updates are cheap. A checkpoint merges both into a new segment
+ * file (written aside, fsynced and renamed into place) and maps it. Each segment records
+ * a caller-supplied watermark so the owner can replay changes the delta lost in a crash.
+ * <p>
+ * Searches may run concurrently with each other and with writes. Segments are mapped as a
+ * single buffer and are therefore limited to 2 GB.
+ * <p>
+ * Segment layout (big-endian): header {@code magic, version, watermark, docCount,
+ * totalLength, termCount, docsOffset, termsOffset, postingsOffset, stringsOffset};
+ * docs {@code (docId long, length int)} sorted by id; terms {@code (stringOffset int,
+ * stringLength int, postingsOffset int, postingCount int)} sorted by term; postings
+ * {@code (docId long, tf int, docLength int)}; UTF-8 term strings.
+ */
+public final class InvertedIndex implements Closeable {
+
+    private static final int MAGIC = 0x4C43494E;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 8 + 4 + 4 * 4;
+    private static final int DOC_BYTES = 12;
+    private static final int TERM_BYTES = 16;
+    private static final int POSTING_BYTES = 16;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.idx");
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "was", "with");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    public record Hit(long docId, double score) {
+    }
+
+    private final Path directory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object writeMutex = new Object();
+
+    private Segment segment;
+    private long generation;
+    private final Map<String, Map<Long, Integer>> deltaPostings = new HashMap<>();
+    private final Map<Long, DeltaDoc> deltaDocs = new HashMap<>();
+    private final Set<Long> tombstones = new HashSet<>();
+    private long liveDocs;
+    private long liveLength;
+    private int pendingChanges;
+
+    private InvertedIndex(Path directory, Segment segment, long generation) {
+        this.directory = directory;
+        this.segment = segment;
+        this.generation = generation;
+        this.liveDocs = segment.docCount;
+        this.liveLength = segment.totalLength;
+    }
+
+    /** Opens the newest segment in {@code directory}, or an empty index if there is none. */
+    public static InvertedIndex open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        long newest = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher m = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    newest = Math.max(newest, Long.parseLong(m.group(1)));
+                }
+            }
+        }
+        if (newest < 0) {
+            return new InvertedIndex(directory, Segment.EMPTY, 0);
+        }
+        return new InvertedIndex(directory, Segment.map(segmentPath(directory, newest)), newest);
+    }
+
+    /** Lower-cased letter/digit runs, without single letters and common stop words. */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        for (String raw : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (raw.isEmpty() || STOP_WORDS.contains(raw)) {
+                continue;
+            }
+            if (raw.length() == 1 && !Character.isDigit(raw.charAt(0))) {
+                continue;
+            }
+            tokens.add(raw);
+        }
+        return tokens;
+    }
+
+    /** Replaces the indexed text of {@code docId} with {@code fields}. */
+    public void put(long docId, Collection<String> fields) {
+        Map<String, Integer> tfs = new HashMap<>();
+        int length = 0;
+        for (String field : fields) {
+            for (String token : tokenize(field)) {
+                tfs.merge(token, 1, Integer::sum);
+                length++;
+            }
+        }
+        synchronized (writeMutex) {
+            lock.writeLock().lock();
+            try {
+                dropLocked(docId);
+                if (length == 0) {
+                    return;
+                }
+                deltaDocs.put(docId, new DeltaDoc(length, tfs));
+                for (Map.Entry<String, Integer> e : tfs.entrySet()) {
+                    deltaPostings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(docId, e.getValue());
+                }
+                liveDocs++;
+                liveLength += length;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void remove(long docId) {
+        synchronized (writeMutex) {
+            lock.writeLock().lock();
+            try {
+                dropLocked(docId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public List<Hit> search(String query, int limit) {
+        return search(query, limit, null);
+    }
+
+    /**
+     * Like {@link #search(String, int)}, but only documents accepted by {@code filter} are
+     * scored and ranked; term statistics still cover the whole index.
+     */
+    public List<Hit> search(String query, int limit, LongPredicate filter) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            double avgLength = (double) liveLength / liveDocs;
+            List<long[]> postings = new ArrayList<>();
+            for (String term : terms) {
+                postings.clear();
+                segment.collect(term, tombstones, postings);
+                Map<Long, Integer> delta = deltaPostings.get(term);
+                if (delta != null) {
+                    for (Map.Entry<Long, Integer> e : delta.entrySet()) {
+                        postings.add(new long[] { e.getKey(), e.getValue(), deltaDocs.get(e.getKey()).length });
+                    }
+                }
+                if (postings.isEmpty()) {
+                    continue;
+                }
+                int df = postings.size();
+                double idf = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                for (long[] p : postings) {
+                    if (filter != null && !filter.test(p[0])) {
+                        continue;
+                    }
+                    double tf = p[1];
+                    double norm = tf + K1 * (1 - B + B * p[2] / avgLength);
+                    scores.merge(p[0], idf * tf * (K1 + 1) / norm, Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+        for (Map.Entry<Long, Double> e : scores.entrySet()) {
+            if (top.size() < limit) {
+                top.add(new Hit(e.getKey(), e.getValue()));
+            } else if (e.getValue() > top.peek().score()) {
+                top.poll();
+                top.add(new Hit(e.getKey(), e.getValue()));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::docId));
+        return hits;
+    }
+
+    public long docCount() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Watermark stored with the current segment; 0 for a fresh index. */
+    public long watermark() {
+        lock.readLock().lock();
+        try {
+            return segment.watermark;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of puts/removes not yet merged into the on-disk segment. */
+    public int pendingChanges() {
+        lock.readLock().lock();
+        try {
+            return pendingChanges;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Merges the delta into a new on-disk segment stamped with {@code watermark}. Writers
+     * wait for the merge; searches keep running against the old segment until the swap.
+     */
+    public void checkpoint(long watermark) throws IOException {
+        synchronized (writeMutex) {
+            // Writers are excluded by the mutex, so the delta can be read without the lock.
+            TreeMap<String, List<long[]>> merged = new TreeMap<>();
+            TreeMap<Long, Integer> docs = new TreeMap<>();
+            segment.forEachDoc((docId, length) -> {
+                if (!tombstones.contains(docId)) {
+                    docs.put(docId, length);
+                }
+            });
+            segment.forEachTerm((term, postings) -> {
+                List<long[]> live = new ArrayList<>(postings.size());
+                for (long[] p : postings) {
+                    if (!tombstones.contains(p[0])) {
+                        live.add(p);
+                    }
+                }
+                if (!live.isEmpty()) {
+                    merged.put(term, live);
+                }
+            });
+            for (Map.Entry<Long, DeltaDoc> e : deltaDocs.entrySet()) {
+                docs.put(e.getKey(), e.getValue().length);
+            }
+            for (Map.Entry<String, Map<Long, Integer>> e : deltaPostings.entrySet()) {
+                List<long[]> list = merged.computeIfAbsent(e.getKey(), k -> new ArrayList<>());
+                for (Map.Entry<Long, Integer> p : e.getValue().entrySet()) {
+                    list.add(new long[] { p.getKey(), p.getValue(), deltaDocs.get(p.getKey()).length });
+                }
+            }
+
+            long nextGeneration = generation + 1;
+            Path target = segmentPath(directory, nextGeneration);
+            writeSegment(target, watermark, docs, merged);
+            Segment mapped = Segment.map(target);
+
+            long previous;
+            lock.writeLock().lock();
+            try {
+                previous = generation;
+                segment = mapped;
+                generation = nextGeneration;
+                deltaPostings.clear();
+                deltaDocs.clear();
+                tombstones.clear();
+                liveDocs = mapped.docCount;
+                liveLength = mapped.totalLength;
+                pendingChanges = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Best effort: a mapping may still pin the old file on some platforms.
+            Files.deleteIfExists(segmentPath(directory, previous));
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            segment = Segment.EMPTY;
+            deltaPostings.clear();
+            deltaDocs.clear();
+            tombstones.clear();
+            liveDocs = 0;
+            liveLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void dropLocked(long docId) {
+        pendingChanges++;
+        int segmentLength = segment.docLength(docId);
+        if (segmentLength >= 0 && tombstones.add(docId)) {
+            liveDocs--;
+            liveLength -= segmentLength;
+        }
+        DeltaDoc previous = deltaDocs.remove(docId);
+        if (previous != null) {
+            for (String term : previous.tfs.keySet()) {
+                Map<Long, Integer> postings = deltaPostings.get(term);
+                if (postings != null) {
+                    postings.remove(docId);
+                    if (postings.isEmpty()) {
+                        deltaPostings.remove(term);
+                    }
+                }
+            }
+            liveDocs--;
+            liveLength -= previous.length;
+        }
+    }
+
+    private static Path segmentPath(Path directory, long generation) {
+        return directory.resolve("segment-" + generation + ".idx");
+    }
+
+    private static void writeSegment(Path target, long watermark, TreeMap<Long, Integer> docs,
+            TreeMap<String, List<long[]>> terms) throws IOException {
+        List<byte[]> termBytes = new ArrayList<>(terms.size());
+        long stringsSize = 0;
+        long postingCount = 0;
+        long totalLength = 0;
+        for (Map.Entry<String, List<long[]>> e : terms.entrySet()) {
+            byte[] bytes = e.getKey().getBytes(StandardCharsets.UTF_8);
+            termBytes.add(bytes);
+            stringsSize += bytes.length;
+            postingCount += e.getValue().size();
+        }
+        for (int length : docs.values()) {
+            totalLength += length;
+        }
+        long docsOffset = HEADER_BYTES;
+        long termsOffset = docsOffset + (long) docs.size() * DOC_BYTES;
+        long postingsOffset = termsOffset + (long) terms.size() * TERM_BYTES;
+        long stringsOffset = postingsOffset + postingCount * POSTING_BYTES;
+        if (stringsOffset + stringsSize > Integer.MAX_VALUE) {
+            throw new IOException("Index segment would exceed 2 GB");
+        }
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream raw = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(raw, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(watermark);
+            out.writeInt(docs.size());
+            out.writeLong(totalLength);
+            out.writeInt(terms.size());
+            out.writeInt((int) docsOffset);
+            out.writeInt((int) termsOffset);
+            out.writeInt((int) postingsOffset);
+            out.writeInt((int) stringsOffset);
+            for (Map.Entry<Long, Integer> e : docs.entrySet()) {
+                out.writeLong(e.getKey());
+                out.writeInt(e.getValue());
+            }
+            int stringCursor = 0;
+            int postingCursor = 0;
+            int i = 0;
+            for (List<long[]> postings : terms.values()) {
+                byte[] bytes = termBytes.get(i++);
+                out.writeInt(stringCursor);
+                out.writeInt(bytes.length);
+                out.writeInt(postingCursor);
+                out.writeInt(postings.size());
+                stringCursor += bytes.length;
+                postingCursor += postings.size();
+            }
+            for (List<long[]> postings : terms.values()) {
+                for (long[] p : postings) {
+                    out.writeLong(p[0]);
+                    out.writeInt((int) p[1]);
+                    out.writeInt((int) p[2]);
+                }
+            }
+            for (byte[] bytes : termBytes) {
+                out.write(bytes);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private record DeltaDoc(int length, Map<String, Integer> tfs) {
+    }
+
+    private interface DocVisitor {
+        void visit(long docId, int length);
+    }
+
+    private interface TermVisitor {
+        void visit(String term, List<long[]> postings);
+    }
+
+    /** Read-only view over a mapped segment file. All reads use absolute offsets. */
+    private static final class Segment {
+        static final Segment EMPTY = new Segment(null, 0, 0, 0, 0, 0, 0, 0, 0);
+
+        final MappedByteBuffer buffer;
+        final long watermark;
+        final int docCount;
+        final long totalLength;
+        final int termCount;
+        final int docsOffset;
+        final int termsOffset;
+        final int postingsOffset;
+        final int stringsOffset;
+
+        private Segment(MappedByteBuffer buffer, long watermark, int docCount, long totalLength, int termCount,
+                int docsOffset, int termsOffset, int postingsOffset, int stringsOffset) {
+            this.buffer = buffer;
+            this.watermark = watermark;
+            this.docCount = docCount;
+            this.totalLength = totalLength;
+            this.termCount = termCount;
+            this.docsOffset = docsOffset;
+            this.termsOffset = termsOffset;
+            this.postingsOffset = postingsOffset;
+            this.stringsOffset = stringsOffset;
+        }
+
+        static Segment map(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                    throw new IOException("Invalid index segment size: " + file);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    throw new IOException("Not an index segment (or unsupported version): " + file);
+                }
+                return new Segment(buffer, buffer.getLong(8), buffer.getInt(16), buffer.getLong(20),
+                        buffer.getInt(28), buffer.getInt(32), buffer.getInt(36), buffer.getInt(40),
+                        buffer.getInt(44));
+            }
+        }
+
+        /** Length of the document, or -1 if the segment does not contain it. */
+        int docLength(long docId) {
+            int lo = 0;
+            int hi = docCount - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                long id = buffer.getLong(docsOffset + mid * DOC_BYTES);
+                if (id < docId) {
+                    lo = mid + 1;
+                } else if (id > docId) {
+                    hi = mid - 1;
+                } else {
+                    return buffer.getInt(docsOffset + mid * DOC_BYTES + 8);
+                }
+            }
+            return -1;
+        }
+
+        void collect(String term, Set<Long> tombstones, List<long[]> out) {
+            int index = findTerm(term);
+            if (index < 0) {
+                return;
+            }
+            int entry = termsOffset + index * TERM_BYTES;
+            int first = buffer.getInt(entry + 8);
+            int count = buffer.getInt(entry + 12);
+            for (int i = 0; i < count; i++) {
+                int at = postingsOffset + (first + i) * POSTING_BYTES;
+                long docId = buffer.getLong(at);
+                if (!tombstones.contains(docId)) {
+                    out.add(new long[] { docId, buffer.getInt(at + 8), buffer.getInt(at + 12) });
+                }
+            }
+        }
+
+        void forEachDoc(DocVisitor visitor) {
+            for (int i = 0; i < docCount; i++) {
+                int at = docsOffset + i * DOC_BYTES;
+                visitor.visit(buffer.getLong(at), buffer.getInt(at + 8));
+            }
+        }
+
+        void forEachTerm(TermVisitor visitor) {
+            for (int t = 0; t < termCount; t++) {
+                int entry = termsOffset + t * TERM_BYTES;
+                int first = buffer.getInt(entry + 8);
+                int count = buffer.getInt(entry + 12);
+                List<long[]> postings = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int at = postingsOffset + (first + i) * POSTING_BYTES;
+                    postings.add(new long[] { buffer.getLong(at), buffer.getInt(at + 8), buffer.getInt(at + 12) });
+                }
+                visitor.visit(termAt(t), postings);
+            }
+        }
+
+        private int findTerm(String term) {
+            int lo = 0;
+            int hi = termCount - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = termAt(mid).compareTo(term);
+                if (cmp < 0) {
+                    lo = mid + 1;
+                } else if (cmp > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        private String termAt(int index) {
+            int entry = termsOffset + index * TERM_BYTES;
+            int offset = buffer.getInt(entry);
+            int length = buffer.getInt(entry + 4);
+            byte[] bytes = new byte[length];
+            buffer.get(stringsOffset + offset, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
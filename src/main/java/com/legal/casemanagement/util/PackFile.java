@@ -0,0 +1,234 @@
+package com.legal.casemanagement.util;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Append-only archive of content-addressed blobs. Every entry is compressed on its own, so
+ * one blob is read back by seeking to its offset without touching the rest of the pack;
+ * the caller keeps the offsets (the index) elsewhere.
+ * <p>
+ * Layout (big-endian): file header {@code magic, version}; then per entry {@code method
+ * byte (0 stored, 1 deflate), size long, storedLength long, sha256 32 bytes} followed by
+ * {@code storedLength} bytes of data. Entries describe themselves, so a pack can also be
+ * scanned from the start. Content that deflate does not shrink is stored as is.
+ */
+public final class PackFile {
+
+    private static final int MAGIC = 0x4C43504B;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int ENTRY_HEADER_BYTES = 1 + 8 + 8 + 32;
+    private static final byte STORED = 0;
+    private static final byte DEFLATE = 1;
+
+    private PackFile() {
+    }
+
+    /** Where an entry starts and how much it takes up in the pack, header included. */
+    public record Entry(long offset, long size, long packedLength) {
+    }
+
+    public static Writer create(Path file, int compressionLevel) throws IOException {
+        return new Writer(file, compressionLevel);
+    }
+
+    /**
+     * The original bytes of the entry at {@code offset}. Fails if the entry there is not the
+     * blob {@code sha256}; the content itself is not re-hashed here.
+     */
+    public static InputStream open(Path file, long offset, String sha256) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a pack file (or unsupported version): " + file);
+            }
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_BYTES);
+            readFully(channel, entry, offset);
+            byte method = entry.get(0);
+            long size = entry.getLong(1);
+            long storedLength = entry.getLong(9);
+            byte[] hash = new byte[32];
+            entry.get(17, hash);
+            if (!HexFormat.of().formatHex(hash).equals(sha256)) {
+                throw new IOException("Pack entry at " + offset + " in " + file + " is not " + sha256);
+            }
+            channel.position(offset + ENTRY_HEADER_BYTES);
+            InputStream data = new BoundedInputStream(Channels.newInputStream(channel), storedLength);
+            if (method == STORED) {
+                return data;
+            }
+            if (method != DEFLATE) {
+                throw new IOException("Unknown pack entry method " + method + " in " + file);
+            }
+            return new BoundedInputStream(new InflaterInputStream(new BufferedInputStream(data, 64 * 1024)), size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated pack file");
+            }
+        }
+    }
+
+    /** Appends entries; {@link #close()} forces the pack to disk. */
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final int compressionLevel;
+        private long length;
+
+        private Writer(Path file, int compressionLevel) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.compressionLevel = compressionLevel;
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+            write(header, 0);
+            this.length = FILE_HEADER_BYTES;
+        }
+
+        /** Appends the content of {@code source}, which must hash to {@code sha256}. */
+        public Entry add(String sha256, Path source) throws IOException {
+            byte[] hash = HexFormat.of().parseHex(sha256);
+            if (hash.length != 32) {
+                throw new IllegalArgumentException("Not a SHA-256 content hash: " + sha256);
+            }
+            long offset = length;
+            long size = Files.size(source);
+            long dataStart = offset + ENTRY_HEADER_BYTES;
+            channel.position(dataStart);
+            Deflater deflater = new Deflater(compressionLevel);
+            try (InputStream in = Files.newInputStream(source)) {
+                OutputStream out = new DeflaterOutputStream(
+                        new UnclosableOutputStream(Channels.newOutputStream(channel)), deflater, 64 * 1024);
+                in.transferTo(out);
+                out.close();
+            } finally {
+                deflater.end();
+            }
+            long storedLength = channel.position() - dataStart;
+            byte method = DEFLATE;
+            if (storedLength >= size) {
+                // Already compressed content (most PDFs, DOCX): keep the original bytes.
+                channel.truncate(dataStart);
+                channel.position(dataStart);
+                try (InputStream in = Files.newInputStream(source)) {
+                    in.transferTo(new UnclosableOutputStream(Channels.newOutputStream(channel)));
+                }
+                storedLength = channel.position() - dataStart;
+                method = STORED;
+            }
+            ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_BYTES)
+                    .put(method).putLong(size).putLong(storedLength).put(hash).flip();
+            write(header, offset);
+            length = dataStart + storedLength;
+            return new Entry(offset, size, ENTRY_HEADER_BYTES + storedLength);
+        }
+
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void write(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        }
+    }
+
+    /** Stops after {@code remaining} bytes; closing it closes the underlying stream. */
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long remaining) {
+            super(in);
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+    }
+
+    /** Lets a per-entry stream be closed without closing the pack's channel. */
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+
+        UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
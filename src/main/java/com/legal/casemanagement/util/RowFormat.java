@@ -0,0 +1,205 @@
+package com.legal.casemanagement.util;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Display formatting shared by the JdbcTemplate row mappers: enum labels, dates, times
+ * and file sizes. Labels for every schema enum value are computed once, dates are cached
+ * per calendar day and times per minute, so mapping a row allocates little beyond the
+ * DTO itself. Output is identical to the per-service helpers this replaces.
+ */
+public final class RowFormat {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int DAY_CACHE_SIZE = 4096; // power of two; a few years of distinct dates
+    private static final DayText[] DAY_TEXT = new DayText[DAY_CACHE_SIZE];
+    private static final String[] MINUTE_TEXT = new String[24 * 60];
+
+    private static final Map<String, String> CASE_TYPE_LABELS = titleCaseLabels(
+            "CIVIL", "CRIMINAL", "FAMILY", "CORPORATE", "TAX", "LABOUR", "PROPERTY", "OTHER");
+    private static final Map<String, String> HEARING_TYPE_LABELS = titleCaseLabels(
+            "PRELIMINARY", "EVIDENCE", "ARGUMENTS", "JUDGMENT", "OTHER");
+    private static final Map<String, String> HEARING_STATUS_LABELS = titleCaseLabels(
+            "SCHEDULED", "COMPLETED", "ADJOURNED", "CANCELLED");
+
+    static {
+        for (int minute = 0; minute < MINUTE_TEXT.length; minute++) {
+            MINUTE_TEXT[minute] = new String(new char[] {
+                    digit(minute / 600), digit(minute / 60 % 10), ':', digit(minute % 60 / 10), digit(minute % 10) });
+        }
+    }
+
+    private RowFormat() {
+    }
+
+    // ── Labels ─────────────────────────────────────────────
+
+    public static String caseTypeLabel(String caseType) {
+        if (caseType == null) {
+            return "Other";
+        }
+        String label = CASE_TYPE_LABELS.get(caseType);
+        return label != null ? label : titleCase(caseType.replace('_', ' '));
+    }
+
+    public static String caseStatusLabel(String status) {
+        if (status == null) {
+            return "Pending";
+        }
+        return switch (status) {
+            case "OPEN", "IN_PROGRESS" -> "Active";
+            case "CLOSED", "WON", "LOST", "SETTLED" -> "Closed";
+            default -> "Pending";
+        };
+    }
+
+    public static String priorityLabel(String priority) {
+        if (priority == null) {
+            return "Medium";
+        }
+        return switch (priority) {
+            case "LOW" -> "Low";
+            case "HIGH", "URGENT" -> "High";
+            default -> "Medium";
+        };
+    }
+
+    public static String hearingTypeLabel(String hearingType) {
+        if (hearingType == null) {
+            return "Hearing";
+        }
+        String label = HEARING_TYPE_LABELS.get(hearingType);
+        return label != null ? label : titleCase(hearingType.replace('_', ' '));
+    }
+
+    public static String hearingStatusLabel(String status) {
+        if (status == null) {
+            return "Scheduled";
+        }
+        String label = HEARING_STATUS_LABELS.get(status);
+        return label != null ? label : titleCase(status.replace('_', ' '));
+    }
+
+    /** "IN  progress" → "In Progress": words split on whitespace, each capitalised. */
+    public static String titleCase(String value) {
+        if (value == null || value.isBlank()) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        boolean wordStart = true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                wordStart = true;
+                continue;
+            }
+            if (wordStart) {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(Character.toUpperCase(Character.toLowerCase(c)));
+                wordStart = false;
+            } else {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+
+    // ── Dates and sizes ────────────────────────────────────
+
+    /** yyyy-MM-dd, or "" for null. */
+    public static String date(Timestamp timestamp) {
+        return timestamp == null ? "" : date(timestamp.toLocalDateTime().toLocalDate());
+    }
+
+    /** yyyy-MM-dd, or "" for null. */
+    public static String date(Date date) {
+        return date == null ? "" : date(date.toLocalDate());
+    }
+
+    public static String date(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int slot = (int) (epochDay & (DAY_CACHE_SIZE - 1));
+        DayText cached = DAY_TEXT[slot];
+        if (cached != null && cached.epochDay == epochDay) {
+            return cached.text;
+        }
+        String text = formatDay(date);
+        DAY_TEXT[slot] = new DayText(epochDay, text);
+        return text;
+    }
+
+    /** HH:mm, or "" for null. */
+    public static String time(Timestamp timestamp) {
+        if (timestamp == null) {
+            return "";
+        }
+        LocalDateTime dateTime = timestamp.toLocalDateTime();
+        return MINUTE_TEXT[dateTime.getHour() * 60 + dateTime.getMinute()];
+    }
+
+    /** yyyy-MM-dd HH:mm, or "" for null. */
+    public static String dateTime(Timestamp timestamp) {
+        if (timestamp == null) {
+            return "";
+        }
+        LocalDateTime dateTime = timestamp.toLocalDateTime();
+        return date(dateTime.toLocalDate()) + ' ' + MINUTE_TEXT[dateTime.getHour() * 60 + dateTime.getMinute()];
+    }
+
+    /** "N/A", "512 B", "1.5 KB" or "2.0 MB". */
+    public static String fileSize(long size) {
+        if (size <= 0) {
+            return "N/A";
+        }
+        if (size < 1024) {
+            return size + " B";
+        }
+        if (size < 1024L * 1024) {
+            return tenths(size, 10) + " KB";
+        }
+        return tenths(size, 20) + " MB";
+    }
+
+    // size / 2^shift to one decimal, half-up; the division is exact in a double, so this
+    // matches what String.format produced.
+    private static String tenths(long size, int shift) {
+        long tenths = (size * 10 + (1L << (shift - 1))) >> shift;
+        return (tenths / 10) + "." + (tenths % 10);
+    }
+
+    private static String formatDay(LocalDate date) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return DATE_FORMAT.format(date);
+        }
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+        return new String(new char[] {
+                digit(year / 1000), digit(year / 100 % 10), digit(year / 10 % 10), digit(year % 10), '-',
+                digit(month / 10), digit(month % 10), '-', digit(day / 10), digit(day % 10) });
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+
+    private static Map<String, String> titleCaseLabels(String... values) {
+        Map<String, String> labels = new HashMap<>();
+        for (String value : values) {
+            labels.put(value, titleCase(value.replace('_', ' ').toLowerCase(Locale.ROOT)));
+        }
+        return Map.copyOf(labels);
+    }
+
+    private record DayText(long epochDay, String text) {
+    }
+}
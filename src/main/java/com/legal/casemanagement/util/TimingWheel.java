@@ -0,0 +1,158 @@
+package com.legal.casemanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: pending timers in O(1) per insert and cancel, whatever their
+ * number. Level 0 has one slot per tick; each higher level has slots {@value #SLOTS} times
+ * wider, so {@value #LEVELS} levels cover {@code 64^6} ticks (about 2,000 years at one second).
+ * A timer sits in the coarsest slot that still tells it apart from "now" and is moved down
+ * a level each time its slot comes round, until it expires from level 0.
+ * <p>
+ * Time only moves through {@link #advance}, which returns the payloads that came due. Not
+ * thread-safe; callers lock around it.
+ */
+public final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+
+    /** A scheduled timer; {@link #cancel()} it to stop it firing. */
+    public static final class Timer<T> {
+        private final T payload;
+        private final long expirationTick;
+        private Timer<T> prev;
+        private Timer<T> next;
+        private TimingWheel<T> wheel;
+
+        private Timer(T payload, long expirationTick) {
+            this.payload = payload;
+            this.expirationTick = expirationTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /** False when the timer already fired or was cancelled. */
+        public boolean cancel() {
+            if (wheel == null) {
+                return false;
+            }
+            TimingWheel<T> owner = wheel;
+            unlink();
+            owner.size--;
+            return true;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+            wheel = null;
+        }
+    }
+
+    private final long tickMillis;
+    // slots[level][slot] is the sentinel of a circular doubly linked list.
+    private final Timer<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.slots = new Timer[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Timer<T> sentinel = new Timer<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                slots[level][slot] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Schedules {@code payload} for {@code deadlineMillis}, rounded up to the next tick.
+     * A deadline that has already passed fires on the next tick.
+     */
+    public Timer<T> schedule(long deadlineMillis, T payload) {
+        long tick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timer<T> timer = new Timer<>(payload, Math.max(tick, currentTick + 1));
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /** Moves time forward to {@code nowMillis} and returns what expired, in deadline order. */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> (BITS * level)) & MASK), expired);
+                }
+            }
+            drain(slots[0][(int) (currentTick & MASK)], expired);
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.expirationTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        // Beyond the top level's range the timer waits in the top level and is re-placed when reached.
+        long slotTick = Math.min(timer.expirationTick, currentTick + ((long) MASK << (BITS * level)));
+        Timer<T> sentinel = slots[level][(int) ((slotTick >>> (BITS * level)) & MASK)];
+        timer.wheel = this;
+        timer.prev = sentinel.prev;
+        timer.next = sentinel;
+        sentinel.prev.next = timer;
+        sentinel.prev = timer;
+    }
+
+    private void cascade(int level, int slot, List<T> expired) {
+        Timer<T> sentinel = slots[level][slot];
+        while (sentinel.next != sentinel) {
+            Timer<T> timer = sentinel.next;
+            timer.unlink();
+            if (timer.expirationTick <= currentTick) {
+                size--;
+                expired.add(timer.payload);
+            } else {
+                place(timer);
+            }
+        }
+    }
+
+    private void drain(Timer<T> sentinel, List<T> expired) {
+        while (sentinel.next != sentinel) {
+            Timer<T> timer = sentinel.next;
+            timer.unlink();
+            size--;
+            expired.add(timer.payload);
+        }
+    }
+}
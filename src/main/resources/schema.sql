@@ -39,6 +39,7 @@ CREATE TABLE IF NOT EXISTS advocates (
     experience_years INT,
     qualification VARCHAR(200),
     court_practice VARCHAR(200),
+    calendar_token CHAR(32) UNIQUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
@@ -80,6 +81,8 @@ CREATE TABLE IF NOT EXISTS cases (
     description TEXT,
     opposing_party VARCHAR(300),
     judge_name VARCHAR(100),
+    -- Change counter for conditional GETs; bumped by every write that alters the case detail
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (client_id) REFERENCES clients(client_id) ON DELETE CASCADE,
@@ -89,7 +92,14 @@ CREATE TABLE IF NOT EXISTS cases (
     INDEX idx_advocate_id (advocate_id),
     INDEX idx_status (status),
     INDEX idx_case_type (case_type),
-    INDEX idx_filing_date (filing_date)
+    INDEX idx_filing_date (filing_date),
+    -- Keyset pagination: (sort column, case_id) for every supported sort/filter shape
+    INDEX idx_created_case (created_at, case_id),
+    INDEX idx_updated_case (updated_at, case_id),
+    INDEX idx_advocate_created (advocate_id, created_at, case_id),
+    INDEX idx_client_created (client_id, created_at, case_id),
+    INDEX idx_status_created (status, created_at, case_id),
+    INDEX idx_court_created (court_name, created_at, case_id)
 ) ENGINE=InnoDB;
 
 -- Hearings Table
@@ -97,6 +107,7 @@ CREATE TABLE IF NOT EXISTS hearings (
     hearing_id BIGINT PRIMARY KEY AUTO_INCREMENT,
     case_id BIGINT NOT NULL,
     hearing_date DATETIME NOT NULL,
+    duration_minutes INT NOT NULL DEFAULT 60,
     courtroom VARCHAR(100),
     hearing_type ENUM('PRELIMINARY', 'EVIDENCE', 'ARGUMENTS', 'JUDGMENT', 'OTHER') DEFAULT 'OTHER',
     status ENUM('SCHEDULED', 'COMPLETED', 'ADJOURNED', 'CANCELLED') NOT NULL DEFAULT 'SCHEDULED',
@@ -107,7 +118,8 @@ CREATE TABLE IF NOT EXISTS hearings (
     FOREIGN KEY (case_id) REFERENCES cases(case_id) ON DELETE CASCADE,
     INDEX idx_case_id (case_id),
     INDEX idx_hearing_date (hearing_date),
-    INDEX idx_status (status)
+    INDEX idx_status (status),
+    INDEX idx_case_status_date (case_id, status, hearing_date)
 ) ENGINE=InnoDB;
 
 -- Documents Table
@@ -120,13 +132,16 @@ CREATE TABLE IF NOT EXISTS documents (
     file_size BIGINT,
     uploaded_by BIGINT NOT NULL,
     description TEXT,
+    -- SHA-256 of the content; the bytes live in the shared document_blobs entry
+    content_hash CHAR(64),
     uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (case_id) REFERENCES cases(case_id) ON DELETE CASCADE,
     FOREIGN KEY (uploaded_by) REFERENCES users(user_id) ON DELETE CASCADE,
     INDEX idx_case_id (case_id),
     INDEX idx_uploaded_by (uploaded_by),
     INDEX idx_document_type (document_type),
-    INDEX idx_uploaded_at (uploaded_at)
+    INDEX idx_uploaded_at (uploaded_at),
+    INDEX idx_content_hash (content_hash)
 ) ENGINE=InnoDB;
 
 -- Invoices Table
@@ -240,7 +255,8 @@ CREATE TABLE IF NOT EXISTS tasks (
     INDEX idx_case_id (case_id),
     INDEX idx_assigned_to (assigned_to),
     INDEX idx_status (status),
-    INDEX idx_due_date (due_date)
+    INDEX idx_due_date (due_date),
+    INDEX idx_case_status_due (case_id, status, due_date)
 ) ENGINE=InnoDB;
 
 -- Messages Table
@@ -264,6 +280,186 @@ CREATE TABLE IF NOT EXISTS messages (
     INDEX idx_sent_at (sent_at)
 ) ENGINE=InnoDB;
 
+-- Case Summary Table (read model maintained by CaseSummaryService)
+CREATE TABLE IF NOT EXISTS case_summary (
+    case_id BIGINT PRIMARY KEY,
+    next_hearing DATETIME NULL,
+    overdue_tasks INT NOT NULL DEFAULT 0,
+    next_task_due DATETIME NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (case_id) REFERENCES cases(case_id) ON DELETE CASCADE,
+    INDEX idx_next_hearing (next_hearing),
+    INDEX idx_next_task_due (next_task_due)
+) ENGINE=InnoDB;
+
+-- Number Sequences Table (block allocator for case/invoice numbers, one row per year)
+CREATE TABLE IF NOT EXISTS number_sequences (
+    seq_name VARCHAR(50) NOT NULL,
+    seq_year INT NOT NULL,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (seq_name, seq_year)
+) ENGINE=InnoDB;
+
+-- Case Events Table (append-only activity feed; pages are read newest first through
+-- idx_case_occurred with an (occurred_at, event_id) cursor)
+CREATE TABLE IF NOT EXISTS case_events (
+    event_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    case_id BIGINT NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    title VARCHAR(300) NOT NULL,
+    detail VARCHAR(500),
+    source_id BIGINT,
+    occurred_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (case_id) REFERENCES cases(case_id) ON DELETE CASCADE,
+    INDEX idx_case_occurred (case_id, occurred_at, event_id)
+) ENGINE=InnoDB;
+
+-- Document Blobs Table (content-addressed document storage; one file per distinct content,
+-- shared by every documents row with that content_hash and deleted with the last of them)
+CREATE TABLE IF NOT EXISTS document_blobs (
+    content_hash CHAR(64) PRIMARY KEY,
+    storage_path VARCHAR(500) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    ref_count INT NOT NULL DEFAULT 0,
+    -- HOT: plain file at storage_path; COLD: compressed entry at pack_offset in pack_id
+    tier ENUM('HOT', 'COLD') NOT NULL DEFAULT 'HOT',
+    pack_id BIGINT,
+    pack_offset BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_tier (tier)
+) ENGINE=InnoDB;
+
+-- Document Packs (cold tier: compressed archive files of blobs whose cases closed long ago)
+CREATE TABLE IF NOT EXISTS document_packs (
+    pack_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    file_path VARCHAR(500) NOT NULL,
+    blob_count INT NOT NULL DEFAULT 0,
+    raw_bytes BIGINT NOT NULL DEFAULT 0,
+    packed_bytes BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+
+-- Document Extraction Queue (documents waiting for background text extraction; a row is
+-- removed once its text is stored and kept as FAILED after the last retry)
+CREATE TABLE IF NOT EXISTS document_extraction_queue (
+    document_id BIGINT PRIMARY KEY,
+    status ENUM('PENDING', 'RUNNING', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    enqueued_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (document_id) REFERENCES documents(document_id) ON DELETE CASCADE,
+    INDEX idx_status_available (status, available_at)
+) ENGINE=InnoDB;
+
+-- Document Texts (plain text extracted from document content, one row per content hash;
+-- text_content is NULL for formats that are not extracted)
+CREATE TABLE IF NOT EXISTS document_texts (
+    content_hash CHAR(64) PRIMARY KEY,
+    text_content MEDIUMTEXT,
+    char_count INT NOT NULL DEFAULT 0,
+    extracted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB;
+
+-- Notifications (in-app reminders raised by the reminder scheduler; one row per source,
+-- due time, lead time and recipient, so a reminder that fires twice is stored once)
+CREATE TABLE IF NOT EXISTS notifications (
+    notification_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    case_id BIGINT,
+    kind ENUM('HEARING_REMINDER', 'TASK_REMINDER') NOT NULL,
+    source_id BIGINT NOT NULL,
+    due_at DATETIME NOT NULL,
+    lead_minutes INT NOT NULL,
+    title VARCHAR(300) NOT NULL,
+    body TEXT,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    read_at TIMESTAMP NULL,
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    FOREIGN KEY (case_id) REFERENCES cases(case_id) ON DELETE CASCADE,
+    UNIQUE KEY uk_reminder (kind, source_id, due_at, lead_minutes, user_id),
+    INDEX idx_user_read_created (user_id, is_read, created_at)
+) ENGINE=InnoDB;
+
+-- Upgrades for databases created by older versions. Each ALTER runs only when
+-- information_schema shows its column or index missing, so a normal start runs no DDL.
+-- Upgrade for databases created before keyset pagination indexes existed
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'cases' AND INDEX_NAME = 'idx_created_case') = 0,
+    'ALTER TABLE cases ADD INDEX idx_created_case (created_at, case_id)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'cases' AND INDEX_NAME = 'idx_updated_case') = 0,
+    'ALTER TABLE cases ADD INDEX idx_updated_case (updated_at, case_id)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'cases' AND INDEX_NAME = 'idx_advocate_created') = 0,
+    'ALTER TABLE cases ADD INDEX idx_advocate_created (advocate_id, created_at, case_id)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'cases' AND INDEX_NAME = 'idx_client_created') = 0,
+    'ALTER TABLE cases ADD INDEX idx_client_created (client_id, created_at, case_id)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'cases' AND INDEX_NAME = 'idx_status_created') = 0,
+    'ALTER TABLE cases ADD INDEX idx_status_created (status, created_at, case_id)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'cases' AND INDEX_NAME = 'idx_court_created') = 0,
+    'ALTER TABLE cases ADD INDEX idx_court_created (court_name, created_at, case_id)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'hearings' AND INDEX_NAME = 'idx_case_status_date') = 0,
+    'ALTER TABLE hearings ADD INDEX idx_case_status_date (case_id, status, hearing_date)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'tasks' AND INDEX_NAME = 'idx_case_status_due') = 0,
+    'ALTER TABLE tasks ADD INDEX idx_case_status_due (case_id, status, due_date)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+-- Upgrade for databases created before cases.version existed
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'cases' AND COLUMN_NAME = 'version') = 0,
+    'ALTER TABLE cases ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER judge_name', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+-- Upgrade for databases created before documents.content_hash existed
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'documents' AND COLUMN_NAME = 'content_hash') = 0,
+    'ALTER TABLE documents ADD COLUMN content_hash CHAR(64) AFTER description', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'documents' AND INDEX_NAME = 'idx_content_hash') = 0,
+    'ALTER TABLE documents ADD INDEX idx_content_hash (content_hash)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+-- Upgrade for databases created before cold-tier packs existed
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'document_blobs' AND COLUMN_NAME = 'tier') = 0,
+    'ALTER TABLE document_blobs ADD COLUMN tier ENUM(''HOT'', ''COLD'') NOT NULL DEFAULT ''HOT'' AFTER ref_count', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'document_blobs' AND COLUMN_NAME = 'pack_id') = 0,
+    'ALTER TABLE document_blobs ADD COLUMN pack_id BIGINT AFTER tier', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'document_blobs' AND COLUMN_NAME = 'pack_offset') = 0,
+    'ALTER TABLE document_blobs ADD COLUMN pack_offset BIGINT AFTER pack_id', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'document_blobs' AND INDEX_NAME = 'idx_tier') = 0,
+    'ALTER TABLE document_blobs ADD INDEX idx_tier (tier)', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+-- Upgrade for databases created before hearings.duration_minutes existed
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'hearings' AND COLUMN_NAME = 'duration_minutes') = 0,
+    'ALTER TABLE hearings ADD COLUMN duration_minutes INT NOT NULL DEFAULT 60 AFTER hearing_date', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+-- Upgrade for databases created before calendar feeds existed
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()
+    AND TABLE_NAME = 'advocates' AND COLUMN_NAME = 'calendar_token') = 0,
+    'ALTER TABLE advocates ADD COLUMN calendar_token CHAR(32) UNIQUE AFTER court_practice', 'DO 0');
+PREPARE ddl FROM @ddl; EXECUTE ddl; DEALLOCATE PREPARE ddl;
+
 -- Set AUTO_INCREMENT values
 ALTER TABLE users AUTO_INCREMENT = 1001;
 ALTER TABLE law_firms AUTO_INCREMENT = 2001;
@@ -0,0 +1,181 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.service.CalendarFeedService.CalendarFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedServiceTest {
+
+    private static final LocalDateTime NEXT_WEEK = LocalDateTime.now().plusWeeks(1).withNano(0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CalendarFeedService calendarFeedService;
+
+    /** Stand-in for the hearings table joined to cases, by hearing id. */
+    private final Map<Long, Map<String, Object>> hearings = new LinkedHashMap<>();
+    /** Advocate of each case, by case number. */
+    private final Map<String, Long> caseAdvocates = new HashMap<>();
+    /** Hearing ids returned by each hearings query, in order. */
+    private final List<List<Long>> hearingReads = new ArrayList<>();
+    private int taskReads;
+
+    @BeforeEach
+    void setUp() {
+        calendarFeedService = new CalendarFeedService(jdbcTemplate, 90, 360);
+        when(jdbcTemplate.query(contains("FROM advocates a"), any(RowMapper.class), any())).thenAnswer(inv -> {
+            long advocateId = (Long) params(inv)[0];
+            return List.of(((RowMapper<?>) inv.getArgument(1)).mapRow(row(Map.of(
+                    "advocate_id", advocateId, "user_id", advocateId - 2000,
+                    "calendar_token", "token-" + advocateId, "name", "Advocate " + advocateId)), 0));
+        });
+        doAnswer(this::readHearings).when(jdbcTemplate)
+                .query(contains("FROM hearings h"), any(RowCallbackHandler.class), any(Object[].class));
+        doAnswer(inv -> {
+            taskReads++;
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM tasks t"), any(RowCallbackHandler.class), any(Object[].class));
+
+        caseAdvocates.put("LC-2026-001", 3001L);
+        caseAdvocates.put("LC-2026-002", 3001L);
+        putHearing(1L, "LC-2026-001", "SCHEDULED", 1);
+        putHearing(2L, "LC-2026-002", "SCHEDULED", 1);
+    }
+
+    @Test
+    void incrementalRefresh_reReadsOnlyDirtyHearings() {
+        CalendarFeed first = calendarFeedService.getFeed(3001L, "token-3001");
+        assertEquals(List.of(1L, 2L), hearingReads.get(0));
+        assertEquals(1, taskReads);
+
+        putHearing(2L, "LC-2026-002", "ADJOURNED", 2);
+        calendarFeedService.hearingChanged(2L);
+        CalendarFeed second = calendarFeedService.getFeed(3001L, "token-3001");
+
+        assertEquals(List.of(2L), hearingReads.get(1));
+        assertEquals(1, taskReads);
+        assertNotEquals(first.etag(), second.etag());
+        assertTrue(second.lastModified() > first.lastModified());
+        String body = new String(second.body(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("UID:hearing-1@"), body);
+        assertTrue(body.contains("STATUS:CANCELLED"), body);
+    }
+
+    @Test
+    void unchangedRefresh_keepsETagAndLastModified() {
+        CalendarFeed first = calendarFeedService.getFeed(3001L, "token-3001");
+
+        calendarFeedService.hearingChanged(1L);
+        CalendarFeed second = calendarFeedService.getFeed(3001L, "token-3001");
+        CalendarFeed third = calendarFeedService.getFeed(3001L, "token-3001");
+
+        // Re-read once, found identical, and then served from memory: a conditional GET still gets 304.
+        assertEquals(2, hearingReads.size());
+        assertSame(first, second);
+        assertSame(first, third);
+        assertEquals(first.etag(), third.etag());
+        assertEquals(first.lastModified(), third.lastModified());
+    }
+
+    @Test
+    void caseReassignment_movesEventsBetweenFeeds() {
+        String before = text(calendarFeedService.getFeed(3001L, "token-3001"));
+        assertFalse(text(calendarFeedService.getFeed(3002L, "token-3002")).contains("UID:hearing-1@"));
+        assertTrue(before.contains("UID:hearing-1@"));
+
+        caseAdvocates.put("LC-2026-001", 3002L);
+        calendarFeedService.caseChanged("LC-2026-001");
+
+        String oldOwner = text(calendarFeedService.getFeed(3001L, "token-3001"));
+        String newOwner = text(calendarFeedService.getFeed(3002L, "token-3002"));
+        assertFalse(oldOwner.contains("UID:hearing-1@"), oldOwner);
+        assertTrue(oldOwner.contains("UID:hearing-2@"), oldOwner);
+        assertTrue(newOwner.contains("UID:hearing-1@"), newOwner);
+    }
+
+    /** Serves the hearings query: advocate filter, plus the id/case restriction of an incremental read. */
+    private Object readHearings(InvocationOnMock inv) throws Exception {
+        String sql = inv.getArgument(0);
+        RowCallbackHandler handler = inv.getArgument(1);
+        Object[] params = params(inv);
+        long advocateId = (Long) params[0];
+        List<Object> restriction = Arrays.asList(params).subList(2, params.length);
+        List<Long> read = new ArrayList<>();
+        for (Map<String, Object> hearing : hearings.values()) {
+            String caseNumber = (String) hearing.get("case_number");
+            boolean selected = !sql.contains(" AND (")
+                    || restriction.contains(hearing.get("hearing_id")) || restriction.contains(caseNumber);
+            if (selected && caseAdvocates.get(caseNumber) == advocateId) {
+                read.add((Long) hearing.get("hearing_id"));
+                handler.processRow(row(hearing));
+            }
+        }
+        hearingReads.add(read);
+        return null;
+    }
+
+    private void putHearing(long hearingId, String caseNumber, String status, int revision) {
+        Map<String, Object> hearing = new HashMap<>();
+        hearing.put("hearing_id", hearingId);
+        hearing.put("hearing_date", Timestamp.valueOf(NEXT_WEEK.plusHours(hearingId)));
+        hearing.put("duration_minutes", 60);
+        hearing.put("courtroom", "Room 4");
+        hearing.put("hearing_type", "ARGUMENTS");
+        hearing.put("status", status);
+        hearing.put("updated_at", Timestamp.valueOf(LocalDateTime.of(2026, 10, 1, 9, 0).plusMinutes(revision)));
+        hearing.put("case_number", caseNumber);
+        hearing.put("case_title", "Case " + caseNumber);
+        hearing.put("court_name", "City Civil Court");
+        hearings.put(hearingId, hearing);
+    }
+
+    /** A one-row ResultSet over {@code values}; missing columns read as SQL NULL. */
+    private static ResultSet row(Map<String, Object> values) {
+        return mock(ResultSet.class, inv -> {
+            Object value = inv.getArguments().length == 0 ? null : values.get(inv.getArgument(0));
+            return switch (inv.getMethod().getName()) {
+                case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                case "getString", "getTimestamp" -> value;
+                default -> null;
+            };
+        });
+    }
+
+    /** Query parameters after the SQL and the callback, whether Mockito expanded the varargs or not. */
+    private static Object[] params(InvocationOnMock inv) {
+        Object[] args = inv.getArguments();
+        if (args.length == 3 && args[2] instanceof Object[] raw) {
+            return raw;
+        }
+        return Arrays.copyOfRange(args, 2, args.length);
+    }
+
+    private static String text(CalendarFeed feed) {
+        return new String(feed.body(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.BulkCaseUpdateRequest;
+import com.legal.casemanagement.dto.CaseDtos.BulkCaseUpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaseBulkServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CaseChangeTracker caseChangeTracker;
+
+    @Mock
+    private CaseSearchService caseSearchService;
+
+    @Mock
+    private CaseEventService caseEventService;
+
+    @Mock
+    private HearingConflictIndex hearingConflictIndex;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private CaseBulkService caseBulkService;
+
+    @BeforeEach
+    void setUp() {
+        caseBulkService = new CaseBulkService(jdbcTemplate, transactionManager, caseChangeTracker,
+                caseSearchService, caseEventService, hearingConflictIndex, 100);
+    }
+
+    @Test
+    void updateCases_batchesKnownCasesAndReportsUnknownOnes() throws Exception {
+        when(resultSet.getString("case_number")).thenReturn("LC-2026-001");
+        when(resultSet.getLong("case_id")).thenReturn(5001L);
+        doAnswer(inv -> {
+            ((RowCallbackHandler) inv.getArgument(1)).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(contains("case_number IN"), any(RowCallbackHandler.class), any(), any());
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE cases"), anyList())).thenReturn(new int[] { 1 });
+
+        BulkCaseUpdateRequest request = new BulkCaseUpdateRequest(
+                List.of("LC-2026-001", "LC-2026-999"), null, "Closed", null, null);
+        BulkCaseUpdateResult result = caseBulkService.updateCases(request);
+
+        assertEquals(2, result.getRequested());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getFailed());
+        assertEquals(CaseBulkService.UPDATED, result.getResults().get(0).getOutcome());
+        assertEquals(CaseBulkService.NOT_FOUND, result.getResults().get(1).getOutcome());
+        verify(caseChangeTracker).casesChanged(List.of(5001L));
+        verify(caseSearchService).reindexCases(List.of(5001L));
+        verify(caseEventService).appendAll(List.of(5001L), CaseEventService.CASE_UPDATED, "Case Updated",
+                "Status: Closed");
+    }
+
+    @Test
+    void updateCases_matchesCaseNumbersCaseInsensitively() throws Exception {
+        when(resultSet.getString("case_number")).thenReturn("LC-2026-001");
+        when(resultSet.getLong("case_id")).thenReturn(5001L);
+        doAnswer(inv -> {
+            ((RowCallbackHandler) inv.getArgument(1)).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(contains("case_number IN"), any(RowCallbackHandler.class), any());
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE cases"), anyList())).thenReturn(new int[] { 1 });
+
+        BulkCaseUpdateRequest request = new BulkCaseUpdateRequest(
+                List.of("lc-2026-001", "LC-2026-001"), null, "Closed", null, null);
+        BulkCaseUpdateResult result = caseBulkService.updateCases(request);
+
+        assertEquals(1, result.getRequested());
+        assertEquals(1, result.getUpdated());
+        assertEquals("lc-2026-001", result.getResults().get(0).getCaseNumber());
+        assertEquals(CaseBulkService.UPDATED, result.getResults().get(0).getOutcome());
+        verify(caseChangeTracker).casesChanged(List.of(5001L));
+    }
+
+    @Test
+    void updateCases_rejectsRequestWithoutChanges() {
+        BulkCaseUpdateRequest request = new BulkCaseUpdateRequest(List.of("LC-2026-001"), null, null, null, " ");
+
+        assertThrows(IllegalArgumentException.class, () -> caseBulkService.updateCases(request));
+        verifyNoInteractions(jdbcTemplate, caseChangeTracker);
+    }
+}
@@ -0,0 +1,73 @@
+package com.legal.casemanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
+import com.legal.casemanagement.service.DocumentService.DocumentStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaseBundleServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DocumentService documentService;
+
+    @Test
+    void writeBundle_streamsEachDocumentAndAnIndex() throws Exception {
+        doReturn(List.of(new Object[] { 7001L, Timestamp.valueOf("2026-02-01 10:00:00") },
+                new Object[] { 7002L, null }))
+                .when(jdbcTemplate).query(contains("FROM documents"), any(RowMapper.class), eq("LC-2026-001"));
+        when(documentService.openContent(7001L)).thenReturn(new DocumentStream(7001L, "Writ/Petition.pdf",
+                new ByteArrayInputStream("Petition under Article 226".getBytes(StandardCharsets.UTF_8))));
+        when(documentService.openContent(7002L)).thenReturn(null);
+        CaseDetail detail = CaseDetail.builder()
+                .caseNumber("LC-2026-001")
+                .title("Sharma vs State")
+                .hearings(List.of())
+                .notes(List.of())
+                .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CaseBundleService(jdbcTemplate, documentService, new ObjectMapper()).writeBundle(detail, out);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null;) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("documents/7001 - Writ_Petition.pdf", "index.json", "index.txt"),
+                List.copyOf(entries.keySet()));
+        assertEquals("Petition under Article 226", entries.get("documents/7001 - Writ_Petition.pdf"));
+        assertTrue(entries.get("index.json").contains("\"caseNumber\" : \"LC-2026-001\""));
+        assertTrue(entries.get("index.txt").contains("7002  (content unavailable)"));
+    }
+
+    @Test
+    void safeName_stripsSeparatorsAndLeadingDots() {
+        assertEquals("_etc_passwd", CaseBundleService.safeName("../etc/passwd"));
+        assertEquals("Order 12_03.pdf", CaseBundleService.safeName("Order 12:03.pdf"));
+        assertEquals("document", CaseBundleService.safeName("  "));
+    }
+}
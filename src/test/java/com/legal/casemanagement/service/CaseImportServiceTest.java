@@ -0,0 +1,248 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.CaseImportError;
+import com.legal.casemanagement.dto.CaseDtos.CaseImportResult;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaseImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private NumberSequenceService numberSequenceService;
+
+    @Mock
+    private CaseSearchService caseSearchService;
+
+    @Mock
+    private CaseEventService caseEventService;
+
+    @Mock
+    private ResultSet clientRow;
+
+    @Mock
+    private ResultSet advocateRow;
+
+    private CaseImportService caseImportService;
+
+    /** Rows handed to the batch insert, in order. */
+    private final List<Object[]> inserted = new ArrayList<>();
+    /** Per-row count the batch insert reports; rewritten batches report SUCCESS_NO_INFO. */
+    private int batchCount = 1;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        caseImportService = new CaseImportService(jdbcTemplate, transactionManager, numberSequenceService,
+                caseSearchService, caseEventService, 500);
+        when(clientRow.getLong("client_id")).thenReturn(11L);
+        when(clientRow.getString("email")).thenReturn("client@example.com");
+        when(advocateRow.getLong("advocate_id")).thenReturn(21L);
+        when(advocateRow.getLong("user_id")).thenReturn(5L);
+        when(advocateRow.getString("email")).thenReturn("advocate@example.com");
+        when(advocateRow.getString("bar_registration_number")).thenReturn("BAR/1");
+        doAnswer(inv -> {
+            ((RowCallbackHandler) inv.getArgument(1)).processRow(clientRow);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM clients"), any(RowCallbackHandler.class));
+        doAnswer(inv -> {
+            ((RowCallbackHandler) inv.getArgument(1)).processRow(advocateRow);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM advocates"), any(RowCallbackHandler.class));
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO cases"), anyList())).thenAnswer(inv -> {
+            List<Object[]> batch = inv.getArgument(1);
+            inserted.addAll(batch);
+            int[] counts = new int[batch.size()];
+            Arrays.fill(counts, batchCount);
+            return counts;
+        });
+    }
+
+    @Test
+    void importCases_csvAcceptsHeaderAliases() throws Exception {
+        when(numberSequenceService.nextCaseNumber()).thenReturn("LC-2026-001");
+        String csv = "\uFEFFTitle,Type,Client Email,Bar Registration Number,Court,Filing Date,Case Number\r\n"
+                + "\"Rao v. Rao, partition\",property,CLIENT@example.com,bar/1,City Civil Court,05/03/2019,OS/44/2019\r\n"
+                + "Lease dispute,civil,client@example.com,BAR/1,,2020-01-31,\r\n";
+
+        CaseImportResult result = caseImportService.importCases("cases.csv", stream(csv));
+
+        assertEquals(2, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertEquals(2, inserted.size());
+        Object[] first = inserted.get(0);
+        assertEquals("OS/44/2019", first[0]);
+        assertEquals("Rao v. Rao, partition", first[1]);
+        assertEquals("PROPERTY", first[2]);
+        assertEquals(11L, first[3]);
+        assertEquals(21L, first[4]);
+        assertEquals("City Civil Court", first[5]);
+        assertEquals(Date.valueOf(LocalDate.of(2019, 3, 5)), first[7]);
+        assertEquals("OPEN", first[8]);
+        assertEquals("MEDIUM", first[9]);
+        assertEquals("LC-2026-001", inserted.get(1)[0]);
+        assertNull(inserted.get(1)[5]);
+        verify(caseEventService).appendCasesFiled(List.of("OS/44/2019", "LC-2026-001"));
+    }
+
+    @Test
+    void importCases_xlsxAcceptsHeaderAliasesAndDateCells() throws Exception {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("Cases");
+        Row header = sheet.createRow(0);
+        String[] headers = { "case_number", "Case Title", "Client ID", "Advocate User Id", "Filing Date", "Priority" };
+        for (int i = 0; i < headers.length; i++) {
+            header.createCell(i).setCellValue(headers[i]);
+        }
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue("WP/7/2021");
+        row.createCell(1).setCellValue("Writ against municipal order");
+        row.createCell(2).setCellValue(11);
+        row.createCell(3).setCellValue(5);
+        row.createCell(4).setCellValue(LocalDate.of(2021, 7, 14));
+        row.getCell(4).setCellStyle(dateStyle);
+        row.createCell(5).setCellValue("urgent");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        workbook.write(bytes);
+        workbook.close();
+
+        CaseImportResult result = caseImportService.importCases("cases.xlsx",
+                new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(1, result.getImported());
+        Object[] values = inserted.get(0);
+        assertEquals("WP/7/2021", values[0]);
+        assertEquals(11L, values[3]);
+        assertEquals(21L, values[4]);
+        assertEquals(Date.valueOf(LocalDate.of(2021, 7, 14)), values[7]);
+        assertEquals("URGENT", values[9]);
+    }
+
+    @Test
+    void importCases_reportsBadEnumAndDateRowsWithRowNumbers() throws Exception {
+        String csv = "caseNumber,caseTitle,caseType,clientId,advocateUserId,filingDate\n"
+                + "A/1,Good row,CIVIL,11,5,2022-02-01\n"
+                + "A/2,Bad type,MARITIME,11,5,2022-02-01\n"
+                + "A/3,Bad date,CIVIL,11,5,31/31/2022\n";
+
+        CaseImportResult result = caseImportService.importCases("cases.csv", stream(csv));
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        CaseImportError badType = result.getErrors().get(0);
+        assertEquals(3, badType.getRow());
+        assertEquals("A/2", badType.getCaseNumber());
+        assertTrue(badType.getMessage().contains("caseType"));
+        CaseImportError badDate = result.getErrors().get(1);
+        assertEquals(4, badDate.getRow());
+        assertTrue(badDate.getMessage().contains("filingDate"));
+        assertEquals(1, inserted.size());
+        verifyNoInteractions(numberSequenceService);
+    }
+
+    @Test
+    void importCases_rejectsCaseNumberRepeatedInFile() throws Exception {
+        String csv = "caseNumber,caseTitle,clientId,advocateUserId\n"
+                + "A/1,First,11,5\n"
+                + "A/1,Second,11,5\n";
+
+        CaseImportResult result = caseImportService.importCases("cases.csv", stream(csv));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals("Duplicate caseNumber in file", result.getErrors().get(0).getMessage());
+        assertEquals("First", inserted.get(0)[1]);
+    }
+
+    @Test
+    void importCases_claimsSequenceNumbersAndRejectsIssuedOnes() throws Exception {
+        when(numberSequenceService.claimCaseNumbers(Map.of(2026, 40L))).thenReturn(Map.of(2026, 10L));
+        String csv = "caseNumber,caseTitle,clientId,advocateUserId\n"
+                + "LC-2026-040,Above the sequence,11,5\n"
+                + "LC-2026-004,Already issued,11,5\n";
+
+        CaseImportResult result = caseImportService.importCases("cases.csv", stream(csv));
+
+        assertEquals(1, result.getImported());
+        assertEquals("LC-2026-040", inserted.get(0)[0]);
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertEquals("LC-2026-004", result.getErrors().get(0).getCaseNumber());
+    }
+
+    @Test
+    void importCases_rejectsExistingCaseNumbersWhenTheBatchReportsNoCounts() throws Exception {
+        batchCount = Statement.SUCCESS_NO_INFO;
+        when(jdbcTemplate.queryForList(contains("SELECT case_number FROM cases"), eq(String.class),
+                any(Object[].class))).thenReturn(List.of("OS/44/2019"));
+        String csv = "caseNumber,caseTitle,clientId,advocateUserId\n"
+                + "A/1,First,11,5\n"
+                + "os/44/2019,Already filed,11,5\n"
+                + "A/2,Second,11,5\n"
+                + "A/3,Third,11,5\n";
+
+        CaseImportResult result = caseImportService.importCases("cases.csv", stream(csv));
+
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getFailed());
+        CaseImportError existing = result.getErrors().get(0);
+        assertEquals(3, existing.getRow());
+        assertEquals("Case number already exists", existing.getMessage());
+        assertEquals(List.of("A/1", "A/2", "A/3"), inserted.stream().map(values -> values[0]).toList());
+        verify(caseEventService).appendCasesFiled(List.of("A/1", "A/2", "A/3"));
+    }
+
+    @Test
+    void importCases_rejectsValuesLongerThanTheirColumn() throws Exception {
+        String csv = "caseNumber,caseTitle,clientId,advocateUserId,judgeName,courtName\n"
+                + "A/1,Long judge,11,5," + "J".repeat(101) + ",City Civil Court\n"
+                + "A/2,Long court,11,5,Justice Rao," + "C".repeat(201) + "\n"
+                + "A/3,Fits,11,5,Justice Rao,City Civil Court\n";
+
+        CaseImportResult result = caseImportService.importCases("cases.csv", stream(csv));
+
+        assertEquals(1, result.getImported());
+        assertEquals("judgeName exceeds 100 characters", result.getErrors().get(0).getMessage());
+        assertEquals("courtName exceeds 200 characters", result.getErrors().get(1).getMessage());
+        assertEquals("A/3", inserted.get(0)[0]);
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
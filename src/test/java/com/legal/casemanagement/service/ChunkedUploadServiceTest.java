@@ -0,0 +1,86 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.CaseDtos.CreateUploadSessionRequest;
+import com.legal.casemanagement.dto.CaseDtos.DocumentResponse;
+import com.legal.casemanagement.dto.CaseDtos.UploadDocumentRequest;
+import com.legal.casemanagement.dto.CaseDtos.UploadSessionStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private DocumentService documentService;
+
+    private ChunkedUploadService chunkedUploadService;
+
+    @BeforeEach
+    void setUp() {
+        chunkedUploadService = new ChunkedUploadService(documentService, dir.toString(), 4, 16, 1024, 24);
+    }
+
+    @Test
+    void chunksSentOutOfOrderAreAssembledInOrderOnComplete() throws Exception {
+        when(documentService.resolveCaseId(null, "LC-2026-001")).thenReturn(5001L);
+        UploadSessionStatus session = chunkedUploadService.createSession(
+                new CreateUploadSessionRequest(null, "LC-2026-001", "Bundle.pdf", "EVIDENCE", null, 10L, null), 2L);
+        assertEquals(3, session.getChunkCount());
+
+        chunkedUploadService.putChunk(session.getUploadId(), 2, stream("89"), null);
+        chunkedUploadService.putChunk(session.getUploadId(), 0, stream("0123"), null);
+        assertEquals(List.of(0, 2), chunkedUploadService.getStatus(session.getUploadId()).getReceivedChunks());
+        assertThrows(IllegalStateException.class, () -> chunkedUploadService.complete(session.getUploadId()));
+
+        chunkedUploadService.putChunk(session.getUploadId(), 1, stream("4567"), null);
+        AtomicReference<String> assembled = new AtomicReference<>();
+        when(documentService.upload(any(UploadDocumentRequest.class), any(InputStream.class), eq("Bundle.pdf"),
+                eq(2L))).thenAnswer(inv -> {
+                    assembled.set(new String(((InputStream) inv.getArgument(1)).readAllBytes(),
+                            StandardCharsets.UTF_8));
+                    return DocumentResponse.builder().documentId(7001L).build();
+                });
+
+        assertEquals(7001L, chunkedUploadService.complete(session.getUploadId()).getDocumentId());
+        assertEquals("0123456789", assembled.get());
+        assertFalse(Files.exists(dir.resolve("uploads").resolve(session.getUploadId())));
+        assertThrows(NoSuchElementException.class, () -> chunkedUploadService.getStatus(session.getUploadId()));
+    }
+
+    @Test
+    void putChunk_rejectsWrongSizeAndChecksumMismatch() throws Exception {
+        when(documentService.resolveCaseId(5001L, null)).thenReturn(5001L);
+        UploadSessionStatus session = chunkedUploadService.createSession(
+                new CreateUploadSessionRequest(5001L, null, "Scan.pdf", null, null, 8L, null), 2L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> chunkedUploadService.putChunk(session.getUploadId(), 0, stream("01234"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> chunkedUploadService.putChunk(session.getUploadId(), 0, stream("0123"), "0".repeat(64)));
+        assertTrue(chunkedUploadService.getStatus(session.getUploadId()).getReceivedChunks().isEmpty());
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
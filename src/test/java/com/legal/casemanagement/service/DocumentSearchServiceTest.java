@@ -0,0 +1,147 @@
+package com.legal.casemanagement.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// The indexer and worker threads make catch-up calls these tests leave unstubbed.
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DocumentSearchServiceTest {
+
+    private static final long DOCUMENT_ID = 42L;
+    private static final String HASH = "ab".repeat(32);
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DocumentStorageService documentStorageService;
+
+    @Mock
+    private DocumentTextExtractor textExtractor;
+
+    @Mock
+    private DocumentTieringService documentTieringService;
+
+    private DocumentSearchService documentSearchService;
+    private Path file;
+
+    /** Stands in for the document's document_extraction_queue row; available_at is not modelled. */
+    private final Object queueLock = new Object();
+    private String status = "PENDING";
+    private int attempts;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.writeString(dir.resolve("brief.pdf"), "%PDF-1.7");
+        documentSearchService = new DocumentSearchService(jdbcTemplate, documentStorageService, textExtractor,
+                documentTieringService, dir.resolve("index").toString(), 200, 1, 3);
+        when(jdbcTemplate.queryForList(contains("FROM document_extraction_queue"), eq(Long.class), any()))
+                .thenAnswer(inv -> {
+                    synchronized (queueLock) {
+                        return "PENDING".equals(status) ? List.of(DOCUMENT_ID) : List.of();
+                    }
+                });
+        when(jdbcTemplate.update(contains("SET status = 'RUNNING'"), eq(DOCUMENT_ID))).thenAnswer(inv -> {
+            synchronized (queueLock) {
+                if (!"PENDING".equals(status)) {
+                    return 0;
+                }
+                status = "RUNNING";
+                return 1;
+            }
+        });
+        when(jdbcTemplate.update(contains("attempts = attempts + 1"), eq(3), anyInt(), any(), eq(DOCUMENT_ID)))
+                .thenAnswer(inv -> {
+                    synchronized (queueLock) {
+                        status = attempts + 1 >= 3 ? "FAILED" : "PENDING";
+                        attempts++;
+                        return 1;
+                    }
+                });
+        when(jdbcTemplate.update(contains("DELETE FROM document_extraction_queue"), eq(DOCUMENT_ID)))
+                .thenAnswer(inv -> {
+                    synchronized (queueLock) {
+                        status = "DONE";
+                        return 1;
+                    }
+                });
+        when(jdbcTemplate.query(contains("AS extracted FROM documents d"), any(RowMapper.class), eq(DOCUMENT_ID)))
+                .thenReturn(List.<Object>of(new String[] { "brief.pdf", "blobs/brief", HASH, null }));
+        when(documentStorageService.resolve("blobs/brief")).thenReturn(file);
+    }
+
+    @AfterEach
+    void tearDown() {
+        documentSearchService.shutdown();
+    }
+
+    @Test
+    void extraction_isRetriedAndThenLeftFailed() throws Exception {
+        when(textExtractor.extract(file, "brief.pdf")).thenThrow(new IOException("Unreadable PDF"));
+
+        documentSearchService.start();
+
+        awaitStatus("FAILED");
+        verify(textExtractor, times(3)).extract(file, "brief.pdf");
+        verify(jdbcTemplate, never()).update(contains("INSERT INTO document_texts"), any(), any(), any());
+
+        // A poll after giving up does not pick the document up again.
+        documentSearchService.pollQueue();
+        verify(textExtractor, after(200).times(3)).extract(file, "brief.pdf");
+        synchronized (queueLock) {
+            assertEquals(3, attempts);
+        }
+    }
+
+    @Test
+    void extraction_succeedsOnRetryAfterATransientFailure() throws Exception {
+        when(textExtractor.extract(file, "brief.pdf"))
+                .thenThrow(new IOException("Stored content is missing"))
+                .thenReturn("Memorandum of appeal");
+
+        documentSearchService.start();
+
+        awaitStatus("DONE");
+        verify(textExtractor, times(2)).extract(file, "brief.pdf");
+        verify(jdbcTemplate, timeout(2000)).update(contains("INSERT INTO document_texts"), eq(HASH),
+                eq("Memorandum of appeal"), eq(20));
+        synchronized (queueLock) {
+            assertEquals(1, attempts);
+        }
+    }
+
+    private void awaitStatus(String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            synchronized (queueLock) {
+                if (expected.equals(status)) {
+                    return;
+                }
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "queue row never reached " + expected);
+            Thread.sleep(10);
+        }
+    }
+}
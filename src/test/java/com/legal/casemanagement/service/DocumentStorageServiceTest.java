@@ -0,0 +1,56 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.service.DocumentStorageService.ReceivedContent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentStorageServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void receive_hashesContentAndPlaceStoresItOncePerHash() throws Exception {
+        DocumentStorageService storage = new DocumentStorageService(dir.toString());
+        byte[] bytes = "Vakalatnama signed by the client".getBytes(StandardCharsets.UTF_8);
+
+        ReceivedContent first = storage.receive(new ByteArrayInputStream(bytes));
+        ReceivedContent second = storage.receive(new ByteArrayInputStream(bytes));
+
+        assertEquals(bytes.length, first.size());
+        assertEquals(first.sha256(), second.sha256());
+        assertTrue(storage.place(first));
+        assertFalse(storage.place(second));
+        assertFalse(Files.exists(second.file()), "duplicate upload left behind");
+
+        Path blob = storage.resolve(storage.blobPath(first.sha256()));
+        assertNotNull(blob);
+        assertArrayEquals(bytes, Files.readAllBytes(blob));
+    }
+
+    @Test
+    void blobPath_isDerivedFromTheHash() {
+        DocumentStorageService storage = new DocumentStorageService(dir.toString());
+        String hash = "3fa9" + "0".repeat(60);
+
+        assertEquals("blobs/3f/" + hash, storage.blobPath(hash));
+        assertThrows(IllegalArgumentException.class, () -> storage.blobPath("../../etc/passwd"));
+    }
+
+    @Test
+    void resolve_rejectsMissingFilesAndPathsOutsideTheRoot() throws Exception {
+        DocumentStorageService storage = new DocumentStorageService(dir.resolve("store").toString());
+        Files.writeString(dir.resolve("secret.txt"), "x");
+
+        assertNull(storage.resolve("../secret.txt"));
+        assertNull(storage.resolve("/documents/1700000000000_Petition.pdf"));
+        assertNull(storage.resolve(null));
+    }
+}
@@ -0,0 +1,109 @@
+package com.legal.casemanagement.service;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentTextExtractorTest {
+
+    @TempDir
+    Path dir;
+
+    private final DocumentTextExtractor extractor = new DocumentTextExtractor(1_000_000);
+
+    @Test
+    void extract_readsPdfTextFromEveryPage() throws IOException {
+        Path file = pdf("order.pdf", "Interim injunction granted", "Next date of hearing");
+
+        String text = extractor.extract(file, "Order.PDF");
+
+        assertTrue(text.contains("Interim injunction granted"), text);
+        assertTrue(text.contains("Next date of hearing"), text);
+    }
+
+    @Test
+    void extract_detectsPdfBySignatureWhenNameHasNoExtension() throws IOException {
+        Path file = pdf("scan", "Vakalatnama");
+
+        assertTrue(extractor.extract(file, "scan").contains("Vakalatnama"));
+    }
+
+    @Test
+    void extract_readsDocxParagraphs() throws IOException {
+        Path file = dir.resolve("plaint.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(file)) {
+            document.createParagraph().createRun().setText("Suit for specific performance");
+            document.createParagraph().createRun().setText("Prayer clause");
+            document.write(out);
+        }
+
+        String text = extractor.extract(file, "plaint.docx");
+
+        assertTrue(text.contains("Suit for specific performance"), text);
+        assertTrue(text.contains("Prayer clause"), text);
+    }
+
+    @Test
+    void extract_readsXlsxCells() throws IOException {
+        Path file = dir.resolve("ledger.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Row row = workbook.createSheet("Fees").createRow(0);
+            row.createCell(0).setCellValue("Court fee");
+            row.createCell(1).setCellValue(2500);
+            workbook.write(out);
+        }
+
+        String text = extractor.extract(file, "ledger.xlsx");
+
+        assertTrue(text.contains("Court fee"), text);
+        assertTrue(text.contains("2500"), text);
+    }
+
+    @Test
+    void extract_readsPlainTextAndCapsLength() throws IOException {
+        Path file = dir.resolve("notes.md");
+        Files.writeString(file, "Affidavit of service — filed", StandardCharsets.UTF_8);
+
+        assertEquals("Affidavit of service — filed", extractor.extract(file, "notes.md"));
+        assertEquals("Affidavit", new DocumentTextExtractor(9).extract(file, "notes.md"));
+    }
+
+    @Test
+    void extract_returnsNullForOtherFormats() throws IOException {
+        Path file = dir.resolve("photo.jpg");
+        Files.write(file, new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0 });
+
+        assertNull(extractor.extract(file, "photo.jpg"));
+    }
+
+    private Path pdf(String name, String... pageTexts) throws IOException {
+        Path file = dir.resolve(name);
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(file.toString()))) {
+            for (String text : pageTexts) {
+                new PdfCanvas(pdf.addNewPage())
+                        .beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                        .moveText(72, 720)
+                        .showText(text)
+                        .endText()
+                        .release();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,106 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.util.PackFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentTieringServiceTest {
+
+    private static final String CONTENT = "Decree dated 12 March 2024 ".repeat(200);
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DocumentStorageService documentStorageService;
+
+    @Mock
+    private InsertStatementRegistry insertStatements;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DocumentTieringService documentTieringService;
+    private Path source;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        documentTieringService = new DocumentTieringService(jdbcTemplate, documentStorageService, insertStatements,
+                transactionManager, dir.toString(), 12, 1 << 20, 6, 24);
+        source = Files.writeString(dir.resolve("decree.pdf"), CONTENT, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void openCold_inflatesFromThePackWithoutAThawedCopy() throws Exception {
+        String hash = sha256(CONTENT);
+        pack(hash);
+
+        try (InputStream in = documentTieringService.openCold(hash)) {
+            assertEquals(CONTENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertFalse(Files.exists(dir.resolve("thaw")));
+    }
+
+    @Test
+    void openCold_failsAtTheEndWhenTheContentDoesNotMatchItsHash() throws Exception {
+        // The pack entry claims a hash its bytes do not have.
+        String hash = sha256("Some other document");
+        pack(hash);
+
+        try (InputStream in = documentTieringService.openCold(hash)) {
+            IOException e = assertThrows(IOException.class, in::readAllBytes);
+            assertTrue(e.getMessage().contains("failed its checksum"), e.getMessage());
+        }
+    }
+
+    @Test
+    void openCold_returnsNullForBlobsNotInTheColdTier() throws Exception {
+        String hash = sha256(CONTENT);
+        when(jdbcTemplate.query(contains("b.tier = 'COLD'"), any(RowMapper.class), eq(hash))).thenReturn(List.of());
+
+        assertNull(documentTieringService.openCold(hash));
+        assertNull(documentTieringService.openCold("not-a-hash"));
+    }
+
+    /** Packs {@link #source} as {@code hash} and points the placement query at it. */
+    private void pack(String hash) throws IOException {
+        Path pack = dir.resolve("packs").resolve("pack-1.pack");
+        Files.createDirectories(pack.getParent());
+        PackFile.Entry entry;
+        try (PackFile.Writer writer = PackFile.create(pack, 6)) {
+            entry = writer.add(hash, source);
+        }
+        doReturn(List.<Object>of(new Object[] { "packs/pack-1.pack", entry.offset() }))
+                .when(jdbcTemplate).query(contains("b.tier = 'COLD'"), any(RowMapper.class), eq(hash));
+        when(documentStorageService.resolve("packs/pack-1.pack")).thenReturn(pack);
+    }
+
+    private static String sha256(String text) throws Exception {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
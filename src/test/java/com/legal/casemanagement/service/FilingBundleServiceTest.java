@@ -0,0 +1,130 @@
+package com.legal.casemanagement.service;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.legal.casemanagement.dto.CaseDtos.CaseDetail;
+import com.legal.casemanagement.dto.CaseDtos.FilingBundleRequest;
+import com.legal.casemanagement.dto.CaseDtos.FilingBundleStatus;
+import com.legal.casemanagement.service.DocumentService.DocumentContent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FilingBundleServiceTest {
+
+    private static final String CASE_NUMBER = "LC-2026-001";
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DocumentService documentService;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private FilingBundleService filingBundleService;
+
+    @BeforeEach
+    void setUp() {
+        filingBundleService = new FilingBundleService(jdbcTemplate, documentService, dir.toString(), 1, 8, 1000, 24);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filingBundleService.shutdown();
+    }
+
+    @Test
+    void buildsStampedBundleFromTwoPdfs() throws Exception {
+        Path first = pdf("a.pdf", "Plaint");
+        Path second = pdf("b.pdf", "Written statement", "Annexure");
+        when(resultSet.getLong("document_id")).thenReturn(1L, 2L);
+        when(resultSet.getString("document_name")).thenReturn("a.pdf", "b.pdf");
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM documents d"), any(RowCallbackHandler.class), eq(CASE_NUMBER));
+        when(documentService.getContent(1L)).thenReturn(content(1L, "a.pdf", first));
+        when(documentService.getContent(2L)).thenReturn(content(2L, "b.pdf", second));
+
+        CaseDetail detail = CaseDetail.builder().caseNumber(CASE_NUMBER).title("State v. Rao").build();
+        FilingBundleStatus submitted = filingBundleService.submit(detail,
+                new FilingBundleRequest("Appeal paper book", List.of(1L, 2L)));
+
+        FilingBundleStatus status = awaitFinished(submitted.getJobId());
+        assertEquals(FilingBundleService.DONE, status.getStatus(), status.getError());
+        assertEquals(4, status.getTotalPages());
+
+        Path bundle = filingBundleService.getBundleFile(CASE_NUMBER, submitted.getJobId());
+        assertNotNull(bundle);
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(bundle.toFile()))) {
+            assertEquals(4, pdf.getNumberOfPages());
+            for (int page = 1; page <= 4; page++) {
+                String text = PdfTextExtractor.getTextFromPage(pdf.getPage(page));
+                assertTrue(text.contains("Page " + page + " of 4"), text);
+                assertTrue(text.contains(CASE_NUMBER), text);
+            }
+            assertTrue(PdfTextExtractor.getTextFromPage(pdf.getPage(2)).contains("Plaint"));
+            assertTrue(PdfTextExtractor.getTextFromPage(pdf.getPage(4)).contains("Annexure"));
+        }
+    }
+
+    private FilingBundleStatus awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        FilingBundleStatus status = filingBundleService.getStatus(CASE_NUMBER, jobId);
+        while (!FilingBundleService.DONE.equals(status.getStatus())
+                && !FilingBundleService.FAILED.equals(status.getStatus())) {
+            assertTrue(System.currentTimeMillis() < deadline, "bundle job did not finish");
+            Thread.sleep(20);
+            status = filingBundleService.getStatus(CASE_NUMBER, jobId);
+        }
+        return status;
+    }
+
+    private Path pdf(String name, String... pageTexts) throws Exception {
+        Path file = dir.resolve(name);
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(file.toString()))) {
+            for (String text : pageTexts) {
+                new PdfCanvas(pdf.addNewPage())
+                        .beginText()
+                        .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 14)
+                        .moveText(72, 720)
+                        .showText(text)
+                        .endText()
+                        .release();
+            }
+        }
+        return file;
+    }
+
+    private static DocumentContent content(long id, String name, Path file) throws Exception {
+        return new DocumentContent(id, name, file, Files.size(file), null, 0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.HearingDtos.BulkHearingOutcomeRequest;
+import com.legal.casemanagement.dto.HearingDtos.BulkHearingOutcomeResult;
+import com.legal.casemanagement.dto.HearingDtos.HearingOutcomeEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HearingBulkServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CaseSummaryService caseSummaryService;
+
+    @Mock
+    private CaseChangeTracker caseChangeTracker;
+
+    @Mock
+    private CaseEventService caseEventService;
+
+    @Mock
+    private HearingConflictIndex hearingConflictIndex;
+
+    @Mock
+    private ReminderService reminderService;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private HearingBulkService hearingBulkService;
+
+    @BeforeEach
+    void setUp() {
+        hearingBulkService = new HearingBulkService(jdbcTemplate, transactionManager, caseSummaryService,
+                caseChangeTracker, caseEventService, hearingConflictIndex, reminderService, 100);
+    }
+
+    @Test
+    void applyOutcomes_adjournsWithFollowUpAndReportsEachEntry() throws Exception {
+        when(resultSet.getLong("hearing_id")).thenReturn(6001L);
+        when(resultSet.getLong("case_id")).thenReturn(5001L);
+        when(resultSet.getString("case_number")).thenReturn("LC-2026-001");
+        when(resultSet.getObject("advocate_id")).thenReturn(3001L);
+        when(resultSet.getLong("advocate_id")).thenReturn(3001L);
+        when(resultSet.getString("court_name")).thenReturn("High Court");
+        when(resultSet.getString("status")).thenReturn("SCHEDULED");
+        when(resultSet.getTimestamp("hearing_date"))
+                .thenReturn(Timestamp.valueOf(LocalDateTime.of(2026, 10, 19, 10, 30)));
+        when(resultSet.getInt("duration_minutes")).thenReturn(60);
+        when(resultSet.getString("courtroom")).thenReturn("Room 4");
+        when(resultSet.getString("hearing_type")).thenReturn("EVIDENCE");
+        doAnswer(inv -> {
+            ((RowCallbackHandler) inv.getArgument(1)).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(contains("FOR UPDATE"), any(RowCallbackHandler.class), any(), any());
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE hearings"), anyList())).thenReturn(new int[] { 1 });
+        HearingConflictIndex.Hold hold = new HearingConflictIndex.Hold(-1, true, List.of());
+        when(hearingConflictIndex.hold(5001L, "LC-2026-001", 3001L, "High Court", "Room 4",
+                LocalDateTime.of(2026, 11, 20, 10, 30), 60, true)).thenReturn(hold);
+        doAnswer(inv -> {
+            ((KeyHolder) inv.getArgument(2)).getKeyList().add(Map.of("GENERATED_KEY", 6100L));
+            return new int[] { 1 };
+        }).when(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+
+        BulkHearingOutcomeRequest request = new BulkHearingOutcomeRequest(List.of(
+                HearingOutcomeEntry.builder().hearingId(6001L).status("adjourned").nextHearingDate("2026-11-20")
+                        .remarks("Witness absent").build(),
+                HearingOutcomeEntry.builder().hearingId(6999L).status("COMPLETED").build(),
+                HearingOutcomeEntry.builder().hearingId(6002L).status("POSTPONED").build()));
+        BulkHearingOutcomeResult result = hearingBulkService.applyOutcomes(request);
+
+        assertEquals(3, result.getRequested());
+        assertEquals(1, result.getUpdated());
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getFollowUpsScheduled());
+        assertEquals(HearingBulkService.UPDATED, result.getResults().get(0).getOutcome());
+        assertEquals(6100L, result.getResults().get(0).getFollowUpHearingId());
+        assertEquals(HearingBulkService.NOT_FOUND, result.getResults().get(1).getOutcome());
+        assertEquals(HearingBulkService.INVALID, result.getResults().get(2).getOutcome());
+        verify(hearingConflictIndex).confirm(hold, 6100L);
+        verify(caseChangeTracker).casesChanged(List.of(5001L));
+        verify(reminderService).hearingChanged(6001L);
+        verify(reminderService).hearingChanged(6100L);
+    }
+
+    @Test
+    void applyOutcomes_rejectsEmptyRequest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> hearingBulkService.applyOutcomes(new BulkHearingOutcomeRequest(List.of())));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
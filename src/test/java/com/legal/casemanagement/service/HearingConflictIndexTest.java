@@ -0,0 +1,89 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.HearingDtos.HearingConflict;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HearingConflictIndexTest {
+
+    private static final LocalDateTime TEN = LocalDateTime.of(2026, 11, 2, 10, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private HearingConflictIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HearingConflictIndex(jdbcTemplate, 60, 30);
+        HearingConflictIndex.Hold first = index.hold(1L, "CASE-1", 7L, "High Court", "Room 4", TEN, 60, false);
+        index.confirm(first, 101L);
+    }
+
+    @Test
+    void hold_refusesOverlapForSameAdvocateOrCourtroom() {
+        HearingConflictIndex.Hold sameAdvocate = index.hold(2L, "CASE-2", 7L, "District Court", "Room 1",
+                TEN.plusMinutes(30), 60, false);
+        HearingConflictIndex.Hold sameRoom = index.hold(3L, "CASE-3", 8L, " high  court", "ROOM 4",
+                TEN.plusMinutes(59), 30, false);
+
+        assertFalse(sameAdvocate.placed());
+        assertEquals(HearingConflictIndex.ADVOCATE, sameAdvocate.conflicts().get(0).getKind());
+        assertEquals(101L, sameAdvocate.conflicts().get(0).getConflictsWith().getHearingId());
+        assertFalse(sameRoom.placed());
+        assertEquals(HearingConflictIndex.COURTROOM, sameRoom.conflicts().get(0).getKind());
+    }
+
+    @Test
+    void hold_allowsBackToBackAndFlaggedOverlaps() {
+        HearingConflictIndex.Hold next = index.hold(2L, "CASE-2", 7L, "High Court", "Room 4",
+                TEN.plusMinutes(60), 60, false);
+        HearingConflictIndex.Hold flagged = index.hold(3L, "CASE-3", 7L, null, null, TEN, 15, true);
+
+        assertTrue(next.placed());
+        assertTrue(next.conflicts().isEmpty());
+        assertTrue(flagged.placed());
+        assertEquals(1, flagged.conflicts().size());
+    }
+
+    @Test
+    void findConflicts_reportsEachOverlappingPairOnce() {
+        index.confirm(index.hold(2L, "CASE-2", 7L, null, null, TEN.plusMinutes(30), 60, true), 102L);
+        index.release(index.hold(3L, "CASE-3", 7L, null, null, TEN, 60, true));
+
+        List<HearingConflict> conflicts = index.findConflicts(TEN.minusHours(1), TEN.plusHours(3), 7L, null, 100);
+
+        assertEquals(1, conflicts.size());
+        assertEquals(101L, conflicts.get(0).getHearing().getHearingId());
+        assertEquals(102L, conflicts.get(0).getConflictsWith().getHearingId());
+    }
+
+    @Test
+    void reload_keepsBookingsConfirmedWhileTheQueryRan() {
+        when(jdbcTemplate.query(contains("FROM hearings"), any(RowMapper.class), any())).thenAnswer(inv -> {
+            // Confirmed after the snapshot was taken, so the loaded rows do not include it.
+            index.confirm(index.hold(2L, "CASE-2", 8L, null, null, TEN, 60, false), 102L);
+            return List.of();
+        });
+
+        index.reload();
+
+        assertEquals(1, index.size());
+        HearingConflictIndex.Hold clash = index.hold(3L, "CASE-3", 8L, null, null, TEN, 30, false);
+        assertFalse(clash.placed());
+        assertEquals(102L, clash.conflicts().get(0).getConflictsWith().getHearingId());
+    }
+}
@@ -0,0 +1,146 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.HearingDtos.HearingCalendar;
+import com.legal.casemanagement.dto.HearingDtos.HearingCalendarBucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HearingServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CaseSummaryService caseSummaryService;
+
+    @Mock
+    private CaseChangeTracker caseChangeTracker;
+
+    @Mock
+    private CaseEventService caseEventService;
+
+    @Mock
+    private HearingConflictIndex hearingConflictIndex;
+
+    @Mock
+    private ReminderService reminderService;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private HearingService hearingService;
+
+    /** The row the mocked ResultSet currently shows. */
+    private Row current;
+
+    private record Row(long hearingId, LocalDateTime hearingDate, String status) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        hearingService = new HearingService(jdbcTemplate, caseSummaryService, caseChangeTracker, caseEventService,
+                hearingConflictIndex, reminderService);
+    }
+
+    @Test
+    void getCalendar_weekWindowStartingMidWeekClipsFirstBucket() {
+        // 2026-10-14 is a Wednesday; 2026-11-01 a Sunday.
+        HearingCalendar calendar = hearingService.getCalendar("2026-10-14", "2026-11-01", "week", null, null, null,
+                null);
+
+        List<HearingCalendarBucket> buckets = calendar.getBuckets();
+        assertEquals(3, buckets.size());
+        assertBucket(buckets.get(0), "2026-10-14", "2026-10-18");
+        assertBucket(buckets.get(1), "2026-10-19", "2026-10-25");
+        assertBucket(buckets.get(2), "2026-10-26", "2026-11-01");
+
+        // Every day's index points at the bucket the walk built for it.
+        LocalDate start = LocalDate.of(2026, 10, 14);
+        for (LocalDate day = start; !day.isAfter(LocalDate.of(2026, 11, 1)); day = day.plusDays(1)) {
+            HearingCalendarBucket bucket = buckets.get(HearingService.bucketIndex(start, day, "WEEK"));
+            assertFalse(day.isBefore(LocalDate.parse(bucket.getStart())), day.toString());
+            assertFalse(day.isAfter(LocalDate.parse(bucket.getEnd())), day.toString());
+        }
+    }
+
+    @Test
+    void getCalendar_monthBucketsAreClippedToTheWindow() throws Exception {
+        stubHearings(
+                new Row(1L, LocalDateTime.of(2026, 1, 15, 10, 30), "COMPLETED"),
+                new Row(2L, LocalDateTime.of(2026, 2, 28, 11, 0), "ADJOURNED"),
+                new Row(3L, LocalDateTime.of(2026, 3, 10, 16, 0), "SCHEDULED"));
+
+        HearingCalendar calendar = hearingService.getCalendar("2026-01-15", "2026-03-10", "MONTH", null, null, null,
+                null);
+
+        List<HearingCalendarBucket> buckets = calendar.getBuckets();
+        assertEquals(3, buckets.size());
+        assertBucket(buckets.get(0), "2026-01-15", "2026-01-31");
+        assertBucket(buckets.get(1), "2026-02-01", "2026-02-28");
+        assertBucket(buckets.get(2), "2026-03-01", "2026-03-10");
+        assertEquals(List.of(1L, 1L, 1L), buckets.stream().map(HearingCalendarBucket::getCount).toList());
+        assertEquals(1L, buckets.get(2).getStatusCounts().get("SCHEDULED"));
+        assertEquals(3, calendar.getTotal());
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class),
+                eq(Timestamp.valueOf(LocalDateTime.of(2026, 1, 15, 0, 0))),
+                eq(Timestamp.valueOf(LocalDateTime.of(2026, 3, 11, 0, 0))));
+    }
+
+    @Test
+    void getCalendar_limitPerBucketTruncatesListButKeepsCounts() throws Exception {
+        stubHearings(
+                new Row(1L, LocalDateTime.of(2026, 10, 19, 10, 0), "SCHEDULED"),
+                new Row(2L, LocalDateTime.of(2026, 10, 19, 11, 0), "ADJOURNED"),
+                new Row(3L, LocalDateTime.of(2026, 10, 19, 14, 0), "SCHEDULED"),
+                new Row(4L, LocalDateTime.of(2026, 10, 20, 10, 0), "SCHEDULED"));
+
+        HearingCalendar calendar = hearingService.getCalendar("2026-10-19", "2026-10-20", "DAY", null, null, null, 2);
+
+        HearingCalendarBucket busy = calendar.getBuckets().get(0);
+        assertEquals(3, busy.getCount());
+        assertTrue(busy.isTruncated());
+        assertEquals(List.of(1L, 2L), busy.getHearings().stream().map(h -> h.getHearingId()).toList());
+        assertEquals(2L, busy.getStatusCounts().get("SCHEDULED"));
+        assertEquals(1L, busy.getStatusCounts().get("ADJOURNED"));
+        HearingCalendarBucket quiet = calendar.getBuckets().get(1);
+        assertEquals(1, quiet.getCount());
+        assertFalse(quiet.isTruncated());
+        assertEquals(4, calendar.getTotal());
+    }
+
+    private void stubHearings(Row... rows) throws Exception {
+        when(resultSet.getTimestamp("hearing_date")).thenAnswer(inv -> Timestamp.valueOf(current.hearingDate()));
+        when(resultSet.getLong("hearing_id")).thenAnswer(inv -> current.hearingId());
+        when(resultSet.getString(anyString())).thenAnswer(inv -> "status".equals(inv.getArgument(0))
+                ? current.status() : null);
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (Row row : rows) {
+                current = row;
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM hearings h"), any(RowCallbackHandler.class), any(), any());
+    }
+
+    private static void assertBucket(HearingCalendarBucket bucket, String start, String end) {
+        assertEquals(start, bucket.getStart());
+        assertEquals(end, bucket.getEnd());
+    }
+}
@@ -0,0 +1,72 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.ReportDtos.InsertStatementStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InsertStatementRegistryTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    private InsertStatementRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Compiling only asks the connection about generated keys; table columns are never read.
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("MySQL");
+        registry = new InsertStatementRegistry(new JdbcTemplate(dataSource));
+        registry.compile();
+    }
+
+    @Test
+    void compile_insertsExactlyTheDeclaredColumns() throws Exception {
+        Map<String, InsertStatementStats> stats = registry.stats().stream()
+                .collect(Collectors.toMap(InsertStatementStats::getTable, s -> s));
+
+        assertEquals(List.of("case_number", "case_title", "case_type", "client_id", "advocate_id", "court_name",
+                "court_type", "filing_date", "priority", "description", "opposing_party", "judge_name", "status"),
+                columns(stats.get(InsertStatementRegistry.CASES)));
+        assertEquals(List.of("file_path", "blob_count", "raw_bytes", "packed_bytes"),
+                columns(stats.get(InsertStatementRegistry.DOCUMENT_PACKS)));
+        verify(metaData, never()).getColumns(any(), any(), any(), any());
+    }
+
+    @Test
+    void insertAndReturnKey_rejectsUnregisteredTable() {
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.insertAndReturnKey("case_archive", Map.of("case_id", 1L)));
+    }
+
+    private static List<String> columns(InsertStatementStats stats) {
+        String sql = stats.getSql();
+        assertNotNull(sql, stats.getTable() + " was not compiled");
+        assertTrue(sql.startsWith("INSERT INTO " + stats.getTable() + " "), sql);
+        String list = sql.substring(sql.indexOf('(') + 1, sql.indexOf(')'));
+        return Arrays.stream(list.split(",")).map(String::trim).toList();
+    }
+}
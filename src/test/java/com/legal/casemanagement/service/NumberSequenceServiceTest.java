@@ -0,0 +1,116 @@
+package com.legal.casemanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NumberSequenceServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NumberSequenceService numberSequenceService;
+
+    /** Stands in for number_sequences.next_value; null until the row is seeded. */
+    private final AtomicReference<Long> storedNextValue = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        numberSequenceService = new NumberSequenceService(jdbcTemplate, transactionManager, 10);
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(Long.class), any(), any()))
+                .thenAnswer(inv -> storedNextValue.get() == null
+                        ? Collections.emptyList()
+                        : List.of(storedNextValue.get()));
+        when(jdbcTemplate.update(contains("next_value + ?"), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    storedNextValue.updateAndGet(v -> v + ((Number) inv.getArgument(1)).longValue());
+                    return 1;
+                });
+    }
+
+    @Test
+    void nextCaseNumber_seedsFromHighestExistingNumber() {
+        when(jdbcTemplate.queryForObject(contains("FROM cases"), eq(Long.class), any(), any()))
+                .thenReturn(7L);
+        when(jdbcTemplate.update(contains("INSERT IGNORE"), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    storedNextValue.compareAndSet(null, ((Number) inv.getArgument(3)).longValue());
+                    return 1;
+                });
+
+        String year = String.valueOf(LocalDate.now().getYear());
+        assertEquals("LC-" + year + "-008", numberSequenceService.nextCaseNumber());
+        assertEquals("LC-" + year + "-009", numberSequenceService.nextCaseNumber());
+        assertEquals(18L, storedNextValue.get());
+    }
+
+    @Test
+    void claimCaseNumbers_movesSequencePastClaimedNumbers() {
+        int year = LocalDate.now().getYear();
+        storedNextValue.set(5L);
+        when(jdbcTemplate.update(contains("SET next_value = ? "), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    storedNextValue.set(((Number) inv.getArgument(1)).longValue());
+                    return 1;
+                });
+
+        assertEquals(Map.of(year, 5L), numberSequenceService.claimCaseNumbers(Map.of(year, 12L)));
+        assertEquals(13L, storedNextValue.get());
+        assertEquals(Map.of(year, 13L), numberSequenceService.claimCaseNumbers(Map.of(year, 3L)));
+        assertEquals(13L, storedNextValue.get());
+
+        assertEquals("LC-" + year + "-013", numberSequenceService.nextCaseNumber());
+    }
+
+    @Test
+    void next_concurrentCallers_neverReceiveTheSameValue() throws Exception {
+        storedNextValue.set(1L);
+        int threads = 8;
+        int perThread = 250;
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertTrue(issued.add(numberSequenceService.next(NumberSequenceService.INVOICE_SEQUENCE, 2025, "INV-2025-")));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, issued.size());
+        assertEquals(1L, issued.stream().mapToLong(Long::longValue).min().orElseThrow());
+        assertEquals(threads * perThread, issued.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+}
@@ -0,0 +1,107 @@
+package com.legal.casemanagement.service;
+
+import com.legal.casemanagement.dto.NotificationDtos.ReminderStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ReminderService reminderService;
+
+    /** Lead minutes of every hearing reminder row handed to the batch insert. */
+    private final List<Object> writtenLeads = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reminderService = new ReminderService(jdbcTemplate, new int[] { 60, 1440, 15 }, new int[] { 1440 }, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reminderService.shutdown();
+    }
+
+    @Test
+    void reschedule_firesOnlyTheShortestPassedLeadAtOnce() {
+        when(jdbcTemplate.batchUpdate(contains("HEARING_REMINDER"), anyList())).thenAnswer(inv -> {
+            List<Object[]> batch = inv.getArgument(1);
+            batch.forEach(args -> writtenLeads.add(args[0]));
+            return new int[batch.size()];
+        });
+        reminderService.start();
+
+        // 1440 and 60 minutes before are already past; 15 minutes before is still ahead.
+        reminderService.reschedule(ReminderService.HEARING, 7L, LocalDateTime.now().plusMinutes(30));
+
+        verify(jdbcTemplate, timeout(2000)).batchUpdate(contains("HEARING_REMINDER"), anyList());
+        assertEquals(List.of(60), writtenLeads);
+        ReminderStats stats = reminderService.getStats();
+        assertEquals(1, stats.getPendingTimers());
+        assertEquals(1, stats.getTrackedItems());
+    }
+
+    @Test
+    void hearingChanged_cancelsTimersWhenNoLongerScheduled() {
+        reminderService.reschedule(ReminderService.HEARING, 7L, LocalDateTime.now().plusDays(2));
+        reminderService.reschedule(ReminderService.TASK, 9L, LocalDateTime.now().plusDays(3));
+        assertEquals(4, reminderService.getStats().getPendingTimers());
+
+        // Moved: the old timers are replaced, not added to.
+        when(jdbcTemplate.queryForList(contains("FROM hearings"), eq(Timestamp.class), eq(7L)))
+                .thenReturn(List.of(Timestamp.valueOf(LocalDateTime.now().plusDays(5))))
+                .thenReturn(List.of());
+        reminderService.hearingChanged(7L);
+        assertEquals(4, reminderService.getStats().getPendingTimers());
+
+        // Adjourned or cancelled: no longer SCHEDULED, so nothing is left for it.
+        reminderService.hearingChanged(7L);
+        ReminderStats stats = reminderService.getStats();
+        assertEquals(1, stats.getPendingTimers());
+        assertEquals(1, stats.getTrackedItems());
+    }
+
+    @Test
+    void failedWrite_isRetriedOnALaterTick() throws InterruptedException {
+        when(jdbcTemplate.batchUpdate(contains("TASK_REMINDER"), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(new int[] { 1 });
+        reminderService.start();
+
+        reminderService.reschedule(ReminderService.TASK, 9L, LocalDateTime.now().plusMinutes(30));
+
+        verify(jdbcTemplate, timeout(2000).times(2)).batchUpdate(contains("TASK_REMINDER"), anyList());
+        ReminderStats stats = awaitDelivered(1);
+        assertEquals(1, stats.getFailed());
+        assertEquals(0, stats.getPendingTimers());
+    }
+
+    private ReminderStats awaitDelivered(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        ReminderStats stats = reminderService.getStats();
+        while (stats.getDelivered() < expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "reminder was not delivered");
+            Thread.sleep(5);
+            stats = reminderService.getStats();
+        }
+        return stats;
+    }
+}
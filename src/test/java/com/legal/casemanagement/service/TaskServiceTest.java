@@ -24,6 +24,21 @@ class TaskServiceTest {
     @Mock
     private JdbcTemplate jdbcTemplate;
 
+    @Mock
+    private CaseSummaryService caseSummaryService;
+
+    @Mock
+    private CaseChangeTracker caseChangeTracker;
+
+    @Mock
+    private CaseEventService caseEventService;
+
+    @Mock
+    private InsertStatementRegistry insertStatements;
+
+    @Mock
+    private ReminderService reminderService;
+
     @InjectMocks
     private TaskService taskService;
 
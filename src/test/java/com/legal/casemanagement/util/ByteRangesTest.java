@@ -0,0 +1,49 @@
+package com.legal.casemanagement.util;
+
+import com.legal.casemanagement.util.ByteRanges.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteRangesTest {
+
+    @Test
+    void parse_resolvesOpenSuffixAndClampedRanges() {
+        assertEquals(List.of(new Range(0, 499)), ByteRanges.parse("bytes=0-499", 1000));
+        assertEquals(List.of(new Range(900, 999)), ByteRanges.parse("bytes=900-", 1000));
+        assertEquals(List.of(new Range(800, 999)), ByteRanges.parse("bytes=-200", 1000));
+        assertEquals(List.of(new Range(990, 999)), ByteRanges.parse("bytes=990-5000", 1000));
+        assertEquals("bytes 990-999/1000", new Range(990, 999).contentRange(1000));
+    }
+
+    @Test
+    void parse_sortsAndMergesOverlappingRanges() {
+        assertEquals(List.of(new Range(0, 199), new Range(500, 599)),
+                ByteRanges.parse("bytes=500-599, 0-99, 50-150, 151-199", 1000));
+    }
+
+    @Test
+    void parse_ignoresMalformedHeadersAndReportsUnsatisfiableOnes() {
+        assertNull(ByteRanges.parse(null, 1000));
+        assertNull(ByteRanges.parse("items=0-1", 1000));
+        assertNull(ByteRanges.parse("bytes=", 1000));
+        assertNull(ByteRanges.parse("bytes=5-1", 1000));
+        assertNull(ByteRanges.parse("bytes=a-b", 1000));
+        assertEquals(List.of(), ByteRanges.parse("bytes=1000-1200", 1000));
+        assertEquals(List.of(), ByteRanges.parse("bytes=-0", 1000));
+    }
+
+    @Test
+    void ifRange_acceptsOnlyTheCurrentStrongTagOrExactDate() {
+        long lastModified = 1_767_225_600_000L; // 2026-01-01T00:00:00Z
+        assertTrue(ByteRanges.ifRangeMatches(null, "\"abc\"", lastModified));
+        assertTrue(ByteRanges.ifRangeMatches("\"abc\"", "\"abc\"", lastModified));
+        assertFalse(ByteRanges.ifRangeMatches("W/\"abc\"", "\"abc\"", lastModified));
+        assertFalse(ByteRanges.ifRangeMatches("\"old\"", "\"abc\"", lastModified));
+        assertTrue(ByteRanges.ifRangeMatches("Thu, 1 Jan 2026 00:00:00 GMT", "\"abc\"", lastModified + 400));
+        assertFalse(ByteRanges.ifRangeMatches("Wed, 31 Dec 2025 23:59:59 GMT", "\"abc\"", lastModified));
+        assertFalse(ByteRanges.ifRangeMatches("yesterday", "\"abc\"", lastModified));
+    }
+}
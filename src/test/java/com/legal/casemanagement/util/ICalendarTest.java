@@ -0,0 +1,33 @@
+package com.legal.casemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ICalendarTest {
+
+    @Test
+    void text_escapesSeparatorsAndNewlines() {
+        StringBuilder out = new StringBuilder();
+        ICalendar.text(out, "SUMMARY", "Smith v. Jones; hearing, room 4\r\nbring C:\\files");
+        ICalendar.text(out, "LOCATION", "  ");
+
+        assertEquals("SUMMARY:Smith v. Jones\\; hearing\\, room 4\\nbring C:\\\\files\r\n", out.toString());
+    }
+
+    @Test
+    void fold_keepsLinesWithin75OctetsWithoutSplittingCharacters() {
+        String value = "Arguments – दिल्ली उच्च न्यायालय ".repeat(8);
+        StringBuilder out = new StringBuilder();
+        ICalendar.text(out, "DESCRIPTION", value);
+
+        String[] lines = out.toString().split("\r\n");
+        assertTrue(lines.length > 1);
+        for (String line : lines) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        assertEquals("DESCRIPTION:" + value + "\r\n", out.toString().replace("\r\n ", ""));
+    }
+}
@@ -0,0 +1,57 @@
+package com.legal.casemanagement.util;
+
+import com.legal.casemanagement.util.IntervalTree.Interval;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void overlapping_isHalfOpenAndOrderedByStart() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(600, 660, 1, "10:00");
+        tree.insert(540, 600, 2, "09:00");
+        tree.insert(630, 690, 3, "10:30");
+
+        List<Interval<String>> hits = tree.overlapping(600, 640);
+
+        assertEquals(List.of("10:00", "10:30"), hits.stream().map(Interval::value).toList());
+        assertTrue(tree.overlapping(690, 700).isEmpty());
+        assertTrue(tree.overlapping(500, 540).isEmpty());
+    }
+
+    @Test
+    void matchesBruteForceThroughInsertsAndRemovals() {
+        Random random = new Random(42);
+        IntervalTree<Long> tree = new IntervalTree<>();
+        List<long[]> live = new ArrayList<>();
+        for (long id = 0; id < 2000; id++) {
+            long start = random.nextInt(10_000);
+            long end = start + 1 + random.nextInt(200);
+            tree.insert(start, end, id, id);
+            live.add(new long[] { start, end, id });
+            if (random.nextInt(3) == 0) {
+                long[] gone = live.remove(random.nextInt(live.size()));
+                assertTrue(tree.remove(gone[0], gone[2]));
+            }
+        }
+        assertEquals(live.size(), tree.size());
+        assertFalse(tree.remove(-1, -1));
+
+        for (int q = 0; q < 200; q++) {
+            long from = random.nextInt(10_000);
+            long to = from + 1 + random.nextInt(300);
+            List<Long> expected = live.stream()
+                    .filter(i -> i[0] < to && from < i[1])
+                    .sorted((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[2], b[2]))
+                    .map(i -> i[2])
+                    .toList();
+            assertEquals(expected, tree.overlapping(from, to).stream().map(Interval::value).toList());
+        }
+    }
+}
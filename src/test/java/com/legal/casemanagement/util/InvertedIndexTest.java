@@ -0,0 +1,82 @@
+package com.legal.casemanagement.util;
+
+import com.legal.casemanagement.util.InvertedIndex.Hit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void search_ranksDocumentsMatchingMoreTermsFirst() throws Exception {
+        try (InvertedIndex index = InvertedIndex.open(dir)) {
+            index.put(1L, List.of("Sharma vs State", "Property dispute in Pune"));
+            index.put(2L, List.of("Mehta Industries", "Tax appeal before the tribunal"));
+            index.put(3L, List.of("Sharma family settlement", "Partition of property"));
+
+            List<Hit> hits = index.search("sharma property", 10);
+
+            assertEquals(2, hits.size());
+            assertTrue(hits.stream().allMatch(h -> h.docId() == 1L || h.docId() == 3L));
+            assertTrue(index.search("tribunal", 10).stream().anyMatch(h -> h.docId() == 2L));
+        }
+    }
+
+    @Test
+    void put_replacesPreviousTextOfTheDocument() throws Exception {
+        try (InvertedIndex index = InvertedIndex.open(dir)) {
+            index.put(1L, List.of("Justice Rao"));
+            index.checkpoint(100L);
+            index.put(1L, List.of("Justice Iyer"));
+
+            assertTrue(index.search("rao", 10).isEmpty());
+            assertEquals(1L, index.search("iyer", 10).get(0).docId());
+            assertEquals(1L, index.docCount());
+        }
+    }
+
+    @Test
+    void checkpoint_persistsSegmentAndWatermarkAcrossReopen() throws Exception {
+        try (InvertedIndex index = InvertedIndex.open(dir)) {
+            index.put(7L, List.of("High Court of Bombay", "Opposing party: Kapoor Estates"));
+            index.put(8L, List.of("District Court Nagpur"));
+            index.remove(8L);
+            index.checkpoint(12345L);
+            assertEquals(0, index.pendingChanges());
+        }
+
+        try (InvertedIndex reopened = InvertedIndex.open(dir)) {
+            assertEquals(12345L, reopened.watermark());
+            assertEquals(1L, reopened.docCount());
+            assertEquals(7L, reopened.search("kapoor", 5).get(0).docId());
+            assertTrue(reopened.search("nagpur", 5).isEmpty());
+        }
+    }
+
+    @Test
+    void search_withFilterRanksOnlyAcceptedDocuments() throws Exception {
+        try (InvertedIndex index = InvertedIndex.open(dir)) {
+            index.put(1L, List.of("Sale deed of the Pune property"));
+            index.put(2L, List.of("Sale deed"));
+            index.checkpoint(100L);
+            index.put(3L, List.of("Rent agreement and sale deed"));
+
+            List<Hit> hits = index.search("sale deed", 10, docId -> docId != 2L);
+
+            assertEquals(List.of(1L, 3L), hits.stream().map(Hit::docId).sorted().toList());
+        }
+    }
+
+    @Test
+    void tokenize_dropsStopWordsAndSingleLetters() {
+        assertEquals(List.of("state", "sharma", "lc", "2024", "001"),
+                InvertedIndex.tokenize("The State v. Sharma, LC-2024-001"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.legal.casemanagement.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void entriesReadBackByOffset_compressingOnlyWhatShrinks() throws Exception {
+        byte[] order = "ORDER: The petition is dismissed with costs. ".repeat(500).getBytes(StandardCharsets.UTF_8);
+        byte[] scan = new byte[20_000];
+        new Random(7).nextBytes(scan);
+        Path orderFile = Files.write(dir.resolve("order.txt"), order);
+        Path scanFile = Files.write(dir.resolve("scan.bin"), scan);
+        Path pack = dir.resolve("pack-1.pack");
+
+        PackFile.Entry orderEntry;
+        PackFile.Entry scanEntry;
+        try (PackFile.Writer writer = PackFile.create(pack, 6)) {
+            orderEntry = writer.add(sha256(order), orderFile);
+            scanEntry = writer.add(sha256(scan), scanFile);
+            assertEquals(Files.size(pack), writer.length());
+        }
+
+        assertTrue(orderEntry.packedLength() < order.length / 10, "text should deflate well");
+        assertTrue(scanEntry.packedLength() < scan.length + 64, "random bytes are stored, not inflated");
+        try (InputStream in = PackFile.open(pack, scanEntry.offset(), sha256(scan))) {
+            assertArrayEquals(scan, in.readAllBytes());
+        }
+        try (InputStream in = PackFile.open(pack, orderEntry.offset(), sha256(order))) {
+            assertArrayEquals(order, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void open_rejectsAnEntryOfOtherContent() throws Exception {
+        byte[] content = "Vakalatnama".getBytes(StandardCharsets.UTF_8);
+        Path file = Files.write(dir.resolve("v.txt"), content);
+        Path pack = dir.resolve("pack-2.pack");
+        PackFile.Entry entry;
+        try (PackFile.Writer writer = PackFile.create(pack, 6)) {
+            entry = writer.add(sha256(content), file);
+        }
+
+        assertThrows(IOException.class, () -> PackFile.open(pack, entry.offset(), "0".repeat(64)));
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,45 @@
+package com.legal.casemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowFormatTest {
+
+    @Test
+    void labels_matchTitleCasedEnumValues() {
+        assertEquals("Criminal", RowFormat.caseTypeLabel("CRIMINAL"));
+        assertEquals("Other", RowFormat.caseTypeLabel(null));
+        assertEquals("New Kind", RowFormat.caseTypeLabel("NEW_KIND"));
+        assertEquals("Active", RowFormat.caseStatusLabel("IN_PROGRESS"));
+        assertEquals("High", RowFormat.priorityLabel("URGENT"));
+        assertEquals("Hearing", RowFormat.hearingTypeLabel(null));
+        assertEquals("Adjourned", RowFormat.hearingStatusLabel("ADJOURNED"));
+        assertEquals("In Progress", RowFormat.titleCase("  IN   progress "));
+    }
+
+    @Test
+    void fileSize_roundsToOneDecimalLikeTheFormatterDid() {
+        assertEquals("N/A", RowFormat.fileSize(0));
+        assertEquals("1023 B", RowFormat.fileSize(1023));
+        assertEquals("1.0 KB", RowFormat.fileSize(1024));
+        assertEquals("1.1 KB", RowFormat.fileSize(1126));
+        assertEquals("1024.0 KB", RowFormat.fileSize(1024 * 1024 - 1));
+        assertEquals("2.5 MB", RowFormat.fileSize(2_621_440));
+    }
+
+    @Test
+    void dates_formatAndReuseCachedDayText() {
+        Timestamp ts = Timestamp.valueOf(LocalDateTime.of(2026, 3, 9, 7, 5));
+        assertEquals("2026-03-09", RowFormat.date(ts));
+        assertEquals("07:05", RowFormat.time(ts));
+        assertEquals("2026-03-09 07:05", RowFormat.dateTime(ts));
+        assertSame(RowFormat.date(ts), RowFormat.date(Date.valueOf(LocalDate.of(2026, 3, 9))));
+        assertEquals("", RowFormat.date((Timestamp) null));
+    }
+}
@@ -0,0 +1,61 @@
+package com.legal.casemanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long DAY = 86_400_000L;
+
+    @Test
+    void firesEveryTimerOnceAndNeverEarly() {
+        long start = 1_700_000_000_123L;
+        Random random = new Random(7);
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, start);
+        Map<Long, Long> deadlines = new HashMap<>();
+        Map<Long, TimingWheel.Timer<Long>> timers = new HashMap<>();
+        for (long id = 0; id < 20_000; id++) {
+            long deadline = start + (long) (Math.pow(random.nextDouble(), 3) * 400 * DAY);
+            deadlines.put(id, deadline);
+            timers.put(id, wheel.schedule(deadline, id));
+        }
+        Set<Long> cancelled = new HashSet<>();
+        for (long id = 0; id < 20_000; id += 5) {
+            assertTrue(timers.get(id).cancel());
+            cancelled.add(id);
+        }
+        assertFalse(timers.get(0L).cancel());
+        assertEquals(16_000, wheel.size());
+
+        Set<Long> fired = new HashSet<>();
+        long now = start;
+        while (now < start + 401 * DAY) {
+            now += 1000 + random.nextInt(3_600_000);
+            for (Long id : wheel.advance(now)) {
+                assertFalse(cancelled.contains(id));
+                assertTrue(deadlines.get(id) <= now, "fired early");
+                assertTrue(fired.add(id), "fired twice");
+            }
+        }
+        assertEquals(16_000, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10_000);
+        wheel.schedule(5_000, "late");
+        wheel.schedule(10_500, "soon");
+
+        assertTrue(wheel.advance(10_999).isEmpty());
+        assertEquals(List.of("late", "soon"), wheel.advance(11_000));
+    }
+}